@@ -93,6 +93,8 @@ def _sulong_gate_runner(args, tasks):
         if t: mx_unittest.unittest(['SulongSuite'])
     with Task("TestInterop", tasks, tags=['interop', 'sulongBasic']) as t:
         if t: mx_unittest.unittest(['LLVMInteropTest'])
+    with Task("TestPrimitiveArguments", tasks, tags=['primitiveArguments', 'sulongMisc']) as t:
+        if t: mx_unittest.unittest(['-Dpolyglot.llvm.primitiveArguments=true', 'SulongSuite', 'LLVMInteropTest'])
     with Task('TestAssembly', tasks, tags=['assembly', 'sulongMisc']) as t:
         if t: mx_testsuites.runSuite('assembly')
     with Task('TestArgs', tasks, tags=['args', 'sulongMisc']) as t:
@@ -531,6 +533,7 @@ class SulongDocsProject(ArchiveProject):
 
 
 mx_benchmark.add_bm_suite(mx_sulong_benchmarks.SulongBenchmarkSuite())
+mx_benchmark.add_bm_suite(mx_sulong_benchmarks.SulongJMHBenchmarkSuite())
 
 
 mx.update_commands(_suite, {
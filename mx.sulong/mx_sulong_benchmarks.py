@@ -64,6 +64,25 @@ class SulongBenchmarkSuite(VmBenchmarkSuite):
         return native_vm_registry
 
 
+class SulongJMHBenchmarkSuite(mx_benchmark.JMHDistBenchmarkSuite):
+    """JMH microbenchmarks of the runtime, see the com.oracle.truffle.llvm.bench project"""
+
+    def group(self):
+        return 'Graal'
+
+    def subgroup(self):
+        return 'sulong'
+
+    def name(self):
+        return 'sulong-jmh'
+
+    def filter_distribution(self, dist):
+        return super(SulongJMHBenchmarkSuite, self).filter_distribution(dist) and dist.name == 'SULONG_BENCH'
+
+    def vmArgs(self, bmSuiteArgs):
+        return mx_sulong.getCommonOptions(False) + super(SulongJMHBenchmarkSuite, self).vmArgs(bmSuiteArgs)
+
+
 class GccLikeVm(Vm):
     def __init__(self, config_name, options):
         self._config_name = config_name
@@ -109,6 +109,20 @@ suite = {
       "license" : "BSD-new",
     },
 
+    "com.oracle.truffle.llvm.bench" : {
+      "subDir" : "projects",
+      "sourceDirs" : ["src"],
+      "dependencies" : [
+        "com.oracle.truffle.llvm",
+        "mx:JMH_1_18",
+      ],
+      "checkstyle" : "com.oracle.truffle.llvm.test",
+      "annotationProcessors" : ["mx:JMH_1_18"],
+      "javaCompliance" : "1.8",
+      "workingSets" : "Truffle, LLVM",
+      "license" : "BSD-new",
+    },
+
     "com.oracle.truffle.llvm.runtime" : {
       "subDir" : "projects",
       "sourceDirs" : ["src"],
@@ -287,6 +301,15 @@ suite = {
         "OS" : "<os>",
       },
     },
+    "com.oracle.truffle.llvm.tests.bench" : {
+      "subDir" : "tests",
+      "class" : "SulongTestSuite",
+      "variants" : ['O1'],
+      "buildRef" : False,
+      "buildEnv" : {
+        "CPPFLAGS" : "-I<sulong_include>",
+      },
+    },
     "com.oracle.truffle.llvm.tests.sulongcpp" : {
       "subDir" : "tests",
       "class" : "SulongTestSuite",
@@ -372,6 +395,38 @@ suite = {
       "license" : "BSD-new",
     },
 
+    "SULONG_BENCH" : {
+      "path" : "build/sulong_bench.jar",
+      "subDir" : "graal",
+      "sourcesPath" : "build/sulong_bench.src.zip",
+      "dependencies" : [
+        "com.oracle.truffle.llvm.bench",
+      ],
+      "exclude" : [
+        "mx:JMH_1_18",
+      ],
+      "distDependencies" : [
+        "truffle:TRUFFLE_API",
+        "sulong:SULONG",
+        "SULONG_BENCH_KERNELS",
+      ],
+      "javaProperties" : {
+        "sulongbench.kernelPath" : "<path:SULONG_BENCH_KERNELS>"
+      },
+      "license" : "BSD-new",
+    },
+
+    "SULONG_BENCH_KERNELS" : {
+      "native" : True,
+      "relpath" : True,
+      "platformDependent" : True,
+      "output" : "mxbuild/sulong-bench-kernels",
+      "dependencies" : [
+        "com.oracle.truffle.llvm.tests.bench",
+      ],
+      "license" : "BSD-new",
+    },
+
     "SULONG_DOC": {
         "native": True, # Not Java
         "relpath": True,
@@ -189,6 +189,7 @@ import com.oracle.truffle.llvm.nodes.asm.support.LLVMAMD64ToI8NodeFactory.LLVMAM
 import com.oracle.truffle.llvm.nodes.asm.support.LLVMAMD64ToRegisterNodeFactory.LLVMI16ToR64NodeGen;
 import com.oracle.truffle.llvm.nodes.asm.support.LLVMAMD64ToRegisterNodeFactory.LLVMI32ToR64NodeGen;
 import com.oracle.truffle.llvm.nodes.asm.support.LLVMAMD64ToRegisterNodeFactory.LLVMI8ToR64NodeGen;
+import com.oracle.truffle.llvm.nodes.asm.support.LLVMAMD64UpdateFlagsNode;
 import com.oracle.truffle.llvm.nodes.asm.support.LLVMAMD64UpdateFlagsNode.LLVMAMD64UpdateCPAZSOFlagsNode;
 import com.oracle.truffle.llvm.nodes.asm.support.LLVMAMD64UpdateFlagsNode.LLVMAMD64UpdateCPZSOFlagsNode;
 import com.oracle.truffle.llvm.nodes.asm.support.LLVMAMD64UpdateFlagsNode.LLVMAMD64UpdatePZSFlagsNode;
@@ -211,7 +212,7 @@ import com.oracle.truffle.llvm.nodes.cast.LLVMToI64NodeGen.LLVMToI64ZeroExtNodeG
 import com.oracle.truffle.llvm.nodes.cast.LLVMToI8NodeGen.LLVMToI8NoZeroExtNodeGen;
 import com.oracle.truffle.llvm.nodes.func.LLVMArgNodeGen;
 import com.oracle.truffle.llvm.nodes.func.LLVMInlineAssemblyRootNode;
-import com.oracle.truffle.llvm.nodes.memory.LLVMFenceNodeGen;
+import com.oracle.truffle.llvm.nodes.memory.LLVMFenceFactory;
 import com.oracle.truffle.llvm.nodes.memory.load.LLVMDirectLoadNodeFactory.LLVMAddressDirectLoadNodeGen;
 import com.oracle.truffle.llvm.nodes.memory.load.LLVMI16LoadNodeGen;
 import com.oracle.truffle.llvm.nodes.memory.load.LLVMI32LoadNodeGen;
@@ -253,6 +254,8 @@ class AsmFactory {
     private final List<LLVMExpressionNode> statements;
     private final List<LLVMExpressionNode> arguments;
     private final List<String> registers;
+    private final List<FlagAccess> flagAccesses;
+    private Set<Long> liveInFlags;
     private LLVMExpressionNode result;
     private List<Argument> argInfo;
     private final String asmFlags;
@@ -275,6 +278,7 @@ class AsmFactory {
         this.statements = new ArrayList<>();
         this.arguments = new ArrayList<>();
         this.registers = new ArrayList<>();
+        this.flagAccesses = new ArrayList<>();
         this.retType = retType;
         this.retTypes = retTypes;
         this.retOffsets = retOffsets;
@@ -378,6 +382,7 @@ class AsmFactory {
     }
 
     LLVMInlineAssemblyRootNode finishInline() {
+        liveInFlags = removeDeadFlagWrites();
         getArguments();
         return new LLVMInlineAssemblyRootNode(language, sourceSection, frameDescriptor, statements.toArray(new LLVMExpressionNode[statements.size()]), arguments, result);
     }
@@ -447,9 +452,13 @@ class AsmFactory {
                 // TODO: implement properly
                 break;
             case "mfence":
-            case "lfance":
+                statements.add(LLVMFenceFactory.LLVMFullFenceNodeGen.create());
+                break;
+            case "lfence":
+                statements.add(LLVMFenceFactory.LLVMAcquireFenceNodeGen.create());
+                break;
             case "sfence":
-                statements.add(LLVMFenceNodeGen.create());
+                statements.add(LLVMFenceFactory.LLVMReleaseFenceNodeGen.create());
                 break;
             case "rdtsc": {
                 LLVMAMD64WriteValueNode high = getRegisterStore("rdx");
@@ -1779,14 +1788,13 @@ class AsmFactory {
             arguments.add(LLVMWriteI64NodeGen.create(node, slot, null));
         }
 
-        // initialize flags
+        // initialize flags that are read before they are written
         LLVMExpressionNode zero = LLVMAMD64I1NodeGen.create(false);
-        arguments.add(LLVMWriteI1NodeGen.create(zero, getFlagSlot(LLVMAMD64Flags.CF), sourceSection));
-        arguments.add(LLVMWriteI1NodeGen.create(zero, getFlagSlot(LLVMAMD64Flags.PF), sourceSection));
-        arguments.add(LLVMWriteI1NodeGen.create(zero, getFlagSlot(LLVMAMD64Flags.AF), sourceSection));
-        arguments.add(LLVMWriteI1NodeGen.create(zero, getFlagSlot(LLVMAMD64Flags.ZF), sourceSection));
-        arguments.add(LLVMWriteI1NodeGen.create(zero, getFlagSlot(LLVMAMD64Flags.SF), sourceSection));
-        arguments.add(LLVMWriteI1NodeGen.create(zero, getFlagSlot(LLVMAMD64Flags.OF), sourceSection));
+        for (long flag : new long[]{LLVMAMD64Flags.CF, LLVMAMD64Flags.PF, LLVMAMD64Flags.AF, LLVMAMD64Flags.ZF, LLVMAMD64Flags.SF, LLVMAMD64Flags.OF}) {
+            if (liveInFlags.contains(flag)) {
+                arguments.add(LLVMWriteI1NodeGen.create(zero, getFlagSlot(flag), sourceSection));
+            }
+        }
 
         // copy stack pointer
         LLVMExpressionNode stackPointer = LLVMArgNodeGen.create(0);
@@ -2273,28 +2281,103 @@ class AsmFactory {
     }
 
     private LLVMExpressionNode getFlag(long flag) {
+        flagAccesses.add(new FlagAccess(statements.size(), flag, null, null));
         return LLVMI1ReadNodeGen.create(getFlagSlot(flag));
     }
 
     private LLVMAMD64WriteBooleanNode getFlagWrite(long flag) {
-        return new LLVMAMD64WriteBooleanNode(getFlagSlot(flag));
+        LLVMAMD64WriteBooleanNode write = new LLVMAMD64WriteBooleanNode(getFlagSlot(flag));
+        flagAccesses.add(new FlagAccess(statements.size(), flag, null, write));
+        return write;
+    }
+
+    private <T extends LLVMAMD64UpdateFlagsNode> T addFlagUpdate(T update, long... flags) {
+        for (long flag : flags) {
+            flagAccesses.add(new FlagAccess(statements.size(), flag, update, null));
+        }
+        return update;
     }
 
     private LLVMAMD64UpdatePZSFlagsNode getUpdatePZSFlagsNode() {
-        return new LLVMAMD64UpdatePZSFlagsNode(getFlagSlot(LLVMAMD64Flags.PF), getFlagSlot(LLVMAMD64Flags.ZF), getFlagSlot(LLVMAMD64Flags.SF));
+        return addFlagUpdate(new LLVMAMD64UpdatePZSFlagsNode(getFlagSlot(LLVMAMD64Flags.PF), getFlagSlot(LLVMAMD64Flags.ZF), getFlagSlot(LLVMAMD64Flags.SF)), LLVMAMD64Flags.PF,
+                        LLVMAMD64Flags.ZF, LLVMAMD64Flags.SF);
     }
 
     private LLVMAMD64UpdatePZSOFlagsNode getUpdatePZSOFlagsNode() {
-        return new LLVMAMD64UpdatePZSOFlagsNode(getFlagSlot(LLVMAMD64Flags.PF), getFlagSlot(LLVMAMD64Flags.ZF), getFlagSlot(LLVMAMD64Flags.SF), getFlagSlot(LLVMAMD64Flags.OF));
+        return addFlagUpdate(new LLVMAMD64UpdatePZSOFlagsNode(getFlagSlot(LLVMAMD64Flags.PF), getFlagSlot(LLVMAMD64Flags.ZF), getFlagSlot(LLVMAMD64Flags.SF), getFlagSlot(LLVMAMD64Flags.OF)),
+                        LLVMAMD64Flags.PF, LLVMAMD64Flags.ZF, LLVMAMD64Flags.SF, LLVMAMD64Flags.OF);
     }
 
     private LLVMAMD64UpdateCPZSOFlagsNode getUpdateCPZSOFlagsNode() {
-        return new LLVMAMD64UpdateCPZSOFlagsNode(getFlagSlot(LLVMAMD64Flags.CF), getFlagSlot(LLVMAMD64Flags.PF), getFlagSlot(LLVMAMD64Flags.ZF), getFlagSlot(LLVMAMD64Flags.SF),
-                        getFlagSlot(LLVMAMD64Flags.OF));
+        return addFlagUpdate(new LLVMAMD64UpdateCPZSOFlagsNode(getFlagSlot(LLVMAMD64Flags.CF), getFlagSlot(LLVMAMD64Flags.PF), getFlagSlot(LLVMAMD64Flags.ZF), getFlagSlot(LLVMAMD64Flags.SF),
+                        getFlagSlot(LLVMAMD64Flags.OF)), LLVMAMD64Flags.CF, LLVMAMD64Flags.PF, LLVMAMD64Flags.ZF, LLVMAMD64Flags.SF, LLVMAMD64Flags.OF);
     }
 
     private LLVMAMD64UpdateCPAZSOFlagsNode getUpdateCPAZSOFlagsNode() {
-        return new LLVMAMD64UpdateCPAZSOFlagsNode(getFlagSlot(LLVMAMD64Flags.CF), getFlagSlot(LLVMAMD64Flags.PF), getFlagSlot(LLVMAMD64Flags.AF), getFlagSlot(LLVMAMD64Flags.ZF),
-                        getFlagSlot(LLVMAMD64Flags.SF), getFlagSlot(LLVMAMD64Flags.OF));
+        return addFlagUpdate(new LLVMAMD64UpdateCPAZSOFlagsNode(getFlagSlot(LLVMAMD64Flags.CF), getFlagSlot(LLVMAMD64Flags.PF), getFlagSlot(LLVMAMD64Flags.AF), getFlagSlot(LLVMAMD64Flags.ZF),
+                        getFlagSlot(LLVMAMD64Flags.SF), getFlagSlot(LLVMAMD64Flags.OF)), LLVMAMD64Flags.CF, LLVMAMD64Flags.PF, LLVMAMD64Flags.AF, LLVMAMD64Flags.ZF, LLVMAMD64Flags.SF,
+                        LLVMAMD64Flags.OF);
+    }
+
+    /**
+     * Removes flag writes that no later instruction reads. Inline assembly has no branches and its
+     * flags are not visible after the block, so a write is dead unless the flag is read before it
+     * is written again. Accesses are recorded with the index of the statement that contains them;
+     * within one statement, flags are read before they are written.
+     *
+     * @return the flags that are read before any write
+     */
+    private Set<Long> removeDeadFlagWrites() {
+        Set<Long> live = new HashSet<>();
+        int end = flagAccesses.size();
+        while (end > 0) {
+            int position = flagAccesses.get(end - 1).position;
+            int start = end - 1;
+            while (start > 0 && flagAccesses.get(start - 1).position == position) {
+                start--;
+            }
+            Set<Long> liveOut = new HashSet<>(live);
+            for (FlagAccess access : flagAccesses.subList(start, end)) {
+                if (access.isWrite()) {
+                    if (!liveOut.contains(access.flag)) {
+                        access.remove(getFlagSlot(access.flag));
+                    }
+                    live.remove(access.flag);
+                }
+            }
+            for (FlagAccess access : flagAccesses.subList(start, end)) {
+                if (!access.isWrite()) {
+                    live.add(access.flag);
+                }
+            }
+            end = start;
+        }
+        return live;
+    }
+
+    private static final class FlagAccess {
+        private final int position;
+        private final long flag;
+        private final LLVMAMD64UpdateFlagsNode update;
+        private final LLVMAMD64WriteBooleanNode write;
+
+        FlagAccess(int position, long flag, LLVMAMD64UpdateFlagsNode update, LLVMAMD64WriteBooleanNode write) {
+            this.position = position;
+            this.flag = flag;
+            this.update = update;
+            this.write = write;
+        }
+
+        boolean isWrite() {
+            return update != null || write != null;
+        }
+
+        void remove(FrameSlot slot) {
+            if (update != null) {
+                update.removeFlag(slot);
+            } else {
+                write.remove();
+            }
+        }
     }
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+/**
+ * Locates the bitcode files used by the benchmarks. The small kernels are built from
+ * {@code tests/com.oracle.truffle.llvm.tests.bench}, the Shootout programs are the ones compiled
+ * for the Shootout test suite.
+ */
+final class BenchmarkFiles {
+
+    private static final String KERNEL_PATH = System.getProperty("sulongbench.kernelPath");
+    private static final String PROJECT_ROOT = System.getProperty("sulongtest.projectRoot");
+
+    private static final String KERNEL_FILE = "O1.bc";
+    private static final String SHOOTOUT_SUFFIX = "_clang_O1.bc";
+
+    private BenchmarkFiles() {
+    }
+
+    static File kernel(String name) {
+        return checkExists(new File(KERNEL_PATH, "bench/" + name + "/" + KERNEL_FILE));
+    }
+
+    static File shootout(String name) {
+        return checkExists(new File(PROJECT_ROOT + "/../cache/tests/benchmarksgame/" + name + SHOOTOUT_SUFFIX));
+    }
+
+    static byte[] read(File file) throws IOException {
+        return Files.readAllBytes(file.toPath());
+    }
+
+    private static File checkExists(File file) {
+        if (!file.isFile()) {
+            throw new IllegalStateException("Benchmark file " + file + " does not exist, please build the test suites first.");
+        }
+        return file;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.oracle.truffle.llvm.runtime.LLVMLanguage;
+
+/**
+ * Measures creating, resolving and releasing native handles for managed objects from bitcode.
+ * Every invocation handles {@link #HANDLES} objects in the guest, so the score is the time per
+ * handle.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 20)
+@Measurement(iterations = 10)
+@Fork(1)
+public class HandleBenchmark {
+
+    private static final int HANDLES = 1024;
+
+    private Context context;
+    private Value createAndRelease;
+    private Value resolve;
+    private Value createAndReleaseAll;
+
+    private final Object managed = new Object();
+    private final Object[] managedArray = new Object[HANDLES];
+
+    @Setup
+    public void setup() throws Exception {
+        context = Context.create();
+        context.eval(Source.newBuilder(LLVMLanguage.NAME, BenchmarkFiles.kernel("handles")).build());
+        createAndRelease = context.lookup(LLVMLanguage.NAME, "createAndRelease");
+        resolve = context.lookup(LLVMLanguage.NAME, "resolve");
+        createAndReleaseAll = context.lookup(LLVMLanguage.NAME, "createAndReleaseAll");
+        for (int i = 0; i < HANDLES; i++) {
+            managedArray[i] = new Object();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(HANDLES)
+    public int createAndRelease() {
+        return createAndRelease.execute(managed, HANDLES).asInt();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(HANDLES)
+    public int resolve() {
+        return resolve.execute(managed, HANDLES).asInt();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(HANDLES)
+    public int createAndReleaseAll() {
+        return createAndReleaseAll.execute(managedArray, HANDLES).asInt();
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.oracle.truffle.llvm.runtime.LLVMAddress;
+import com.oracle.truffle.llvm.runtime.memory.LLVMMemory;
+
+/**
+ * Measures element-wise and bulk accesses to native memory through {@link LLVMMemory}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+@Fork(1)
+public class MemoryBenchmark {
+
+    @Param({"64", "4096"}) public int size;
+
+    private LLVMAddress buffer;
+    private LLVMAddress target;
+    private long[] values;
+
+    @Setup
+    public void setup() {
+        buffer = LLVMMemory.allocateMemory(size * Long.BYTES);
+        target = LLVMMemory.allocateMemory(size * Long.BYTES);
+        values = new long[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = i;
+        }
+        LLVMMemory.putArray(buffer.getVal(), values);
+    }
+
+    @TearDown
+    public void tearDown() {
+        LLVMMemory.free(buffer);
+        LLVMMemory.free(target);
+    }
+
+    @Benchmark
+    public void putI32() {
+        long address = buffer.getVal();
+        for (int i = 0; i < size; i++) {
+            LLVMMemory.putI32(address + i * Integer.BYTES, i);
+        }
+    }
+
+    @Benchmark
+    public int getI32() {
+        long address = buffer.getVal();
+        int sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += LLVMMemory.getI32(address + i * Integer.BYTES);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public void putI64() {
+        long address = buffer.getVal();
+        for (int i = 0; i < size; i++) {
+            LLVMMemory.putI64(address + i * Long.BYTES, i);
+        }
+    }
+
+    @Benchmark
+    public long getI64() {
+        long address = buffer.getVal();
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += LLVMMemory.getI64(address + i * Long.BYTES);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double getDouble() {
+        long address = buffer.getVal();
+        double sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += LLVMMemory.getDouble(address + i * Double.BYTES);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long[] getArray() {
+        LLVMMemory.getArray(buffer.getVal(), values);
+        return values;
+    }
+
+    @Benchmark
+    public void putArray() {
+        LLVMMemory.putArray(buffer.getVal(), values);
+    }
+
+    @Benchmark
+    public void copyMemory() {
+        LLVMMemory.copyMemory(buffer.getVal(), target.getVal(), size * Long.BYTES);
+    }
+}
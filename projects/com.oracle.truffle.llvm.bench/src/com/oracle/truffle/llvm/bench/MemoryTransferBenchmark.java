@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.oracle.truffle.llvm.runtime.LLVMLanguage;
+
+/**
+ * Measures {@code memcpy}, {@code memmove} and {@code memset} from bitcode. The struct copies have
+ * a constant length, the other operations are measured for a range of lengths. Every invocation
+ * executes {@link #OPERATIONS} operations in the guest, so the score is the time per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 20)
+@Measurement(iterations = 10)
+@Fork(1)
+public class MemoryTransferBenchmark {
+
+    private static final int OPERATIONS = 10000;
+
+    @Param({"8", "31", "64", "256", "4096"}) public int size;
+
+    private Context context;
+    private Value copySmallStructs;
+    private Value copyLargeStructs;
+    private Value copyBytes;
+    private Value moveBytes;
+    private Value setBytes;
+
+    @Setup
+    public void setup() throws Exception {
+        context = Context.create();
+        context.eval(Source.newBuilder(LLVMLanguage.NAME, BenchmarkFiles.kernel("memops")).build());
+        copySmallStructs = context.lookup(LLVMLanguage.NAME, "copySmallStructs");
+        copyLargeStructs = context.lookup(LLVMLanguage.NAME, "copyLargeStructs");
+        copyBytes = context.lookup(LLVMLanguage.NAME, "copyBytes");
+        moveBytes = context.lookup(LLVMLanguage.NAME, "moveBytes");
+        setBytes = context.lookup(LLVMLanguage.NAME, "setBytes");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public int copySmallStruct() {
+        return copySmallStructs.execute(OPERATIONS).asInt();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public int copyLargeStruct() {
+        return copyLargeStructs.execute(OPERATIONS).asInt();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public int memcpy() {
+        return copyBytes.execute(OPERATIONS, size).asInt();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public int memmove() {
+        return moveBytes.execute(OPERATIONS, size).asInt();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public int memset() {
+        return setBytes.execute(OPERATIONS, size).asInt();
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.oracle.truffle.llvm.runtime.vector.LLVMDoubleVector;
+import com.oracle.truffle.llvm.runtime.vector.LLVMI32Vector;
+
+/**
+ * Measures the element-wise operations of the vector values.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+@Fork(1)
+public class VectorBenchmark {
+
+    @Param({"4", "16"}) public int length;
+
+    private LLVMI32Vector i32Left;
+    private LLVMI32Vector i32Right;
+    private LLVMDoubleVector doubleLeft;
+    private LLVMDoubleVector doubleRight;
+
+    @Setup
+    public void setup() {
+        int[] ints = new int[length];
+        double[] doubles = new double[length];
+        for (int i = 0; i < length; i++) {
+            ints[i] = i + 1;
+            doubles[i] = i + 0.5;
+        }
+        i32Left = LLVMI32Vector.create(ints);
+        i32Right = LLVMI32Vector.create(ints.clone());
+        doubleLeft = LLVMDoubleVector.create(doubles);
+        doubleRight = LLVMDoubleVector.create(doubles.clone());
+    }
+
+    @Benchmark
+    public LLVMI32Vector i32Add() {
+        return i32Left.add(i32Right, length);
+    }
+
+    @Benchmark
+    public LLVMI32Vector i32Mul() {
+        return i32Left.mul(i32Right, length);
+    }
+
+    @Benchmark
+    public LLVMI32Vector i32Div() {
+        return i32Left.div(i32Right, length);
+    }
+
+    @Benchmark
+    public LLVMI32Vector i32Xor() {
+        return i32Left.xor(i32Right, length);
+    }
+
+    @Benchmark
+    public LLVMDoubleVector doubleAdd() {
+        return doubleLeft.add(doubleRight, length);
+    }
+
+    @Benchmark
+    public LLVMDoubleVector doubleMul() {
+        return doubleLeft.mul(doubleRight, length);
+    }
+
+    @Benchmark
+    public LLVMDoubleVector doubleDiv() {
+        return doubleLeft.div(doubleRight, length);
+    }
+}
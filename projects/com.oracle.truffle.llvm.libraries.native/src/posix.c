@@ -74,6 +74,26 @@ ssize_t __sulong_posix_write(int fd, const void* buf, size_t count)
 	CALL(ssize_t, write, fd, buf, count)
 }
 
+ssize_t __sulong_posix_pread(int fd, void* buf, size_t count, off_t offset)
+{
+	CALL(ssize_t, pread, fd, buf, count, offset)
+}
+
+ssize_t __sulong_posix_pwrite(int fd, const void* buf, size_t count, off_t offset)
+{
+	CALL(ssize_t, pwrite, fd, buf, count, offset)
+}
+
+off_t __sulong_posix_lseek(int fd, off_t offset, int whence)
+{
+	CALL(off_t, lseek, fd, offset, whence)
+}
+
+int __sulong_posix_ftruncate(int fd, off_t length)
+{
+	CALL(int, ftruncate, fd, length)
+}
+
 ssize_t __sulong_posix_readv(int fd, const struct iovec* iov, int iovcnt)
 {
 	CALL(ssize_t, readv, fd, iov, iovcnt);
@@ -143,6 +163,16 @@ int __sulong_posix_munmap(void* addr, size_t length)
 	CALL(int, munmap, addr, length);
 }
 
+int __sulong_posix_msync(void* addr, size_t length, int flags)
+{
+	CALL(int, msync, addr, length, flags);
+}
+
+int __sulong_posix_madvise(void* addr, size_t length, int advice)
+{
+	CALL(int, madvise, addr, length, advice);
+}
+
 
 #else
 
@@ -174,6 +204,30 @@ ssize_t __sulong_posix_write(int fd, const void* buf, size_t count)
 
 }
 
+ssize_t __sulong_posix_pread(int fd, void* buf, size_t count, off_t offset)
+{
+	fprintf(stderr, "Syscalls not supported on this OS.\n");
+    return 0;
+}
+
+ssize_t __sulong_posix_pwrite(int fd, const void* buf, size_t count, off_t offset)
+{
+	fprintf(stderr, "Syscalls not supported on this OS.\n");
+    return 0;
+}
+
+off_t __sulong_posix_lseek(int fd, off_t offset, int whence)
+{
+	fprintf(stderr, "Syscalls not supported on this OS.\n");
+    return 0;
+}
+
+int __sulong_posix_ftruncate(int fd, off_t length)
+{
+	fprintf(stderr, "Syscalls not supported on this OS.\n");
+    return 0;
+}
+
 ssize_t __sulong_posix_readv(int fd, const struct iovec* iov, int iovcnt)
 {
 	fprintf(stderr, "Syscalls not supported on this OS.\n");
@@ -257,4 +311,16 @@ int __sulong_posix_munmap(void* addr, size_t length)
     return 0;
 }
 
+int __sulong_posix_msync(void* addr, size_t length, int flags)
+{
+	fprintf(stderr, "Syscalls not supported on this OS.\n");
+    return 0;
+}
+
+int __sulong_posix_madvise(void* addr, size_t length, int advice)
+{
+	fprintf(stderr, "Syscalls not supported on this OS.\n");
+    return 0;
+}
+
 #endif
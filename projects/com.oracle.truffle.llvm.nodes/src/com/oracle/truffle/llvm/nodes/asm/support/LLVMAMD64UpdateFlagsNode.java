@@ -29,16 +29,39 @@
  */
 package com.oracle.truffle.llvm.nodes.asm.support;
 
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.frame.FrameSlot;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.llvm.runtime.nodes.api.LLVMExpressionNode;
 
-public class LLVMAMD64UpdateFlagsNode extends Node {
+public abstract class LLVMAMD64UpdateFlagsNode extends Node {
+    /**
+     * Stops writing the given flag. The assembly parser uses this for flags that are overwritten
+     * before any instruction reads them.
+     */
+    public abstract void removeFlag(FrameSlot flag);
+
+    protected static void setFlag(VirtualFrame frame, FrameSlot slot, boolean value) {
+        if (slot != null) {
+            frame.setBoolean(slot, value);
+        }
+    }
+
+    protected static void setParity(VirtualFrame frame, FrameSlot slot, byte value) {
+        if (slot != null) {
+            frame.setBoolean(slot, getParity(value));
+        }
+    }
+
+    protected static FrameSlot remove(FrameSlot slot, FrameSlot flag) {
+        return slot == flag ? null : slot;
+    }
+
     public static class LLVMAMD64UpdatePZSFlagsNode extends LLVMAMD64UpdateFlagsNode {
-        private final FrameSlot pf;
-        private final FrameSlot zf;
-        private final FrameSlot sf;
+        @CompilationFinal private FrameSlot pf;
+        @CompilationFinal private FrameSlot zf;
+        @CompilationFinal private FrameSlot sf;
 
         public LLVMAMD64UpdatePZSFlagsNode(FrameSlot pf, FrameSlot zf, FrameSlot sf) {
             this.pf = pf;
@@ -46,37 +69,43 @@ public class LLVMAMD64UpdateFlagsNode extends Node {
             this.sf = sf;
         }
 
+        @Override
+        public void removeFlag(FrameSlot flag) {
+            pf = remove(pf, flag);
+            zf = remove(zf, flag);
+            sf = remove(sf, flag);
+        }
+
         public void execute(VirtualFrame frame, byte value) {
-            frame.setBoolean(sf, value < 0);
-            frame.setBoolean(zf, value == 0);
-            frame.setBoolean(pf, getParity(value));
+            setFlag(frame, sf, value < 0);
+            setFlag(frame, zf, value == 0);
+            setParity(frame, pf, value);
         }
 
         public void execute(VirtualFrame frame, short value) {
-            frame.setBoolean(sf, value < 0);
-            frame.setBoolean(zf, value == 0);
-            frame.setBoolean(pf, getParity((byte) value));
+            setFlag(frame, sf, value < 0);
+            setFlag(frame, zf, value == 0);
+            setParity(frame, pf, (byte) value);
         }
 
         public void execute(VirtualFrame frame, int value) {
-            frame.setBoolean(sf, value < 0);
-            frame.setBoolean(zf, value == 0);
-            frame.setBoolean(pf, getParity((byte) value));
+            setFlag(frame, sf, value < 0);
+            setFlag(frame, zf, value == 0);
+            setParity(frame, pf, (byte) value);
         }
 
         public void execute(VirtualFrame frame, long value) {
-            frame.setBoolean(sf, value < 0);
-            frame.setBoolean(zf, value == 0);
-            frame.setBoolean(pf, getParity((byte) value));
+            setFlag(frame, sf, value < 0);
+            setFlag(frame, zf, value == 0);
+            setParity(frame, pf, (byte) value);
         }
-
     }
 
     public static class LLVMAMD64UpdatePZSOFlagsNode extends LLVMAMD64UpdateFlagsNode {
-        private final FrameSlot pf;
-        private final FrameSlot zf;
-        private final FrameSlot sf;
-        private final FrameSlot of;
+        @CompilationFinal private FrameSlot pf;
+        @CompilationFinal private FrameSlot zf;
+        @CompilationFinal private FrameSlot sf;
+        @CompilationFinal private FrameSlot of;
 
         public LLVMAMD64UpdatePZSOFlagsNode(FrameSlot pf, FrameSlot zf, FrameSlot sf, FrameSlot of) {
             this.pf = pf;
@@ -85,41 +114,49 @@ public class LLVMAMD64UpdateFlagsNode extends Node {
             this.of = of;
         }
 
+        @Override
+        public void removeFlag(FrameSlot flag) {
+            pf = remove(pf, flag);
+            zf = remove(zf, flag);
+            sf = remove(sf, flag);
+            of = remove(of, flag);
+        }
+
         public void execute(VirtualFrame frame, boolean overflow, byte value) {
-            frame.setBoolean(of, overflow);
-            frame.setBoolean(sf, value < 0);
-            frame.setBoolean(zf, value == 0);
-            frame.setBoolean(pf, getParity(value));
+            setFlag(frame, of, overflow);
+            setFlag(frame, sf, value < 0);
+            setFlag(frame, zf, value == 0);
+            setParity(frame, pf, value);
         }
 
         public void execute(VirtualFrame frame, boolean overflow, short value) {
-            frame.setBoolean(of, overflow);
-            frame.setBoolean(sf, value < 0);
-            frame.setBoolean(zf, value == 0);
-            frame.setBoolean(pf, getParity((byte) value));
+            setFlag(frame, of, overflow);
+            setFlag(frame, sf, value < 0);
+            setFlag(frame, zf, value == 0);
+            setParity(frame, pf, (byte) value);
         }
 
         public void execute(VirtualFrame frame, boolean overflow, int value) {
-            frame.setBoolean(of, overflow);
-            frame.setBoolean(sf, value < 0);
-            frame.setBoolean(zf, value == 0);
-            frame.setBoolean(pf, getParity((byte) value));
+            setFlag(frame, of, overflow);
+            setFlag(frame, sf, value < 0);
+            setFlag(frame, zf, value == 0);
+            setParity(frame, pf, (byte) value);
         }
 
         public void execute(VirtualFrame frame, boolean overflow, long value) {
-            frame.setBoolean(of, overflow);
-            frame.setBoolean(sf, value < 0);
-            frame.setBoolean(zf, value == 0);
-            frame.setBoolean(pf, getParity((byte) value));
+            setFlag(frame, of, overflow);
+            setFlag(frame, sf, value < 0);
+            setFlag(frame, zf, value == 0);
+            setParity(frame, pf, (byte) value);
         }
     }
 
     public static class LLVMAMD64UpdateCPZSOFlagsNode extends LLVMAMD64UpdateFlagsNode {
-        private final FrameSlot cf;
-        private final FrameSlot pf;
-        private final FrameSlot zf;
-        private final FrameSlot sf;
-        private final FrameSlot of;
+        @CompilationFinal private FrameSlot cf;
+        @CompilationFinal private FrameSlot pf;
+        @CompilationFinal private FrameSlot zf;
+        @CompilationFinal private FrameSlot sf;
+        @CompilationFinal private FrameSlot of;
 
         public LLVMAMD64UpdateCPZSOFlagsNode(FrameSlot cf, FrameSlot pf, FrameSlot zf, FrameSlot sf, FrameSlot of) {
             this.cf = cf;
@@ -129,46 +166,55 @@ public class LLVMAMD64UpdateFlagsNode extends Node {
             this.of = of;
         }
 
+        @Override
+        public void removeFlag(FrameSlot flag) {
+            cf = remove(cf, flag);
+            pf = remove(pf, flag);
+            zf = remove(zf, flag);
+            sf = remove(sf, flag);
+            of = remove(of, flag);
+        }
+
         public void execute(VirtualFrame frame, boolean overflow, boolean carry, byte value) {
-            frame.setBoolean(of, overflow);
-            frame.setBoolean(cf, carry);
-            frame.setBoolean(sf, value < 0);
-            frame.setBoolean(zf, value == 0);
-            frame.setBoolean(pf, getParity(value));
+            setFlag(frame, of, overflow);
+            setFlag(frame, cf, carry);
+            setFlag(frame, sf, value < 0);
+            setFlag(frame, zf, value == 0);
+            setParity(frame, pf, value);
         }
 
         public void execute(VirtualFrame frame, boolean overflow, boolean carry, short value) {
-            frame.setBoolean(of, overflow);
-            frame.setBoolean(cf, carry);
-            frame.setBoolean(sf, value < 0);
-            frame.setBoolean(zf, value == 0);
-            frame.setBoolean(pf, getParity((byte) value));
+            setFlag(frame, of, overflow);
+            setFlag(frame, cf, carry);
+            setFlag(frame, sf, value < 0);
+            setFlag(frame, zf, value == 0);
+            setParity(frame, pf, (byte) value);
         }
 
         public void execute(VirtualFrame frame, boolean overflow, boolean carry, int value) {
-            frame.setBoolean(of, overflow);
-            frame.setBoolean(cf, carry);
-            frame.setBoolean(sf, value < 0);
-            frame.setBoolean(zf, value == 0);
-            frame.setBoolean(pf, getParity((byte) value));
+            setFlag(frame, of, overflow);
+            setFlag(frame, cf, carry);
+            setFlag(frame, sf, value < 0);
+            setFlag(frame, zf, value == 0);
+            setParity(frame, pf, (byte) value);
         }
 
         public void execute(VirtualFrame frame, boolean overflow, boolean carry, long value) {
-            frame.setBoolean(of, overflow);
-            frame.setBoolean(cf, carry);
-            frame.setBoolean(sf, value < 0);
-            frame.setBoolean(zf, value == 0);
-            frame.setBoolean(pf, getParity((byte) value));
+            setFlag(frame, of, overflow);
+            setFlag(frame, cf, carry);
+            setFlag(frame, sf, value < 0);
+            setFlag(frame, zf, value == 0);
+            setParity(frame, pf, (byte) value);
         }
     }
 
     public static class LLVMAMD64UpdateCPAZSOFlagsNode extends LLVMAMD64UpdateFlagsNode {
-        private final FrameSlot cf;
-        private final FrameSlot pf;
-        private final FrameSlot af;
-        private final FrameSlot zf;
-        private final FrameSlot sf;
-        private final FrameSlot of;
+        @CompilationFinal private FrameSlot cf;
+        @CompilationFinal private FrameSlot pf;
+        @CompilationFinal private FrameSlot af;
+        @CompilationFinal private FrameSlot zf;
+        @CompilationFinal private FrameSlot sf;
+        @CompilationFinal private FrameSlot of;
 
         public LLVMAMD64UpdateCPAZSOFlagsNode(FrameSlot cf, FrameSlot pf, FrameSlot af, FrameSlot zf, FrameSlot sf, FrameSlot of) {
             this.cf = cf;
@@ -179,40 +225,50 @@ public class LLVMAMD64UpdateFlagsNode extends Node {
             this.of = of;
         }
 
+        @Override
+        public void removeFlag(FrameSlot flag) {
+            cf = remove(cf, flag);
+            pf = remove(pf, flag);
+            af = remove(af, flag);
+            zf = remove(zf, flag);
+            sf = remove(sf, flag);
+            of = remove(of, flag);
+        }
+
         public void execute(VirtualFrame frame, boolean overflow, boolean carry, boolean adjust, byte value) {
-            frame.setBoolean(of, overflow);
-            frame.setBoolean(cf, carry);
-            frame.setBoolean(af, adjust);
-            frame.setBoolean(sf, value < 0);
-            frame.setBoolean(zf, value == 0);
-            frame.setBoolean(pf, getParity(value));
+            setFlag(frame, of, overflow);
+            setFlag(frame, cf, carry);
+            setFlag(frame, af, adjust);
+            setFlag(frame, sf, value < 0);
+            setFlag(frame, zf, value == 0);
+            setParity(frame, pf, value);
         }
 
         public void execute(VirtualFrame frame, boolean overflow, boolean carry, boolean adjust, short value) {
-            frame.setBoolean(of, overflow);
-            frame.setBoolean(cf, carry);
-            frame.setBoolean(af, adjust);
-            frame.setBoolean(sf, value < 0);
-            frame.setBoolean(zf, value == 0);
-            frame.setBoolean(pf, getParity((byte) value));
+            setFlag(frame, of, overflow);
+            setFlag(frame, cf, carry);
+            setFlag(frame, af, adjust);
+            setFlag(frame, sf, value < 0);
+            setFlag(frame, zf, value == 0);
+            setParity(frame, pf, (byte) value);
         }
 
         public void execute(VirtualFrame frame, boolean overflow, boolean carry, boolean adjust, int value) {
-            frame.setBoolean(of, overflow);
-            frame.setBoolean(cf, carry);
-            frame.setBoolean(af, adjust);
-            frame.setBoolean(sf, value < 0);
-            frame.setBoolean(zf, value == 0);
-            frame.setBoolean(pf, getParity((byte) value));
+            setFlag(frame, of, overflow);
+            setFlag(frame, cf, carry);
+            setFlag(frame, af, adjust);
+            setFlag(frame, sf, value < 0);
+            setFlag(frame, zf, value == 0);
+            setParity(frame, pf, (byte) value);
         }
 
         public void execute(VirtualFrame frame, boolean overflow, boolean carry, boolean adjust, long value) {
-            frame.setBoolean(of, overflow);
-            frame.setBoolean(cf, carry);
-            frame.setBoolean(af, adjust);
-            frame.setBoolean(sf, value < 0);
-            frame.setBoolean(zf, value == 0);
-            frame.setBoolean(pf, getParity((byte) value));
+            setFlag(frame, of, overflow);
+            setFlag(frame, cf, carry);
+            setFlag(frame, af, adjust);
+            setFlag(frame, sf, value < 0);
+            setFlag(frame, zf, value == 0);
+            setParity(frame, pf, (byte) value);
         }
     }
 
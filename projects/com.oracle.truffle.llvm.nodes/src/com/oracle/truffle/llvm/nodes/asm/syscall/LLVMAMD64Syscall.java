@@ -44,8 +44,12 @@ public class LLVMAMD64Syscall {
     public static final int SYS_rt_sigaction = 13;
     public static final int SYS_rt_sigprocmask = 14;
     public static final int SYS_ioctl = 16;
+    public static final int SYS_pread64 = 17;
+    public static final int SYS_pwrite64 = 18;
     public static final int SYS_readv = 19;
     public static final int SYS_writev = 20;
+    public static final int SYS_msync = 26;
+    public static final int SYS_madvise = 28;
     public static final int SYS_dup = 32;
     public static final int SYS_dup2 = 33;
     public static final int SYS_getpid = 39;
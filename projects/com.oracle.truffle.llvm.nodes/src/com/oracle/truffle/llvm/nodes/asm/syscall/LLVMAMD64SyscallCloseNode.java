@@ -43,6 +43,7 @@ public class LLVMAMD64SyscallCloseNode extends LLVMAMD64SyscallOperationNode {
     @Override
     public long execute(Object rdi, Object rsi, Object rdx, Object r10, Object r8, Object r9) {
         int fd = (int) ((long) rdi);
+        getFileDescriptorTable().invalidate(fd);
         return (int) close.execute(fd);
     }
 }
@@ -44,6 +44,8 @@ public class LLVMAMD64SyscallDup2Node extends LLVMAMD64SyscallOperationNode {
     public long execute(Object rdi, Object rsi, Object rdx, Object r10, Object r8, Object r9) {
         int fd = (int) ((long) rdi);
         int fd2 = (int) ((long) rsi);
+        // dup2 silently closes fd2
+        getFileDescriptorTable().invalidate(fd2);
         return (int) dup2.execute(fd, fd2);
     }
 }
@@ -43,6 +43,10 @@ public class LLVMAMD64SyscallDupNode extends LLVMAMD64SyscallOperationNode {
     @Override
     public long execute(Object rdi, Object rsi, Object rdx, Object r10, Object r8, Object r9) {
         int fd = (int) ((long) rdi);
-        return (int) dup.execute(fd);
+        int result = (int) dup.execute(fd);
+        if (result >= 0) {
+            getFileDescriptorTable().invalidate(result);
+        }
+        return result;
     }
 }
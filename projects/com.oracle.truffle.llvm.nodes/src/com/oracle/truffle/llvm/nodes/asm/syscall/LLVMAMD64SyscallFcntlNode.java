@@ -35,6 +35,9 @@ import com.oracle.truffle.llvm.nodes.asm.syscall.posix.LLVMAMD64PosixCallNodeGen
 import com.oracle.truffle.llvm.runtime.LLVMAddress;
 
 public abstract class LLVMAMD64SyscallFcntlNode extends LLVMAMD64SyscallOperationNode {
+    private static final int F_DUPFD = 0;
+    private static final int F_DUPFD_CLOEXEC = 1030;
+
     @Child private LLVMAMD64PosixCallNode fcntl;
 
     public LLVMAMD64SyscallFcntlNode() {
@@ -44,7 +47,11 @@ public abstract class LLVMAMD64SyscallFcntlNode extends LLVMAMD64SyscallOperatio
 
     @Specialization
     public long executeI64(long fd, long cmd, long arg) {
-        return (int) fcntl.execute((int) fd, (int) cmd, arg);
+        int result = (int) fcntl.execute((int) fd, (int) cmd, arg);
+        if ((cmd == F_DUPFD || cmd == F_DUPFD_CLOEXEC) && result >= 0) {
+            getFileDescriptorTable().invalidate(result);
+        }
+        return result;
     }
 
     @Specialization
@@ -29,15 +29,31 @@
  */
 package com.oracle.truffle.llvm.nodes.asm.syscall;
 
+import java.nio.channels.FileChannel;
+
+import com.oracle.truffle.llvm.nodes.asm.syscall.posix.LLVMAMD64PosixCallNode;
+import com.oracle.truffle.llvm.nodes.asm.syscall.posix.LLVMAMD64PosixCallNodeGen;
+import com.oracle.truffle.llvm.runtime.LLVMFileDescriptorTable;
+
 public class LLVMAMD64SyscallFtruncateNode extends LLVMAMD64SyscallOperationNode {
+    @Child private LLVMAMD64PosixCallNode ftruncate;
+
     public LLVMAMD64SyscallFtruncateNode() {
         super("ftruncate");
+        ftruncate = LLVMAMD64PosixCallNodeGen.create("ftruncate", "(SINT32,SINT64):SINT32", 2);
     }
 
     @Override
     public long execute(Object rdi, Object rsi, Object rdx, Object r10, Object r8, Object r9) {
         int fd = (int) ((long) rdi);
         long length = (long) rsi;
-        return LLVMFile.ftruncate(fd, length);
+        FileChannel channel = getFileDescriptorTable().getChannel(fd);
+        if (channel != null) {
+            long result = LLVMFile.ftruncate(channel, length);
+            if (result != LLVMFileDescriptorTable.UNSUPPORTED) {
+                return result;
+            }
+        }
+        return (int) ftruncate.execute(fd, length);
     }
 }
@@ -29,22 +29,130 @@
  */
 package com.oracle.truffle.llvm.nodes.asm.syscall;
 
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.llvm.runtime.LLVMAddress;
+import com.oracle.truffle.llvm.runtime.LLVMContext;
+import com.oracle.truffle.llvm.runtime.LLVMPThreadTable;
+import com.oracle.truffle.llvm.runtime.memory.LLVMFutexTable;
+import com.oracle.truffle.llvm.runtime.memory.LLVMMemory;
 
 public abstract class LLVMAMD64SyscallFutexNode extends LLVMAMD64SyscallOperationNode {
+    // @formatter:off
+    private static final int FUTEX_WAIT             = 0;
+    private static final int FUTEX_WAKE             = 1;
+    private static final int FUTEX_REQUEUE          = 3;
+    private static final int FUTEX_CMP_REQUEUE      = 4;
+    private static final int FUTEX_WAIT_BITSET      = 9;
+    private static final int FUTEX_WAKE_BITSET      = 10;
+
+    private static final int FUTEX_PRIVATE_FLAG     = 128;
+    private static final int FUTEX_CLOCK_REALTIME   = 256;
+    // @formatter:on
+
+    private static final long NANOS_PER_SECOND = 1000000000L;
+
     public LLVMAMD64SyscallFutexNode() {
         super("futex");
     }
 
-    @SuppressWarnings("unused")
     @Specialization
-    protected long executeI64(LLVMAddress uaddr, long futexOp, long val, LLVMAddress timeout, LLVMAddress uaddr2, long val3) {
-        return -LLVMAMD64Error.ENOSYS;
+    protected long executeI64(LLVMAddress uaddr, long futexOp, long val, LLVMAddress timeout, LLVMAddress uaddr2, long val3,
+                    @Cached("getContext()") LLVMContext context) {
+        return futex(context.getFutexTable(), context.getPThreadTable(), uaddr.getVal(), (int) futexOp, (int) val, timeout.getVal(), uaddr2.getVal(), (int) val3);
     }
 
     @Specialization
-    protected long executeI64(long uaddr, long futexOp, long val, long timeout, long uaddr2, long val3) {
-        return executeI64(LLVMAddress.fromLong(uaddr), futexOp, val, LLVMAddress.fromLong(timeout), LLVMAddress.fromLong(uaddr2), val3);
+    protected long executeI64(long uaddr, long futexOp, long val, long timeout, long uaddr2, long val3,
+                    @Cached("getContext()") LLVMContext context) {
+        return futex(context.getFutexTable(), context.getPThreadTable(), uaddr, (int) futexOp, (int) val, timeout, uaddr2, (int) val3);
+    }
+
+    @TruffleBoundary
+    private static long futex(LLVMFutexTable table, LLVMPThreadTable threads, long uaddr, int futexOp, int val, long timeout, long uaddr2, int val3) {
+        // all futexes are shared between the threads of a single process
+        int op = futexOp & ~(FUTEX_PRIVATE_FLAG | FUTEX_CLOCK_REALTIME);
+        switch (op) {
+            case FUTEX_WAIT:
+                return await(table, threads, uaddr, val, relativeTimeout(timeout), LLVMFutexTable.MATCH_ANY);
+            case FUTEX_WAIT_BITSET:
+                if (val3 == 0) {
+                    return -LLVMAMD64Error.EINVAL;
+                }
+                return await(table, threads, uaddr, val, absoluteTimeout(timeout, (futexOp & FUTEX_CLOCK_REALTIME) != 0), val3);
+            case FUTEX_WAKE:
+                return table.wake(uaddr, val, LLVMFutexTable.MATCH_ANY);
+            case FUTEX_WAKE_BITSET:
+                if (val3 == 0) {
+                    return -LLVMAMD64Error.EINVAL;
+                }
+                return table.wake(uaddr, val, val3);
+            case FUTEX_REQUEUE:
+                // the number of threads to requeue is passed instead of the timeout
+                return table.requeue(uaddr, val, uaddr2, (int) timeout, false, 0);
+            case FUTEX_CMP_REQUEUE: {
+                int result = table.requeue(uaddr, val, uaddr2, (int) timeout, true, val3);
+                return result < 0 ? -LLVMAMD64Error.EAGAIN : result;
+            }
+            default:
+                return -LLVMAMD64Error.ENOSYS;
+        }
+    }
+
+    private static long await(LLVMFutexTable table, LLVMPThreadTable threads, long uaddr, int val, long timeoutNanos, int bitset) {
+        if (timeoutNanos < 0 && timeoutNanos != LLVMFutexTable.NO_TIMEOUT) {
+            return -LLVMAMD64Error.EINVAL;
+        }
+        switch (table.await(uaddr, val, timeoutNanos, bitset)) {
+            case LLVMFutexTable.WOKEN:
+                return 0;
+            case LLVMFutexTable.VALUE_MISMATCH:
+                return -LLVMAMD64Error.EAGAIN;
+            case LLVMFutexTable.TIMED_OUT:
+                return -LLVMAMD64Error.ETIMEDOUT;
+            case LLVMFutexTable.INTERRUPTED:
+                // threads are interrupted when another thread exits the process
+                threads.checkTerminated();
+                return -LLVMAMD64Error.EINTR;
+            default:
+                throw new IllegalStateException();
+        }
+    }
+
+    /**
+     * Converts a {@code struct timespec} to nanoseconds. Returns a negative value other than
+     * {@link LLVMFutexTable#NO_TIMEOUT} if the timespec is invalid.
+     */
+    private static long toNanos(long timespec) {
+        long seconds = LLVMMemory.getI64(timespec);
+        long nanos = LLVMMemory.getI64(timespec + 8);
+        if (seconds < 0 || nanos < 0 || nanos >= NANOS_PER_SECOND) {
+            return Long.MIN_VALUE;
+        }
+        if (seconds >= Long.MAX_VALUE / NANOS_PER_SECOND) {
+            return LLVMFutexTable.NO_TIMEOUT;
+        }
+        return seconds * NANOS_PER_SECOND + nanos;
+    }
+
+    private static long relativeTimeout(long timeout) {
+        if (timeout == 0) {
+            return LLVMFutexTable.NO_TIMEOUT;
+        }
+        return toNanos(timeout);
+    }
+
+    private static long absoluteTimeout(long timeout, boolean realtime) {
+        if (timeout == 0) {
+            return LLVMFutexTable.NO_TIMEOUT;
+        }
+        long deadline = toNanos(timeout);
+        if (deadline < 0) {
+            return deadline;
+        }
+        // use the same clocks as clock_gettime
+        long now = realtime ? System.currentTimeMillis() * 1000000L : System.nanoTime();
+        return Math.max(0, deadline - now);
     }
 }
@@ -29,9 +29,18 @@
  */
 package com.oracle.truffle.llvm.nodes.asm.syscall;
 
+import java.nio.channels.FileChannel;
+
+import com.oracle.truffle.llvm.nodes.asm.syscall.posix.LLVMAMD64PosixCallNode;
+import com.oracle.truffle.llvm.nodes.asm.syscall.posix.LLVMAMD64PosixCallNodeGen;
+import com.oracle.truffle.llvm.runtime.LLVMFileDescriptorTable;
+
 public class LLVMAMD64SyscallLseekNode extends LLVMAMD64SyscallOperationNode {
+    @Child private LLVMAMD64PosixCallNode lseek;
+
     public LLVMAMD64SyscallLseekNode() {
         super("lseek");
+        lseek = LLVMAMD64PosixCallNodeGen.create("lseek", "(SINT32,SINT64,SINT32):SINT64", 3);
     }
 
     @Override
@@ -39,6 +48,13 @@ public class LLVMAMD64SyscallLseekNode extends LLVMAMD64SyscallOperationNode {
         int fd = (int) ((long) rdi);
         long offset = (long) rsi;
         int whence = (int) ((long) rdx);
-        return LLVMFile.lseek(fd, offset, whence);
+        FileChannel channel = getFileDescriptorTable().getChannel(fd);
+        if (channel != null) {
+            long result = LLVMFile.lseek(channel, offset, whence);
+            if (result != LLVMFileDescriptorTable.UNSUPPORTED) {
+                return result;
+            }
+        }
+        return (long) lseek.execute(fd, offset, whence);
     }
 }
@@ -29,30 +29,40 @@
  */
 package com.oracle.truffle.llvm.nodes.asm.syscall;
 
+import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Specialization;
-import com.oracle.truffle.api.profiles.ConditionProfile;
+import com.oracle.truffle.llvm.nodes.asm.syscall.posix.LLVMAMD64PosixCallNode;
+import com.oracle.truffle.llvm.nodes.asm.syscall.posix.LLVMAMD64PosixCallNodeGen;
 import com.oracle.truffle.llvm.runtime.LLVMAddress;
-import com.oracle.truffle.llvm.runtime.memory.LLVMMemory;
+import com.oracle.truffle.llvm.runtime.LLVMContext;
+import com.oracle.truffle.llvm.runtime.memory.LLVMMemoryMappings;
 
 public abstract class LLVMAMD64SyscallMmapNode extends LLVMAMD64SyscallOperationNode {
+    @Child private LLVMAMD64PosixCallNode mmap;
+
     public LLVMAMD64SyscallMmapNode() {
         super("mmap");
+        mmap = LLVMAMD64PosixCallNodeGen.create("mmap", "(POINTER,UINT64,SINT32,SINT32,SINT32,SINT64):SINT64", 6);
     }
 
-    private final ConditionProfile mapAnonymousProfile = ConditionProfile.createCountingProfile();
-
-    @SuppressWarnings("unused")
     @Specialization
-    protected long execute(LLVMAddress addr, long len, long prot, long flags, long fildes, long off) {
-        if (mapAnonymousProfile.profile((flags & LLVMAMD64Memory.MAP_ANONYMOUS) != 0)) {
-            LLVMAddress ptr = LLVMMemory.allocateMemory(len);
-            return ptr.getVal();
+    protected long execute(LLVMAddress addr, long len, long prot, long flags, long fildes, long off,
+                    @Cached("getContext()") LLVMContext context) {
+        LLVMMemoryMappings mappings = context.getMemoryMappings();
+        if ((flags & LLVMAMD64Memory.MAP_FIXED) != 0 && !mappings.isMapped(addr.getVal(), len)) {
+            // a fixed mapping must not replace memory that the guest does not own
+            return -LLVMAMD64Error.EINVAL;
+        }
+        long result = (long) mmap.execute(addr.getVal(), len, (int) prot, (int) flags, (int) fildes, off);
+        if (result >= 0) {
+            mappings.add(result, len);
         }
-        return -LLVMAMD64Error.ENOMEM;
+        return result;
     }
 
     @Specialization
-    protected long execute(long addr, long len, long prot, long flags, long fildes, long off) {
-        return execute(LLVMAddress.fromLong(addr), len, prot, flags, fildes, off);
+    protected long execute(long addr, long len, long prot, long flags, long fildes, long off,
+                    @Cached("getContext()") LLVMContext context) {
+        return execute(LLVMAddress.fromLong(addr), len, prot, flags, fildes, off, context);
     }
 }
@@ -70,6 +70,8 @@ public abstract class LLVMAMD64SyscallNode extends LLVMExpressionNode {
                 return new LLVMAMD64SyscallLseekNode();
             case LLVMAMD64Syscall.SYS_mmap:
                 return LLVMAMD64SyscallMmapNodeGen.create();
+            case LLVMAMD64Syscall.SYS_munmap:
+                return LLVMAMD64SyscallMunmapNodeGen.create();
             case LLVMAMD64Syscall.SYS_brk:
                 return LLVMAMD64SyscallBrkNodeGen.create();
             case LLVMAMD64Syscall.SYS_rt_sigaction:
@@ -78,10 +80,18 @@ public abstract class LLVMAMD64SyscallNode extends LLVMExpressionNode {
                 return LLVMAMD64SyscallRtSigprocmaskNodeGen.create();
             case LLVMAMD64Syscall.SYS_ioctl:
                 return LLVMAMD64SyscallIoctlNodeGen.create();
+            case LLVMAMD64Syscall.SYS_pread64:
+                return LLVMAMD64SyscallPread64NodeGen.create();
+            case LLVMAMD64Syscall.SYS_pwrite64:
+                return LLVMAMD64SyscallPwrite64NodeGen.create();
             case LLVMAMD64Syscall.SYS_readv:
                 return LLVMAMD64SyscallReadvNodeGen.create();
             case LLVMAMD64Syscall.SYS_writev:
                 return LLVMAMD64SyscallWritevNodeGen.create();
+            case LLVMAMD64Syscall.SYS_msync:
+                return LLVMAMD64SyscallMsyncNodeGen.create();
+            case LLVMAMD64Syscall.SYS_madvise:
+                return LLVMAMD64SyscallMadviseNodeGen.create();
             case LLVMAMD64Syscall.SYS_dup:
                 return new LLVMAMD64SyscallDupNode();
             case LLVMAMD64Syscall.SYS_dup2:
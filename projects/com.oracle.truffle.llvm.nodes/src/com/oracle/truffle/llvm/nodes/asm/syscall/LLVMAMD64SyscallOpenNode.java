@@ -44,7 +44,12 @@ public abstract class LLVMAMD64SyscallOpenNode extends LLVMAMD64SyscallOperation
 
     @Specialization
     protected long execute(LLVMAddress filename, long flags, long mode) {
-        return (int) open.execute(filename.getVal(), (int) flags, (int) mode);
+        int fd = (int) open.execute(filename.getVal(), (int) flags, (int) mode);
+        if (fd >= 0) {
+            // the number may have belonged to a file that was closed without our knowledge
+            getFileDescriptorTable().invalidate(fd);
+        }
+        return fd;
     }
 
     @Specialization
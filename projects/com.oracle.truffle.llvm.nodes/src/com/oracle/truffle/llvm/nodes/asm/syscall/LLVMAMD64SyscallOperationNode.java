@@ -29,11 +29,16 @@
  */
 package com.oracle.truffle.llvm.nodes.asm.syscall;
 
-import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.llvm.runtime.LLVMFileDescriptorTable;
+import com.oracle.truffle.llvm.runtime.nodes.api.LLVMNode;
 
-public abstract class LLVMAMD64SyscallOperationNode extends Node {
+public abstract class LLVMAMD64SyscallOperationNode extends LLVMNode {
     private final String name;
 
+    @CompilationFinal private LLVMFileDescriptorTable fileDescriptors;
+
     public LLVMAMD64SyscallOperationNode(String name) {
         this.name = name;
     }
@@ -43,4 +48,12 @@ public abstract class LLVMAMD64SyscallOperationNode extends Node {
     public final String getName() {
         return name;
     }
+
+    protected final LLVMFileDescriptorTable getFileDescriptorTable() {
+        if (fileDescriptors == null) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            fileDescriptors = getContext().getFileDescriptorTable();
+        }
+        return fileDescriptors;
+    }
 }
@@ -33,6 +33,7 @@ import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.llvm.nodes.asm.syscall.posix.LLVMAMD64PosixCallNode;
 import com.oracle.truffle.llvm.nodes.asm.syscall.posix.LLVMAMD64PosixCallNodeGen;
 import com.oracle.truffle.llvm.runtime.LLVMAddress;
+import com.oracle.truffle.llvm.runtime.LLVMFileDescriptorTable;
 
 public abstract class LLVMAMD64SyscallReadvNode extends LLVMAMD64SyscallOperationNode {
     @Child private LLVMAMD64PosixCallNode readv;
@@ -44,6 +45,10 @@ public abstract class LLVMAMD64SyscallReadvNode extends LLVMAMD64SyscallOperatio
 
     @Specialization
     protected long execute(long fd, LLVMAddress ptr, long size) {
+        long result = getFileDescriptorTable().readv((int) fd, ptr.getVal(), (int) size);
+        if (result != LLVMFileDescriptorTable.UNSUPPORTED) {
+            return result;
+        }
         return (long) readv.execute((int) fd, ptr.getVal(), size);
     }
 
@@ -33,17 +33,31 @@ import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.llvm.nodes.asm.syscall.posix.LLVMAMD64PosixCallNode;
 import com.oracle.truffle.llvm.nodes.asm.syscall.posix.LLVMAMD64PosixCallNodeGen;
 import com.oracle.truffle.llvm.runtime.LLVMAddress;
+import com.oracle.truffle.llvm.runtime.LLVMFileDescriptorTable;
+import com.oracle.truffle.llvm.runtime.memory.LLVMMemory;
 
 public abstract class LLVMAMD64SyscallSendfileNode extends LLVMAMD64SyscallOperationNode {
     @Child private LLVMAMD64PosixCallNode sendfile;
 
     public LLVMAMD64SyscallSendfileNode() {
-        super("ioctl");
+        super("sendfile");
         sendfile = LLVMAMD64PosixCallNodeGen.create("sendfile", "(SINT32,SINT32,POINTER,UINT64):SINT64", 4);
     }
 
     @Specialization
     protected long executeI64(long outFd, long inFd, LLVMAddress offset, long count) {
+        boolean hasOffset = offset.getVal() != 0;
+        // without an offset, the transfer starts at and advances the file position of inFd
+        long position = hasOffset ? LLVMMemory.getI64(offset) : -1;
+        if (!hasOffset || position >= 0) {
+            long result = getFileDescriptorTable().transfer((int) inFd, (int) outFd, position, count);
+            if (result != LLVMFileDescriptorTable.UNSUPPORTED) {
+                if (hasOffset) {
+                    LLVMMemory.putI64(offset, position + result);
+                }
+                return result;
+            }
+        }
         return (long) sendfile.execute((int) outFd, (int) inFd, offset.getVal(), count);
     }
 
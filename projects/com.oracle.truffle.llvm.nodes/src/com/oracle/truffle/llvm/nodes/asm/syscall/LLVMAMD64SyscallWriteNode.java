@@ -33,6 +33,7 @@ import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.llvm.nodes.asm.syscall.posix.LLVMAMD64PosixCallNode;
 import com.oracle.truffle.llvm.nodes.asm.syscall.posix.LLVMAMD64PosixCallNodeGen;
 import com.oracle.truffle.llvm.runtime.LLVMAddress;
+import com.oracle.truffle.llvm.runtime.LLVMFileDescriptorTable;
 
 public abstract class LLVMAMD64SyscallWriteNode extends LLVMAMD64SyscallOperationNode {
     @Child private LLVMAMD64PosixCallNode write;
@@ -44,6 +45,10 @@ public abstract class LLVMAMD64SyscallWriteNode extends LLVMAMD64SyscallOperatio
 
     @Specialization
     protected long execute(long fd, LLVMAddress ptr, long size) {
+        long result = getFileDescriptorTable().write((int) fd, ptr.getVal(), size);
+        if (result != LLVMFileDescriptorTable.UNSUPPORTED) {
+            return result;
+        }
         return (long) write.execute((int) fd, ptr.getVal(), size);
     }
 
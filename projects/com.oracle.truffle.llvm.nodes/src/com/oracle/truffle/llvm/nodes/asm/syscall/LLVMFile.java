@@ -29,15 +29,11 @@
  */
 package com.oracle.truffle.llvm.nodes.asm.syscall;
 
-import java.io.FileDescriptor;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.channels.FileChannel;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
-
-import sun.misc.SharedSecrets;
+import com.oracle.truffle.llvm.runtime.LLVMFileDescriptorTable;
 
 public class LLVMFile {
     public static final int O_ACCMODE = 00000003;
@@ -64,21 +60,12 @@ public class LLVMFile {
     public static final int SEEK_CUR = 1;
     public static final int SEEK_END = 2;
 
-    private static FileDescriptor getFd(int fd) {
-        FileDescriptor f = new FileDescriptor();
-        SharedSecrets.getJavaIOFileDescriptorAccess().set(f, fd);
-        return f;
-    }
-
-    private static FileChannel getOutputChannel(int fd) {
-        return new FileOutputStream(getFd(fd)).getChannel();
-    }
-
+    /**
+     * Returns {@link LLVMFileDescriptorTable#UNSUPPORTED} if the native system call has to be used
+     * instead.
+     */
     @TruffleBoundary
-    public static long lseek(int fd, long offset, int whence) {
-        FileDescriptor f = getFd(fd);
-        FileInputStream in = new FileInputStream(f);
-        FileChannel chan = in.getChannel();
+    public static long lseek(FileChannel chan, long offset, int whence) {
         try {
             long pos;
             switch (whence) {
@@ -103,17 +90,26 @@ public class LLVMFile {
             chan.position(pos);
             return pos;
         } catch (IOException e) {
-            return -LLVMAMD64Error.EBADF;
+            return LLVMFileDescriptorTable.UNSUPPORTED;
         }
     }
 
+    /**
+     * Returns {@link LLVMFileDescriptorTable#UNSUPPORTED} if the native system call has to be used
+     * instead, e.g., because the file has to grow.
+     */
     @TruffleBoundary
-    public static int ftruncate(int fd, long length) {
-        FileChannel chan = getOutputChannel(fd);
+    public static long ftruncate(FileChannel chan, long length) {
+        if (length < 0) {
+            return -LLVMAMD64Error.EINVAL;
+        }
         try {
+            if (length > chan.size()) {
+                return LLVMFileDescriptorTable.UNSUPPORTED;
+            }
             chan.truncate(length);
         } catch (IOException e) {
-            return -LLVMAMD64Error.EBADF;
+            return LLVMFileDescriptorTable.UNSUPPORTED;
         }
         return 0;
     }
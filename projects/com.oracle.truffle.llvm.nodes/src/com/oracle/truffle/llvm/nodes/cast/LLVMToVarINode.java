@@ -66,7 +66,7 @@ public abstract class LLVMToVarINode extends LLVMExpressionNode {
 
         @Specialization
         public LLVMIVarBit executeVarI(LLVMIVarBit from) {
-            return LLVMIVarBit.create(getBits(), from.getSignExtendedBytes(), from.getBitSize(), true);
+            return LLVMIVarBit.fromIVar(getBits(), from);
         }
 
         @Specialization
@@ -103,7 +103,7 @@ public abstract class LLVMToVarINode extends LLVMExpressionNode {
 
         @Specialization
         public LLVMIVarBit executeVarI(LLVMIVarBit from) {
-            return LLVMIVarBit.create(getBits(), from.getBytes(), from.getBitSize(), false);
+            return LLVMIVarBit.createZeroExt(getBits(), from);
         }
     }
 
@@ -107,12 +107,12 @@ public final class LLVMDispatchBasicBlockNode extends LLVMExpressionNode {
                 }
             } else if (controlFlowNode instanceof LLVMSwitchNode) {
                 LLVMSwitchNode switchNode = (LLVMSwitchNode) controlFlowNode;
-                Object condition = switchNode.executeCondition(frame);
+                // the case is looked up in a table, the loop below only turns the index into a
+                // constant successor
+                int caseIndex = switchNode.executeSuccessorIndex(frame);
                 int[] successors = switchNode.getSuccessors();
                 for (int i = 0; i < successors.length - 1; i++) {
-                    Object caseValue = switchNode.getCase(i).executeGeneric(frame);
-                    assert caseValue.getClass() == condition.getClass() : "must be the same type - otherwise equals might wrongly return false";
-                    if (CompilerDirectives.injectBranchProbability(bb.getBranchProbability(i), condition.equals(caseValue))) {
+                    if (CompilerDirectives.injectBranchProbability(bb.getBranchProbability(i), caseIndex == i)) {
                         if (CompilerDirectives.inInterpreter()) {
                             bb.increaseBranchProbability(i);
                             if (successors[i] <= basicBlockIndex) {
@@ -140,13 +140,12 @@ public final class LLVMDispatchBasicBlockNode extends LLVMExpressionNode {
                 nullDeadSlots(frame, basicBlockIndex, beforeBlockNuller);
                 continue outer;
             } else if (controlFlowNode instanceof LLVMIndirectBranchNode) {
-                // TODO (chaeubl): we need a different approach here - this is awfully
-                // inefficient (see GR-3664)
                 LLVMIndirectBranchNode indirectBranchNode = (LLVMIndirectBranchNode) controlFlowNode;
                 int[] successors = indirectBranchNode.getSuccessors();
                 int successorBasicBlockIndex = indirectBranchNode.executeCondition(frame);
+                int successorIndex = indirectBranchNode.getSuccessorIndex(successorBasicBlockIndex);
                 for (int i = 0; i < successors.length - 1; i++) {
-                    if (CompilerDirectives.injectBranchProbability(bb.getBranchProbability(i), successors[i] == successorBasicBlockIndex)) {
+                    if (CompilerDirectives.injectBranchProbability(bb.getBranchProbability(i), successorIndex == i)) {
                         if (CompilerDirectives.inInterpreter()) {
                             bb.increaseBranchProbability(i);
                             if (successors[i] <= basicBlockIndex) {
@@ -162,7 +161,7 @@ public final class LLVMDispatchBasicBlockNode extends LLVMExpressionNode {
                 }
 
                 int i = successors.length - 1;
-                assert successorBasicBlockIndex == successors[i];
+                assert successorIndex == i;
                 if (CompilerDirectives.inInterpreter()) {
                     bb.increaseBranchProbability(i);
                     if (successors[i] <= basicBlockIndex) {
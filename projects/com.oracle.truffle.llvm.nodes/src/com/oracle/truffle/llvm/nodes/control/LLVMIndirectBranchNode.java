@@ -29,6 +29,8 @@
  */
 package com.oracle.truffle.llvm.nodes.control;
 
+import java.util.Arrays;
+
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.frame.VirtualFrame;
@@ -55,16 +57,23 @@ public abstract class LLVMIndirectBranchNode extends LLVMControlFlowNode {
 
     public abstract int[] getSuccessors();
 
+    /**
+     * Returns the position of the given basic block in the successor list.
+     */
+    public abstract int getSuccessorIndex(int basicBlockIndex);
+
     private static final class LLVMIndirectBranchNodeImpl extends LLVMIndirectBranchNode {
 
         @Child private LLVMBranchAddressNode branchAddress;
         @Children private final LLVMExpressionNode[] phiWriteNodes;
         @CompilationFinal(dimensions = 1) private final int[] successors;
+        @CompilationFinal(dimensions = 1) private final int[] successorIndices;
 
         private LLVMIndirectBranchNodeImpl(LLVMBranchAddressNode branchAddress, int[] indices, LLVMExpressionNode[] phiWriteNodes, SourceSection sourceSection) {
             super(sourceSection);
             assert indices.length > 1;
             this.successors = indices;
+            this.successorIndices = createSuccessorIndices(indices);
             this.branchAddress = branchAddress;
             this.phiWriteNodes = phiWriteNodes;
         }
@@ -88,6 +97,29 @@ public abstract class LLVMIndirectBranchNode extends LLVMControlFlowNode {
         public int[] getSuccessors() {
             return successors;
         }
+
+        @Override
+        public int getSuccessorIndex(int basicBlockIndex) {
+            if (basicBlockIndex >= 0 && basicBlockIndex < successorIndices.length && successorIndices[basicBlockIndex] >= 0) {
+                return successorIndices[basicBlockIndex];
+            }
+            CompilerDirectives.transferToInterpreter();
+            throw new IllegalStateException("Invalid target of indirect branch: " + basicBlockIndex);
+        }
+
+        private static int[] createSuccessorIndices(int[] successors) {
+            int maxIndex = 0;
+            for (int successor : successors) {
+                maxIndex = Math.max(maxIndex, successor);
+            }
+            int[] indices = new int[maxIndex + 1];
+            Arrays.fill(indices, -1);
+            // if a block appears several times, the first occurrence wins
+            for (int i = successors.length - 1; i >= 0; i--) {
+                indices[successors[i]] = i;
+            }
+            return indices;
+        }
     }
 
     public abstract static class LLVMBranchAddressNode extends LLVMNode {
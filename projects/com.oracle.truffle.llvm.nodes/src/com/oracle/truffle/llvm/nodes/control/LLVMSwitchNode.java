@@ -29,6 +29,9 @@
  */
 package com.oracle.truffle.llvm.nodes.control;
 
+import java.util.Arrays;
+
+import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.instrumentation.Instrumentable;
@@ -44,11 +47,81 @@ public abstract class LLVMSwitchNode extends LLVMControlFlowNode {
         super(sourceSection);
     }
 
-    private static class LLVMSwitchNodeImpl extends LLVMSwitchNode {
+    /**
+     * Maps case values to case indices. If the case values are dense, the index is looked up
+     * directly in a table, otherwise the sorted values are searched binarily.
+     */
+    private static final class CaseTable {
+
+        private static final int DENSITY = 4;
+        private static final int MAX_DENSE_SIZE = 1 << 16;
+
+        private final int defaultIndex;
+        @CompilationFinal(dimensions = 1) private final long[] sortedValues;
+        @CompilationFinal(dimensions = 1) private final int[] sortedIndices;
+        private final long denseBase;
+        @CompilationFinal(dimensions = 1) private final int[] denseIndices;
+
+        CaseTable(long[] values) {
+            this.defaultIndex = values.length;
+
+            Integer[] order = new Integer[values.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Long.compare(values[a], values[b]));
+            this.sortedValues = new long[values.length];
+            this.sortedIndices = new int[values.length];
+            for (int i = 0; i < order.length; i++) {
+                sortedValues[i] = values[order[i]];
+                sortedIndices[i] = order[i];
+            }
+
+            long range = values.length == 0 ? 0 : sortedValues[values.length - 1] - sortedValues[0] + 1;
+            if (values.length > 0 && range > 0 && range <= MAX_DENSE_SIZE && range <= (long) values.length * DENSITY) {
+                this.denseBase = sortedValues[0];
+                this.denseIndices = new int[(int) range];
+                Arrays.fill(denseIndices, defaultIndex);
+                for (int i = 0; i < values.length; i++) {
+                    denseIndices[(int) (values[i] - denseBase)] = i;
+                }
+            } else {
+                this.denseBase = 0;
+                this.denseIndices = null;
+            }
+        }
+
+        int lookup(long value) {
+            if (denseIndices != null) {
+                long offset = value - denseBase;
+                if (offset >= 0 && offset < denseIndices.length) {
+                    return denseIndices[(int) offset];
+                }
+                return defaultIndex;
+            }
+            int low = 0;
+            int high = sortedValues.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                long midValue = sortedValues[mid];
+                if (midValue < value) {
+                    low = mid + 1;
+                } else if (midValue > value) {
+                    high = mid - 1;
+                } else {
+                    return sortedIndices[mid];
+                }
+            }
+            return defaultIndex;
+        }
+    }
+
+    private abstract static class LLVMSwitchNodeImpl extends LLVMSwitchNode {
         @Children private final LLVMExpressionNode[] phiNodes;
         @Child protected LLVMExpressionNode cond;
         @Children protected final LLVMExpressionNode[] cases;
         @CompilationFinal(dimensions = 1) private final int[] successors;
+        @CompilationFinal private CaseTable caseTable;
 
         LLVMSwitchNodeImpl(int[] successors, LLVMExpressionNode[] phiNodes, LLVMExpressionNode cond, LLVMExpressionNode[] cases, SourceSection sourceSection) {
             super(sourceSection);
@@ -59,9 +132,30 @@ public abstract class LLVMSwitchNode extends LLVMControlFlowNode {
             this.cases = cases;
         }
 
+        protected abstract long executeConditionValue(VirtualFrame frame);
+
         @Override
-        public Object executeCondition(VirtualFrame frame) {
-            return null;
+        public int executeSuccessorIndex(VirtualFrame frame) {
+            long value = executeConditionValue(frame);
+            if (caseTable == null) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                caseTable = createCaseTable(frame);
+            }
+            return caseTable.lookup(value);
+        }
+
+        private CaseTable createCaseTable(VirtualFrame frame) {
+            // the case values are constants, so they only need to be evaluated once
+            long[] values = new long[cases.length];
+            for (int i = 0; i < cases.length; i++) {
+                Object caseValue = cases[i].executeGeneric(frame);
+                if (caseValue instanceof Boolean) {
+                    values[i] = (boolean) caseValue ? 1 : 0;
+                } else {
+                    values[i] = ((Number) caseValue).longValue();
+                }
+            }
+            return new CaseTable(values);
         }
 
         @Override
@@ -87,6 +181,12 @@ public abstract class LLVMSwitchNode extends LLVMControlFlowNode {
 
     public abstract Object executeCondition(VirtualFrame frame);
 
+    /**
+     * Evaluates the condition and returns the index of the matching case, or the index of the
+     * default case (the last successor) if no case matches.
+     */
+    public abstract int executeSuccessorIndex(VirtualFrame frame);
+
     public abstract int[] getSuccessors();
 
     public abstract LLVMExpressionNode getCase(int i);
@@ -101,6 +201,11 @@ public abstract class LLVMSwitchNode extends LLVMControlFlowNode {
             return cond.executeI1(frame);
         }
 
+        @Override
+        protected long executeConditionValue(VirtualFrame frame) {
+            return cond.executeI1(frame) ? 1 : 0;
+        }
+
     }
 
     public static final class LLVMI8SwitchNode extends LLVMSwitchNodeImpl {
@@ -113,6 +218,11 @@ public abstract class LLVMSwitchNode extends LLVMControlFlowNode {
             return cond.executeI8(frame);
         }
 
+        @Override
+        protected long executeConditionValue(VirtualFrame frame) {
+            return cond.executeI8(frame);
+        }
+
     }
 
     public static final class LLVMI16SwitchNode extends LLVMSwitchNodeImpl {
@@ -125,6 +235,11 @@ public abstract class LLVMSwitchNode extends LLVMControlFlowNode {
             return cond.executeI16(frame);
         }
 
+        @Override
+        protected long executeConditionValue(VirtualFrame frame) {
+            return cond.executeI16(frame);
+        }
+
     }
 
     public static final class LLVMI32SwitchNode extends LLVMSwitchNodeImpl {
@@ -137,6 +252,11 @@ public abstract class LLVMSwitchNode extends LLVMControlFlowNode {
             return cond.executeI32(frame);
         }
 
+        @Override
+        protected long executeConditionValue(VirtualFrame frame) {
+            return cond.executeI32(frame);
+        }
+
     }
 
     public static final class LLVMI64SwitchNode extends LLVMSwitchNodeImpl {
@@ -149,5 +269,10 @@ public abstract class LLVMSwitchNode extends LLVMControlFlowNode {
             return cond.executeI64(frame);
         }
 
+        @Override
+        protected long executeConditionValue(VirtualFrame frame) {
+            return cond.executeI64(frame);
+        }
+
     }
 }
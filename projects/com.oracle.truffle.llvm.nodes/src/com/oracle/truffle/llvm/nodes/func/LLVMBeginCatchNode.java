@@ -29,15 +29,14 @@
  */
 package com.oracle.truffle.llvm.nodes.func;
 
-import java.util.LinkedList;
-
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
-import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.nodes.UnexpectedResultException;
 import com.oracle.truffle.llvm.runtime.LLVMAddress;
+import com.oracle.truffle.llvm.runtime.LLVMCaughtExceptionStack;
 import com.oracle.truffle.llvm.runtime.LLVMContext;
+import com.oracle.truffle.llvm.runtime.LLVMGetCaughtExceptionStackNode;
 import com.oracle.truffle.llvm.runtime.LLVMNativeFunctions;
 import com.oracle.truffle.llvm.runtime.NFIContextExtension;
 import com.oracle.truffle.llvm.runtime.nodes.api.LLVMExpressionNode;
@@ -47,7 +46,16 @@ public final class LLVMBeginCatchNode extends LLVMExpressionNode {
     @Child private LLVMExpressionNode exceptionPointer;
     @Child private LLVMNativeFunctions.SulongGetThrownObjectNode getThrownObject;
     @Child private LLVMNativeFunctions.SulongIncrementHandlerCountNode handlerCount;
-    @CompilationFinal private LinkedList<LLVMAddress> caughtExceptionStack;
+    @Child private LLVMGetCaughtExceptionStackNode getCaughtExceptionStack = LLVMGetCaughtExceptionStackNode.create();
+    @CompilationFinal private LLVMContext cachedContext;
+
+    public LLVMContext getCachedContext() {
+        if (cachedContext == null) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            this.cachedContext = getContext();
+        }
+        return cachedContext;
+    }
 
     public LLVMBeginCatchNode(LLVMExpressionNode exceptionPointer) {
         this.exceptionPointer = exceptionPointer;
@@ -73,12 +81,8 @@ public final class LLVMBeginCatchNode extends LLVMExpressionNode {
         return handlerCount;
     }
 
-    public LinkedList<LLVMAddress> getCaughtExceptionStack() {
-        if (caughtExceptionStack == null) {
-            CompilerDirectives.transferToInterpreterAndInvalidate();
-            this.caughtExceptionStack = getContext().getCaughtExceptionStack();
-        }
-        return caughtExceptionStack;
+    private LLVMCaughtExceptionStack getCaughtExceptionStack() {
+        return getCaughtExceptionStack.executeWithTarget(getCachedContext(), Thread.currentThread());
     }
 
     @Override
@@ -95,13 +99,13 @@ public final class LLVMBeginCatchNode extends LLVMExpressionNode {
         }
     }
 
-    @TruffleBoundary
     private void pushExceptionToStack(LLVMAddress exc) {
-        if (getCaughtExceptionStack().size() > 0 && getCaughtExceptionStack().peek().getVal() == exc.getVal()) {
+        LLVMCaughtExceptionStack stack = getCaughtExceptionStack();
+        if (!stack.isEmpty() && stack.peek().getVal() == exc.getVal()) {
             // exception already on stack
             return;
         }
-        getCaughtExceptionStack().push(exc);
+        stack.push(exc);
     }
 
 }
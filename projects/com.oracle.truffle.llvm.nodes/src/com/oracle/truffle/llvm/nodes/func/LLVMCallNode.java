@@ -35,7 +35,6 @@ import com.oracle.truffle.api.instrumentation.StandardTags;
 import com.oracle.truffle.api.nodes.ExplodeLoop;
 import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.source.SourceSection;
-import com.oracle.truffle.llvm.nodes.func.LLVMCallNodeFactory.ArgumentNodeGen;
 import com.oracle.truffle.llvm.nodes.func.LLVMCallNodeFactory.ToFunctionNodeGen;
 import com.oracle.truffle.llvm.runtime.LLVMAddress;
 import com.oracle.truffle.llvm.runtime.LLVMFunction;
@@ -52,7 +51,6 @@ public final class LLVMCallNode extends LLVMExpressionNode {
 
     @Child private LLVMExpressionNode functionNode;
     @Children private final LLVMExpressionNode[] argumentNodes;
-    @Children private final ArgumentNode[] prepareArgumentNodes;
     @Child private LLVMLookupDispatchNode dispatchNode;
     @Child private ToFunction toFunction;
 
@@ -62,10 +60,6 @@ public final class LLVMCallNode extends LLVMExpressionNode {
         this.functionNode = functionNode;
         this.argumentNodes = argumentNodes;
         this.dispatchNode = LLVMLookupDispatchNodeGen.create(functionType);
-        this.prepareArgumentNodes = new ArgumentNode[argumentNodes.length];
-        for (int i = 0; i < argumentNodes.length; i++) {
-            this.prepareArgumentNodes[i] = ArgumentNodeGen.create();
-        }
         this.sourceSection = sourceSection;
         this.toFunction = ToFunctionNodeGen.create();
     }
@@ -76,7 +70,7 @@ public final class LLVMCallNode extends LLVMExpressionNode {
         Object function = toFunction.executeWithTarget(functionNode.executeGeneric(frame));
         Object[] argValues = new Object[argumentNodes.length];
         for (int i = 0; i < argumentNodes.length; i++) {
-            argValues[i] = prepareArgumentNodes[i].executeWithTarget(argumentNodes[i].executeGeneric(frame));
+            argValues[i] = argumentNodes[i].executeGeneric(frame);
         }
         return dispatchNode.executeDispatch(frame, function, argValues);
     }
@@ -101,25 +95,6 @@ public final class LLVMCallNode extends LLVMExpressionNode {
         }
     }
 
-    protected abstract static class ArgumentNode extends Node {
-
-        protected abstract Object executeWithTarget(Object value);
-
-        @Specialization
-        LLVMAddress doAddress(LLVMAddress address) {
-            return address.copy();
-        }
-
-        protected static boolean notAddress(Object value) {
-            return !(value instanceof LLVMAddress);
-        }
-
-        @Specialization(guards = "notAddress(value)")
-        Object doOther(Object value) {
-            return value;
-        }
-    }
-
     @Override
     public SourceSection getSourceSection() {
         return sourceSection;
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.nodes.func;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.llvm.runtime.LLVMAddress;
+import com.oracle.truffle.llvm.runtime.LLVMContext;
+import com.oracle.truffle.llvm.runtime.LLVMExceptionTypeRegistry;
+import com.oracle.truffle.llvm.runtime.LLVMNativeFunctions;
+import com.oracle.truffle.llvm.runtime.NFIContextExtension;
+import com.oracle.truffle.llvm.runtime.nodes.api.LLVMNode;
+
+/**
+ * Checks whether a catch type of a landing pad clause matches a thrown type. The first pair of
+ * types that is seen is cached in the node, all further pairs are looked up in the
+ * {@link LLVMExceptionTypeRegistry} of the context. Only pairs that are not in the registry yet
+ * are checked by native code.
+ */
+public final class LLVMCanCatchNode extends LLVMNode {
+
+    @Child private LLVMNativeFunctions.SulongCanCatchNode canCatch;
+    @CompilationFinal private LLVMExceptionTypeRegistry registry;
+
+    @CompilationFinal private boolean initialized;
+    @CompilationFinal private long cachedThrownType;
+    @CompilationFinal private long cachedCatchType;
+    @CompilationFinal private boolean cachedResult;
+
+    public LLVMNativeFunctions.SulongCanCatchNode getCanCatch() {
+        if (canCatch == null) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            LLVMContext context = getContext();
+            NFIContextExtension nfiContextExtension = context.getContextExtension(NFIContextExtension.class);
+            this.canCatch = insert(nfiContextExtension.getNativeSulongFunctions().createSulongCanCatch(context));
+        }
+        return canCatch;
+    }
+
+    public LLVMExceptionTypeRegistry getRegistry() {
+        if (registry == null) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            this.registry = getContext().getExceptionTypeRegistry();
+        }
+        return registry;
+    }
+
+    public boolean canCatch(LLVMAddress exceptionInfo, LLVMAddress thrownType, LLVMAddress catchType) {
+        if (initialized) {
+            if (thrownType.getVal() == cachedThrownType && catchType.getVal() == cachedCatchType) {
+                return cachedResult;
+            }
+            return lookup(exceptionInfo, thrownType, catchType);
+        } else {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            boolean result = lookup(exceptionInfo, thrownType, catchType);
+            cachedThrownType = thrownType.getVal();
+            cachedCatchType = catchType.getVal();
+            cachedResult = result;
+            initialized = true;
+            return result;
+        }
+    }
+
+    private boolean lookup(LLVMAddress exceptionInfo, LLVMAddress thrownType, LLVMAddress catchType) {
+        int known = getRegistry().lookup(thrownType.getVal(), catchType.getVal());
+        if (known != LLVMExceptionTypeRegistry.UNKNOWN) {
+            return known == LLVMExceptionTypeRegistry.CAN_CATCH;
+        }
+        boolean result = getCanCatch().canCatch(exceptionInfo, thrownType, catchType) != 0;
+        getRegistry().register(thrownType.getVal(), catchType.getVal(), result);
+        return result;
+    }
+}
@@ -51,6 +51,7 @@ import com.oracle.truffle.llvm.runtime.NFIContextExtension.UnsupportedNativeType
 import com.oracle.truffle.llvm.runtime.memory.LLVMStack;
 import com.oracle.truffle.llvm.runtime.memory.LLVMThreadingStack;
 import com.oracle.truffle.llvm.runtime.nodes.api.LLVMNode;
+import com.oracle.truffle.llvm.runtime.options.SulongEngineOption;
 import com.oracle.truffle.llvm.runtime.types.FunctionType;
 
 @SuppressWarnings("unused")
@@ -60,6 +61,7 @@ public abstract class LLVMDispatchNode extends LLVMNode {
 
     private final FunctionType type;
     @CompilationFinal private String signature;
+    @CompilationFinal private NFIContextExtension nfiContextExtension;
 
     protected LLVMDispatchNode(FunctionType type) {
         this.type = type;
@@ -79,6 +81,14 @@ public abstract class LLVMDispatchNode extends LLVMNode {
         return signature;
     }
 
+    private NFIContextExtension getNFIContextExtension() {
+        if (nfiContextExtension == null) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            nfiContextExtension = getContext().getContextExtension(NFIContextExtension.class);
+        }
+        return nfiContextExtension;
+    }
+
     public abstract Object executeDispatch(VirtualFrame frame, LLVMFunctionDescriptor function, Object[] arguments);
 
     /*
@@ -86,17 +96,25 @@ public abstract class LLVMDispatchNode extends LLVMNode {
      */
 
     @Specialization(limit = "INLINE_CACHE_SIZE", guards = {"function == cachedFunction", "cachedFunction.isLLVMIRFunction()"})
-    protected static Object doDirectReferenceCache(LLVMFunctionDescriptor function, Object[] arguments,
+    protected Object doDirectReferenceCache(LLVMFunctionDescriptor function, Object[] arguments,
                     @Cached("function") LLVMFunctionDescriptor cachedFunction,
-                    @Cached("create(cachedFunction.getLLVMIRFunction())") DirectCallNode callNode) {
-        return callNode.call(arguments);
+                    @Cached("create(cachedFunction.getLLVMIRFunction())") DirectCallNode callNode,
+                    @Cached("createPackArguments(cachedFunction)") LLVMPackArgumentsNode packArguments) {
+        return callNode.call(packArguments.execute(arguments));
     }
 
     @Specialization(limit = "INLINE_CACHE_SIZE", guards = {"function.getFunctionId() == cachedFunction.getFunctionId()", "cachedFunction.isLLVMIRFunction()"}, replaces = "doDirectReferenceCache")
-    protected static Object doDirect(LLVMFunctionDescriptor function, Object[] arguments,
+    protected Object doDirect(LLVMFunctionDescriptor function, Object[] arguments,
                     @Cached("function") LLVMFunctionDescriptor cachedFunction,
-                    @Cached("create(cachedFunction.getLLVMIRFunction())") DirectCallNode callNode) {
-        return callNode.call(arguments);
+                    @Cached("create(cachedFunction.getLLVMIRFunction())") DirectCallNode callNode,
+                    @Cached("createPackArguments(cachedFunction)") LLVMPackArgumentsNode packArguments) {
+        return callNode.call(packArguments.execute(arguments));
+    }
+
+    protected LLVMPackArgumentsNode createPackArguments(LLVMFunctionDescriptor function) {
+        CompilerAsserts.neverPartOfCompilation();
+        boolean enabled = getContext().getEnv().getOptions().get(SulongEngineOption.PRIMITIVE_ARGUMENTS);
+        return LLVMPackArgumentsNode.create(type, enabled ? function.getType() : null);
     }
 
     @Specialization(replaces = "doDirect", guards = "descriptor.isLLVMIRFunction()")
@@ -158,18 +176,25 @@ public abstract class LLVMDispatchNode extends LLVMNode {
                     @Cached("nativeCallStatisticsEnabled(context)") boolean statistics,
                     @Cached("create()") LLVMGetStackNode getStack) {
 
+        long conversionStart = LLVMNativeCallUtils.nanoTime(statistics);
         Object[] nativeArgs = prepareNativeArguments(frame, arguments, toNative);
         LLVMStack stack = getStack.executeWithTarget(getThreadingStack(context), Thread.currentThread());
         stack.setStackPointer((long) arguments[0]);
-        Object returnValue = LLVMNativeCallUtils.callNativeFunction(statistics, context, nativeCall, cachedBoundFunction, nativeArgs, cachedDescriptor);
+        long callStart = LLVMNativeCallUtils.nanoTime(statistics);
+        Object returnValue = LLVMNativeCallUtils.callNativeFunction(nativeCall, cachedBoundFunction, nativeArgs);
+        long callEnd = LLVMNativeCallUtils.nanoTime(statistics);
         stack.setStackPointer((long) arguments[0]);
-        return fromNative.executeConvert(frame, returnValue);
+        Object result = fromNative.executeConvert(frame, returnValue);
+        if (statistics) {
+            LLVMNativeCallUtils.registerNativeCall(context, cachedDescriptor, this, callEnd - callStart, callStart - conversionStart + LLVMNativeCallUtils.nanoTime(statistics) - callEnd);
+        }
+        return result;
     }
 
     protected TruffleObject bindSymbol(VirtualFrame frame, LLVMFunctionDescriptor descriptor) {
         CompilerAsserts.neverPartOfCompilation();
         assert descriptor.getNativeFunction() != null : descriptor.getName();
-        return LLVMNativeCallUtils.bindNativeSymbol(LLVMNativeCallUtils.getBindNode(), descriptor.getNativeFunction(), getSignature());
+        return getNFIContextExtension().getBoundNativeFunction(descriptor.getNativeFunction(), getSignature());
     }
 
     @Specialization(replaces = "doCachedNative", guards = "descriptor.isNativeFunction()")
@@ -177,18 +202,24 @@ public abstract class LLVMDispatchNode extends LLVMNode {
                     @Cached("createToNativeNodes()") LLVMNativeConvertNode[] toNative,
                     @Cached("createFromNativeNode()") LLVMNativeConvertNode fromNative,
                     @Cached("createNativeCallNode()") Node nativeCall,
-                    @Cached("getBindNode()") Node bindNode,
                     @Cached("getContext()") LLVMContext context,
                     @Cached("nativeCallStatisticsEnabled(context)") boolean statistics,
                     @Cached("create()") LLVMGetStackNode getStack) {
 
+        long conversionStart = LLVMNativeCallUtils.nanoTime(statistics);
         Object[] nativeArgs = prepareNativeArguments(frame, arguments, toNative);
-        TruffleObject boundSymbol = LLVMNativeCallUtils.bindNativeSymbol(bindNode, descriptor.getNativeFunction(), getSignature());
+        TruffleObject boundSymbol = getNFIContextExtension().getBoundNativeFunction(descriptor.getNativeFunction(), getSignature());
         LLVMStack stack = getStack.executeWithTarget(getThreadingStack(context), Thread.currentThread());
         stack.setStackPointer((long) arguments[0]);
-        Object returnValue = LLVMNativeCallUtils.callNativeFunction(statistics, getContext(), nativeCall, boundSymbol, nativeArgs, descriptor);
+        long callStart = LLVMNativeCallUtils.nanoTime(statistics);
+        Object returnValue = LLVMNativeCallUtils.callNativeFunction(nativeCall, boundSymbol, nativeArgs);
+        long callEnd = LLVMNativeCallUtils.nanoTime(statistics);
         stack.setStackPointer((long) arguments[0]);
-        return fromNative.executeConvert(frame, returnValue);
+        Object result = fromNative.executeConvert(frame, returnValue);
+        if (statistics) {
+            LLVMNativeCallUtils.registerNativeCall(context, descriptor, this, callEnd - callStart, callStart - conversionStart + LLVMNativeCallUtils.nanoTime(statistics) - callEnd);
+        }
+        return result;
     }
 
     @ExplodeLoop
@@ -200,11 +231,6 @@ public abstract class LLVMDispatchNode extends LLVMNode {
         return nativeArgs;
     }
 
-    protected Node getBindNode() {
-        CompilerAsserts.neverPartOfCompilation();
-        return LLVMNativeCallUtils.getBindNode();
-    }
-
     protected Node createNativeCallNode() {
         CompilerAsserts.neverPartOfCompilation();
         int argCount = type.getArgumentTypes().length - LLVMCallNode.USER_ARGUMENT_OFFSET;
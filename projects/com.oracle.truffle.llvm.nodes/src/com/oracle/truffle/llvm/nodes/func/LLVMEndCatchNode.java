@@ -29,15 +29,14 @@
  */
 package com.oracle.truffle.llvm.nodes.func;
 
-import java.util.LinkedList;
-
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
-import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.llvm.runtime.LLVMAddress;
+import com.oracle.truffle.llvm.runtime.LLVMCaughtExceptionStack;
 import com.oracle.truffle.llvm.runtime.LLVMContext;
 import com.oracle.truffle.llvm.runtime.LLVMFunctionHandle;
+import com.oracle.truffle.llvm.runtime.LLVMGetCaughtExceptionStackNode;
 import com.oracle.truffle.llvm.runtime.LLVMNativeFunctions;
 import com.oracle.truffle.llvm.runtime.NFIContextExtension;
 import com.oracle.truffle.llvm.runtime.nodes.api.LLVMExpressionNode;
@@ -55,7 +54,7 @@ public final class LLVMEndCatchNode extends LLVMExpressionNode {
     @Child private LLVMNativeFunctions.SulongGetThrownObjectNode getThrownObject;
     @Child private LLVMNativeFunctions.SulongGetDestructorNode getDestructor;
     @Child private LLVMNativeFunctions.SulongSetHandlerCountNode setHandlerCount;
-    @CompilationFinal private LinkedList<LLVMAddress> caughtExceptionStack;
+    @Child private LLVMGetCaughtExceptionStackNode getCaughtExceptionStack = LLVMGetCaughtExceptionStackNode.create();
     @CompilationFinal private LLVMContext cachedContext;
 
     public LLVMContext getCachedContext() {
@@ -71,14 +70,6 @@ public final class LLVMEndCatchNode extends LLVMExpressionNode {
         this.dispatch = LLVMLookupDispatchNodeGen.create(new FunctionType(VoidType.INSTANCE, new Type[]{new PointerType(null)}, false));
     }
 
-    public LinkedList<LLVMAddress> getCaughtExceptionStack() {
-        if (caughtExceptionStack == null) {
-            CompilerDirectives.transferToInterpreterAndInvalidate();
-            this.caughtExceptionStack = getContext().getCaughtExceptionStack();
-        }
-        return caughtExceptionStack;
-    }
-
     public LLVMNativeFunctions.SulongDecrementHandlerCountNode getDecHandlerCount() {
         if (decHandlerCount == null) {
             CompilerDirectives.transferToInterpreterAndInvalidate();
@@ -129,6 +120,10 @@ public final class LLVMEndCatchNode extends LLVMExpressionNode {
         return setHandlerCount;
     }
 
+    private LLVMCaughtExceptionStack getCaughtExceptionStack() {
+        return getCaughtExceptionStack.executeWithTarget(getCachedContext(), Thread.currentThread());
+    }
+
     @Override
     public Object executeGeneric(VirtualFrame frame) {
         try {
@@ -152,7 +147,6 @@ public final class LLVMEndCatchNode extends LLVMExpressionNode {
         }
     }
 
-    @TruffleBoundary
     private LLVMAddress popExceptionToStack() {
         return getCaughtExceptionStack().pop();
     }
@@ -40,6 +40,7 @@ import com.oracle.truffle.api.source.SourceSection;
 import com.oracle.truffle.llvm.nodes.base.LLVMFrameNullerUtil;
 import com.oracle.truffle.llvm.runtime.LLVMLanguage;
 import com.oracle.truffle.llvm.runtime.nodes.api.LLVMExpressionNode;
+import com.oracle.truffle.llvm.runtime.types.Type;
 
 public class LLVMFunctionStartNode extends RootNode {
 
@@ -48,13 +49,16 @@ public class LLVMFunctionStartNode extends RootNode {
     @CompilationFinal(dimensions = 1) FrameSlot[] frameSlotsToInitialize;
     private final String name;
     private final int explicitArgumentsCount;
+    @CompilationFinal(dimensions = 1) private final Type[] packedArgumentTypes;
     private final DebugInformation debugInformation;
 
     public LLVMFunctionStartNode(SourceSection sourceSection, LLVMLanguage language, LLVMExpressionNode node, LLVMExpressionNode[] copyArgumentsToFrame,
-                    FrameDescriptor frameDescriptor, String name, int explicitArgumentsCount, String originalName, Source bcSource) {
+                    FrameDescriptor frameDescriptor, String name, int explicitArgumentsCount, String originalName, Source bcSource,
+                    Type[] packedArgumentTypes) {
         super(language, frameDescriptor);
         this.debugInformation = new DebugInformation(sourceSection, originalName, bcSource);
         this.explicitArgumentsCount = explicitArgumentsCount;
+        this.packedArgumentTypes = packedArgumentTypes;
         this.node = node;
         this.copyArgumentsToFrame = copyArgumentsToFrame;
         this.name = name;
@@ -103,6 +107,14 @@ public class LLVMFunctionStartNode extends RootNode {
         return explicitArgumentsCount;
     }
 
+    /**
+     * The argument types of this function if callers may pass its arguments with the
+     * {@link LLVMPrimitiveArguments} convention, or {@code null} otherwise.
+     */
+    public Type[] getPackedArgumentTypes() {
+        return packedArgumentTypes;
+    }
+
     public String getOriginalName() {
         return debugInformation.originalName;
     }
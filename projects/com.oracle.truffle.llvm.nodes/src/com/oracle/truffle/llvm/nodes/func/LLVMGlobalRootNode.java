@@ -95,6 +95,11 @@ public class LLVMGlobalRootNode extends RootNode {
 
                 getContext().awaitThreadTermination();
                 assert LLVMSignal.getNumberOfRegisteredSignals() == 0;
+                LLVMExitException exit = getContext().getPThreadTable().getExit();
+                if (exit != null) {
+                    // another thread exited the process
+                    return exit.getReturnCode();
+                }
                 return result;
             } catch (LLVMExitException e) {
                 getContext().awaitThreadTermination();
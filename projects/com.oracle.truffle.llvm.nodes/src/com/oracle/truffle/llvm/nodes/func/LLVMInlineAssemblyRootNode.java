@@ -33,8 +33,10 @@ import java.util.List;
 
 import com.oracle.truffle.api.frame.FrameDescriptor;
 import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.NodeUtil;
 import com.oracle.truffle.api.nodes.RootNode;
 import com.oracle.truffle.api.source.SourceSection;
+import com.oracle.truffle.llvm.nodes.asm.LLVMAMD64BreakpointNode;
 import com.oracle.truffle.llvm.nodes.asm.base.LLVMInlineAssemblyBlockNode;
 import com.oracle.truffle.llvm.nodes.asm.base.LLVMInlineAssemblyPrologueNode;
 import com.oracle.truffle.llvm.runtime.LLVMLanguage;
@@ -62,6 +64,14 @@ public class LLVMInlineAssemblyRootNode extends RootNode {
         return sourceSection;
     }
 
+    /**
+     * Whether the assembly halts the debugger. Breakpoints report the source section of this root,
+     * so such roots must not be shared between call sites.
+     */
+    public boolean hasBreakpoint() {
+        return NodeUtil.findFirstNodeInstance(block, LLVMAMD64BreakpointNode.class) != null;
+    }
+
     @Override
     public Object execute(VirtualFrame frame) {
         prologue.executeGeneric(frame);
@@ -30,6 +30,7 @@
 package com.oracle.truffle.llvm.nodes.func;
 
 import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.frame.FrameSlot;
 import com.oracle.truffle.api.frame.FrameSlotTypeException;
 import com.oracle.truffle.api.frame.VirtualFrame;
@@ -53,6 +54,9 @@ public final class LLVMLandingpadNode extends LLVMExpressionNode {
     private final FrameSlot exceptionSlot;
     private final boolean cleanup;
 
+    @CompilationFinal private boolean unwindHeaderOffsetKnown;
+    @CompilationFinal private long unwindHeaderOffset;
+
     public LLVMLandingpadNode(LLVMExpressionNode allocateLandingPadValue, FrameSlot exceptionSlot, boolean cleanup,
                     LandingpadEntryNode[] entries) {
         this.allocateLandingPadValue = allocateLandingPadValue;
@@ -88,8 +92,8 @@ public final class LLVMLandingpadNode extends LLVMExpressionNode {
         try {
             LLVMException exception = (LLVMException) frame.getObject(exceptionSlot);
             LLVMAddress exceptionInfo = exception.getPointer();
-            LLVMAddress unwindHeader = getGetUnwindHeader().getUnwind(exceptionInfo);
-            LLVMAddress thrownTypeID = getGetExceptionType().get(unwindHeader);
+            LLVMAddress unwindHeader = getUnwindHeader(exceptionInfo);
+            LLVMAddress thrownTypeID = getThrownType(exception, unwindHeader);
 
             int clauseId = getEntryIdentifier(frame, exceptionInfo, thrownTypeID);
             if (clauseId == 0 && !cleanup) {
@@ -107,6 +111,25 @@ public final class LLVMLandingpadNode extends LLVMExpressionNode {
         }
     }
 
+    private LLVMAddress getUnwindHeader(LLVMAddress exceptionInfo) {
+        if (!unwindHeaderOffsetKnown) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            // the unwind header is at a fixed offset from the thrown object
+            unwindHeaderOffset = getGetUnwindHeader().getUnwind(exceptionInfo).getVal() - exceptionInfo.getVal();
+            unwindHeaderOffsetKnown = true;
+        }
+        return exceptionInfo.increment(unwindHeaderOffset);
+    }
+
+    private LLVMAddress getThrownType(LLVMException exception, LLVMAddress unwindHeader) {
+        LLVMAddress thrownType = exception.getThrownType();
+        if (thrownType.getVal() == 0) {
+            // the type is not known for rethrown exceptions
+            return getGetExceptionType().get(unwindHeader);
+        }
+        return thrownType;
+    }
+
     @ExplodeLoop
     private int getEntryIdentifier(VirtualFrame frame, LLVMAddress exceptionInfo, LLVMAddress thrownTypeID) {
         for (int i = 0; i < entries.length; i++) {
@@ -134,21 +157,12 @@ public final class LLVMLandingpadNode extends LLVMExpressionNode {
 
         @Child private LLVMExpressionNode catchType;
         @Child private LLVMForceLLVMAddressNode forceToLLVMcatchType;
-        @Child private LLVMNativeFunctions.SulongCanCatchNode canCatch;
+        @Child private LLVMCanCatchNode canCatch;
 
         public LandingpadCatchEntryNode(LLVMExpressionNode catchType) {
             this.catchType = catchType;
             this.forceToLLVMcatchType = getForceLLVMAddressNode();
-        }
-
-        public LLVMNativeFunctions.SulongCanCatchNode getCanCatch() {
-            if (canCatch == null) {
-                CompilerDirectives.transferToInterpreterAndInvalidate();
-                LLVMContext context = getContext();
-                NFIContextExtension nfiContextExtension = context.getContextExtension(NFIContextExtension.class);
-                this.canCatch = insert(nfiContextExtension.getNativeSulongFunctions().createSulongCanCatch(context));
-            }
-            return canCatch;
+            this.canCatch = new LLVMCanCatchNode();
         }
 
         @Override
@@ -161,7 +175,7 @@ public final class LLVMLandingpadNode extends LLVMExpressionNode {
                  */
                 return 1;
             }
-            if (getCanCatch().canCatch(exceptionInfo, thrownTypeID, catchAddress) != 0) {
+            if (canCatch.canCatch(exceptionInfo, thrownTypeID, catchAddress)) {
                 return (int) catchAddress.getVal();
             }
             return 0;
@@ -172,21 +186,15 @@ public final class LLVMLandingpadNode extends LLVMExpressionNode {
 
         @Children private final LLVMExpressionNode[] filterTypes;
         @Children private final LLVMForceLLVMAddressNode[] forceToLLVMfilterTypes;
-        @Child private LLVMNativeFunctions.SulongCanCatchNode canCatch;
+        @Children private final LLVMCanCatchNode[] canCatch;
 
         public LandingpadFilterEntryNode(LLVMExpressionNode[] filterTypes) {
             this.filterTypes = filterTypes;
             this.forceToLLVMfilterTypes = getForceLLVMAddressNodes(filterTypes.length);
-        }
-
-        public LLVMNativeFunctions.SulongCanCatchNode getCanCatch() {
-            if (canCatch == null) {
-                CompilerDirectives.transferToInterpreterAndInvalidate();
-                LLVMContext context = getContext();
-                NFIContextExtension nfiContextExtension = context.getContextExtension(NFIContextExtension.class);
-                this.canCatch = insert(nfiContextExtension.getNativeSulongFunctions().createSulongCanCatch(context));
+            this.canCatch = new LLVMCanCatchNode[filterTypes.length];
+            for (int i = 0; i < filterTypes.length; i++) {
+                canCatch[i] = new LLVMCanCatchNode();
             }
-            return canCatch;
         }
 
         @Override
@@ -213,7 +221,7 @@ public final class LLVMLandingpadNode extends LLVMExpressionNode {
                      */
                     return true;
                 }
-                if (getCanCatch().canCatch(exceptionInfo, thrownTypeID, filterAddress) != 0) {
+                if (canCatch[i].canCatch(exceptionInfo, thrownTypeID, filterAddress)) {
                     return true;
                 }
             }
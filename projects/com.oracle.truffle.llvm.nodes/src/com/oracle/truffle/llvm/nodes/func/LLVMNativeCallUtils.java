@@ -35,35 +35,15 @@ import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.interop.ForeignAccess;
-import com.oracle.truffle.api.interop.Message;
 import com.oracle.truffle.api.interop.TruffleObject;
 import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.nodes.RootNode;
 import com.oracle.truffle.llvm.runtime.LLVMContext;
 import com.oracle.truffle.llvm.runtime.LLVMFunctionDescriptor;
 
 public final class LLVMNativeCallUtils {
 
-    static Node getBindNode() {
-        CompilerAsserts.neverPartOfCompilation();
-        return Message.createInvoke(1).createNode();
-    }
-
-    static TruffleObject bindNativeSymbol(Node bindNode, TruffleObject symbol, String signature) {
-        try {
-            return (TruffleObject) ForeignAccess.sendInvoke(bindNode, symbol, "bind", signature);
-        } catch (Throwable ex) {
-            CompilerDirectives.transferToInterpreter();
-            throw new IllegalStateException(symbol + " " + signature, ex);
-        }
-    }
-
-    static Object callNativeFunction(boolean enabled, LLVMContext context, Node nativeCall, TruffleObject function, Object[] nativeArgs, LLVMFunctionDescriptor descriptor) {
-        CompilerAsserts.partialEvaluationConstant(enabled);
-        if (enabled) {
-            if (descriptor != null) {
-                traceNativeCall(context, descriptor);
-            }
-        }
+    static Object callNativeFunction(Node nativeCall, TruffleObject function, Object[] nativeArgs) {
         try {
             return ForeignAccess.sendExecute(nativeCall, function, nativeArgs);
         } catch (Throwable e) {
@@ -72,13 +52,23 @@ public final class LLVMNativeCallUtils {
         }
     }
 
+    static long nanoTime(boolean statistics) {
+        CompilerAsserts.partialEvaluationConstant(statistics);
+        return statistics ? System.nanoTime() : 0;
+    }
+
+    @TruffleBoundary
+    static void registerNativeCall(LLVMContext context, LLVMFunctionDescriptor descriptor, Node caller, long callNanos, long conversionNanos) {
+        context.registerNativeCall(descriptor.getName() + " " + descriptor.getType(), getCallerName(caller), callNanos, conversionNanos);
+    }
+
     @TruffleBoundary
-    private static void traceNativeCall(LLVMContext context, LLVMFunctionDescriptor descriptor) {
-        context.registerNativeCall(descriptor);
+    static void registerNativeCall(LLVMContext context, long functionPointer, Node caller, long callNanos, long conversionNanos) {
+        context.registerNativeCall(String.format("<native function 0x%x>", functionPointer), getCallerName(caller), callNanos, conversionNanos);
     }
 
-    public static TruffleObject bindNativeSymbol(TruffleObject symbol, String signature) {
-        CompilerAsserts.neverPartOfCompilation();
-        return bindNativeSymbol(getBindNode(), symbol, signature);
+    private static String getCallerName(Node caller) {
+        RootNode rootNode = caller.getRootNode();
+        return rootNode == null ? "<unknown>" : rootNode.getName();
     }
 }
@@ -32,16 +32,11 @@ package com.oracle.truffle.llvm.nodes.func;
 import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
-import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.VirtualFrame;
-import com.oracle.truffle.api.interop.ArityException;
-import com.oracle.truffle.api.interop.ForeignAccess;
 import com.oracle.truffle.api.interop.Message;
 import com.oracle.truffle.api.interop.TruffleObject;
-import com.oracle.truffle.api.interop.UnsupportedMessageException;
-import com.oracle.truffle.api.interop.UnsupportedTypeException;
 import com.oracle.truffle.api.nodes.ExplodeLoop;
 import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.llvm.runtime.LLVMContext;
@@ -59,7 +54,6 @@ import com.oracle.truffle.llvm.runtime.types.FunctionType;
 public abstract class LLVMNativeDispatchNode extends LLVMNode {
 
     private final FunctionType type;
-    @Child private Node identityExecuteNode = Message.createExecute(1).createNode();
     @Child private Node nativeCallNode;
 
     protected LLVMNativeDispatchNode(FunctionType type) {
@@ -69,28 +63,32 @@ public abstract class LLVMNativeDispatchNode extends LLVMNode {
 
     public abstract Object executeDispatch(VirtualFrame frame, LLVMFunctionHandle function, Object[] arguments);
 
-    @TruffleBoundary
-    protected TruffleObject identityFunction() {
-        LLVMContext context = getContext();
-        NFIContextExtension nfiContextExtension = context.getContextExtension(NFIContextExtension.class);
-        String signature;
-        try {
-            signature = nfiContextExtension.getNativeSignature(type, LLVMCallNode.USER_ARGUMENT_OFFSET);
-        } catch (UnsupportedNativeTypeException e) {
-            throw new IllegalStateException(e);
+    @CompilationFinal private String signature;
+    @CompilationFinal private NFIContextExtension nfiContextExtension;
+
+    private String getSignature() {
+        if (signature == null) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            try {
+                signature = getNFIContextExtension().getNativeSignature(type, LLVMCallNode.USER_ARGUMENT_OFFSET);
+            } catch (UnsupportedNativeTypeException e) {
+                throw new IllegalStateException(e);
+            }
         }
-        return nfiContextExtension.getNativeFunction(context, "@identity", String.format("(POINTER):%s", signature));
+        return signature;
     }
 
-    protected TruffleObject dispatchIdentity(TruffleObject identity, long pointer) {
-        assert LLVMFunction.isExternNativeFunctionPointer(pointer);
-        try {
-            return (TruffleObject) ForeignAccess.sendExecute(identityExecuteNode, identity,
-                            pointer);
-        } catch (UnsupportedTypeException | ArityException | UnsupportedMessageException e) {
-            CompilerDirectives.transferToInterpreter();
-            throw new IllegalStateException(e);
+    private NFIContextExtension getNFIContextExtension() {
+        if (nfiContextExtension == null) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            nfiContextExtension = getContext().getContextExtension(NFIContextExtension.class);
         }
+        return nfiContextExtension;
+    }
+
+    protected TruffleObject getBoundFunction(LLVMContext context, long pointer) {
+        assert LLVMFunction.isExternNativeFunctionPointer(pointer);
+        return getNFIContextExtension().getBoundNativeFunction(context, pointer, getSignature());
     }
 
     @CompilationFinal private LLVMThreadingStack threadingStack = null;
@@ -130,33 +128,46 @@ public abstract class LLVMNativeDispatchNode extends LLVMNode {
     public Object doCached(VirtualFrame frame, LLVMFunctionHandle function, Object[] arguments,
                     @Cached("getContext()") LLVMContext context,
                     @Cached("function") LLVMFunctionHandle cachedFunction,
-                    @Cached("identityFunction()") TruffleObject identity,
-                    @Cached("dispatchIdentity(identity, cachedFunction.getFunctionPointer())") TruffleObject nativeFunctionHandle,
+                    @Cached("getBoundFunction(context, cachedFunction.getFunctionPointer())") TruffleObject nativeFunctionHandle,
                     @Cached("createToNativeNodes()") LLVMNativeConvertNode[] toNative,
                     @Cached("createFromNativeNode()") LLVMNativeConvertNode fromNative,
                     @Cached("nativeCallStatisticsEnabled(context)") boolean statistics,
                     @Cached("create()") LLVMGetStackNode getStack) {
+        long conversionStart = LLVMNativeCallUtils.nanoTime(statistics);
         Object[] nativeArgs = prepareNativeArguments(frame, arguments, toNative);
         LLVMStack stack = getStack.executeWithTarget(getThreadingStack(context), Thread.currentThread());
         stack.setStackPointer((long) arguments[0]);
-        Object returnValue = LLVMNativeCallUtils.callNativeFunction(statistics, context, nativeCallNode, nativeFunctionHandle, nativeArgs, null);
+        long callStart = LLVMNativeCallUtils.nanoTime(statistics);
+        Object returnValue = LLVMNativeCallUtils.callNativeFunction(nativeCallNode, nativeFunctionHandle, nativeArgs);
+        long callEnd = LLVMNativeCallUtils.nanoTime(statistics);
         stack.setStackPointer((long) arguments[0]);
-        return fromNative.executeConvert(frame, returnValue);
+        Object result = fromNative.executeConvert(frame, returnValue);
+        if (statistics) {
+            LLVMNativeCallUtils.registerNativeCall(context, cachedFunction.getFunctionPointer(), this, callEnd - callStart, callStart - conversionStart + LLVMNativeCallUtils.nanoTime(statistics) - callEnd);
+        }
+        return result;
     }
 
     @Specialization
     public Object doGeneric(VirtualFrame frame, LLVMFunctionHandle function, Object[] arguments,
                     @Cached("getContext()") LLVMContext context,
-                    @Cached("identityFunction()") TruffleObject identity,
                     @Cached("createToNativeNodes()") LLVMNativeConvertNode[] toNative,
                     @Cached("createFromNativeNode()") LLVMNativeConvertNode fromNative,
                     @Cached("nativeCallStatisticsEnabled(context)") boolean statistics,
                     @Cached("create()") LLVMGetStackNode getStack) {
+        long conversionStart = LLVMNativeCallUtils.nanoTime(statistics);
         Object[] nativeArgs = prepareNativeArguments(frame, arguments, toNative);
+        TruffleObject nativeFunctionHandle = getBoundFunction(context, function.getFunctionPointer());
         LLVMStack stack = getStack.executeWithTarget(getThreadingStack(context), Thread.currentThread());
         stack.setStackPointer((long) arguments[0]);
-        Object returnValue = LLVMNativeCallUtils.callNativeFunction(statistics, context, nativeCallNode, dispatchIdentity(identity, function.getFunctionPointer()), nativeArgs, null);
+        long callStart = LLVMNativeCallUtils.nanoTime(statistics);
+        Object returnValue = LLVMNativeCallUtils.callNativeFunction(nativeCallNode, nativeFunctionHandle, nativeArgs);
+        long callEnd = LLVMNativeCallUtils.nanoTime(statistics);
         stack.setStackPointer((long) arguments[0]);
-        return fromNative.executeConvert(frame, returnValue);
+        Object result = fromNative.executeConvert(frame, returnValue);
+        if (statistics) {
+            LLVMNativeCallUtils.registerNativeCall(context, function.getFunctionPointer(), this, callEnd - callStart, callStart - conversionStart + LLVMNativeCallUtils.nanoTime(statistics) - callEnd);
+        }
+        return result;
     }
 }
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.nodes.func;
+
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
+import com.oracle.truffle.api.profiles.BranchProfile;
+import com.oracle.truffle.llvm.runtime.nodes.api.LLVMNode;
+import com.oracle.truffle.llvm.runtime.types.FunctionType;
+import com.oracle.truffle.llvm.runtime.types.PrimitiveType.PrimitiveKind;
+import com.oracle.truffle.llvm.runtime.types.StructureType;
+import com.oracle.truffle.llvm.runtime.types.Type;
+
+/**
+ * Converts the arguments of a call to an LLVM IR function to the {@link LLVMPrimitiveArguments}
+ * convention, if the callee expects arguments of the types that are passed. The argument array is
+ * converted in place, so callers must not use it after the call.
+ */
+public final class LLVMPackArgumentsNode extends LLVMNode {
+
+    @CompilationFinal(dimensions = 1) private final PrimitiveKind[] kinds;
+    private final int primitiveCount;
+
+    private final BranchProfile unexpectedValueProfile = BranchProfile.create();
+
+    private LLVMPackArgumentsNode(PrimitiveKind[] kinds, int primitiveCount) {
+        this.kinds = kinds;
+        this.primitiveCount = primitiveCount;
+    }
+
+    /**
+     * Creates a node that packs the arguments for calls of the given type to a callee of the given
+     * type, or passes them on unchanged if the callee type is {@code null} or does not match.
+     */
+    public static LLVMPackArgumentsNode create(FunctionType callType, FunctionType calleeType) {
+        Type[] argumentTypes = callType.getArgumentTypes();
+        if (calleeType == null || !matches(argumentTypes, calleeType) || !LLVMPrimitiveArguments.hasPrimitiveArguments(argumentTypes)) {
+            return new LLVMPackArgumentsNode(null, 0);
+        }
+        PrimitiveKind[] kinds = new PrimitiveKind[argumentTypes.length];
+        for (int i = LLVMCallNode.USER_ARGUMENT_OFFSET; i < argumentTypes.length; i++) {
+            kinds[i] = LLVMPrimitiveArguments.getPassedKind(argumentTypes[i]);
+        }
+        return new LLVMPackArgumentsNode(kinds, LLVMPrimitiveArguments.getPrimitiveIndex(argumentTypes, argumentTypes.length));
+    }
+
+    private static boolean matches(Type[] argumentTypes, FunctionType calleeType) {
+        if (calleeType.isVarargs()) {
+            return false;
+        }
+        Type[] parameterTypes = calleeType.getArgumentTypes();
+        int offset = LLVMCallNode.USER_ARGUMENT_OFFSET + (calleeType.getReturnType() instanceof StructureType ? 1 : 0);
+        if (argumentTypes.length != offset + parameterTypes.length) {
+            return false;
+        }
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (LLVMPrimitiveArguments.getPassedKind(argumentTypes[offset + i]) != LLVMPrimitiveArguments.getPassedKind(parameterTypes[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public Object[] execute(Object[] arguments) {
+        if (kinds == null) {
+            return arguments;
+        }
+        if (arguments.length != kinds.length || !hasExpectedValues(arguments)) {
+            // e.g. an i64 argument that holds a managed pointer
+            unexpectedValueProfile.enter();
+            return arguments;
+        }
+        return pack(arguments);
+    }
+
+    @ExplodeLoop
+    private boolean hasExpectedValues(Object[] arguments) {
+        for (int i = LLVMCallNode.USER_ARGUMENT_OFFSET; i < kinds.length; i++) {
+            if (kinds[i] != null && !isExpectedValue(kinds[i], arguments[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isExpectedValue(PrimitiveKind kind, Object value) {
+        switch (kind) {
+            case I1:
+                return value instanceof Boolean;
+            case I8:
+                return value instanceof Byte;
+            case I16:
+                return value instanceof Short;
+            case I32:
+                return value instanceof Integer;
+            case I64:
+                return value instanceof Long;
+            case FLOAT:
+                return value instanceof Float;
+            case DOUBLE:
+                return value instanceof Double;
+            default:
+                throw new AssertionError(kind);
+        }
+    }
+
+    @ExplodeLoop
+    private Object[] pack(Object[] arguments) {
+        long[] primitives = new long[primitiveCount];
+        primitives[0] = (long) arguments[0];
+        int primitiveIndex = 1;
+        for (int i = LLVMCallNode.USER_ARGUMENT_OFFSET; i < kinds.length; i++) {
+            if (kinds[i] != null) {
+                primitives[primitiveIndex++] = LLVMPrimitiveArguments.toBits(kinds[i], arguments[i]);
+                arguments[i] = null;
+            }
+        }
+        arguments[0] = primitives;
+        return arguments;
+    }
+}
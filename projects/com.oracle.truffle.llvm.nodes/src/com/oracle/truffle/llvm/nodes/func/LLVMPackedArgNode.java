@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.nodes.func;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.profiles.ConditionProfile;
+import com.oracle.truffle.llvm.runtime.LLVMAddress;
+import com.oracle.truffle.llvm.runtime.nodes.api.LLVMExpressionNode;
+import com.oracle.truffle.llvm.runtime.types.PrimitiveType.PrimitiveKind;
+import com.oracle.truffle.llvm.runtime.types.Type;
+
+/**
+ * Reads an argument of primitive type of a function that can be called both with boxed arguments
+ * and with the {@link LLVMPrimitiveArguments} convention. Other arguments are at the same index in
+ * both cases and are read by {@link LLVMArgNode}.
+ */
+public final class LLVMPackedArgNode extends LLVMExpressionNode {
+
+    private final int index;
+    private final int primitiveIndex;
+    private final PrimitiveKind kind;
+
+    private final ConditionProfile packedProfile = ConditionProfile.createBinaryProfile();
+
+    private LLVMPackedArgNode(int index, int primitiveIndex, PrimitiveKind kind) {
+        this.index = index;
+        this.primitiveIndex = primitiveIndex;
+        this.kind = kind;
+    }
+
+    public static LLVMExpressionNode create(int index, Type[] argumentTypes) {
+        PrimitiveKind kind = index < LLVMCallNode.USER_ARGUMENT_OFFSET ? PrimitiveKind.I64 : LLVMPrimitiveArguments.getPassedKind(argumentTypes[index]);
+        if (kind == null) {
+            return LLVMArgNodeGen.create(index);
+        }
+        return new LLVMPackedArgNode(index, LLVMPrimitiveArguments.getPrimitiveIndex(argumentTypes, index), kind);
+    }
+
+    @Override
+    public Object executeGeneric(VirtualFrame frame) {
+        Object[] arguments = frame.getArguments();
+        if (packedProfile.profile(LLVMPrimitiveArguments.isPacked(arguments))) {
+            return LLVMPrimitiveArguments.fromBits(kind, ((long[]) arguments[0])[primitiveIndex]);
+        }
+        Object value = arguments[index];
+        if (value instanceof LLVMAddress) {
+            // e.g. an i64 argument that holds a managed pointer, see LLVMArgNode
+            return ((LLVMAddress) value).copy();
+        }
+        return value;
+    }
+
+    /**
+     * Reads an argument like a node created by {@link #create} would, for argument indices that
+     * are not constant.
+     */
+    @TruffleBoundary
+    public static Object read(Object[] arguments, int index, Type[] argumentTypes) {
+        PrimitiveKind kind = index < LLVMCallNode.USER_ARGUMENT_OFFSET ? PrimitiveKind.I64 : LLVMPrimitiveArguments.getPassedKind(argumentTypes[index]);
+        if (kind != null && LLVMPrimitiveArguments.isPacked(arguments)) {
+            return LLVMPrimitiveArguments.fromBits(kind, ((long[]) arguments[0])[LLVMPrimitiveArguments.getPrimitiveIndex(argumentTypes, index)]);
+        }
+        Object value = arguments[index];
+        if (value instanceof LLVMAddress) {
+            return ((LLVMAddress) value).copy();
+        }
+        return value;
+    }
+}
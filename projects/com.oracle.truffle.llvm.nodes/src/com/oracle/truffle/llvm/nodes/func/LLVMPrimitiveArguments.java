@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.nodes.func;
+
+import com.oracle.truffle.llvm.runtime.types.PrimitiveType;
+import com.oracle.truffle.llvm.runtime.types.PrimitiveType.PrimitiveKind;
+import com.oracle.truffle.llvm.runtime.types.Type;
+
+/**
+ * Calling convention for calls between LLVM IR functions that passes arguments of primitive type
+ * without boxing them. The caller replaces the stack pointer at index 0 of its (freshly allocated)
+ * argument array with a {@code long[]} that holds the stack pointer followed by the raw bits of all
+ * primitive arguments in argument order, and clears the array elements of these arguments. The
+ * remaining arguments stay at their index: {@code [long[]{stackpointer, primitives...}, arguments...]}.
+ *
+ * The layout only depends on the argument types, with index 0 being the stack pointer.
+ */
+public final class LLVMPrimitiveArguments {
+
+    private LLVMPrimitiveArguments() {
+    }
+
+    /**
+     * The kind of an argument that is passed in the {@code long[]}, or {@code null} if it is passed
+     * in the argument array.
+     */
+    public static PrimitiveKind getPassedKind(Type type) {
+        if (type instanceof PrimitiveType) {
+            PrimitiveKind kind = ((PrimitiveType) type).getPrimitiveKind();
+            switch (kind) {
+                case I1:
+                case I8:
+                case I16:
+                case I32:
+                case I64:
+                case FLOAT:
+                case DOUBLE:
+                    return kind;
+                default:
+                    return null;
+            }
+        }
+        return null;
+    }
+
+    public static boolean hasPrimitiveArguments(Type[] argumentTypes) {
+        for (int i = LLVMCallNode.USER_ARGUMENT_OFFSET; i < argumentTypes.length; i++) {
+            if (getPassedKind(argumentTypes[i]) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The index in the {@code long[]} of the stack pointer or an argument that is passed there.
+     */
+    public static int getPrimitiveIndex(Type[] argumentTypes, int index) {
+        if (index < LLVMCallNode.USER_ARGUMENT_OFFSET) {
+            // the stack pointer
+            return 0;
+        }
+        int primitiveIndex = 1;
+        for (int i = LLVMCallNode.USER_ARGUMENT_OFFSET; i < index; i++) {
+            if (getPassedKind(argumentTypes[i]) != null) {
+                primitiveIndex++;
+            }
+        }
+        return primitiveIndex;
+    }
+
+    static boolean isPacked(Object[] arguments) {
+        return arguments[0] instanceof long[];
+    }
+
+    static long toBits(PrimitiveKind kind, Object value) {
+        switch (kind) {
+            case I1:
+                return (boolean) value ? 1 : 0;
+            case I8:
+                return (byte) value;
+            case I16:
+                return (short) value;
+            case I32:
+                return (int) value;
+            case I64:
+                return (long) value;
+            case FLOAT:
+                return Float.floatToRawIntBits((float) value);
+            case DOUBLE:
+                return Double.doubleToRawLongBits((double) value);
+            default:
+                throw new AssertionError(kind);
+        }
+    }
+
+    static Object fromBits(PrimitiveKind kind, long bits) {
+        switch (kind) {
+            case I1:
+                return bits != 0;
+            case I8:
+                return (byte) bits;
+            case I16:
+                return (short) bits;
+            case I32:
+                return (int) bits;
+            case I64:
+                return bits;
+            case FLOAT:
+                return Float.intBitsToFloat((int) bits);
+            case DOUBLE:
+                return Double.longBitsToDouble(bits);
+            default:
+                throw new AssertionError(kind);
+        }
+    }
+}
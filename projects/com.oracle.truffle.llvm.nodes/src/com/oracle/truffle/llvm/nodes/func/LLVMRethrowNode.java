@@ -29,15 +29,14 @@
  */
 package com.oracle.truffle.llvm.nodes.func;
 
-import java.util.LinkedList;
-
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
-import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.llvm.runtime.LLVMAddress;
+import com.oracle.truffle.llvm.runtime.LLVMCaughtExceptionStack;
 import com.oracle.truffle.llvm.runtime.LLVMContext;
 import com.oracle.truffle.llvm.runtime.LLVMException;
+import com.oracle.truffle.llvm.runtime.LLVMGetCaughtExceptionStackNode;
 import com.oracle.truffle.llvm.runtime.LLVMNativeFunctions;
 import com.oracle.truffle.llvm.runtime.NFIContextExtension;
 import com.oracle.truffle.llvm.runtime.nodes.api.LLVMExpressionNode;
@@ -46,16 +45,17 @@ public final class LLVMRethrowNode extends LLVMExpressionNode {
 
     public static final int RETHROWN_MARKER = Integer.MAX_VALUE;
 
-    @CompilationFinal private LinkedList<LLVMAddress> caughtExceptionStack;
     @Child private LLVMNativeFunctions.SulongSetHandlerCountNode setHandlerCount;
     @Child private LLVMNativeFunctions.SulongGetExceptionPointerNode getExceptionPointer;
+    @Child private LLVMGetCaughtExceptionStackNode getCaughtExceptionStack = LLVMGetCaughtExceptionStackNode.create();
+    @CompilationFinal private LLVMContext cachedContext;
 
-    public LinkedList<LLVMAddress> getCaughtExceptionStack() {
-        if (caughtExceptionStack == null) {
+    public LLVMContext getCachedContext() {
+        if (cachedContext == null) {
             CompilerDirectives.transferToInterpreterAndInvalidate();
-            caughtExceptionStack = getContext().getCaughtExceptionStack();
+            this.cachedContext = getContext();
         }
-        return caughtExceptionStack;
+        return cachedContext;
     }
 
     public LLVMNativeFunctions.SulongSetHandlerCountNode getSetHandlerCount() {
@@ -78,6 +78,10 @@ public final class LLVMRethrowNode extends LLVMExpressionNode {
         return getExceptionPointer;
     }
 
+    private LLVMCaughtExceptionStack getCaughtExceptionStack() {
+        return getCaughtExceptionStack.executeWithTarget(getCachedContext(), Thread.currentThread());
+    }
+
     @Override
     public Object executeGeneric(VirtualFrame frame) {
         LLVMAddress ptr = peekExceptionToStack();
@@ -89,7 +93,6 @@ public final class LLVMRethrowNode extends LLVMExpressionNode {
         throw new LLVMException(exceptionPointer);
     }
 
-    @TruffleBoundary
     private LLVMAddress peekExceptionToStack() {
         return getCaughtExceptionStack().peek();
     }
@@ -75,7 +75,7 @@ public final class LLVMThrowExceptionNode extends LLVMExpressionNode {
         LLVMAddress thrownType = thrownTypeIDToLLVM.executeWithTarget(frame, thrownTypeID.executeGeneric(frame));
         LLVMAddress dest = destructorToLLVM.executeWithTarget(frame, destructor.executeGeneric(frame));
         getExceptionInitializaton().throvv(thrownObject, thrownType, dest, LLVMAddress.nullPointer(), LLVMAddress.nullPointer());
-        throw new LLVMException(thrownObject);
+        throw new LLVMException(thrownObject, thrownType);
     }
 
     private static LLVMForceLLVMAddressNode getForceLLVMAddressNode() {
@@ -0,0 +1,419 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.nodes.intrinsics.c;
+
+import java.util.concurrent.CountDownLatch;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.NodeChild;
+import com.oracle.truffle.api.dsl.NodeChildren;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.interop.ForeignAccess;
+import com.oracle.truffle.api.interop.InteropException;
+import com.oracle.truffle.api.interop.Message;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.nodes.ControlFlowException;
+import com.oracle.truffle.llvm.nodes.asm.syscall.LLVMAMD64Error;
+import com.oracle.truffle.llvm.nodes.intrinsics.llvm.LLVMIntrinsic;
+import com.oracle.truffle.llvm.nodes.memory.LLVMForceLLVMAddressNode;
+import com.oracle.truffle.llvm.nodes.memory.LLVMForceLLVMAddressNodeGen;
+import com.oracle.truffle.llvm.nodes.memory.store.LLVMAddressStoreNode;
+import com.oracle.truffle.llvm.nodes.memory.store.LLVMAddressStoreNodeGen;
+import com.oracle.truffle.llvm.nodes.memory.store.LLVMI64StoreNode;
+import com.oracle.truffle.llvm.nodes.memory.store.LLVMI64StoreNodeGen;
+import com.oracle.truffle.llvm.runtime.LLVMAddress;
+import com.oracle.truffle.llvm.runtime.LLVMContext;
+import com.oracle.truffle.llvm.runtime.LLVMExitException;
+import com.oracle.truffle.llvm.runtime.LLVMFunction;
+import com.oracle.truffle.llvm.runtime.LLVMFunctionDescriptor;
+import com.oracle.truffle.llvm.runtime.LLVMFunctionHandle;
+import com.oracle.truffle.llvm.runtime.LLVMPThreadTable;
+import com.oracle.truffle.llvm.runtime.LLVMThread;
+import com.oracle.truffle.llvm.runtime.NFIContextExtension;
+import com.oracle.truffle.llvm.runtime.memory.LLVMMemory;
+import com.oracle.truffle.llvm.runtime.memory.LLVMStack;
+import com.oracle.truffle.llvm.runtime.memory.LLVMStack.StackPointer;
+import com.oracle.truffle.llvm.runtime.nodes.api.LLVMExpressionNode;
+import com.oracle.truffle.llvm.runtime.types.PointerType;
+import com.oracle.truffle.llvm.runtime.types.PrimitiveType;
+
+/**
+ * Thread creation for guest programs. Every {@code pthread_create} starts a Java thread with its
+ * own LLVM stack that calls the start routine. The synchronization primitives of the C library are
+ * built on top of atomics and the futex system call, so they work unmodified on these threads.
+ *
+ * A Java thread is also a native thread, so the {@code pthread_t} of a guest thread is the one that
+ * the native {@code pthread_self} returns on it. It can be passed to all native {@code pthread_*}
+ * functions except those that manage the lifetime of the thread, which are intrinsified here.
+ */
+public abstract class LLVMPThreadIntrinsics extends LLVMIntrinsic {
+
+    @TruffleBoundary
+    protected static boolean isCreatedThread() {
+        return Thread.currentThread() instanceof LLVMPThreadRunner;
+    }
+
+    private static final class LLVMPThreadRunner extends Thread {
+
+        LLVMPThreadRunner(Runnable runnable) {
+            super(runnable, "sulongThread");
+        }
+    }
+
+    private static final class LLVMPThreadExitException extends ControlFlowException {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Object returnValue;
+
+        LLVMPThreadExitException(Object returnValue) {
+            this.returnValue = returnValue;
+        }
+    }
+
+    private static final class LLVMPThread implements LLVMThread, Runnable {
+
+        private final LLVMContext context;
+        private final LLVMPThreadTable table;
+        private final TruffleObject pthreadSelf;
+        private final LLVMFunctionDescriptor function;
+        private final Object argument;
+        private final boolean detached;
+        private final Thread thread;
+
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch finished = new CountDownLatch(1);
+        // counted down when the thread is joined or detached
+        private final CountDownLatch reaped = new CountDownLatch(1);
+
+        private volatile long id;
+        private volatile Object returnValue;
+
+        LLVMPThread(LLVMContext context, TruffleObject pthreadSelf, LLVMFunctionDescriptor function, Object argument, boolean detached) {
+            this.context = context;
+            this.table = context.getPThreadTable();
+            this.pthreadSelf = pthreadSelf;
+            this.function = function;
+            this.argument = argument;
+            this.detached = detached;
+            this.thread = new LLVMPThreadRunner(this);
+            if (detached) {
+                // nobody can join the thread, so it goes away as soon as the start routine returns
+                reaped.countDown();
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                try {
+                    id = (long) ForeignAccess.sendExecute(Message.createExecute(0).createNode(), pthreadSelf);
+                    if (!detached) {
+                        table.addJoinable(id, this);
+                    }
+                } catch (InteropException e) {
+                    throw new AssertionError(e);
+                } finally {
+                    started.countDown();
+                }
+                if (table.addThread(thread)) {
+                    runStartRoutine();
+                }
+            } finally {
+                context.unregisterThread(this);
+                finished.countDown();
+            }
+            // like a native thread, a joinable thread keeps its pthread_t until it is joined
+            try {
+                while (!table.isTerminating()) {
+                    try {
+                        reaped.await();
+                        break;
+                    } catch (InterruptedException e) {
+                        // check whether the process terminates
+                    }
+                }
+            } finally {
+                table.removeThread(thread);
+            }
+        }
+
+        private void runStartRoutine() {
+            LLVMStack stack = context.getThreadingStack().getStack();
+            try (StackPointer stackPointer = stack.takeStackPointer()) {
+                returnValue = function.getLLVMIRFunction().call(stackPointer.get(), argument);
+            } catch (LLVMPThreadExitException e) {
+                returnValue = e.returnValue;
+            } catch (LLVMExitException e) {
+                if (!table.isTerminating()) {
+                    // exit() on this thread terminates the whole process
+                    table.exit(e);
+                }
+            }
+        }
+
+        long startThread() {
+            context.getThreadingStack().initializeThread();
+            context.registerThread(this);
+            thread.start();
+            boolean interrupted = false;
+            while (started.getCount() > 0) {
+                try {
+                    started.await();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            return id;
+        }
+
+        @TruffleBoundary
+        boolean isCurrentThread() {
+            return thread == Thread.currentThread();
+        }
+
+        @TruffleBoundary
+        boolean join(long threadId) {
+            if (!table.removeJoinable(threadId, this)) {
+                // somebody else joined or detached the thread in the meantime
+                return false;
+            }
+            awaitFinished();
+            reaped.countDown();
+            return true;
+        }
+
+        @TruffleBoundary
+        boolean detach(long threadId) {
+            if (!table.removeJoinable(threadId, this)) {
+                return false;
+            }
+            reaped.countDown();
+            return true;
+        }
+
+        /**
+         * Waits until the start routine has returned, unless the process terminates while waiting.
+         */
+        void awaitFinished() {
+            while (finished.getCount() > 0) {
+                try {
+                    finished.await();
+                } catch (InterruptedException e) {
+                    table.checkTerminated();
+                }
+            }
+        }
+
+        @Override
+        public void stop() {
+            // returning from main terminates all other threads
+            table.terminate();
+        }
+
+        @Override
+        public void awaitFinish() {
+            boolean interrupted = false;
+            while (finished.getCount() > 0) {
+                try {
+                    finished.await();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMExpressionNode.class),
+                    @NodeChild(type = LLVMExpressionNode.class)})
+    public abstract static class LLVMPThreadCreate extends LLVMPThreadIntrinsics {
+
+        private static final int PTHREAD_CREATE_DETACHED = 1;
+
+        protected static LLVMI64StoreNode createStoreId() {
+            return LLVMI64StoreNodeGen.create();
+        }
+
+        protected static LLVMForceLLVMAddressNode createToAddress() {
+            return LLVMForceLLVMAddressNodeGen.create();
+        }
+
+        protected TruffleObject createPThreadSelf() {
+            LLVMContext context = getContext();
+            NFIContextExtension nfiContextExtension = context.getContextExtension(NFIContextExtension.class);
+            return nfiContextExtension.getNativeFunction(context, "@pthread_self", "():UINT64");
+        }
+
+        protected TruffleObject createGetDetachState() {
+            LLVMContext context = getContext();
+            NFIContextExtension nfiContextExtension = context.getContextExtension(NFIContextExtension.class);
+            return nfiContextExtension.getNativeFunction(context, "@pthread_attr_getdetachstate", "(POINTER,POINTER):SINT32");
+        }
+
+        @Specialization
+        protected int doCreate(VirtualFrame frame, Object thread, Object attr, LLVMFunction startRoutine, Object argument,
+                        @Cached("getContext()") LLVMContext context,
+                        @Cached("createPThreadSelf()") TruffleObject pthreadSelf,
+                        @Cached("createGetDetachState()") TruffleObject getDetachState,
+                        @Cached("createToAddress()") LLVMForceLLVMAddressNode toAddress,
+                        @Cached("createStoreId()") LLVMI64StoreNode storeId) {
+            LLVMFunctionDescriptor function = getDescriptor(context, startRoutine);
+            if (!function.isLLVMIRFunction()) {
+                CompilerDirectives.transferToInterpreter();
+                return LLVMAMD64Error.EINVAL;
+            }
+            boolean detached = isDetached(getDetachState, toAddress.executeWithTarget(frame, attr).getVal());
+            long id = startThread(context, pthreadSelf, function, argument, detached);
+            if (id == 0) {
+                return LLVMAMD64Error.EAGAIN;
+            }
+            storeId.executeWithTarget(frame, thread, id);
+            return 0;
+        }
+
+        @TruffleBoundary
+        private static LLVMFunctionDescriptor getDescriptor(LLVMContext context, LLVMFunction function) {
+            if (function instanceof LLVMFunctionDescriptor) {
+                return (LLVMFunctionDescriptor) function;
+            } else {
+                return context.getFunctionDescriptor((LLVMFunctionHandle) function);
+            }
+        }
+
+        /**
+         * Reads the detach state from the (native) {@code pthread_attr_t}, a {@code NULL} attribute
+         * creates a joinable thread.
+         */
+        @TruffleBoundary
+        private static boolean isDetached(TruffleObject getDetachState, long attr) {
+            if (attr == 0) {
+                return false;
+            }
+            LLVMAddress detachState = LLVMMemory.allocateMemory(4);
+            try {
+                int result = (int) ForeignAccess.sendExecute(Message.createExecute(2).createNode(), getDetachState, attr, detachState.getVal());
+                return result == 0 && LLVMMemory.getI32(detachState) == PTHREAD_CREATE_DETACHED;
+            } catch (InteropException e) {
+                throw new AssertionError(e);
+            } finally {
+                LLVMMemory.free(detachState);
+            }
+        }
+
+        @TruffleBoundary
+        private static long startThread(LLVMContext context, TruffleObject pthreadSelf, LLVMFunctionDescriptor function, Object argument, boolean detached) {
+            // the creating thread (e.g., the main thread) can now block on other guest threads
+            if (!context.getPThreadTable().addThread(Thread.currentThread())) {
+                return 0;
+            }
+            return new LLVMPThread(context, pthreadSelf, function, argument, detached).startThread();
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMExpressionNode.class)})
+    public abstract static class LLVMPThreadJoin extends LLVMPThreadIntrinsics {
+
+        protected static LLVMAddressStoreNode createStoreReturnValue() {
+            return LLVMAddressStoreNodeGen.create(new PointerType(PrimitiveType.I8));
+        }
+
+        @Specialization
+        protected int doJoin(VirtualFrame frame, long thread, Object returnValue,
+                        @Cached("getContext()") LLVMContext context,
+                        @Cached("createStoreReturnValue()") LLVMAddressStoreNode storeReturnValue) {
+            LLVMPThread joined = (LLVMPThread) context.getPThreadTable().getJoinable(thread);
+            if (joined == null) {
+                return LLVMAMD64Error.ESRCH;
+            }
+            if (joined.isCurrentThread()) {
+                return LLVMAMD64Error.EDEADLK;
+            }
+            if (!joined.join(thread)) {
+                return LLVMAMD64Error.ESRCH;
+            }
+            if (!(returnValue instanceof LLVMAddress) || ((LLVMAddress) returnValue).getVal() != 0) {
+                storeReturnValue.executeWithTarget(frame, returnValue, joined.returnValue);
+            }
+            return 0;
+        }
+    }
+
+    @NodeChild(type = LLVMExpressionNode.class)
+    public abstract static class LLVMPThreadDetach extends LLVMPThreadIntrinsics {
+
+        @Specialization
+        protected int doDetach(long thread,
+                        @Cached("getContext()") LLVMContext context) {
+            LLVMPThread detached = (LLVMPThread) context.getPThreadTable().getJoinable(thread);
+            if (detached == null || !detached.detach(thread)) {
+                return LLVMAMD64Error.ESRCH;
+            }
+            return 0;
+        }
+    }
+
+    @NodeChild(type = LLVMExpressionNode.class)
+    public abstract static class LLVMPThreadExit extends LLVMPThreadIntrinsics {
+
+        @Specialization
+        protected Object doExit(Object returnValue,
+                        @Cached("getContext()") LLVMContext context) {
+            if (!isCreatedThread()) {
+                // the process exits normally as soon as all other threads are done
+                awaitCreatedThreads(context);
+                throw new LLVMExitException(0);
+            }
+            throw new LLVMPThreadExitException(returnValue);
+        }
+
+        @TruffleBoundary
+        private static void awaitCreatedThreads(LLVMContext context) {
+            boolean done;
+            do {
+                done = true;
+                for (LLVMThread thread : context.getRunningThreads()) {
+                    if (thread instanceof LLVMPThread) {
+                        ((LLVMPThread) thread).awaitFinished();
+                        done = false;
+                    }
+                }
+            } while (!done);
+        }
+    }
+}
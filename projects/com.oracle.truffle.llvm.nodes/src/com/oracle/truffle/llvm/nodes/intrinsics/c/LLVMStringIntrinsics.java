@@ -0,0 +1,504 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.nodes.intrinsics.c;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.NodeChild;
+import com.oracle.truffle.api.dsl.NodeChildren;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.interop.ForeignAccess;
+import com.oracle.truffle.api.interop.Message;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMStringIntrinsicsFactory.LLVMReadStringByteNodeGen;
+import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMStringIntrinsicsFactory.LLVMWriteStringByteNodeGen;
+import com.oracle.truffle.llvm.nodes.intrinsics.llvm.LLVMIntrinsic;
+import com.oracle.truffle.llvm.nodes.memory.load.LLVMForeignReadNode;
+import com.oracle.truffle.llvm.nodes.memory.store.LLVMForeignWriteNode;
+import com.oracle.truffle.llvm.nodes.memory.store.LLVMForeignWriteNodeGen;
+import com.oracle.truffle.llvm.runtime.LLVMAddress;
+import com.oracle.truffle.llvm.runtime.LLVMTruffleObject;
+import com.oracle.truffle.llvm.runtime.LLVMVirtualAllocationAddress;
+import com.oracle.truffle.llvm.runtime.global.LLVMGlobalVariable;
+import com.oracle.truffle.llvm.runtime.global.LLVMGlobalVariableAccess;
+import com.oracle.truffle.llvm.runtime.interop.convert.ForeignToLLVM;
+import com.oracle.truffle.llvm.runtime.interop.convert.ForeignToLLVM.ForeignToLLVMType;
+import com.oracle.truffle.llvm.runtime.memory.LLVMMemMoveNode;
+import com.oracle.truffle.llvm.runtime.memory.LLVMMemSetNode;
+import com.oracle.truffle.llvm.runtime.memory.LLVMMemory;
+import com.oracle.truffle.llvm.runtime.memory.LLVMNativeStrings;
+import com.oracle.truffle.llvm.runtime.nodes.api.LLVMExpressionNode;
+import com.oracle.truffle.llvm.runtime.nodes.api.LLVMNode;
+import com.oracle.truffle.llvm.runtime.types.PrimitiveType;
+
+/**
+ * Java implementations of the string and memory routines of the C library. Native memory is handled
+ * by {@link LLVMNativeStrings}, copies between native memory and virtual allocations are done in
+ * bulk, and all other combinations of pointers fall back to byte-wise loops. Foreign objects that
+ * have a size are treated as strings that end after {@code size} bytes.
+ */
+public abstract class LLVMStringIntrinsics extends LLVMIntrinsic {
+
+    private static final int BYTE_MASK = 0xFF;
+
+    protected static LLVMReadStringByte createReadByte() {
+        return LLVMReadStringByteNodeGen.create();
+    }
+
+    protected static LLVMWriteStringByte createWriteByte() {
+        return LLVMWriteStringByteNodeGen.create();
+    }
+
+    protected static Object resolveGlobal(Object pointer, LLVMGlobalVariableAccess globalAccess) {
+        if (pointer instanceof LLVMGlobalVariable) {
+            return globalAccess.getNativeLocation((LLVMGlobalVariable) pointer);
+        }
+        return pointer;
+    }
+
+    protected static Object increment(Object pointer, long offset) {
+        if (pointer instanceof LLVMAddress) {
+            return ((LLVMAddress) pointer).increment(offset);
+        } else if (pointer instanceof LLVMVirtualAllocationAddress) {
+            return ((LLVMVirtualAllocationAddress) pointer).increment(offset);
+        } else if (pointer instanceof LLVMTruffleObject) {
+            LLVMTruffleObject object = (LLVMTruffleObject) pointer;
+            return object.increment(offset, object.getType());
+        }
+        CompilerDirectives.transferToInterpreter();
+        throw new IllegalStateException("Unsupported pointer: " + pointer);
+    }
+
+    protected static long virtualStrlen(LLVMVirtualAllocationAddress string) {
+        long length = 0;
+        while (string.increment(length).getI8() != 0) {
+            length++;
+        }
+        return length;
+    }
+
+    protected static long strlen(VirtualFrame frame, Object string, LLVMReadStringByte read) {
+        long length = 0;
+        while (read.executeWithTarget(frame, string, length) != 0) {
+            length++;
+        }
+        return length;
+    }
+
+    // lengths are unsigned size_t values
+    protected static int compare(VirtualFrame frame, Object string1, Object string2, long length, boolean stopAtZero, LLVMReadStringByte read1, LLVMReadStringByte read2) {
+        for (long i = 0; Long.compareUnsigned(i, length) < 0; i++) {
+            byte value1 = read1.executeWithTarget(frame, string1, i);
+            byte value2 = read2.executeWithTarget(frame, string2, i);
+            if (value1 != value2) {
+                return (value1 & BYTE_MASK) - (value2 & BYTE_MASK);
+            } else if (stopAtZero && value1 == 0) {
+                return 0;
+            }
+        }
+        return 0;
+    }
+
+    protected static void copy(VirtualFrame frame, Object target, Object source, long length, LLVMReadStringByte read, LLVMWriteStringByte write) {
+        for (long i = 0; Long.compareUnsigned(i, length) < 0; i++) {
+            write.executeWithTarget(frame, target, i, read.executeWithTarget(frame, source, i));
+        }
+    }
+
+    /**
+     * Returns the size of a foreign object, or {@link Long#MAX_VALUE} if it does not have one.
+     */
+    protected static final class LLVMForeignStringSize extends Node {
+
+        @Child private Node hasSize = Message.HAS_SIZE.createNode();
+        @Child private Node getSize = Message.GET_SIZE.createNode();
+        @Child private ForeignToLLVM toLLVM = ForeignToLLVM.create(ForeignToLLVMType.I64);
+
+        long execute(LLVMTruffleObject object) {
+            if (object.getOffset() != 0 || !ForeignAccess.sendHasSize(hasSize, object.getObject())) {
+                return Long.MAX_VALUE;
+            }
+            try {
+                return (long) toLLVM.executeWithTarget(ForeignAccess.sendGetSize(getSize, object.getObject()));
+            } catch (UnsupportedMessageException e) {
+                CompilerDirectives.transferToInterpreter();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    public abstract static class LLVMReadStringByte extends LLVMNode {
+
+        public abstract byte executeWithTarget(VirtualFrame frame, Object address, long offset);
+
+        protected static LLVMForeignStringSize createForeignSize() {
+            return new LLVMForeignStringSize();
+        }
+
+        protected static LLVMForeignReadNode createForeignRead() {
+            return new LLVMForeignReadNode(ForeignToLLVMType.I8, 1);
+        }
+
+        @Specialization
+        protected byte doNative(LLVMAddress address, long offset) {
+            return LLVMMemory.getI8(address.getVal() + offset);
+        }
+
+        @Specialization
+        protected byte doVirtual(LLVMVirtualAllocationAddress address, long offset) {
+            return address.increment(offset).getI8();
+        }
+
+        @Specialization
+        protected byte doGlobal(LLVMGlobalVariable address, long offset, @Cached("createGlobalAccess()") LLVMGlobalVariableAccess globalAccess) {
+            return LLVMMemory.getI8(globalAccess.getNativeLocation(address).getVal() + offset);
+        }
+
+        @Specialization
+        protected byte doForeign(VirtualFrame frame, LLVMTruffleObject address, long offset, @Cached("createForeignSize()") LLVMForeignStringSize size,
+                        @Cached("createForeignRead()") LLVMForeignReadNode foreignRead) {
+            if (offset >= size.execute(address)) {
+                return 0;
+            }
+            return (byte) foreignRead.execute(frame, address.increment(offset, address.getType()));
+        }
+    }
+
+    public abstract static class LLVMWriteStringByte extends LLVMNode {
+
+        public abstract void executeWithTarget(VirtualFrame frame, Object address, long offset, byte value);
+
+        protected static LLVMForeignWriteNode createForeignWrite() {
+            return LLVMForeignWriteNodeGen.create(PrimitiveType.I8, 1);
+        }
+
+        @Specialization
+        protected void doNative(LLVMAddress address, long offset, byte value) {
+            LLVMMemory.putI8(address.getVal() + offset, value);
+        }
+
+        @Specialization
+        protected void doVirtual(LLVMVirtualAllocationAddress address, long offset, byte value) {
+            address.increment(offset).writeI8(value);
+        }
+
+        @Specialization
+        protected void doGlobal(LLVMGlobalVariable address, long offset, byte value, @Cached("createGlobalAccess()") LLVMGlobalVariableAccess globalAccess) {
+            LLVMMemory.putI8(globalAccess.getNativeLocation(address).getVal() + offset, value);
+        }
+
+        @Specialization
+        protected void doForeign(VirtualFrame frame, LLVMTruffleObject address, long offset, byte value, @Cached("createForeignWrite()") LLVMForeignWriteNode foreignWrite) {
+            foreignWrite.execute(frame, address.increment(offset, address.getType()), value);
+        }
+    }
+
+    @NodeChild(type = LLVMExpressionNode.class)
+    public abstract static class LLVMStrlen extends LLVMStringIntrinsics {
+
+        @Specialization
+        protected long doNative(LLVMAddress string) {
+            return LLVMNativeStrings.strlen(string.getVal());
+        }
+
+        @Specialization
+        protected long doGlobal(LLVMGlobalVariable string, @Cached("createGlobalAccess()") LLVMGlobalVariableAccess globalAccess) {
+            return LLVMNativeStrings.strlen(globalAccess.getNativeLocation(string).getVal());
+        }
+
+        @Specialization
+        protected long doGeneric(VirtualFrame frame, Object string, @Cached("createReadByte()") LLVMReadStringByte read) {
+            return strlen(frame, string, read);
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMExpressionNode.class)})
+    public abstract static class LLVMStrcmp extends LLVMStringIntrinsics {
+
+        @Specialization
+        protected int doNative(LLVMAddress string1, LLVMAddress string2) {
+            return LLVMNativeStrings.strcmp(string1.getVal(), string2.getVal());
+        }
+
+        @Specialization
+        protected int doGeneric(VirtualFrame frame, Object string1, Object string2, @Cached("createGlobalAccess()") LLVMGlobalVariableAccess globalAccess,
+                        @Cached("createReadByte()") LLVMReadStringByte read1, @Cached("createReadByte()") LLVMReadStringByte read2) {
+            Object resolved1 = resolveGlobal(string1, globalAccess);
+            Object resolved2 = resolveGlobal(string2, globalAccess);
+            if (resolved1 instanceof LLVMAddress && resolved2 instanceof LLVMAddress) {
+                return doNative((LLVMAddress) resolved1, (LLVMAddress) resolved2);
+            }
+            return compare(frame, resolved1, resolved2, Long.MAX_VALUE, true, read1, read2);
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMExpressionNode.class)})
+    public abstract static class LLVMStrncmp extends LLVMStringIntrinsics {
+
+        @Specialization
+        protected int doNative(LLVMAddress string1, LLVMAddress string2, long length) {
+            return LLVMNativeStrings.strncmp(string1.getVal(), string2.getVal(), length);
+        }
+
+        @Specialization
+        protected int doGeneric(VirtualFrame frame, Object string1, Object string2, long length, @Cached("createGlobalAccess()") LLVMGlobalVariableAccess globalAccess,
+                        @Cached("createReadByte()") LLVMReadStringByte read1, @Cached("createReadByte()") LLVMReadStringByte read2) {
+            Object resolved1 = resolveGlobal(string1, globalAccess);
+            Object resolved2 = resolveGlobal(string2, globalAccess);
+            if (resolved1 instanceof LLVMAddress && resolved2 instanceof LLVMAddress) {
+                return doNative((LLVMAddress) resolved1, (LLVMAddress) resolved2, length);
+            }
+            return compare(frame, resolved1, resolved2, length, true, read1, read2);
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMExpressionNode.class)})
+    public abstract static class LLVMMemcmp extends LLVMStringIntrinsics {
+
+        @Specialization
+        protected int doNative(LLVMAddress pointer1, LLVMAddress pointer2, long length) {
+            return LLVMNativeStrings.memcmp(pointer1.getVal(), pointer2.getVal(), length);
+        }
+
+        @Specialization
+        protected int doGeneric(VirtualFrame frame, Object pointer1, Object pointer2, long length, @Cached("createGlobalAccess()") LLVMGlobalVariableAccess globalAccess,
+                        @Cached("createReadByte()") LLVMReadStringByte read1, @Cached("createReadByte()") LLVMReadStringByte read2) {
+            Object resolved1 = resolveGlobal(pointer1, globalAccess);
+            Object resolved2 = resolveGlobal(pointer2, globalAccess);
+            if (resolved1 instanceof LLVMAddress && resolved2 instanceof LLVMAddress) {
+                return doNative((LLVMAddress) resolved1, (LLVMAddress) resolved2, length);
+            }
+            return compare(frame, resolved1, resolved2, length, false, read1, read2);
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMExpressionNode.class)})
+    public abstract static class LLVMMemchr extends LLVMStringIntrinsics {
+
+        @Specialization
+        protected LLVMAddress doNative(LLVMAddress pointer, int value, long length) {
+            long index = LLVMNativeStrings.memchr(pointer.getVal(), (byte) value, length);
+            return index < 0 ? LLVMAddress.nullPointer() : pointer.increment(index);
+        }
+
+        @Specialization
+        protected Object doGeneric(VirtualFrame frame, Object pointer, int value, long length, @Cached("createGlobalAccess()") LLVMGlobalVariableAccess globalAccess,
+                        @Cached("createReadByte()") LLVMReadStringByte read) {
+            Object resolved = resolveGlobal(pointer, globalAccess);
+            if (resolved instanceof LLVMAddress) {
+                return doNative((LLVMAddress) resolved, value, length);
+            }
+            for (long i = 0; Long.compareUnsigned(i, length) < 0; i++) {
+                if (read.executeWithTarget(frame, resolved, i) == (byte) value) {
+                    return increment(resolved, i);
+                }
+            }
+            return LLVMAddress.nullPointer();
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMExpressionNode.class)})
+    public abstract static class LLVMStrchr extends LLVMStringIntrinsics {
+
+        @Specialization
+        protected LLVMAddress doNative(LLVMAddress string, int value) {
+            long index = LLVMNativeStrings.strchr(string.getVal(), (byte) value);
+            return index < 0 ? LLVMAddress.nullPointer() : string.increment(index);
+        }
+
+        @Specialization
+        protected Object doGeneric(VirtualFrame frame, Object string, int value, @Cached("createGlobalAccess()") LLVMGlobalVariableAccess globalAccess,
+                        @Cached("createReadByte()") LLVMReadStringByte read) {
+            Object resolved = resolveGlobal(string, globalAccess);
+            if (resolved instanceof LLVMAddress) {
+                return doNative((LLVMAddress) resolved, value);
+            }
+            for (long i = 0;; i++) {
+                byte current = read.executeWithTarget(frame, resolved, i);
+                if (current == (byte) value) {
+                    return increment(resolved, i);
+                } else if (current == 0) {
+                    return LLVMAddress.nullPointer();
+                }
+            }
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMExpressionNode.class)})
+    public abstract static class LLVMStrcpy extends LLVMStringIntrinsics {
+
+        @Child private LLVMMemMoveNode memMove;
+
+        public LLVMStrcpy(LLVMMemMoveNode memMove) {
+            this.memMove = memMove;
+        }
+
+        @Specialization
+        protected LLVMAddress doNative(VirtualFrame frame, LLVMAddress target, LLVMAddress source) {
+            memMove.executeWithTarget(frame, target, source, LLVMNativeStrings.strlen(source.getVal()) + 1);
+            return target;
+        }
+
+        @Specialization
+        protected LLVMVirtualAllocationAddress doNativeToVirtual(LLVMVirtualAllocationAddress target, LLVMAddress source) {
+            target.copyFromNative(source.getVal(), LLVMNativeStrings.strlen(source.getVal()) + 1);
+            return target;
+        }
+
+        @Specialization
+        protected LLVMAddress doVirtualToNative(LLVMAddress target, LLVMVirtualAllocationAddress source) {
+            source.copyToNative(target.getVal(), virtualStrlen(source) + 1);
+            return target;
+        }
+
+        @Specialization
+        protected LLVMVirtualAllocationAddress doVirtual(LLVMVirtualAllocationAddress target, LLVMVirtualAllocationAddress source) {
+            target.copyFrom(source, virtualStrlen(source) + 1);
+            return target;
+        }
+
+        @Specialization
+        protected Object doGeneric(VirtualFrame frame, Object target, Object source, @Cached("createGlobalAccess()") LLVMGlobalVariableAccess globalAccess,
+                        @Cached("createReadByte()") LLVMReadStringByte read, @Cached("createWriteByte()") LLVMWriteStringByte write) {
+            Object resolvedTarget = resolveGlobal(target, globalAccess);
+            Object resolvedSource = resolveGlobal(source, globalAccess);
+            if (resolvedTarget instanceof LLVMAddress && resolvedSource instanceof LLVMAddress) {
+                doNative(frame, (LLVMAddress) resolvedTarget, (LLVMAddress) resolvedSource);
+            } else {
+                long i = 0;
+                byte value;
+                do {
+                    value = read.executeWithTarget(frame, resolvedSource, i);
+                    write.executeWithTarget(frame, resolvedTarget, i, value);
+                    i++;
+                } while (value != 0);
+            }
+            return target;
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMExpressionNode.class)})
+    public abstract static class LLVMStrncpy extends LLVMStringIntrinsics {
+
+        @Child private LLVMMemMoveNode memMove;
+        @Child private LLVMMemSetNode memSet;
+
+        public LLVMStrncpy(LLVMMemMoveNode memMove, LLVMMemSetNode memSet) {
+            this.memMove = memMove;
+            this.memSet = memSet;
+        }
+
+        @Specialization
+        protected LLVMAddress doNative(VirtualFrame frame, LLVMAddress target, LLVMAddress source, long length) {
+            long stringLength = LLVMNativeStrings.strnlen(source.getVal(), length);
+            memMove.executeWithTarget(frame, target, source, stringLength);
+            if (Long.compareUnsigned(stringLength, length) < 0) {
+                memSet.executeWithTarget(frame, target.increment(stringLength), (byte) 0, length - stringLength);
+            }
+            return target;
+        }
+
+        @Specialization
+        protected Object doGeneric(VirtualFrame frame, Object target, Object source, long length, @Cached("createGlobalAccess()") LLVMGlobalVariableAccess globalAccess,
+                        @Cached("createReadByte()") LLVMReadStringByte read, @Cached("createWriteByte()") LLVMWriteStringByte write) {
+            Object resolvedTarget = resolveGlobal(target, globalAccess);
+            Object resolvedSource = resolveGlobal(source, globalAccess);
+            if (resolvedTarget instanceof LLVMAddress && resolvedSource instanceof LLVMAddress) {
+                doNative(frame, (LLVMAddress) resolvedTarget, (LLVMAddress) resolvedSource, length);
+                return target;
+            }
+            long i = 0;
+            for (; Long.compareUnsigned(i, length) < 0; i++) {
+                byte value = read.executeWithTarget(frame, resolvedSource, i);
+                if (value == 0) {
+                    break;
+                }
+                write.executeWithTarget(frame, resolvedTarget, i, value);
+            }
+            for (; Long.compareUnsigned(i, length) < 0; i++) {
+                write.executeWithTarget(frame, resolvedTarget, i, (byte) 0);
+            }
+            return target;
+        }
+    }
+
+    /**
+     * Implements {@code truffle_managed_memcpy}, which copies between any kind of pointers, including
+     * foreign objects.
+     */
+    @NodeChildren({@NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMExpressionNode.class)})
+    public abstract static class LLVMManagedMemcpy extends LLVMStringIntrinsics {
+
+        @Child private LLVMMemMoveNode memMove;
+
+        public LLVMManagedMemcpy(LLVMMemMoveNode memMove) {
+            this.memMove = memMove;
+        }
+
+        @Specialization
+        protected LLVMAddress doNative(VirtualFrame frame, LLVMAddress target, LLVMAddress source, long length) {
+            memMove.executeWithTarget(frame, target, source, length);
+            return target;
+        }
+
+        @Specialization
+        protected LLVMVirtualAllocationAddress doNativeToVirtual(LLVMVirtualAllocationAddress target, LLVMAddress source, long length) {
+            target.copyFromNative(source.getVal(), length);
+            return target;
+        }
+
+        @Specialization
+        protected LLVMAddress doVirtualToNative(LLVMAddress target, LLVMVirtualAllocationAddress source, long length) {
+            source.copyToNative(target.getVal(), length);
+            return target;
+        }
+
+        @Specialization
+        protected LLVMVirtualAllocationAddress doVirtual(LLVMVirtualAllocationAddress target, LLVMVirtualAllocationAddress source, long length) {
+            target.copyFrom(source, length);
+            return target;
+        }
+
+        @Specialization
+        protected Object doGeneric(VirtualFrame frame, Object target, Object source, long length, @Cached("createGlobalAccess()") LLVMGlobalVariableAccess globalAccess,
+                        @Cached("createReadByte()") LLVMReadStringByte read, @Cached("createWriteByte()") LLVMWriteStringByte write) {
+            Object resolvedTarget = resolveGlobal(target, globalAccess);
+            Object resolvedSource = resolveGlobal(source, globalAccess);
+            if (resolvedTarget instanceof LLVMAddress && resolvedSource instanceof LLVMAddress) {
+                doNative(frame, (LLVMAddress) resolvedTarget, (LLVMAddress) resolvedSource, length);
+            } else {
+                copy(frame, resolvedTarget, resolvedSource, length, read, write);
+            }
+            return target;
+        }
+    }
+}
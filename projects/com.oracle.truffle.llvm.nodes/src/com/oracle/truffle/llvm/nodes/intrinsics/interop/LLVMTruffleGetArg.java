@@ -29,15 +29,21 @@
  */
 package com.oracle.truffle.llvm.nodes.intrinsics.interop;
 
+import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.NodeField;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.RootNode;
 import com.oracle.truffle.api.source.SourceSection;
+import com.oracle.truffle.llvm.nodes.func.LLVMArgNodeGen;
 import com.oracle.truffle.llvm.nodes.func.LLVMCallNode;
+import com.oracle.truffle.llvm.nodes.func.LLVMFunctionStartNode;
+import com.oracle.truffle.llvm.nodes.func.LLVMPackedArgNode;
 import com.oracle.truffle.llvm.nodes.intrinsics.llvm.LLVMIntrinsic;
 import com.oracle.truffle.llvm.runtime.nodes.api.LLVMExpressionNode;
+import com.oracle.truffle.llvm.runtime.types.Type;
 
 @NodeChildren({@NodeChild(type = LLVMExpressionNode.class)})
 @NodeField(name = "sourceSection", type = SourceSection.class)
@@ -46,11 +52,40 @@ public abstract class LLVMTruffleGetArg extends LLVMIntrinsic {
     @Override
     public abstract SourceSection getSourceSection();
 
-    @Specialization
+    @Specialization(limit = "3", guards = "index == cachedIndex")
+    public Object doCached(VirtualFrame frame, @SuppressWarnings("unused") int index,
+                    @Cached("index") @SuppressWarnings("unused") int cachedIndex,
+                    @Cached("createArgNode(cachedIndex)") LLVMExpressionNode argNode) {
+        return argNode.executeGeneric(frame);
+    }
+
+    @Specialization(replaces = "doCached")
     public Object doIntrinsic(VirtualFrame frame, int index) {
         assert index >= 0;
         Object[] arguments = frame.getArguments();
+        Type[] argumentTypes = getPackedArgumentTypes();
+        if (argumentTypes != null) {
+            return LLVMPackedArgNode.read(arguments, LLVMCallNode.USER_ARGUMENT_OFFSET + index, argumentTypes);
+        }
         return arguments[LLVMCallNode.USER_ARGUMENT_OFFSET + index];
     }
 
+    protected LLVMExpressionNode createArgNode(int index) {
+        assert index >= 0;
+        Type[] argumentTypes = getPackedArgumentTypes();
+        if (argumentTypes != null) {
+            // direct callers may pass the arguments with the LLVMPrimitiveArguments convention
+            return LLVMPackedArgNode.create(LLVMCallNode.USER_ARGUMENT_OFFSET + index, argumentTypes);
+        }
+        return LLVMArgNodeGen.create(LLVMCallNode.USER_ARGUMENT_OFFSET + index);
+    }
+
+    private Type[] getPackedArgumentTypes() {
+        RootNode rootNode = getRootNode();
+        if (rootNode instanceof LLVMFunctionStartNode) {
+            return ((LLVMFunctionStartNode) rootNode).getPackedArgumentTypes();
+        }
+        return null;
+    }
+
 }
@@ -37,6 +37,7 @@ import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.llvm.nodes.intrinsics.llvm.LLVMIntrinsic;
 import com.oracle.truffle.llvm.runtime.LLVMAddress;
+import com.oracle.truffle.llvm.runtime.LLVMContext;
 import com.oracle.truffle.llvm.runtime.memory.LLVMMemory;
 import com.oracle.truffle.llvm.runtime.nodes.api.LLVMExpressionNode;
 
@@ -44,20 +45,20 @@ import com.oracle.truffle.llvm.runtime.nodes.api.LLVMExpressionNode;
 public abstract class LLVMTruffleStringAsCString extends LLVMIntrinsic {
 
     @Specialization
-    public Object executeIntrinsic(String value) {
-        return buildNativeBytes(value);
+    public Object executeIntrinsic(String value, @Cached("getContext()") LLVMContext context) {
+        return buildNativeBytes(context, value);
     }
 
     @SuppressWarnings("unused")
     @Specialization(limit = "2", guards = "constantPointer(id, cachedPtr)")
     public Object executeIntrinsicCached(LLVMAddress id, @Cached("pointerOf(id)") long cachedPtr,
-                    @Cached("readString(id)") String cachedId) {
-        return buildNativeBytes(cachedId);
+                    @Cached("readString(id)") String cachedId, @Cached("getContext()") LLVMContext context) {
+        return buildNativeBytes(context, cachedId);
     }
 
     @Specialization
-    public Object executeIntrinsic(LLVMAddress value) {
-        return buildNativeBytes(LLVMTruffleIntrinsicUtil.readString(value));
+    public Object executeIntrinsic(LLVMAddress value, @Cached("getContext()") LLVMContext context) {
+        return buildNativeBytes(context, LLVMTruffleIntrinsicUtil.readString(value));
     }
 
     @Fallback
@@ -68,8 +69,8 @@ public abstract class LLVMTruffleStringAsCString extends LLVMIntrinsic {
         throw new IllegalArgumentException();
     }
 
-    private static LLVMAddress buildNativeBytes(String str) {
-        LLVMAddress allocatedMemory = LLVMMemory.allocateMemory(str.length() + 1);
+    private static LLVMAddress buildNativeBytes(LLVMContext context, String str) {
+        LLVMAddress allocatedMemory = context.getAllocator().allocate(str.length() + 1);
         long currentPtr = allocatedMemory.getVal();
         for (byte b : str.getBytes()) {
             LLVMMemory.putI8(currentPtr, b);
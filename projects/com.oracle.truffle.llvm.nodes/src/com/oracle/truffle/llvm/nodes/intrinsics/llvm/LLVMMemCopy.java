@@ -40,7 +40,6 @@ import com.oracle.truffle.llvm.runtime.LLVMVirtualAllocationAddress;
 import com.oracle.truffle.llvm.runtime.global.LLVMGlobalVariable;
 import com.oracle.truffle.llvm.runtime.global.LLVMGlobalVariableAccess;
 import com.oracle.truffle.llvm.runtime.memory.LLVMMemMoveNode;
-import com.oracle.truffle.llvm.runtime.memory.LLVMMemory;
 import com.oracle.truffle.llvm.runtime.nodes.api.LLVMExpressionNode;
 
 public abstract class LLVMMemCopy {
@@ -222,36 +221,14 @@ public abstract class LLVMMemCopy {
     }
 
     public static void copy(LLVMVirtualAllocationAddress target, long source, long length) {
-        long sourcePointer = source;
-        LLVMVirtualAllocationAddress targetAddress = target;
-        for (long i = 0; i < length; i++) {
-            byte value = LLVMMemory.getI8(sourcePointer);
-            targetAddress.writeI8(value);
-            targetAddress = targetAddress.increment(1);
-            sourcePointer++;
-        }
+        target.copyFromNative(source, length);
     }
 
     public static void copy(long target, LLVMVirtualAllocationAddress source, long length) {
-        LLVMVirtualAllocationAddress sourcePointer = source;
-        long targetAddress = target;
-        for (long i = 0; i < length; i++) {
-            byte value = sourcePointer.getI8();
-            sourcePointer = sourcePointer.increment(1);
-            LLVMMemory.putI8(targetAddress, value);
-            targetAddress++;
-        }
+        source.copyToNative(target, length);
     }
 
     public static void copy(LLVMVirtualAllocationAddress target, LLVMVirtualAllocationAddress source, long length) {
-        LLVMVirtualAllocationAddress sourcePointer = source;
-        LLVMVirtualAllocationAddress targetAddress = target;
-        for (long i = 0; i < length; i++) {
-            byte value = sourcePointer.getI8();
-            sourcePointer = sourcePointer.increment(1);
-            targetAddress.writeI8(value);
-            targetAddress = targetAddress.increment(1);
-        }
+        target.copyFrom(source, length);
     }
-
 }
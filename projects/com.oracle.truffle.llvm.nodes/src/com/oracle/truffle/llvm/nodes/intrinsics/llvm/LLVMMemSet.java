@@ -84,10 +84,8 @@ public abstract class LLVMMemSet extends LLVMBuiltin {
 
     @SuppressWarnings("unused")
     @Specialization
-    public Object execute(LLVMVirtualAllocationAddress address, byte value, long length, int align, boolean isVolatile, @Cached("createGlobalAccess()") LLVMGlobalVariableAccess globalAccess) {
-        for (int i = 0; i < length; i++) {
-            address.writeI8(value);
-        }
+    public Object execute(LLVMVirtualAllocationAddress address, byte value, long length, int align, boolean isVolatile) {
+        address.fill(value, length);
         return address;
     }
 
@@ -30,13 +30,14 @@
 package com.oracle.truffle.llvm.nodes.intrinsics.llvm;
 
 import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.llvm.runtime.LLVMAddress;
+import com.oracle.truffle.llvm.runtime.LLVMContext;
 import com.oracle.truffle.llvm.runtime.memory.LLVMMemSetNode;
-import com.oracle.truffle.llvm.runtime.memory.LLVMMemory;
 import com.oracle.truffle.llvm.runtime.nodes.api.LLVMExpressionNode;
 
 public abstract class LLVMMemoryIntrinsic extends LLVMExpressionNode {
@@ -45,9 +46,9 @@ public abstract class LLVMMemoryIntrinsic extends LLVMExpressionNode {
     public abstract static class LLVMMalloc extends LLVMMemoryIntrinsic {
 
         @Specialization
-        public LLVMAddress executeVoid(int size) {
+        public LLVMAddress executeVoid(int size, @Cached("getContext()") LLVMContext context) {
             try {
-                return LLVMMemory.allocateMemory(size);
+                return context.getAllocator().allocate(size);
             } catch (OutOfMemoryError e) {
                 CompilerDirectives.transferToInterpreter();
                 return LLVMAddress.nullPointer();
@@ -55,9 +56,9 @@ public abstract class LLVMMemoryIntrinsic extends LLVMExpressionNode {
         }
 
         @Specialization
-        public LLVMAddress executeVoid(long size) {
+        public LLVMAddress executeVoid(long size, @Cached("getContext()") LLVMContext context) {
             try {
-                return LLVMMemory.allocateMemory(size);
+                return context.getAllocator().allocate(size);
             } catch (OutOfMemoryError e) {
                 CompilerDirectives.transferToInterpreter();
                 return LLVMAddress.nullPointer();
@@ -74,10 +75,10 @@ public abstract class LLVMMemoryIntrinsic extends LLVMExpressionNode {
         }
 
         @Specialization
-        public LLVMAddress executeVoid(VirtualFrame frame, int n, int size) {
+        public LLVMAddress executeVoid(VirtualFrame frame, int n, int size, @Cached("getContext()") LLVMContext context) {
             try {
                 long length = Math.multiplyExact(n, size);
-                LLVMAddress address = LLVMMemory.allocateMemory(length);
+                LLVMAddress address = context.getAllocator().allocate(length);
                 memSet.executeWithTarget(frame, address, (byte) 0, length);
                 return address;
             } catch (OutOfMemoryError | ArithmeticException e) {
@@ -87,10 +88,10 @@ public abstract class LLVMMemoryIntrinsic extends LLVMExpressionNode {
         }
 
         @Specialization
-        public LLVMAddress executeVoid(VirtualFrame frame, long n, long size) {
+        public LLVMAddress executeVoid(VirtualFrame frame, long n, long size, @Cached("getContext()") LLVMContext context) {
             try {
                 long length = Math.multiplyExact(n, size);
-                LLVMAddress address = LLVMMemory.allocateMemory(length);
+                LLVMAddress address = context.getAllocator().allocate(length);
                 memSet.executeWithTarget(frame, address, (byte) 0, length);
                 return address;
             } catch (OutOfMemoryError | ArithmeticException e) {
@@ -104,9 +105,9 @@ public abstract class LLVMMemoryIntrinsic extends LLVMExpressionNode {
     public abstract static class LLVMRealloc extends LLVMMemoryIntrinsic {
 
         @Specialization
-        public LLVMAddress executeVoid(LLVMAddress addr, int size) {
+        public LLVMAddress executeVoid(LLVMAddress addr, int size, @Cached("getContext()") LLVMContext context) {
             try {
-                return LLVMMemory.reallocateMemory(addr, size);
+                return context.getAllocator().reallocate(addr, size);
             } catch (OutOfMemoryError e) {
                 CompilerDirectives.transferToInterpreter();
                 return LLVMAddress.nullPointer();
@@ -114,9 +115,9 @@ public abstract class LLVMMemoryIntrinsic extends LLVMExpressionNode {
         }
 
         @Specialization
-        public LLVMAddress executeVoid(LLVMAddress addr, long size) {
+        public LLVMAddress executeVoid(LLVMAddress addr, long size, @Cached("getContext()") LLVMContext context) {
             try {
-                return LLVMMemory.reallocateMemory(addr, size);
+                return context.getAllocator().reallocate(addr, size);
             } catch (OutOfMemoryError e) {
                 CompilerDirectives.transferToInterpreter();
                 return LLVMAddress.nullPointer();
@@ -128,8 +129,8 @@ public abstract class LLVMMemoryIntrinsic extends LLVMExpressionNode {
     public abstract static class LLVMFree extends LLVMMemoryIntrinsic {
 
         @Specialization
-        public Object executeVoid(LLVMAddress address) {
-            LLVMMemory.free(address);
+        public Object executeVoid(LLVMAddress address, @Cached("getContext()") LLVMContext context) {
+            context.getAllocator().free(address);
             return null;
         }
     }
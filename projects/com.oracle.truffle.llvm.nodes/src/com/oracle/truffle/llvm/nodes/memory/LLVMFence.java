@@ -35,10 +35,37 @@ import com.oracle.truffle.llvm.runtime.nodes.api.LLVMExpressionNode;
 
 public abstract class LLVMFence extends LLVMExpressionNode {
 
-    @Specialization
-    public Object execute() {
-        LLVMMemory.fullFence();
-        return null;
+    public abstract static class LLVMFullFence extends LLVMFence {
+        @Specialization
+        public Object execute() {
+            LLVMMemory.fullFence();
+            return null;
+        }
+    }
+
+    public abstract static class LLVMAcquireFence extends LLVMFence {
+        @Specialization
+        public Object execute() {
+            LLVMMemory.loadFence();
+            return null;
+        }
+    }
+
+    public abstract static class LLVMReleaseFence extends LLVMFence {
+        @Specialization
+        public Object execute() {
+            LLVMMemory.storeFence();
+            return null;
+        }
+    }
+
+    public abstract static class LLVMAcquireReleaseFence extends LLVMFence {
+        @Specialization
+        public Object execute() {
+            LLVMMemory.loadFence();
+            LLVMMemory.storeFence();
+            return null;
+        }
     }
 
 }
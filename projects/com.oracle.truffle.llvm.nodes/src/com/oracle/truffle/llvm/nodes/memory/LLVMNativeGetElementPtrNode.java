@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.nodes.memory;
+
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.profiles.ConditionProfile;
+import com.oracle.truffle.llvm.nodes.memory.LLVMAddressGetElementPtrNode.LLVMIncrementPointerNode;
+import com.oracle.truffle.llvm.nodes.memory.LLVMAddressGetElementPtrNodeGen.LLVMIncrementPointerNodeGen;
+import com.oracle.truffle.llvm.nodes.vars.LLVMReadNode.LLVMPointerReadNode;
+import com.oracle.truffle.llvm.runtime.LLVMAddress;
+import com.oracle.truffle.llvm.runtime.nodes.api.LLVMExpressionNode;
+import com.oracle.truffle.llvm.runtime.types.Type;
+
+/**
+ * Computes an element pointer like {@link LLVMAddressGetElementPtrNode}, for a base pointer that is
+ * read from a frame slot or computed by another such node. If the base pointer is native, the
+ * element pointer is computed as a raw address by {@link #executeNative}, so that neither the base
+ * pointer nor the result (if it is written to a frame slot) need an {@link LLVMAddress}.
+ */
+public final class LLVMNativeGetElementPtrNode extends LLVMExpressionNode {
+
+    @Child private LLVMExpressionNode base;
+    @Child private LLVMExpressionNode index;
+    @Child private LLVMIncrementPointerNode incrementNode = LLVMIncrementPointerNodeGen.create();
+
+    private final int typeWidth;
+    private final Type targetType;
+
+    private final ConditionProfile nativeProfile = ConditionProfile.createBinaryProfile();
+
+    private LLVMNativeGetElementPtrNode(LLVMExpressionNode base, LLVMExpressionNode index, int typeWidth, Type targetType) {
+        this.base = base;
+        this.index = index;
+        this.typeWidth = typeWidth;
+        this.targetType = targetType;
+    }
+
+    /**
+     * Creates a node for the given base pointer, or returns {@code null} if it is neither read from
+     * a frame slot nor computed by another {@link LLVMNativeGetElementPtrNode}.
+     */
+    public static LLVMNativeGetElementPtrNode create(LLVMExpressionNode base, LLVMExpressionNode index, int typeWidth, Type targetType) {
+        if (base instanceof LLVMPointerReadNode || base instanceof LLVMNativeGetElementPtrNode) {
+            return new LLVMNativeGetElementPtrNode(base, index, typeWidth, targetType);
+        }
+        return null;
+    }
+
+    public boolean isNative(VirtualFrame frame) {
+        if (base instanceof LLVMNativeGetElementPtrNode) {
+            return ((LLVMNativeGetElementPtrNode) base).isNative(frame);
+        } else {
+            return ((LLVMPointerReadNode) base).isNativePointer(frame);
+        }
+    }
+
+    /**
+     * Computes the element pointer of a native base pointer, which the caller checked with
+     * {@link #isNative}.
+     */
+    public long executeNative(VirtualFrame frame) {
+        long address;
+        if (base instanceof LLVMNativeGetElementPtrNode) {
+            address = ((LLVMNativeGetElementPtrNode) base).executeNative(frame);
+        } else {
+            address = ((LLVMPointerReadNode) base).readNativePointer(frame);
+        }
+        Object value = index.executeGeneric(frame);
+        if (value instanceof Integer) {
+            return address + typeWidth * (int) value;
+        } else {
+            return address + typeWidth * (long) value;
+        }
+    }
+
+    @Override
+    public Object executeGeneric(VirtualFrame frame) {
+        if (nativeProfile.profile(isNative(frame))) {
+            return LLVMAddress.fromLong(executeNative(frame));
+        }
+        Object pointer = base.executeGeneric(frame);
+        Object value = index.executeGeneric(frame);
+        if (value instanceof Integer) {
+            return incrementNode.executeWithTarget(pointer, typeWidth * (int) value, targetType);
+        } else {
+            return incrementNode.executeWithTarget(pointer, typeWidth * (long) value, targetType);
+        }
+    }
+}
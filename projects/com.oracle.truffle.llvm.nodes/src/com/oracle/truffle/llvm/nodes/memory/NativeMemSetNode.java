@@ -30,50 +30,91 @@
 package com.oracle.truffle.llvm.nodes.memory;
 
 import com.oracle.truffle.api.CompilerDirectives;
-import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
+import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.llvm.runtime.LLVMAddress;
 import com.oracle.truffle.llvm.runtime.memory.LLVMMemSetNode;
 import com.oracle.truffle.llvm.runtime.memory.LLVMMemory;
 
+/**
+ * Fills native memory. Like {@link NativeProfiledMemMove}, constant lengths are unrolled and the
+ * small and large cases are profiled separately. The word loop for small lengths writes aligned
+ * words.
+ */
 public abstract class NativeMemSetNode extends LLVMMemSetNode {
 
     protected static final long MAX_JAVA_LEN = 256;
+    protected static final long MAX_UNROLLED_LEN = 64;
 
-    @CompilationFinal private boolean inJava = true;
+    private final ConditionProfile smallProfile = ConditionProfile.createBinaryProfile();
 
-    @Specialization
-    public Object memset(LLVMAddress address, byte value, long length) {
-        if (inJava) {
-            if (length <= MAX_JAVA_LEN) {
-                long current = address.getVal();
-                long i64ValuesToWrite = length >> 3;
-                if (CompilerDirectives.injectBranchProbability(CompilerDirectives.LIKELY_PROBABILITY, i64ValuesToWrite > 0)) {
-                    long v16 = ((long) value) << 8 | ((long) value & 0xFF);
-                    long v32 = v16 << 16 | v16;
-                    long v64 = v32 << 32 | v32;
+    protected static boolean canUnroll(long length) {
+        return length >= 0 && length <= MAX_UNROLLED_LEN;
+    }
 
-                    for (long i = 0; CompilerDirectives.injectBranchProbability(CompilerDirectives.LIKELY_PROBABILITY, i < i64ValuesToWrite); i++) {
-                        LLVMMemory.putI64(current, v64);
-                        current += 8;
-                    }
-                }
+    private static long repeat(byte value) {
+        return (value & 0xFFL) * 0x0101010101010101L;
+    }
 
-                long i8ValuesToWrite = length & 0x07;
-                for (long i = 0; CompilerDirectives.injectBranchProbability(CompilerDirectives.LIKELY_PROBABILITY, i < i8ValuesToWrite); i++) {
+    @Specialization(guards = {"length == cachedLength", "canUnroll(cachedLength)"}, limit = "1")
+    public Object memsetConstant(LLVMAddress address, byte value, @SuppressWarnings("unused") long length, @Cached("length") long cachedLength) {
+        setUnrolled(address.getVal(), value, cachedLength);
+        return null;
+    }
+
+    @Specialization(replaces = "memsetConstant")
+    public Object memset(LLVMAddress address, byte value, long length) {
+        if (smallProfile.profile(length <= MAX_JAVA_LEN)) {
+            long current = address.getVal();
+            long end = current + length;
+            if (CompilerDirectives.injectBranchProbability(CompilerDirectives.LIKELY_PROBABILITY, length >= 8)) {
+                long v64 = repeat(value);
+                // the first (possibly unaligned) word, then aligned words
+                LLVMMemory.putI64(current, v64);
+                current = (current + 8) & ~0x07L;
+                while (CompilerDirectives.injectBranchProbability(CompilerDirectives.LIKELY_PROBABILITY, end - current >= 8)) {
+                    LLVMMemory.putI64(current, v64);
+                    current += 8;
+                }
+                if (current != end) {
+                    // the last word overlaps bytes that are already set
+                    LLVMMemory.putI64(end - 8, v64);
+                }
+            } else {
+                while (current < end) {
                     LLVMMemory.putI8(current, value);
                     current++;
                 }
-            } else {
-                CompilerDirectives.transferToInterpreterAndInvalidate();
-                inJava = false;
             }
+        } else {
+            nativeMemSet(address, value, length);
         }
-
-        nativeMemSet(address, value, length);
         return null;
     }
 
+    @ExplodeLoop
+    private static void setUnrolled(long address, byte value, long length) {
+        long v64 = repeat(value);
+        long offset = 0;
+        for (long i = 0; i < length >> 3; i++) {
+            LLVMMemory.putI64(address + offset, v64);
+            offset += 8;
+        }
+        if ((length & 4) != 0) {
+            LLVMMemory.putI32(address + offset, (int) v64);
+            offset += 4;
+        }
+        if ((length & 2) != 0) {
+            LLVMMemory.putI16(address + offset, (short) v64);
+            offset += 2;
+        }
+        if ((length & 1) != 0) {
+            LLVMMemory.putI8(address + offset, value);
+        }
+    }
+
     @SuppressWarnings("deprecation")
     private static void nativeMemSet(LLVMAddress address, byte value, long length) {
         LLVMMemory.memset(address, length, value);
@@ -30,42 +30,101 @@
 package com.oracle.truffle.llvm.nodes.memory;
 
 import com.oracle.truffle.api.CompilerDirectives;
-import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
+import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.llvm.runtime.LLVMAddress;
 import com.oracle.truffle.llvm.runtime.memory.LLVMMemMoveNode;
 import com.oracle.truffle.llvm.runtime.memory.LLVMMemory;
 
+/**
+ * Copies native memory. Copies with a constant length (e.g., struct copies) are fully unrolled,
+ * other copies of up to {@link #MAX_JAVA_LEN} bytes are done with a word loop and longer ones with
+ * {@code Unsafe.copyMemory}. Both buckets are profiled, so a single long copy does not disable the
+ * Java loop for all later copies.
+ */
 public abstract class NativeProfiledMemMove extends LLVMMemMoveNode {
     protected static final long MAX_JAVA_LEN = 256;
+    protected static final long MAX_UNROLLED_LEN = 64;
+
+    private final ConditionProfile smallProfile = ConditionProfile.createBinaryProfile();
 
-    @CompilationFinal private boolean inJava = true;
+    protected static boolean canUnroll(long length) {
+        return length >= 0 && length <= MAX_UNROLLED_LEN;
+    }
+
+    @Specialization(guards = {"length == cachedLength", "canUnroll(cachedLength)"}, limit = "1")
+    public Object memmoveConstant(LLVMAddress target, LLVMAddress source, @SuppressWarnings("unused") long length, @Cached("length") long cachedLength) {
+        long targetPointer = target.getVal();
+        long sourcePointer = source.getVal();
+        if (CompilerDirectives.injectBranchProbability(CompilerDirectives.LIKELY_PROBABILITY, Long.compareUnsigned(targetPointer - sourcePointer, cachedLength) >= 0)) {
+            copyForwardUnrolled(targetPointer, sourcePointer, cachedLength);
+        } else {
+            copyBackwardUnrolled(targetPointer, sourcePointer, cachedLength);
+        }
+        return null;
+    }
 
-    @Specialization
+    @Specialization(replaces = "memmoveConstant")
     public Object memmove(LLVMAddress target, LLVMAddress source, long length) {
-        if (inJava) {
-            if (length <= MAX_JAVA_LEN) {
-                long targetPointer = target.getVal();
-                long sourcePointer = source.getVal();
+        if (smallProfile.profile(length <= MAX_JAVA_LEN)) {
+            long targetPointer = target.getVal();
+            long sourcePointer = source.getVal();
 
-                if (CompilerDirectives.injectBranchProbability(CompilerDirectives.UNLIKELY_PROBABILITY, targetPointer == sourcePointer)) {
-                    // nothing todo
-                } else if (CompilerDirectives.injectBranchProbability(CompilerDirectives.LIKELY_PROBABILITY, Long.compareUnsigned(targetPointer - sourcePointer, length) >= 0)) {
-                    copyForward(targetPointer, sourcePointer, length);
-                } else {
-                    copyBackward(targetPointer, sourcePointer, length);
-                }
-                return null;
+            if (CompilerDirectives.injectBranchProbability(CompilerDirectives.UNLIKELY_PROBABILITY, targetPointer == sourcePointer)) {
+                // nothing todo
+            } else if (CompilerDirectives.injectBranchProbability(CompilerDirectives.LIKELY_PROBABILITY, Long.compareUnsigned(targetPointer - sourcePointer, length) >= 0)) {
+                copyForward(targetPointer, sourcePointer, length);
             } else {
-                CompilerDirectives.transferToInterpreterAndInvalidate();
-                inJava = false;
+                copyBackward(targetPointer, sourcePointer, length);
             }
+        } else {
+            nativeMemCopy(target, source, length);
         }
-
-        nativeMemCopy(target, source, length);
         return null;
     }
 
+    @ExplodeLoop
+    private static void copyForwardUnrolled(long target, long source, long length) {
+        long offset = 0;
+        for (long i = 0; i < length >> 3; i++) {
+            LLVMMemory.putI64(target + offset, LLVMMemory.getI64(source + offset));
+            offset += 8;
+        }
+        if ((length & 4) != 0) {
+            LLVMMemory.putI32(target + offset, LLVMMemory.getI32(source + offset));
+            offset += 4;
+        }
+        if ((length & 2) != 0) {
+            LLVMMemory.putI16(target + offset, LLVMMemory.getI16(source + offset));
+            offset += 2;
+        }
+        if ((length & 1) != 0) {
+            LLVMMemory.putI8(target + offset, LLVMMemory.getI8(source + offset));
+        }
+    }
+
+    @ExplodeLoop
+    private static void copyBackwardUnrolled(long target, long source, long length) {
+        long offset = length;
+        for (long i = 0; i < length >> 3; i++) {
+            offset -= 8;
+            LLVMMemory.putI64(target + offset, LLVMMemory.getI64(source + offset));
+        }
+        if ((length & 1) != 0) {
+            offset -= 1;
+            LLVMMemory.putI8(target + offset, LLVMMemory.getI8(source + offset));
+        }
+        if ((length & 2) != 0) {
+            offset -= 2;
+            LLVMMemory.putI16(target + offset, LLVMMemory.getI16(source + offset));
+        }
+        if ((length & 4) != 0) {
+            offset -= 4;
+            LLVMMemory.putI32(target + offset, LLVMMemory.getI32(source + offset));
+        }
+    }
     private static void copyForward(long target, long source, long length) {
         long targetPointer = target;
         long sourcePointer = source;
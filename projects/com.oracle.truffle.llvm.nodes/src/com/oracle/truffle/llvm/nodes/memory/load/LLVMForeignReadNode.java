@@ -45,7 +45,7 @@ public class LLVMForeignReadNode extends Node {
     @Child LLVMOffsetToNameNode offsetToName;
     @Child LLVMObjectReadNode read;
 
-    protected LLVMForeignReadNode(ForeignToLLVMType type, int elementAccessSize) {
+    public LLVMForeignReadNode(ForeignToLLVMType type, int elementAccessSize) {
         this.offsetToName = LLVMOffsetToNameNodeGen.create(elementAccessSize);
         this.read = LLVMObjectAccessFactory.createRead(type);
     }
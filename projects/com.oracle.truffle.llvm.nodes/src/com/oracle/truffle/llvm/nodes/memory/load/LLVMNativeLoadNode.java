@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.nodes.memory.load;
+
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.profiles.ConditionProfile;
+import com.oracle.truffle.llvm.nodes.vars.LLVMReadNode.LLVMPointerReadNode;
+import com.oracle.truffle.llvm.runtime.memory.LLVMMemory;
+import com.oracle.truffle.llvm.runtime.nodes.api.LLVMExpressionNode;
+import com.oracle.truffle.llvm.runtime.types.PrimitiveType.PrimitiveKind;
+
+/**
+ * Loads a primitive value through a pointer that is read from a frame slot. A native pointer is
+ * dereferenced as a raw address, other pointers are handled by the regular load node.
+ */
+public final class LLVMNativeLoadNode extends LLVMExpressionNode {
+
+    @Child private LLVMPointerReadNode pointer;
+    @Child private LLVMExpressionNode load;
+
+    private final PrimitiveKind kind;
+
+    private final ConditionProfile nativeProfile = ConditionProfile.createBinaryProfile();
+
+    /**
+     * @param pointer reads the pointer for native accesses
+     * @param load the regular load node, which reads the pointer with its own node
+     */
+    public LLVMNativeLoadNode(PrimitiveKind kind, LLVMPointerReadNode pointer, LLVMExpressionNode load) {
+        this.kind = kind;
+        this.pointer = pointer;
+        this.load = load;
+    }
+
+    @Override
+    public Object executeGeneric(VirtualFrame frame) {
+        switch (kind) {
+            case I1:
+                return executeI1(frame);
+            case I8:
+                return executeI8(frame);
+            case I16:
+                return executeI16(frame);
+            case I32:
+                return executeI32(frame);
+            case I64:
+                // a foreign pointer can yield a value that is not a long
+                if (nativeProfile.profile(pointer.isNativePointer(frame))) {
+                    return LLVMMemory.getI64(pointer.readNativePointer(frame));
+                }
+                return load.executeGeneric(frame);
+            case FLOAT:
+                return executeFloat(frame);
+            case DOUBLE:
+                return executeDouble(frame);
+            default:
+                throw new AssertionError(kind);
+        }
+    }
+
+    @Override
+    public boolean executeI1(VirtualFrame frame) {
+        if (nativeProfile.profile(pointer.isNativePointer(frame))) {
+            return LLVMMemory.getI1(pointer.readNativePointer(frame));
+        }
+        return load.executeI1(frame);
+    }
+
+    @Override
+    public byte executeI8(VirtualFrame frame) {
+        if (nativeProfile.profile(pointer.isNativePointer(frame))) {
+            return LLVMMemory.getI8(pointer.readNativePointer(frame));
+        }
+        return load.executeI8(frame);
+    }
+
+    @Override
+    public short executeI16(VirtualFrame frame) {
+        if (nativeProfile.profile(pointer.isNativePointer(frame))) {
+            return LLVMMemory.getI16(pointer.readNativePointer(frame));
+        }
+        return load.executeI16(frame);
+    }
+
+    @Override
+    public int executeI32(VirtualFrame frame) {
+        if (nativeProfile.profile(pointer.isNativePointer(frame))) {
+            return LLVMMemory.getI32(pointer.readNativePointer(frame));
+        }
+        return load.executeI32(frame);
+    }
+
+    @Override
+    public long executeI64(VirtualFrame frame) {
+        if (nativeProfile.profile(pointer.isNativePointer(frame))) {
+            return LLVMMemory.getI64(pointer.readNativePointer(frame));
+        }
+        return load.executeI64(frame);
+    }
+
+    @Override
+    public float executeFloat(VirtualFrame frame) {
+        if (nativeProfile.profile(pointer.isNativePointer(frame))) {
+            return LLVMMemory.getFloat(pointer.readNativePointer(frame));
+        }
+        return load.executeFloat(frame);
+    }
+
+    @Override
+    public double executeDouble(VirtualFrame frame) {
+        if (nativeProfile.profile(pointer.isNativePointer(frame))) {
+            return LLVMMemory.getDouble(pointer.readNativePointer(frame));
+        }
+        return load.executeDouble(frame);
+    }
+}
@@ -133,4 +133,56 @@ public abstract class LLVMI16RMWNode extends LLVMExpressionNode {
         }
     }
 
+    public abstract static class LLVMI16RMWMaxNode extends LLVMI16RMWNode {
+        @Specialization
+        public short execute(LLVMGlobalVariable address, short value, @Cached("createGlobalAccess()") LLVMGlobalVariableAccess globalAccess) {
+            LLVMAddress adr = globalAccess.getNativeLocation(address);
+            return LLVMMemory.getAndOpI16(adr, value, (a, b) -> Math.max(a, b));
+        }
+
+        @Specialization
+        public short execute(LLVMAddress address, short value) {
+            return LLVMMemory.getAndOpI16(address, value, (a, b) -> Math.max(a, b));
+        }
+    }
+
+    public abstract static class LLVMI16RMWMinNode extends LLVMI16RMWNode {
+        @Specialization
+        public short execute(LLVMGlobalVariable address, short value, @Cached("createGlobalAccess()") LLVMGlobalVariableAccess globalAccess) {
+            LLVMAddress adr = globalAccess.getNativeLocation(address);
+            return LLVMMemory.getAndOpI16(adr, value, (a, b) -> Math.min(a, b));
+        }
+
+        @Specialization
+        public short execute(LLVMAddress address, short value) {
+            return LLVMMemory.getAndOpI16(address, value, (a, b) -> Math.min(a, b));
+        }
+    }
+
+    public abstract static class LLVMI16RMWUMaxNode extends LLVMI16RMWNode {
+        @Specialization
+        public short execute(LLVMGlobalVariable address, short value, @Cached("createGlobalAccess()") LLVMGlobalVariableAccess globalAccess) {
+            LLVMAddress adr = globalAccess.getNativeLocation(address);
+            return LLVMMemory.getAndOpI16(adr, value, (a, b) -> Math.max(a & 0xFFFF, b & 0xFFFF));
+        }
+
+        @Specialization
+        public short execute(LLVMAddress address, short value) {
+            return LLVMMemory.getAndOpI16(address, value, (a, b) -> Math.max(a & 0xFFFF, b & 0xFFFF));
+        }
+    }
+
+    public abstract static class LLVMI16RMWUMinNode extends LLVMI16RMWNode {
+        @Specialization
+        public short execute(LLVMGlobalVariable address, short value, @Cached("createGlobalAccess()") LLVMGlobalVariableAccess globalAccess) {
+            LLVMAddress adr = globalAccess.getNativeLocation(address);
+            return LLVMMemory.getAndOpI16(adr, value, (a, b) -> Math.min(a & 0xFFFF, b & 0xFFFF));
+        }
+
+        @Specialization
+        public short execute(LLVMAddress address, short value) {
+            return LLVMMemory.getAndOpI16(address, value, (a, b) -> Math.min(a & 0xFFFF, b & 0xFFFF));
+        }
+    }
+
 }
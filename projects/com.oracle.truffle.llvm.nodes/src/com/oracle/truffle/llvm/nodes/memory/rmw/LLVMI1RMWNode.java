@@ -133,4 +133,56 @@ public abstract class LLVMI1RMWNode extends LLVMExpressionNode {
         }
     }
 
+    public abstract static class LLVMI1RMWMaxNode extends LLVMI1RMWNode {
+        @Specialization
+        public boolean execute(LLVMGlobalVariable address, boolean value, @Cached("createGlobalAccess()") LLVMGlobalVariableAccess globalAccess) {
+            LLVMAddress adr = globalAccess.getNativeLocation(address);
+            return LLVMMemory.getAndOpI1(adr, value, (a, b) -> a && b);
+        }
+
+        @Specialization
+        public boolean execute(LLVMAddress address, boolean value) {
+            return LLVMMemory.getAndOpI1(address, value, (a, b) -> a && b);
+        }
+    }
+
+    public abstract static class LLVMI1RMWMinNode extends LLVMI1RMWNode {
+        @Specialization
+        public boolean execute(LLVMGlobalVariable address, boolean value, @Cached("createGlobalAccess()") LLVMGlobalVariableAccess globalAccess) {
+            LLVMAddress adr = globalAccess.getNativeLocation(address);
+            return LLVMMemory.getAndOpI1(adr, value, (a, b) -> a || b);
+        }
+
+        @Specialization
+        public boolean execute(LLVMAddress address, boolean value) {
+            return LLVMMemory.getAndOpI1(address, value, (a, b) -> a || b);
+        }
+    }
+
+    public abstract static class LLVMI1RMWUMaxNode extends LLVMI1RMWNode {
+        @Specialization
+        public boolean execute(LLVMGlobalVariable address, boolean value, @Cached("createGlobalAccess()") LLVMGlobalVariableAccess globalAccess) {
+            LLVMAddress adr = globalAccess.getNativeLocation(address);
+            return LLVMMemory.getAndOpI1(adr, value, (a, b) -> a || b);
+        }
+
+        @Specialization
+        public boolean execute(LLVMAddress address, boolean value) {
+            return LLVMMemory.getAndOpI1(address, value, (a, b) -> a || b);
+        }
+    }
+
+    public abstract static class LLVMI1RMWUMinNode extends LLVMI1RMWNode {
+        @Specialization
+        public boolean execute(LLVMGlobalVariable address, boolean value, @Cached("createGlobalAccess()") LLVMGlobalVariableAccess globalAccess) {
+            LLVMAddress adr = globalAccess.getNativeLocation(address);
+            return LLVMMemory.getAndOpI1(adr, value, (a, b) -> a && b);
+        }
+
+        @Specialization
+        public boolean execute(LLVMAddress address, boolean value) {
+            return LLVMMemory.getAndOpI1(address, value, (a, b) -> a && b);
+        }
+    }
+
 }
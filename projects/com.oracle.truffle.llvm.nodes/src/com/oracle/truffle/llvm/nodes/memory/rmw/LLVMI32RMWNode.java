@@ -133,4 +133,56 @@ public abstract class LLVMI32RMWNode extends LLVMExpressionNode {
         }
     }
 
+    public abstract static class LLVMI32RMWMaxNode extends LLVMI32RMWNode {
+        @Specialization
+        public int execute(LLVMGlobalVariable address, int value, @Cached("createGlobalAccess()") LLVMGlobalVariableAccess globalAccess) {
+            LLVMAddress adr = globalAccess.getNativeLocation(address);
+            return LLVMMemory.getAndOpI32(adr, value, (a, b) -> Math.max(a, b));
+        }
+
+        @Specialization
+        public int execute(LLVMAddress address, int value) {
+            return LLVMMemory.getAndOpI32(address, value, (a, b) -> Math.max(a, b));
+        }
+    }
+
+    public abstract static class LLVMI32RMWMinNode extends LLVMI32RMWNode {
+        @Specialization
+        public int execute(LLVMGlobalVariable address, int value, @Cached("createGlobalAccess()") LLVMGlobalVariableAccess globalAccess) {
+            LLVMAddress adr = globalAccess.getNativeLocation(address);
+            return LLVMMemory.getAndOpI32(adr, value, (a, b) -> Math.min(a, b));
+        }
+
+        @Specialization
+        public int execute(LLVMAddress address, int value) {
+            return LLVMMemory.getAndOpI32(address, value, (a, b) -> Math.min(a, b));
+        }
+    }
+
+    public abstract static class LLVMI32RMWUMaxNode extends LLVMI32RMWNode {
+        @Specialization
+        public int execute(LLVMGlobalVariable address, int value, @Cached("createGlobalAccess()") LLVMGlobalVariableAccess globalAccess) {
+            LLVMAddress adr = globalAccess.getNativeLocation(address);
+            return LLVMMemory.getAndOpI32(adr, value, (a, b) -> Integer.compareUnsigned(a, b) >= 0 ? a : b);
+        }
+
+        @Specialization
+        public int execute(LLVMAddress address, int value) {
+            return LLVMMemory.getAndOpI32(address, value, (a, b) -> Integer.compareUnsigned(a, b) >= 0 ? a : b);
+        }
+    }
+
+    public abstract static class LLVMI32RMWUMinNode extends LLVMI32RMWNode {
+        @Specialization
+        public int execute(LLVMGlobalVariable address, int value, @Cached("createGlobalAccess()") LLVMGlobalVariableAccess globalAccess) {
+            LLVMAddress adr = globalAccess.getNativeLocation(address);
+            return LLVMMemory.getAndOpI32(adr, value, (a, b) -> Integer.compareUnsigned(a, b) <= 0 ? a : b);
+        }
+
+        @Specialization
+        public int execute(LLVMAddress address, int value) {
+            return LLVMMemory.getAndOpI32(address, value, (a, b) -> Integer.compareUnsigned(a, b) <= 0 ? a : b);
+        }
+    }
+
 }
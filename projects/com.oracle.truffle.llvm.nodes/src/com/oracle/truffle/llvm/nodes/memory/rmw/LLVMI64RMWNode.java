@@ -134,4 +134,56 @@ public abstract class LLVMI64RMWNode extends LLVMExpressionNode {
         }
     }
 
+    public abstract static class LLVMI64RMWMaxNode extends LLVMI64RMWNode {
+        @Specialization
+        public long execute(LLVMGlobalVariable address, long value, @Cached("createGlobalAccess()") LLVMGlobalVariableAccess globalAccess) {
+            LLVMAddress adr = globalAccess.getNativeLocation(address);
+            return LLVMMemory.getAndOpI64(adr, value, (a, b) -> Math.max(a, b));
+        }
+
+        @Specialization
+        public long execute(LLVMAddress address, long value) {
+            return LLVMMemory.getAndOpI64(address, value, (a, b) -> Math.max(a, b));
+        }
+    }
+
+    public abstract static class LLVMI64RMWMinNode extends LLVMI64RMWNode {
+        @Specialization
+        public long execute(LLVMGlobalVariable address, long value, @Cached("createGlobalAccess()") LLVMGlobalVariableAccess globalAccess) {
+            LLVMAddress adr = globalAccess.getNativeLocation(address);
+            return LLVMMemory.getAndOpI64(adr, value, (a, b) -> Math.min(a, b));
+        }
+
+        @Specialization
+        public long execute(LLVMAddress address, long value) {
+            return LLVMMemory.getAndOpI64(address, value, (a, b) -> Math.min(a, b));
+        }
+    }
+
+    public abstract static class LLVMI64RMWUMaxNode extends LLVMI64RMWNode {
+        @Specialization
+        public long execute(LLVMGlobalVariable address, long value, @Cached("createGlobalAccess()") LLVMGlobalVariableAccess globalAccess) {
+            LLVMAddress adr = globalAccess.getNativeLocation(address);
+            return LLVMMemory.getAndOpI64(adr, value, (a, b) -> Long.compareUnsigned(a, b) >= 0 ? a : b);
+        }
+
+        @Specialization
+        public long execute(LLVMAddress address, long value) {
+            return LLVMMemory.getAndOpI64(address, value, (a, b) -> Long.compareUnsigned(a, b) >= 0 ? a : b);
+        }
+    }
+
+    public abstract static class LLVMI64RMWUMinNode extends LLVMI64RMWNode {
+        @Specialization
+        public long execute(LLVMGlobalVariable address, long value, @Cached("createGlobalAccess()") LLVMGlobalVariableAccess globalAccess) {
+            LLVMAddress adr = globalAccess.getNativeLocation(address);
+            return LLVMMemory.getAndOpI64(adr, value, (a, b) -> Long.compareUnsigned(a, b) <= 0 ? a : b);
+        }
+
+        @Specialization
+        public long execute(LLVMAddress address, long value) {
+            return LLVMMemory.getAndOpI64(address, value, (a, b) -> Long.compareUnsigned(a, b) <= 0 ? a : b);
+        }
+    }
+
 }
@@ -133,4 +133,56 @@ public abstract class LLVMI8RMWNode extends LLVMExpressionNode {
         }
     }
 
+    public abstract static class LLVMI8RMWMaxNode extends LLVMI8RMWNode {
+        @Specialization
+        public byte execute(LLVMGlobalVariable address, byte value, @Cached("createGlobalAccess()") LLVMGlobalVariableAccess globalAccess) {
+            LLVMAddress adr = globalAccess.getNativeLocation(address);
+            return LLVMMemory.getAndOpI8(adr, value, (a, b) -> Math.max(a, b));
+        }
+
+        @Specialization
+        public byte execute(LLVMAddress address, byte value) {
+            return LLVMMemory.getAndOpI8(address, value, (a, b) -> Math.max(a, b));
+        }
+    }
+
+    public abstract static class LLVMI8RMWMinNode extends LLVMI8RMWNode {
+        @Specialization
+        public byte execute(LLVMGlobalVariable address, byte value, @Cached("createGlobalAccess()") LLVMGlobalVariableAccess globalAccess) {
+            LLVMAddress adr = globalAccess.getNativeLocation(address);
+            return LLVMMemory.getAndOpI8(adr, value, (a, b) -> Math.min(a, b));
+        }
+
+        @Specialization
+        public byte execute(LLVMAddress address, byte value) {
+            return LLVMMemory.getAndOpI8(address, value, (a, b) -> Math.min(a, b));
+        }
+    }
+
+    public abstract static class LLVMI8RMWUMaxNode extends LLVMI8RMWNode {
+        @Specialization
+        public byte execute(LLVMGlobalVariable address, byte value, @Cached("createGlobalAccess()") LLVMGlobalVariableAccess globalAccess) {
+            LLVMAddress adr = globalAccess.getNativeLocation(address);
+            return LLVMMemory.getAndOpI8(adr, value, (a, b) -> Math.max(a & 0xFF, b & 0xFF));
+        }
+
+        @Specialization
+        public byte execute(LLVMAddress address, byte value) {
+            return LLVMMemory.getAndOpI8(address, value, (a, b) -> Math.max(a & 0xFF, b & 0xFF));
+        }
+    }
+
+    public abstract static class LLVMI8RMWUMinNode extends LLVMI8RMWNode {
+        @Specialization
+        public byte execute(LLVMGlobalVariable address, byte value, @Cached("createGlobalAccess()") LLVMGlobalVariableAccess globalAccess) {
+            LLVMAddress adr = globalAccess.getNativeLocation(address);
+            return LLVMMemory.getAndOpI8(adr, value, (a, b) -> Math.min(a & 0xFF, b & 0xFF));
+        }
+
+        @Specialization
+        public byte execute(LLVMAddress address, byte value) {
+            return LLVMMemory.getAndOpI8(address, value, (a, b) -> Math.min(a & 0xFF, b & 0xFF));
+        }
+    }
+
 }
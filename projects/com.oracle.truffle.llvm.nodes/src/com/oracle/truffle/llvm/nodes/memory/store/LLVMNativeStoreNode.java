@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.nodes.memory.store;
+
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.profiles.ConditionProfile;
+import com.oracle.truffle.api.source.SourceSection;
+import com.oracle.truffle.llvm.nodes.vars.LLVMReadNode.LLVMPointerReadNode;
+import com.oracle.truffle.llvm.runtime.LLVMAddress;
+import com.oracle.truffle.llvm.runtime.memory.LLVMMemory;
+import com.oracle.truffle.llvm.runtime.nodes.api.LLVMExpressionNode;
+import com.oracle.truffle.llvm.runtime.types.PrimitiveType.PrimitiveKind;
+
+/**
+ * Stores a primitive value through a pointer that is read from a frame slot. A native pointer is
+ * dereferenced as a raw address, other pointers are handled by the regular store node.
+ */
+public final class LLVMNativeStoreNode extends LLVMExpressionNode {
+
+    private final SourceSection sourceSection;
+    private final PrimitiveKind kind;
+
+    @Child private LLVMPointerReadNode pointer;
+    @Child private LLVMExpressionNode value;
+    @Child private LLVMStoreNode store;
+
+    private final ConditionProfile nativeProfile = ConditionProfile.createBinaryProfile();
+
+    public LLVMNativeStoreNode(SourceSection sourceSection, PrimitiveKind kind, LLVMPointerReadNode pointer, LLVMExpressionNode value, LLVMStoreNode store) {
+        this.sourceSection = sourceSection;
+        this.kind = kind;
+        this.pointer = pointer;
+        this.value = value;
+        this.store = store;
+    }
+
+    @Override
+    public SourceSection getSourceSection() {
+        return sourceSection;
+    }
+
+    @Override
+    public Object executeGeneric(VirtualFrame frame) {
+        if (nativeProfile.profile(pointer.isNativePointer(frame))) {
+            long address = pointer.readNativePointer(frame);
+            switch (kind) {
+                case I1:
+                    LLVMMemory.putI1(address, value.executeI1(frame));
+                    return null;
+                case I8:
+                    LLVMMemory.putI8(address, value.executeI8(frame));
+                    return null;
+                case I16:
+                    LLVMMemory.putI16(address, value.executeI16(frame));
+                    return null;
+                case I32:
+                    LLVMMemory.putI32(address, value.executeI32(frame));
+                    return null;
+                case I64:
+                    // the value can be a managed pointer that was converted to an integer
+                    Object i64 = value.executeGeneric(frame);
+                    if (i64 instanceof Long) {
+                        LLVMMemory.putI64(address, (long) i64);
+                        return null;
+                    }
+                    return store.executeWithTarget(frame, LLVMAddress.fromLong(address), i64);
+                case FLOAT:
+                    LLVMMemory.putFloat(address, value.executeFloat(frame));
+                    return null;
+                case DOUBLE:
+                    LLVMMemory.putDouble(address, value.executeDouble(frame));
+                    return null;
+                default:
+                    throw new AssertionError(kind);
+            }
+        }
+        return store.executeWithTarget(frame, pointer.executeGeneric(frame), value.executeGeneric(frame));
+    }
+}
@@ -38,6 +38,7 @@ import com.oracle.truffle.llvm.runtime.global.LLVMGlobalVariable;
 import com.oracle.truffle.llvm.runtime.global.LLVMGlobalVariableAccess;
 import com.oracle.truffle.llvm.runtime.memory.LLVMMemory;
 import com.oracle.truffle.llvm.runtime.types.Type;
+import com.oracle.truffle.llvm.runtime.types.VectorType;
 import com.oracle.truffle.llvm.runtime.vector.LLVMAddressVector;
 import com.oracle.truffle.llvm.runtime.vector.LLVMDoubleVector;
 import com.oracle.truffle.llvm.runtime.vector.LLVMFloatVector;
@@ -49,91 +50,94 @@ import com.oracle.truffle.llvm.runtime.vector.LLVMI8Vector;
 
 public abstract class LLVMStoreVectorNode extends LLVMStoreNode {
 
+    private final int vectorLength;
+
     public LLVMStoreVectorNode(Type type, int size) {
         super(type, size);
+        this.vectorLength = ((VectorType) type).getNumberOfElements();
     }
 
     @Specialization
     protected Object writeVector(LLVMAddress address, LLVMDoubleVector value) {
-        LLVMMemory.putVector(address, value);
+        LLVMMemory.putVector(address, value, vectorLength);
         return null;
     }
 
     @Specialization
     protected Object writeVector(LLVMGlobalVariable address, LLVMDoubleVector value, @Cached("createGlobalAccess()") LLVMGlobalVariableAccess globalAccess) {
-        LLVMMemory.putVector(globalAccess.getNativeLocation(address), value);
+        LLVMMemory.putVector(globalAccess.getNativeLocation(address), value, vectorLength);
         return null;
     }
 
     @Specialization
     protected Object writeVector(LLVMAddress address, LLVMFloatVector value) {
-        LLVMMemory.putVector(address, value);
+        LLVMMemory.putVector(address, value, vectorLength);
         return null;
     }
 
     @Specialization
     protected Object writeVector(LLVMGlobalVariable address, LLVMFloatVector value, @Cached("createGlobalAccess()") LLVMGlobalVariableAccess globalAccess) {
-        LLVMMemory.putVector(globalAccess.getNativeLocation(address), value);
+        LLVMMemory.putVector(globalAccess.getNativeLocation(address), value, vectorLength);
         return null;
     }
 
     @Specialization
     protected Object writeVector(LLVMAddress address, LLVMI16Vector value) {
-        LLVMMemory.putVector(address, value);
+        LLVMMemory.putVector(address, value, vectorLength);
         return null;
     }
 
     @Specialization
     protected Object writeVector(LLVMGlobalVariable address, LLVMI16Vector value, @Cached("createGlobalAccess()") LLVMGlobalVariableAccess globalAccess) {
-        LLVMMemory.putVector(globalAccess.getNativeLocation(address), value);
+        LLVMMemory.putVector(globalAccess.getNativeLocation(address), value, vectorLength);
         return null;
     }
 
     @Specialization
     protected Object writeVector(LLVMAddress address, LLVMI1Vector value) {
-        LLVMMemory.putVector(address, value);
+        LLVMMemory.putVector(address, value, vectorLength);
         return null;
     }
 
     @Specialization
     protected Object writeVector(LLVMGlobalVariable address, LLVMI1Vector value, @Cached("createGlobalAccess()") LLVMGlobalVariableAccess globalAccess) {
-        LLVMMemory.putVector(globalAccess.getNativeLocation(address), value);
+        LLVMMemory.putVector(globalAccess.getNativeLocation(address), value, vectorLength);
         return null;
     }
 
     @Specialization
     protected Object writeVector(LLVMAddress address, LLVMI32Vector value) {
-        LLVMMemory.putVector(address, value);
+        LLVMMemory.putVector(address, value, vectorLength);
         return null;
     }
 
     @Specialization
     protected Object writeVector(LLVMGlobalVariable address, LLVMI32Vector value, @Cached("createGlobalAccess()") LLVMGlobalVariableAccess globalAccess) {
-        LLVMMemory.putVector(globalAccess.getNativeLocation(address), value);
+        LLVMMemory.putVector(globalAccess.getNativeLocation(address), value, vectorLength);
         return null;
     }
 
     @Specialization
     protected Object writeVector(LLVMAddress address, LLVMI64Vector value) {
-        LLVMMemory.putVector(address, value);
+        LLVMMemory.putVector(address, value, vectorLength);
         return null;
     }
 
     @Specialization
     protected Object writeVector(LLVMGlobalVariable address, LLVMI64Vector value, @Cached("createGlobalAccess()") LLVMGlobalVariableAccess globalAccess) {
-        LLVMMemory.putVector(globalAccess.getNativeLocation(address), value);
+        LLVMMemory.putVector(globalAccess.getNativeLocation(address), value, vectorLength);
         return null;
     }
 
     @Specialization
     protected Object writeVector(LLVMAddress address, LLVMI8Vector value) {
-        LLVMMemory.putVector(address, value);
+        LLVMMemory.putVector(address, value, vectorLength);
         return null;
     }
 
     @Specialization
     protected Object writeVector(LLVMGlobalVariable address, LLVMI8Vector value, @Cached("createGlobalAccess()") LLVMGlobalVariableAccess globalAccess) {
-        LLVMMemory.putVector(globalAccess.getNativeLocation(address), value);
+        LLVMMemory.putVector(globalAccess.getNativeLocation(address), value, vectorLength);
         return null;
     }
 
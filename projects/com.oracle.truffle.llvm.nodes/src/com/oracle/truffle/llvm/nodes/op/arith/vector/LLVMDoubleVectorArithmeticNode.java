@@ -29,6 +29,7 @@
  */
 package com.oracle.truffle.llvm.nodes.op.arith.vector;
 
+import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
@@ -39,42 +40,42 @@ import com.oracle.truffle.llvm.runtime.vector.LLVMDoubleVector;
 public abstract class LLVMDoubleVectorArithmeticNode extends LLVMExpressionNode {
 
     public abstract static class LLVMDoubleVectorAddNode extends LLVMDoubleVectorArithmeticNode {
-        @Specialization
-        protected LLVMDoubleVector executeDoubleVector(LLVMDoubleVector left, LLVMDoubleVector right) {
-            return left.add(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMDoubleVector executeDoubleVector(LLVMDoubleVector left, LLVMDoubleVector right, @Cached("left.getLength()") int length) {
+            return left.add(right, length);
         }
     }
 
     public abstract static class LLVMDoubleVectorMulNode extends LLVMDoubleVectorArithmeticNode {
 
-        @Specialization
-        public LLVMDoubleVector executeDoubleVector(LLVMDoubleVector left, LLVMDoubleVector right) {
-            return left.mul(right);
+        @Specialization(guards = "left.getLength() == length")
+        public LLVMDoubleVector executeDoubleVector(LLVMDoubleVector left, LLVMDoubleVector right, @Cached("left.getLength()") int length) {
+            return left.mul(right, length);
         }
 
     }
 
     public abstract static class LLVMDoubleVectorSubNode extends LLVMDoubleVectorArithmeticNode {
 
-        @Specialization
-        protected LLVMDoubleVector executeDoubleVector(LLVMDoubleVector left, LLVMDoubleVector right) {
-            return left.sub(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMDoubleVector executeDoubleVector(LLVMDoubleVector left, LLVMDoubleVector right, @Cached("left.getLength()") int length) {
+            return left.sub(right, length);
         }
     }
 
     public abstract static class LLVMDoubleVectorDivNode extends LLVMDoubleVectorArithmeticNode {
 
-        @Specialization
-        protected LLVMDoubleVector executeDoubleVector(LLVMDoubleVector left, LLVMDoubleVector right) {
-            return left.div(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMDoubleVector executeDoubleVector(LLVMDoubleVector left, LLVMDoubleVector right, @Cached("left.getLength()") int length) {
+            return left.div(right, length);
         }
     }
 
     public abstract static class LLVMDoubleVectorRemNode extends LLVMDoubleVectorArithmeticNode {
 
-        @Specialization
-        protected LLVMDoubleVector executeDoubleVector(LLVMDoubleVector left, LLVMDoubleVector right) {
-            return left.rem(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMDoubleVector executeDoubleVector(LLVMDoubleVector left, LLVMDoubleVector right, @Cached("left.getLength()") int length) {
+            return left.rem(right, length);
         }
     }
 }
@@ -29,6 +29,7 @@
  */
 package com.oracle.truffle.llvm.nodes.op.arith.vector;
 
+import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
@@ -39,42 +40,42 @@ import com.oracle.truffle.llvm.runtime.vector.LLVMFloatVector;
 public abstract class LLVMFloatVectorArithmeticNode extends LLVMExpressionNode {
 
     public abstract static class LLVMFloatVectorAddNode extends LLVMFloatVectorArithmeticNode {
-        @Specialization
-        protected LLVMFloatVector executeFloatVector(LLVMFloatVector left, LLVMFloatVector right) {
-            return left.add(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMFloatVector executeFloatVector(LLVMFloatVector left, LLVMFloatVector right, @Cached("left.getLength()") int length) {
+            return left.add(right, length);
         }
     }
 
     public abstract static class LLVMFloatVectorMulNode extends LLVMFloatVectorArithmeticNode {
 
-        @Specialization
-        public LLVMFloatVector executeFloatVector(LLVMFloatVector left, LLVMFloatVector right) {
-            return left.mul(right);
+        @Specialization(guards = "left.getLength() == length")
+        public LLVMFloatVector executeFloatVector(LLVMFloatVector left, LLVMFloatVector right, @Cached("left.getLength()") int length) {
+            return left.mul(right, length);
         }
 
     }
 
     public abstract static class LLVMFloatVectorSubNode extends LLVMFloatVectorArithmeticNode {
 
-        @Specialization
-        protected LLVMFloatVector executeFloatVector(LLVMFloatVector left, LLVMFloatVector right) {
-            return left.sub(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMFloatVector executeFloatVector(LLVMFloatVector left, LLVMFloatVector right, @Cached("left.getLength()") int length) {
+            return left.sub(right, length);
         }
     }
 
     public abstract static class LLVMFloatVectorDivNode extends LLVMFloatVectorArithmeticNode {
 
-        @Specialization
-        protected LLVMFloatVector executeFloatVector(LLVMFloatVector left, LLVMFloatVector right) {
-            return left.div(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMFloatVector executeFloatVector(LLVMFloatVector left, LLVMFloatVector right, @Cached("left.getLength()") int length) {
+            return left.div(right, length);
         }
     }
 
     public abstract static class LLVMFloatVectorRemNode extends LLVMFloatVectorArithmeticNode {
 
-        @Specialization
-        protected LLVMFloatVector executeFloatVector(LLVMFloatVector left, LLVMFloatVector right) {
-            return left.rem(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMFloatVector executeFloatVector(LLVMFloatVector left, LLVMFloatVector right, @Cached("left.getLength()") int length) {
+            return left.rem(right, length);
         }
     }
 }
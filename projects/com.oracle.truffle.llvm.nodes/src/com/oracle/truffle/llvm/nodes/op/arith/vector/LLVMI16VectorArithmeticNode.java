@@ -29,6 +29,7 @@
  */
 package com.oracle.truffle.llvm.nodes.op.arith.vector;
 
+import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
@@ -39,58 +40,58 @@ import com.oracle.truffle.llvm.runtime.vector.LLVMI16Vector;
 public abstract class LLVMI16VectorArithmeticNode extends LLVMExpressionNode {
 
     public abstract static class LLVMI16VectorAddNode extends LLVMI16VectorArithmeticNode {
-        @Specialization
-        protected LLVMI16Vector executeI16Vector(LLVMI16Vector left, LLVMI16Vector right) {
-            return left.add(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI16Vector executeI16Vector(LLVMI16Vector left, LLVMI16Vector right, @Cached("left.getLength()") int length) {
+            return left.add(right, length);
         }
     }
 
     public abstract static class LLVMI16VectorMulNode extends LLVMI16VectorArithmeticNode {
 
-        @Specialization
-        public LLVMI16Vector executeI16Vector(LLVMI16Vector left, LLVMI16Vector right) {
-            return left.mul(right);
+        @Specialization(guards = "left.getLength() == length")
+        public LLVMI16Vector executeI16Vector(LLVMI16Vector left, LLVMI16Vector right, @Cached("left.getLength()") int length) {
+            return left.mul(right, length);
         }
 
     }
 
     public abstract static class LLVMI16VectorSubNode extends LLVMI16VectorArithmeticNode {
 
-        @Specialization
-        protected LLVMI16Vector executeI16Vector(LLVMI16Vector left, LLVMI16Vector right) {
-            return left.sub(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI16Vector executeI16Vector(LLVMI16Vector left, LLVMI16Vector right, @Cached("left.getLength()") int length) {
+            return left.sub(right, length);
         }
     }
 
     public abstract static class LLVMI16VectorDivNode extends LLVMI16VectorArithmeticNode {
 
-        @Specialization
-        protected LLVMI16Vector executeI16Vector(LLVMI16Vector left, LLVMI16Vector right) {
-            return left.div(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI16Vector executeI16Vector(LLVMI16Vector left, LLVMI16Vector right, @Cached("left.getLength()") int length) {
+            return left.div(right, length);
         }
     }
 
     public abstract static class LLVMI16VectorUDivNode extends LLVMI16VectorArithmeticNode {
 
-        @Specialization
-        protected LLVMI16Vector executeI16Vector(LLVMI16Vector left, LLVMI16Vector right) {
-            return left.divUnsigned(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI16Vector executeI16Vector(LLVMI16Vector left, LLVMI16Vector right, @Cached("left.getLength()") int length) {
+            return left.divUnsigned(right, length);
         }
     }
 
     public abstract static class LLVMI16VectorRemNode extends LLVMI16VectorArithmeticNode {
 
-        @Specialization
-        protected LLVMI16Vector executeI16Vector(LLVMI16Vector left, LLVMI16Vector right) {
-            return left.rem(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI16Vector executeI16Vector(LLVMI16Vector left, LLVMI16Vector right, @Cached("left.getLength()") int length) {
+            return left.rem(right, length);
         }
     }
 
     public abstract static class LLVMI16VectorURemNode extends LLVMI16VectorArithmeticNode {
 
-        @Specialization
-        protected LLVMI16Vector executeI16Vector(LLVMI16Vector left, LLVMI16Vector right) {
-            return left.remUnsigned(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI16Vector executeI16Vector(LLVMI16Vector left, LLVMI16Vector right, @Cached("left.getLength()") int length) {
+            return left.remUnsigned(right, length);
         }
     }
 }
@@ -29,6 +29,7 @@
  */
 package com.oracle.truffle.llvm.nodes.op.arith.vector;
 
+import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
@@ -39,58 +40,58 @@ import com.oracle.truffle.llvm.runtime.vector.LLVMI1Vector;
 public abstract class LLVMI1VectorArithmeticNode extends LLVMExpressionNode {
 
     public abstract static class LLVMI1VectorAddNode extends LLVMI1VectorArithmeticNode {
-        @Specialization
-        protected LLVMI1Vector executeI1Vector(LLVMI1Vector left, LLVMI1Vector right) {
-            return left.add(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI1Vector executeI1Vector(LLVMI1Vector left, LLVMI1Vector right, @Cached("left.getLength()") int length) {
+            return left.add(right, length);
         }
     }
 
     public abstract static class LLVMI1VectorMulNode extends LLVMI1VectorArithmeticNode {
 
-        @Specialization
-        public LLVMI1Vector executeI1Vector(LLVMI1Vector left, LLVMI1Vector right) {
-            return left.mul(right);
+        @Specialization(guards = "left.getLength() == length")
+        public LLVMI1Vector executeI1Vector(LLVMI1Vector left, LLVMI1Vector right, @Cached("left.getLength()") int length) {
+            return left.mul(right, length);
         }
 
     }
 
     public abstract static class LLVMI1VectorSubNode extends LLVMI1VectorArithmeticNode {
 
-        @Specialization
-        protected LLVMI1Vector executeI1Vector(LLVMI1Vector left, LLVMI1Vector right) {
-            return left.sub(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI1Vector executeI1Vector(LLVMI1Vector left, LLVMI1Vector right, @Cached("left.getLength()") int length) {
+            return left.sub(right, length);
         }
     }
 
     public abstract static class LLVMI1VectorDivNode extends LLVMI1VectorArithmeticNode {
 
-        @Specialization
-        protected LLVMI1Vector executeI1Vector(LLVMI1Vector left, LLVMI1Vector right) {
-            return left.div(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI1Vector executeI1Vector(LLVMI1Vector left, LLVMI1Vector right, @Cached("left.getLength()") int length) {
+            return left.div(right, length);
         }
     }
 
     public abstract static class LLVMI1VectorUDivNode extends LLVMI1VectorArithmeticNode {
 
-        @Specialization
-        protected LLVMI1Vector executeI1Vector(LLVMI1Vector left, LLVMI1Vector right) {
-            return left.divUnsigned(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI1Vector executeI1Vector(LLVMI1Vector left, LLVMI1Vector right, @Cached("left.getLength()") int length) {
+            return left.divUnsigned(right, length);
         }
     }
 
     public abstract static class LLVMI1VectorRemNode extends LLVMI1VectorArithmeticNode {
 
-        @Specialization
-        protected LLVMI1Vector executeI1Vector(LLVMI1Vector left, LLVMI1Vector right) {
-            return left.rem(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI1Vector executeI1Vector(LLVMI1Vector left, LLVMI1Vector right, @Cached("left.getLength()") int length) {
+            return left.rem(right, length);
         }
     }
 
     public abstract static class LLVMI1VectorURemNode extends LLVMI1VectorArithmeticNode {
 
-        @Specialization
-        protected LLVMI1Vector executeI1Vector(LLVMI1Vector left, LLVMI1Vector right) {
-            return left.remUnsigned(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI1Vector executeI1Vector(LLVMI1Vector left, LLVMI1Vector right, @Cached("left.getLength()") int length) {
+            return left.remUnsigned(right, length);
         }
     }
 }
@@ -29,6 +29,7 @@
  */
 package com.oracle.truffle.llvm.nodes.op.arith.vector;
 
+import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
@@ -39,59 +40,59 @@ import com.oracle.truffle.llvm.runtime.vector.LLVMI32Vector;
 public abstract class LLVMI32VectorArithmeticNode extends LLVMExpressionNode {
 
     public abstract static class LLVMI32VectorAddNode extends LLVMI32VectorArithmeticNode {
-        @Specialization
-        protected LLVMI32Vector executeI32Vector(LLVMI32Vector left, LLVMI32Vector right) {
-            return left.add(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI32Vector executeI32Vector(LLVMI32Vector left, LLVMI32Vector right, @Cached("left.getLength()") int length) {
+            return left.add(right, length);
         }
     }
 
     public abstract static class LLVMI32VectorMulNode extends LLVMI32VectorArithmeticNode {
 
-        @Specialization
-        public LLVMI32Vector executeI32Vector(LLVMI32Vector left, LLVMI32Vector right) {
-            return left.mul(right);
+        @Specialization(guards = "left.getLength() == length")
+        public LLVMI32Vector executeI32Vector(LLVMI32Vector left, LLVMI32Vector right, @Cached("left.getLength()") int length) {
+            return left.mul(right, length);
         }
 
     }
 
     public abstract static class LLVMI32VectorSubNode extends LLVMI32VectorArithmeticNode {
 
-        @Specialization
-        protected LLVMI32Vector executeI32Vector(LLVMI32Vector left, LLVMI32Vector right) {
-            return left.sub(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI32Vector executeI32Vector(LLVMI32Vector left, LLVMI32Vector right, @Cached("left.getLength()") int length) {
+            return left.sub(right, length);
         }
     }
 
     public abstract static class LLVMI32VectorDivNode extends LLVMI32VectorArithmeticNode {
 
-        @Specialization
-        protected LLVMI32Vector executeI32Vector(LLVMI32Vector left, LLVMI32Vector right) {
-            return left.div(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI32Vector executeI32Vector(LLVMI32Vector left, LLVMI32Vector right, @Cached("left.getLength()") int length) {
+            return left.div(right, length);
         }
     }
 
     public abstract static class LLVMI32VectorUDivNode extends LLVMI32VectorArithmeticNode {
 
-        @Specialization
-        protected LLVMI32Vector executeI32Vector(LLVMI32Vector left, LLVMI32Vector right) {
-            return left.divUnsigned(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI32Vector executeI32Vector(LLVMI32Vector left, LLVMI32Vector right, @Cached("left.getLength()") int length) {
+            return left.divUnsigned(right, length);
 
         }
     }
 
     public abstract static class LLVMI32VectorRemNode extends LLVMI32VectorArithmeticNode {
 
-        @Specialization
-        protected LLVMI32Vector executeI32Vector(LLVMI32Vector left, LLVMI32Vector right) {
-            return left.rem(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI32Vector executeI32Vector(LLVMI32Vector left, LLVMI32Vector right, @Cached("left.getLength()") int length) {
+            return left.rem(right, length);
         }
     }
 
     public abstract static class LLVMI32VectorURemNode extends LLVMI32VectorArithmeticNode {
 
-        @Specialization
-        protected LLVMI32Vector executeI32Vector(LLVMI32Vector left, LLVMI32Vector right) {
-            return left.remUnsigned(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI32Vector executeI32Vector(LLVMI32Vector left, LLVMI32Vector right, @Cached("left.getLength()") int length) {
+            return left.remUnsigned(right, length);
         }
     }
 
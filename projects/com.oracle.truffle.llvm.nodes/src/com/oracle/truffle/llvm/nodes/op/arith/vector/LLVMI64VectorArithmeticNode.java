@@ -29,6 +29,7 @@
  */
 package com.oracle.truffle.llvm.nodes.op.arith.vector;
 
+import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
@@ -39,59 +40,59 @@ import com.oracle.truffle.llvm.runtime.vector.LLVMI64Vector;
 public abstract class LLVMI64VectorArithmeticNode extends LLVMExpressionNode {
 
     public abstract static class LLVMI64VectorAddNode extends LLVMI64VectorArithmeticNode {
-        @Specialization
-        protected LLVMI64Vector executeI64Vector(LLVMI64Vector left, LLVMI64Vector right) {
-            return left.add(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI64Vector executeI64Vector(LLVMI64Vector left, LLVMI64Vector right, @Cached("left.getLength()") int length) {
+            return left.add(right, length);
         }
     }
 
     public abstract static class LLVMI64VectorMulNode extends LLVMI64VectorArithmeticNode {
 
-        @Specialization
-        public LLVMI64Vector executeI64Vector(LLVMI64Vector left, LLVMI64Vector right) {
-            return left.mul(right);
+        @Specialization(guards = "left.getLength() == length")
+        public LLVMI64Vector executeI64Vector(LLVMI64Vector left, LLVMI64Vector right, @Cached("left.getLength()") int length) {
+            return left.mul(right, length);
         }
 
     }
 
     public abstract static class LLVMI64VectorSubNode extends LLVMI64VectorArithmeticNode {
 
-        @Specialization
-        protected LLVMI64Vector executeI64Vector(LLVMI64Vector left, LLVMI64Vector right) {
-            return left.sub(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI64Vector executeI64Vector(LLVMI64Vector left, LLVMI64Vector right, @Cached("left.getLength()") int length) {
+            return left.sub(right, length);
         }
     }
 
     public abstract static class LLVMI64VectorDivNode extends LLVMI64VectorArithmeticNode {
 
-        @Specialization
-        protected LLVMI64Vector executeI64Vector(LLVMI64Vector left, LLVMI64Vector right) {
-            return left.div(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI64Vector executeI64Vector(LLVMI64Vector left, LLVMI64Vector right, @Cached("left.getLength()") int length) {
+            return left.div(right, length);
         }
     }
 
     public abstract static class LLVMI64VectorUDivNode extends LLVMI64VectorArithmeticNode {
 
-        @Specialization
-        protected LLVMI64Vector executeI64Vector(LLVMI64Vector left, LLVMI64Vector right) {
-            return left.divUnsigned(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI64Vector executeI64Vector(LLVMI64Vector left, LLVMI64Vector right, @Cached("left.getLength()") int length) {
+            return left.divUnsigned(right, length);
 
         }
     }
 
     public abstract static class LLVMI64VectorRemNode extends LLVMI64VectorArithmeticNode {
 
-        @Specialization
-        protected LLVMI64Vector executeI64Vector(LLVMI64Vector left, LLVMI64Vector right) {
-            return left.rem(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI64Vector executeI64Vector(LLVMI64Vector left, LLVMI64Vector right, @Cached("left.getLength()") int length) {
+            return left.rem(right, length);
         }
     }
 
     public abstract static class LLVMI64VectorURemNode extends LLVMI64VectorArithmeticNode {
 
-        @Specialization
-        protected LLVMI64Vector executeI64Vector(LLVMI64Vector left, LLVMI64Vector right) {
-            return left.remUnsigned(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI64Vector executeI64Vector(LLVMI64Vector left, LLVMI64Vector right, @Cached("left.getLength()") int length) {
+            return left.remUnsigned(right, length);
         }
     }
 
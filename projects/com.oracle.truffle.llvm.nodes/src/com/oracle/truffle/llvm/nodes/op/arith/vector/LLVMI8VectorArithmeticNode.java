@@ -29,6 +29,7 @@
  */
 package com.oracle.truffle.llvm.nodes.op.arith.vector;
 
+import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
@@ -39,58 +40,58 @@ import com.oracle.truffle.llvm.runtime.vector.LLVMI8Vector;
 public abstract class LLVMI8VectorArithmeticNode extends LLVMExpressionNode {
 
     public abstract static class LLVMI8VectorAddNode extends LLVMI8VectorArithmeticNode {
-        @Specialization
-        protected LLVMI8Vector executeI8Vector(LLVMI8Vector left, LLVMI8Vector right) {
-            return left.add(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI8Vector executeI8Vector(LLVMI8Vector left, LLVMI8Vector right, @Cached("left.getLength()") int length) {
+            return left.add(right, length);
         }
     }
 
     public abstract static class LLVMI8VectorMulNode extends LLVMI8VectorArithmeticNode {
 
-        @Specialization
-        public LLVMI8Vector executeI8Vector(LLVMI8Vector left, LLVMI8Vector right) {
-            return left.mul(right);
+        @Specialization(guards = "left.getLength() == length")
+        public LLVMI8Vector executeI8Vector(LLVMI8Vector left, LLVMI8Vector right, @Cached("left.getLength()") int length) {
+            return left.mul(right, length);
         }
 
     }
 
     public abstract static class LLVMI8VectorSubNode extends LLVMI8VectorArithmeticNode {
 
-        @Specialization
-        protected LLVMI8Vector executeI8Vector(LLVMI8Vector left, LLVMI8Vector right) {
-            return left.sub(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI8Vector executeI8Vector(LLVMI8Vector left, LLVMI8Vector right, @Cached("left.getLength()") int length) {
+            return left.sub(right, length);
         }
     }
 
     public abstract static class LLVMI8VectorDivNode extends LLVMI8VectorArithmeticNode {
 
-        @Specialization
-        protected LLVMI8Vector executeI8Vector(LLVMI8Vector left, LLVMI8Vector right) {
-            return left.div(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI8Vector executeI8Vector(LLVMI8Vector left, LLVMI8Vector right, @Cached("left.getLength()") int length) {
+            return left.div(right, length);
         }
     }
 
     public abstract static class LLVMI8VectorUDivNode extends LLVMI8VectorArithmeticNode {
 
-        @Specialization
-        protected LLVMI8Vector executeI8Vector(LLVMI8Vector left, LLVMI8Vector right) {
-            return left.divUnsigned(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI8Vector executeI8Vector(LLVMI8Vector left, LLVMI8Vector right, @Cached("left.getLength()") int length) {
+            return left.divUnsigned(right, length);
         }
     }
 
     public abstract static class LLVMI8VectorRemNode extends LLVMI8VectorArithmeticNode {
 
-        @Specialization
-        protected LLVMI8Vector executeI8Vector(LLVMI8Vector left, LLVMI8Vector right) {
-            return left.rem(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI8Vector executeI8Vector(LLVMI8Vector left, LLVMI8Vector right, @Cached("left.getLength()") int length) {
+            return left.rem(right, length);
         }
     }
 
     public abstract static class LLVMI8VectorURemNode extends LLVMI8VectorArithmeticNode {
 
-        @Specialization
-        protected LLVMI8Vector executeI8Vector(LLVMI8Vector left, LLVMI8Vector right) {
-            return left.remUnsigned(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI8Vector executeI8Vector(LLVMI8Vector left, LLVMI8Vector right, @Cached("left.getLength()") int length) {
+            return left.remUnsigned(right, length);
         }
     }
 }
@@ -29,9 +29,11 @@
  */
 package com.oracle.truffle.llvm.nodes.op.compare;
 
+import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
 import com.oracle.truffle.llvm.runtime.nodes.api.LLVMExpressionNode;
 import com.oracle.truffle.llvm.runtime.vector.LLVMI1Vector;
 
@@ -40,8 +42,9 @@ import com.oracle.truffle.llvm.runtime.vector.LLVMI1Vector;
                 @NodeChild(value = "rightNode", type = LLVMExpressionNode.class)})
 public abstract class LLVMI1VectorCompareNode extends LLVMExpressionNode {
 
-    protected LLVMI1Vector doCompare(LLVMI1Vector left, LLVMI1Vector right) {
-        int length = left.getLength();
+    @ExplodeLoop
+    protected LLVMI1Vector doCompare(LLVMI1Vector left, LLVMI1Vector right, int length) {
+        assert left.getLength() == length;
         boolean[] values = new boolean[length];
 
         for (int i = 0; i < length; i++) {
@@ -55,9 +58,9 @@ public abstract class LLVMI1VectorCompareNode extends LLVMExpressionNode {
 
     public abstract static class LLVMI1VectorEqNode extends LLVMI1VectorCompareNode {
 
-        @Specialization
-        public LLVMI1Vector executeI1Vector(LLVMI1Vector left, LLVMI1Vector right) {
-            return doCompare(left, right);
+        @Specialization(guards = "left.getLength() == length")
+        public LLVMI1Vector executeI1Vector(LLVMI1Vector left, LLVMI1Vector right, @Cached("left.getLength()") int length) {
+            return doCompare(left, right, length);
         }
 
         @Override
@@ -69,9 +72,9 @@ public abstract class LLVMI1VectorCompareNode extends LLVMExpressionNode {
 
     public abstract static class LLVMI1VectorNeNode extends LLVMI1VectorCompareNode {
 
-        @Specialization
-        public LLVMI1Vector executeI1Vector(LLVMI1Vector left, LLVMI1Vector right) {
-            return doCompare(left, right);
+        @Specialization(guards = "left.getLength() == length")
+        public LLVMI1Vector executeI1Vector(LLVMI1Vector left, LLVMI1Vector right, @Cached("left.getLength()") int length) {
+            return doCompare(left, right, length);
         }
 
         @Override
@@ -83,9 +86,9 @@ public abstract class LLVMI1VectorCompareNode extends LLVMExpressionNode {
 
     public abstract static class LLVMI1VectorUgtNode extends LLVMI1VectorCompareNode {
 
-        @Specialization
-        public LLVMI1Vector executeI1Vector(LLVMI1Vector left, LLVMI1Vector right) {
-            return doCompare(left, right);
+        @Specialization(guards = "left.getLength() == length")
+        public LLVMI1Vector executeI1Vector(LLVMI1Vector left, LLVMI1Vector right, @Cached("left.getLength()") int length) {
+            return doCompare(left, right, length);
         }
 
         @Override
@@ -97,9 +100,9 @@ public abstract class LLVMI1VectorCompareNode extends LLVMExpressionNode {
 
     public abstract static class LLVMI1VectorUgeNode extends LLVMI1VectorCompareNode {
 
-        @Specialization
-        public LLVMI1Vector executeI1Vector(LLVMI1Vector left, LLVMI1Vector right) {
-            return doCompare(left, right);
+        @Specialization(guards = "left.getLength() == length")
+        public LLVMI1Vector executeI1Vector(LLVMI1Vector left, LLVMI1Vector right, @Cached("left.getLength()") int length) {
+            return doCompare(left, right, length);
         }
 
         @Override
@@ -111,9 +114,9 @@ public abstract class LLVMI1VectorCompareNode extends LLVMExpressionNode {
 
     public abstract static class LLVMI1VectorUltNode extends LLVMI1VectorCompareNode {
 
-        @Specialization
-        public LLVMI1Vector executeI1Vector(LLVMI1Vector left, LLVMI1Vector right) {
-            return doCompare(left, right);
+        @Specialization(guards = "left.getLength() == length")
+        public LLVMI1Vector executeI1Vector(LLVMI1Vector left, LLVMI1Vector right, @Cached("left.getLength()") int length) {
+            return doCompare(left, right, length);
         }
 
         @Override
@@ -125,9 +128,9 @@ public abstract class LLVMI1VectorCompareNode extends LLVMExpressionNode {
 
     public abstract static class LLVMI1VectorUleNode extends LLVMI1VectorCompareNode {
 
-        @Specialization
-        public LLVMI1Vector executeI1Vector(LLVMI1Vector left, LLVMI1Vector right) {
-            return doCompare(left, right);
+        @Specialization(guards = "left.getLength() == length")
+        public LLVMI1Vector executeI1Vector(LLVMI1Vector left, LLVMI1Vector right, @Cached("left.getLength()") int length) {
+            return doCompare(left, right, length);
         }
 
         @Override
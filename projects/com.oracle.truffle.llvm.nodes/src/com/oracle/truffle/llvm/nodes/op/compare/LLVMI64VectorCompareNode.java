@@ -29,9 +29,11 @@
  */
 package com.oracle.truffle.llvm.nodes.op.compare;
 
+import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
 import com.oracle.truffle.llvm.runtime.nodes.api.LLVMExpressionNode;
 import com.oracle.truffle.llvm.runtime.vector.LLVMI1Vector;
 import com.oracle.truffle.llvm.runtime.vector.LLVMI64Vector;
@@ -41,8 +43,9 @@ import com.oracle.truffle.llvm.runtime.vector.LLVMI64Vector;
                 @NodeChild(value = "rightNode", type = LLVMExpressionNode.class)})
 public abstract class LLVMI64VectorCompareNode extends LLVMExpressionNode {
 
-    protected LLVMI1Vector doCompare(LLVMI64Vector left, LLVMI64Vector right) {
-        int length = left.getLength();
+    @ExplodeLoop
+    protected LLVMI1Vector doCompare(LLVMI64Vector left, LLVMI64Vector right, int length) {
+        assert left.getLength() == length;
         boolean[] values = new boolean[length];
 
         for (int i = 0; i < length; i++) {
@@ -56,9 +59,9 @@ public abstract class LLVMI64VectorCompareNode extends LLVMExpressionNode {
 
     public abstract static class LLVMI64VectorEqNode extends LLVMI64VectorCompareNode {
 
-        @Specialization
-        public LLVMI1Vector executeI1Vector(LLVMI64Vector left, LLVMI64Vector right) {
-            return doCompare(left, right);
+        @Specialization(guards = "left.getLength() == length")
+        public LLVMI1Vector executeI1Vector(LLVMI64Vector left, LLVMI64Vector right, @Cached("left.getLength()") int length) {
+            return doCompare(left, right, length);
         }
 
         @Override
@@ -70,9 +73,9 @@ public abstract class LLVMI64VectorCompareNode extends LLVMExpressionNode {
 
     public abstract static class LLVMI64VectorNeNode extends LLVMI64VectorCompareNode {
 
-        @Specialization
-        public LLVMI1Vector executeI1Vector(LLVMI64Vector left, LLVMI64Vector right) {
-            return doCompare(left, right);
+        @Specialization(guards = "left.getLength() == length")
+        public LLVMI1Vector executeI1Vector(LLVMI64Vector left, LLVMI64Vector right, @Cached("left.getLength()") int length) {
+            return doCompare(left, right, length);
         }
 
         @Override
@@ -84,9 +87,9 @@ public abstract class LLVMI64VectorCompareNode extends LLVMExpressionNode {
 
     public abstract static class LLVMI64VectorSltNode extends LLVMI64VectorCompareNode {
 
-        @Specialization
-        public LLVMI1Vector executeI1Vector(LLVMI64Vector left, LLVMI64Vector right) {
-            return doCompare(left, right);
+        @Specialization(guards = "left.getLength() == length")
+        public LLVMI1Vector executeI1Vector(LLVMI64Vector left, LLVMI64Vector right, @Cached("left.getLength()") int length) {
+            return doCompare(left, right, length);
         }
 
         @Override
@@ -98,9 +101,9 @@ public abstract class LLVMI64VectorCompareNode extends LLVMExpressionNode {
 
     public abstract static class LLVMI64VectorSleNode extends LLVMI64VectorCompareNode {
 
-        @Specialization
-        public LLVMI1Vector executeI1Vector(LLVMI64Vector left, LLVMI64Vector right) {
-            return doCompare(left, right);
+        @Specialization(guards = "left.getLength() == length")
+        public LLVMI1Vector executeI1Vector(LLVMI64Vector left, LLVMI64Vector right, @Cached("left.getLength()") int length) {
+            return doCompare(left, right, length);
         }
 
         @Override
@@ -112,9 +115,9 @@ public abstract class LLVMI64VectorCompareNode extends LLVMExpressionNode {
 
     public abstract static class LLVMI64VectorSgtNode extends LLVMI64VectorCompareNode {
 
-        @Specialization
-        public LLVMI1Vector executeI1Vector(LLVMI64Vector left, LLVMI64Vector right) {
-            return doCompare(left, right);
+        @Specialization(guards = "left.getLength() == length")
+        public LLVMI1Vector executeI1Vector(LLVMI64Vector left, LLVMI64Vector right, @Cached("left.getLength()") int length) {
+            return doCompare(left, right, length);
         }
 
         @Override
@@ -126,9 +129,9 @@ public abstract class LLVMI64VectorCompareNode extends LLVMExpressionNode {
 
     public abstract static class LLVMI64VectorSgeNode extends LLVMI64VectorCompareNode {
 
-        @Specialization
-        public LLVMI1Vector executeI1Vector(LLVMI64Vector left, LLVMI64Vector right) {
-            return doCompare(left, right);
+        @Specialization(guards = "left.getLength() == length")
+        public LLVMI1Vector executeI1Vector(LLVMI64Vector left, LLVMI64Vector right, @Cached("left.getLength()") int length) {
+            return doCompare(left, right, length);
         }
 
         @Override
@@ -140,9 +143,9 @@ public abstract class LLVMI64VectorCompareNode extends LLVMExpressionNode {
 
     public abstract static class LLVMI64VectorUgtNode extends LLVMI64VectorCompareNode {
 
-        @Specialization
-        public LLVMI1Vector executeI1Vector(LLVMI64Vector left, LLVMI64Vector right) {
-            return doCompare(left, right);
+        @Specialization(guards = "left.getLength() == length")
+        public LLVMI1Vector executeI1Vector(LLVMI64Vector left, LLVMI64Vector right, @Cached("left.getLength()") int length) {
+            return doCompare(left, right, length);
         }
 
         @Override
@@ -154,9 +157,9 @@ public abstract class LLVMI64VectorCompareNode extends LLVMExpressionNode {
 
     public abstract static class LLVMI64VectorUgeNode extends LLVMI64VectorCompareNode {
 
-        @Specialization
-        public LLVMI1Vector executeI1Vector(LLVMI64Vector left, LLVMI64Vector right) {
-            return doCompare(left, right);
+        @Specialization(guards = "left.getLength() == length")
+        public LLVMI1Vector executeI1Vector(LLVMI64Vector left, LLVMI64Vector right, @Cached("left.getLength()") int length) {
+            return doCompare(left, right, length);
         }
 
         @Override
@@ -168,9 +171,9 @@ public abstract class LLVMI64VectorCompareNode extends LLVMExpressionNode {
 
     public abstract static class LLVMI64VectorUltNode extends LLVMI64VectorCompareNode {
 
-        @Specialization
-        public LLVMI1Vector executeI1Vector(LLVMI64Vector left, LLVMI64Vector right) {
-            return doCompare(left, right);
+        @Specialization(guards = "left.getLength() == length")
+        public LLVMI1Vector executeI1Vector(LLVMI64Vector left, LLVMI64Vector right, @Cached("left.getLength()") int length) {
+            return doCompare(left, right, length);
         }
 
         @Override
@@ -182,9 +185,9 @@ public abstract class LLVMI64VectorCompareNode extends LLVMExpressionNode {
 
     public abstract static class LLVMI64VectorUleNode extends LLVMI64VectorCompareNode {
 
-        @Specialization
-        public LLVMI1Vector executeI1Vector(LLVMI64Vector left, LLVMI64Vector right) {
-            return doCompare(left, right);
+        @Specialization(guards = "left.getLength() == length")
+        public LLVMI1Vector executeI1Vector(LLVMI64Vector left, LLVMI64Vector right, @Cached("left.getLength()") int length) {
+            return doCompare(left, right, length);
         }
 
         @Override
@@ -29,6 +29,7 @@
  */
 package com.oracle.truffle.llvm.nodes.op.logical.vector;
 
+import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
@@ -39,44 +40,44 @@ import com.oracle.truffle.llvm.runtime.vector.LLVMI16Vector;
 public abstract class LLVMI16VectorLogicalNode extends LLVMExpressionNode {
 
     public abstract static class LLVMI16VectorAndNode extends LLVMI16VectorLogicalNode {
-        @Specialization
-        protected LLVMI16Vector executeI16Vector(LLVMI16Vector left, LLVMI16Vector right) {
-            return left.and(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI16Vector executeI16Vector(LLVMI16Vector left, LLVMI16Vector right, @Cached("left.getLength()") int length) {
+            return left.and(right, length);
         }
     }
 
     public abstract static class LLVMI16VectorOrNode extends LLVMI16VectorLogicalNode {
-        @Specialization
-        protected LLVMI16Vector executeI16Vector(LLVMI16Vector left, LLVMI16Vector right) {
-            return left.or(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI16Vector executeI16Vector(LLVMI16Vector left, LLVMI16Vector right, @Cached("left.getLength()") int length) {
+            return left.or(right, length);
         }
     }
 
     public abstract static class LLVMI16VectorShlNode extends LLVMI16VectorLogicalNode {
-        @Specialization
-        protected LLVMI16Vector executeI16Vector(LLVMI16Vector left, LLVMI16Vector right) {
-            return left.leftShift(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI16Vector executeI16Vector(LLVMI16Vector left, LLVMI16Vector right, @Cached("left.getLength()") int length) {
+            return left.leftShift(right, length);
         }
     }
 
     public abstract static class LLVMI16VectorLshrNode extends LLVMI16VectorLogicalNode {
-        @Specialization
-        protected LLVMI16Vector executeI16Vector(LLVMI16Vector left, LLVMI16Vector right) {
-            return left.logicalRightShift(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI16Vector executeI16Vector(LLVMI16Vector left, LLVMI16Vector right, @Cached("left.getLength()") int length) {
+            return left.logicalRightShift(right, length);
         }
     }
 
     public abstract static class LLVMI16VectorAshrNode extends LLVMI16VectorLogicalNode {
-        @Specialization
-        protected LLVMI16Vector executeI16Vector(LLVMI16Vector left, LLVMI16Vector right) {
-            return left.arithmeticRightShift(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI16Vector executeI16Vector(LLVMI16Vector left, LLVMI16Vector right, @Cached("left.getLength()") int length) {
+            return left.arithmeticRightShift(right, length);
         }
     }
 
     public abstract static class LLVMI16VectorXorNode extends LLVMI16VectorLogicalNode {
-        @Specialization
-        protected LLVMI16Vector executeI16Vector(LLVMI16Vector left, LLVMI16Vector right) {
-            return left.xor(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI16Vector executeI16Vector(LLVMI16Vector left, LLVMI16Vector right, @Cached("left.getLength()") int length) {
+            return left.xor(right, length);
         }
     }
 }
@@ -29,6 +29,7 @@
  */
 package com.oracle.truffle.llvm.nodes.op.logical.vector;
 
+import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
@@ -39,44 +40,44 @@ import com.oracle.truffle.llvm.runtime.vector.LLVMI1Vector;
 public abstract class LLVMI1VectorLogicalNode extends LLVMExpressionNode {
 
     public abstract static class LLVMI1VectorAndNode extends LLVMI1VectorLogicalNode {
-        @Specialization
-        protected LLVMI1Vector executeI1Vector(LLVMI1Vector left, LLVMI1Vector right) {
-            return left.and(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI1Vector executeI1Vector(LLVMI1Vector left, LLVMI1Vector right, @Cached("left.getLength()") int length) {
+            return left.and(right, length);
         }
     }
 
     public abstract static class LLVMI1VectorOrNode extends LLVMI1VectorLogicalNode {
-        @Specialization
-        protected LLVMI1Vector executeI1Vector(LLVMI1Vector left, LLVMI1Vector right) {
-            return left.or(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI1Vector executeI1Vector(LLVMI1Vector left, LLVMI1Vector right, @Cached("left.getLength()") int length) {
+            return left.or(right, length);
         }
     }
 
     public abstract static class LLVMI1VectorShlNode extends LLVMI1VectorLogicalNode {
-        @Specialization
-        protected LLVMI1Vector executeI1Vector(LLVMI1Vector left, LLVMI1Vector right) {
-            return left.leftShift(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI1Vector executeI1Vector(LLVMI1Vector left, LLVMI1Vector right, @Cached("left.getLength()") int length) {
+            return left.leftShift(right, length);
         }
     }
 
     public abstract static class LLVMI1VectorLshrNode extends LLVMI1VectorLogicalNode {
-        @Specialization
-        protected LLVMI1Vector executeI1Vector(LLVMI1Vector left, LLVMI1Vector right) {
-            return left.logicalRightShift(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI1Vector executeI1Vector(LLVMI1Vector left, LLVMI1Vector right, @Cached("left.getLength()") int length) {
+            return left.logicalRightShift(right, length);
         }
     }
 
     public abstract static class LLVMI1VectorAshrNode extends LLVMI1VectorLogicalNode {
-        @Specialization
-        protected LLVMI1Vector executeI1Vector(LLVMI1Vector left, LLVMI1Vector right) {
-            return left.arithmeticRightShift(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI1Vector executeI1Vector(LLVMI1Vector left, LLVMI1Vector right, @Cached("left.getLength()") int length) {
+            return left.arithmeticRightShift(right, length);
         }
     }
 
     public abstract static class LLVMI1VectorXorNode extends LLVMI1VectorLogicalNode {
-        @Specialization
-        protected LLVMI1Vector executeI1Vector(LLVMI1Vector left, LLVMI1Vector right) {
-            return left.xor(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI1Vector executeI1Vector(LLVMI1Vector left, LLVMI1Vector right, @Cached("left.getLength()") int length) {
+            return left.xor(right, length);
         }
     }
 }
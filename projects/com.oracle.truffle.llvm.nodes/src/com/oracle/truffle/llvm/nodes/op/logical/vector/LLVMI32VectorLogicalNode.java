@@ -29,6 +29,7 @@
  */
 package com.oracle.truffle.llvm.nodes.op.logical.vector;
 
+import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
@@ -39,44 +40,44 @@ import com.oracle.truffle.llvm.runtime.vector.LLVMI32Vector;
 public abstract class LLVMI32VectorLogicalNode extends LLVMExpressionNode {
 
     public abstract static class LLVMI32VectorAndNode extends LLVMI32VectorLogicalNode {
-        @Specialization
-        protected LLVMI32Vector executeI32Vector(LLVMI32Vector left, LLVMI32Vector right) {
-            return left.and(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI32Vector executeI32Vector(LLVMI32Vector left, LLVMI32Vector right, @Cached("left.getLength()") int length) {
+            return left.and(right, length);
         }
     }
 
     public abstract static class LLVMI32VectorOrNode extends LLVMI32VectorLogicalNode {
-        @Specialization
-        protected LLVMI32Vector executeI32Vector(LLVMI32Vector left, LLVMI32Vector right) {
-            return left.or(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI32Vector executeI32Vector(LLVMI32Vector left, LLVMI32Vector right, @Cached("left.getLength()") int length) {
+            return left.or(right, length);
         }
     }
 
     public abstract static class LLVMI32VectorShlNode extends LLVMI32VectorLogicalNode {
-        @Specialization
-        protected LLVMI32Vector executeI32Vector(LLVMI32Vector left, LLVMI32Vector right) {
-            return left.leftShift(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI32Vector executeI32Vector(LLVMI32Vector left, LLVMI32Vector right, @Cached("left.getLength()") int length) {
+            return left.leftShift(right, length);
         }
     }
 
     public abstract static class LLVMI32VectorLshrNode extends LLVMI32VectorLogicalNode {
-        @Specialization
-        protected LLVMI32Vector executeI32Vector(LLVMI32Vector left, LLVMI32Vector right) {
-            return left.logicalRightShift(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI32Vector executeI32Vector(LLVMI32Vector left, LLVMI32Vector right, @Cached("left.getLength()") int length) {
+            return left.logicalRightShift(right, length);
         }
     }
 
     public abstract static class LLVMI32VectorAshrNode extends LLVMI32VectorLogicalNode {
-        @Specialization
-        protected LLVMI32Vector executeI32Vector(LLVMI32Vector left, LLVMI32Vector right) {
-            return left.arithmeticRightShift(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI32Vector executeI32Vector(LLVMI32Vector left, LLVMI32Vector right, @Cached("left.getLength()") int length) {
+            return left.arithmeticRightShift(right, length);
         }
     }
 
     public abstract static class LLVMI32VectorXorNode extends LLVMI32VectorLogicalNode {
-        @Specialization
-        protected LLVMI32Vector executeI32Vector(LLVMI32Vector left, LLVMI32Vector right) {
-            return left.xor(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI32Vector executeI32Vector(LLVMI32Vector left, LLVMI32Vector right, @Cached("left.getLength()") int length) {
+            return left.xor(right, length);
         }
     }
 
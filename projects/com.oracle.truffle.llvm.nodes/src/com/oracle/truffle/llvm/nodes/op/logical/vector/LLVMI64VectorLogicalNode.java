@@ -29,6 +29,7 @@
  */
 package com.oracle.truffle.llvm.nodes.op.logical.vector;
 
+import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
@@ -39,44 +40,44 @@ import com.oracle.truffle.llvm.runtime.vector.LLVMI64Vector;
 public abstract class LLVMI64VectorLogicalNode extends LLVMExpressionNode {
 
     public abstract static class LLVMI64VectorAndNode extends LLVMI64VectorLogicalNode {
-        @Specialization
-        protected LLVMI64Vector executeI64Vector(LLVMI64Vector left, LLVMI64Vector right) {
-            return left.and(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI64Vector executeI64Vector(LLVMI64Vector left, LLVMI64Vector right, @Cached("left.getLength()") int length) {
+            return left.and(right, length);
         }
     }
 
     public abstract static class LLVMI64VectorOrNode extends LLVMI64VectorLogicalNode {
-        @Specialization
-        protected LLVMI64Vector executeI64Vector(LLVMI64Vector left, LLVMI64Vector right) {
-            return left.or(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI64Vector executeI64Vector(LLVMI64Vector left, LLVMI64Vector right, @Cached("left.getLength()") int length) {
+            return left.or(right, length);
         }
     }
 
     public abstract static class LLVMI64VectorShlNode extends LLVMI64VectorLogicalNode {
-        @Specialization
-        protected LLVMI64Vector executeI64Vector(LLVMI64Vector left, LLVMI64Vector right) {
-            return left.leftShift(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI64Vector executeI64Vector(LLVMI64Vector left, LLVMI64Vector right, @Cached("left.getLength()") int length) {
+            return left.leftShift(right, length);
         }
     }
 
     public abstract static class LLVMI64VectorLshrNode extends LLVMI64VectorLogicalNode {
-        @Specialization
-        protected LLVMI64Vector executeI64Vector(LLVMI64Vector left, LLVMI64Vector right) {
-            return left.logicalRightShift(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI64Vector executeI64Vector(LLVMI64Vector left, LLVMI64Vector right, @Cached("left.getLength()") int length) {
+            return left.logicalRightShift(right, length);
         }
     }
 
     public abstract static class LLVMI64VectorAshrNode extends LLVMI64VectorLogicalNode {
-        @Specialization
-        protected LLVMI64Vector executeI64Vector(LLVMI64Vector left, LLVMI64Vector right) {
-            return left.arithmeticRightShift(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI64Vector executeI64Vector(LLVMI64Vector left, LLVMI64Vector right, @Cached("left.getLength()") int length) {
+            return left.arithmeticRightShift(right, length);
         }
     }
 
     public abstract static class LLVMI64VectorXorNode extends LLVMI64VectorLogicalNode {
-        @Specialization
-        protected LLVMI64Vector executeI64Vector(LLVMI64Vector left, LLVMI64Vector right) {
-            return left.xor(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI64Vector executeI64Vector(LLVMI64Vector left, LLVMI64Vector right, @Cached("left.getLength()") int length) {
+            return left.xor(right, length);
         }
     }
 
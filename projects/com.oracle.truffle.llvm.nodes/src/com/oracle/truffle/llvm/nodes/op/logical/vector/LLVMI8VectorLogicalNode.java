@@ -29,6 +29,7 @@
  */
 package com.oracle.truffle.llvm.nodes.op.logical.vector;
 
+import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
@@ -39,44 +40,44 @@ import com.oracle.truffle.llvm.runtime.vector.LLVMI8Vector;
 public abstract class LLVMI8VectorLogicalNode extends LLVMExpressionNode {
 
     public abstract static class LLVMI8VectorAndNode extends LLVMI8VectorLogicalNode {
-        @Specialization
-        protected LLVMI8Vector executeI8Vector(LLVMI8Vector left, LLVMI8Vector right) {
-            return left.and(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI8Vector executeI8Vector(LLVMI8Vector left, LLVMI8Vector right, @Cached("left.getLength()") int length) {
+            return left.and(right, length);
         }
     }
 
     public abstract static class LLVMI8VectorOrNode extends LLVMI8VectorLogicalNode {
-        @Specialization
-        protected LLVMI8Vector executeI8Vector(LLVMI8Vector left, LLVMI8Vector right) {
-            return left.or(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI8Vector executeI8Vector(LLVMI8Vector left, LLVMI8Vector right, @Cached("left.getLength()") int length) {
+            return left.or(right, length);
         }
     }
 
     public abstract static class LLVMI8VectorShlNode extends LLVMI8VectorLogicalNode {
-        @Specialization
-        protected LLVMI8Vector executeI8Vector(LLVMI8Vector left, LLVMI8Vector right) {
-            return left.leftShift(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI8Vector executeI8Vector(LLVMI8Vector left, LLVMI8Vector right, @Cached("left.getLength()") int length) {
+            return left.leftShift(right, length);
         }
     }
 
     public abstract static class LLVMI8VectorLshrNode extends LLVMI8VectorLogicalNode {
-        @Specialization
-        protected LLVMI8Vector executeI8Vector(LLVMI8Vector left, LLVMI8Vector right) {
-            return left.logicalRightShift(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI8Vector executeI8Vector(LLVMI8Vector left, LLVMI8Vector right, @Cached("left.getLength()") int length) {
+            return left.logicalRightShift(right, length);
         }
     }
 
     public abstract static class LLVMI8VectorAshrNode extends LLVMI8VectorLogicalNode {
-        @Specialization
-        protected LLVMI8Vector executeI8Vector(LLVMI8Vector left, LLVMI8Vector right) {
-            return left.arithmeticRightShift(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI8Vector executeI8Vector(LLVMI8Vector left, LLVMI8Vector right, @Cached("left.getLength()") int length) {
+            return left.arithmeticRightShift(right, length);
         }
     }
 
     public abstract static class LLVMI8VectorXorNode extends LLVMI8VectorLogicalNode {
-        @Specialization
-        protected LLVMI8Vector executeI8Vector(LLVMI8Vector left, LLVMI8Vector right) {
-            return left.xor(right);
+        @Specialization(guards = "left.getLength() == length")
+        protected LLVMI8Vector executeI8Vector(LLVMI8Vector left, LLVMI8Vector right, @Cached("left.getLength()") int length) {
+            return left.xor(right, length);
         }
     }
 }
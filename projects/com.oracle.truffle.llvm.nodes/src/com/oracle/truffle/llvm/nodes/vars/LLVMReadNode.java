@@ -33,9 +33,11 @@ import com.oracle.truffle.api.dsl.NodeField;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.FrameSlot;
 import com.oracle.truffle.api.frame.FrameSlotKind;
+import com.oracle.truffle.api.frame.FrameSlotTypeException;
 import com.oracle.truffle.api.frame.FrameUtil;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.llvm.nodes.vars.LLVMReadNodeFactory.AttachInteropTypeNodeGen;
+import com.oracle.truffle.llvm.runtime.LLVMAddress;
 import com.oracle.truffle.llvm.runtime.LLVMTruffleObject;
 import com.oracle.truffle.llvm.runtime.nodes.api.LLVMExpressionNode;
 import com.oracle.truffle.llvm.runtime.nodes.api.LLVMNode;
@@ -123,6 +125,42 @@ public abstract class LLVMReadNode extends LLVMExpressionNode {
         }
     }
 
+    public abstract static class LLVMPointerReadNode extends LLVMReadNode {
+
+        @Child AttachInteropTypeNode attach = AttachInteropTypeNodeGen.create();
+
+        /*
+         * We check the tag of the value instead of the kind of the slot: once a managed pointer
+         * generalized the slot to Object, other activations of the function can still hold a native
+         * pointer in it.
+         */
+        @Specialization(rewriteOn = FrameSlotTypeException.class)
+        protected LLVMAddress readNative(VirtualFrame frame) throws FrameSlotTypeException {
+            return LLVMAddress.fromLong(frame.getLong(getSlot()));
+        }
+
+        @Specialization(replaces = "readNative")
+        protected Object readPointer(VirtualFrame frame) {
+            if (frame.isLong(getSlot())) {
+                return LLVMAddress.fromLong(FrameUtil.getLongSafe(frame, getSlot()));
+            } else {
+                return attach.execute(FrameUtil.getObjectSafe(frame, getSlot()), getSlot());
+            }
+        }
+
+        /**
+         * Whether the slot holds a native pointer, which consumers that only need the raw address
+         * can get from {@link #readNativePointer} without an {@link LLVMAddress}.
+         */
+        public boolean isNativePointer(VirtualFrame frame) {
+            return frame.isLong(getSlot());
+        }
+
+        public long readNativePointer(VirtualFrame frame) {
+            return FrameUtil.getLongSafe(frame, getSlot());
+        }
+    }
+
     public abstract static class AttachInteropTypeNode extends LLVMNode {
 
         public abstract Object execute(Object object, FrameSlot slot);
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.nodes.vars;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.frame.FrameSlot;
+import com.oracle.truffle.api.frame.FrameSlotKind;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.profiles.ConditionProfile;
+import com.oracle.truffle.api.source.SourceSection;
+import com.oracle.truffle.llvm.nodes.memory.LLVMNativeGetElementPtrNode;
+import com.oracle.truffle.llvm.runtime.LLVMAddress;
+import com.oracle.truffle.llvm.runtime.nodes.api.LLVMExpressionNode;
+
+/**
+ * Writes the result of a {@link LLVMNativeGetElementPtrNode} to a pointer slot like
+ * {@link LLVMWriteNode.LLVMWritePointerNode}, storing a native result without an
+ * {@link LLVMAddress}.
+ */
+public final class LLVMWriteNativePointerNode extends LLVMExpressionNode {
+
+    private final FrameSlot slot;
+    private final SourceSection source;
+
+    @Child private LLVMNativeGetElementPtrNode valueNode;
+
+    private final ConditionProfile nativeProfile = ConditionProfile.createBinaryProfile();
+
+    public LLVMWriteNativePointerNode(LLVMNativeGetElementPtrNode valueNode, FrameSlot slot, SourceSection source) {
+        this.valueNode = valueNode;
+        this.slot = slot;
+        this.source = source;
+    }
+
+    @Override
+    public SourceSection getSourceSection() {
+        return source;
+    }
+
+    @Override
+    public String getSourceDescription() {
+        return LLVMWriteNode.getSourceDescription(this, slot);
+    }
+
+    @Override
+    public Object executeGeneric(VirtualFrame frame) {
+        if (nativeProfile.profile(valueNode.isNative(frame))) {
+            long address = valueNode.executeNative(frame);
+            if (slot.getKind() == FrameSlotKind.Long) {
+                frame.setLong(slot, address);
+            } else {
+                frame.setObject(slot, LLVMAddress.fromLong(address));
+            }
+            return null;
+        }
+        Object value = valueNode.executeGeneric(frame);
+        if (value instanceof LLVMAddress) {
+            if (slot.getKind() == FrameSlotKind.Long) {
+                frame.setLong(slot, ((LLVMAddress) value).getVal());
+            } else {
+                frame.setObject(slot, value);
+            }
+        } else {
+            if (slot.getKind() == FrameSlotKind.Long) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                slot.setKind(FrameSlotKind.Object);
+            }
+            frame.setObject(slot, value);
+        }
+        return null;
+    }
+}
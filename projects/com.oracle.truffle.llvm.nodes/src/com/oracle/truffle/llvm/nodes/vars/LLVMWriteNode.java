@@ -36,6 +36,7 @@ import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.FrameSlot;
 import com.oracle.truffle.api.frame.FrameSlotKind;
 import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.nodes.NodeUtil;
 import com.oracle.truffle.api.source.SourceSection;
 import com.oracle.truffle.llvm.nodes.base.LLVMBasicBlockNode;
@@ -63,14 +64,18 @@ public abstract class LLVMWriteNode extends LLVMExpressionNode {
 
     @Override
     public String getSourceDescription() {
-        LLVMBasicBlockNode basicBlock = NodeUtil.findParent(this, LLVMBasicBlockNode.class);
-        assert basicBlock != null : getParent().getClass();
+        return getSourceDescription(this, getSlot());
+    }
+
+    static String getSourceDescription(Node node, FrameSlot slot) {
+        LLVMBasicBlockNode basicBlock = NodeUtil.findParent(node, LLVMBasicBlockNode.class);
+        assert basicBlock != null : node.getParent().getClass();
         LLVMFunctionStartNode functionStartNode = NodeUtil.findParent(basicBlock, LLVMFunctionStartNode.class);
         assert functionStartNode != null : basicBlock.getParent().getClass();
         if (basicBlock.getBlockId() == 0) {
-            return String.format("assignment of %s in first basic block in function %s", getSlot().getIdentifier(), functionStartNode.getName());
+            return String.format("assignment of %s in first basic block in function %s", slot.getIdentifier(), functionStartNode.getName());
         } else {
-            return String.format("assignment of %s in basic block %s in function %s", getSlot().getIdentifier(), basicBlock.getBlockName(), functionStartNode.getName());
+            return String.format("assignment of %s in basic block %s in function %s", slot.getIdentifier(), basicBlock.getBlockName(), functionStartNode.getName());
         }
     }
 
@@ -174,6 +179,32 @@ public abstract class LLVMWriteNode extends LLVMExpressionNode {
         }
     }
 
+    public abstract static class LLVMWritePointerNode extends LLVMWriteNode {
+        @Specialization
+        protected Object writeAddress(VirtualFrame frame, LLVMAddress value) {
+            if (getSlot().getKind() == FrameSlotKind.Long) {
+                frame.setLong(getSlot(), value.getVal());
+            } else {
+                frame.setObject(getSlot(), value);
+            }
+            return null;
+        }
+
+        @Specialization(guards = "!isAddress(value)")
+        protected Object writeManaged(VirtualFrame frame, Object value) {
+            if (getSlot().getKind() == FrameSlotKind.Long) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                getSlot().setKind(FrameSlotKind.Object);
+            }
+            frame.setObject(getSlot(), value);
+            return null;
+        }
+
+        protected static boolean isAddress(Object value) {
+            return value instanceof LLVMAddress;
+        }
+    }
+
     public abstract static class LLVMWriteFunctionNode extends LLVMWriteNode {
         @Specialization
         protected Object writeAddress(VirtualFrame frame, LLVMAddress value) {
@@ -29,6 +29,7 @@
  */
 package com.oracle.truffle.llvm.nodes.vector;
 
+import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
@@ -47,57 +48,57 @@ public abstract class LLVMInsertElementNode extends LLVMExpressionNode {
 
     public abstract static class LLVMI1InsertElementNode extends LLVMInsertElementNode {
 
-        @Specialization
-        public LLVMI1Vector executeI1(LLVMI1Vector vector, boolean element, int index) {
-            return vector.insert(element, index);
+        @Specialization(guards = "vector.getLength() == length")
+        public LLVMI1Vector executeI1(LLVMI1Vector vector, boolean element, int index, @Cached("vector.getLength()") int length) {
+            return vector.insert(element, index, length);
         }
     }
 
     public abstract static class LLVMI8InsertElementNode extends LLVMInsertElementNode {
 
-        @Specialization
-        public LLVMI8Vector executeI8(LLVMI8Vector vector, byte element, int index) {
-            return vector.insert(element, index);
+        @Specialization(guards = "vector.getLength() == length")
+        public LLVMI8Vector executeI8(LLVMI8Vector vector, byte element, int index, @Cached("vector.getLength()") int length) {
+            return vector.insert(element, index, length);
         }
     }
 
     public abstract static class LLVMI16InsertElementNode extends LLVMInsertElementNode {
 
-        @Specialization
-        public LLVMI16Vector executeI16(LLVMI16Vector vector, short element, int index) {
-            return vector.insert(element, index);
+        @Specialization(guards = "vector.getLength() == length")
+        public LLVMI16Vector executeI16(LLVMI16Vector vector, short element, int index, @Cached("vector.getLength()") int length) {
+            return vector.insert(element, index, length);
         }
     }
 
     public abstract static class LLVMI32InsertElementNode extends LLVMInsertElementNode {
 
-        @Specialization
-        public LLVMI32Vector executeI32(LLVMI32Vector vector, int element, int index) {
-            return vector.insert(element, index);
+        @Specialization(guards = "vector.getLength() == length")
+        public LLVMI32Vector executeI32(LLVMI32Vector vector, int element, int index, @Cached("vector.getLength()") int length) {
+            return vector.insert(element, index, length);
         }
     }
 
     public abstract static class LLVMI64InsertElementNode extends LLVMInsertElementNode {
 
-        @Specialization
-        public LLVMI64Vector executeI64(LLVMI64Vector vector, long element, int index) {
-            return vector.insert(element, index);
+        @Specialization(guards = "vector.getLength() == length")
+        public LLVMI64Vector executeI64(LLVMI64Vector vector, long element, int index, @Cached("vector.getLength()") int length) {
+            return vector.insert(element, index, length);
         }
     }
 
     public abstract static class LLVMFloatInsertElementNode extends LLVMInsertElementNode {
 
-        @Specialization
-        public LLVMFloatVector executeFloat(LLVMFloatVector vector, float element, int index) {
-            return vector.insert(element, index);
+        @Specialization(guards = "vector.getLength() == length")
+        public LLVMFloatVector executeFloat(LLVMFloatVector vector, float element, int index, @Cached("vector.getLength()") int length) {
+            return vector.insert(element, index, length);
         }
     }
 
     public abstract static class LLVMDoubleInsertElementNode extends LLVMInsertElementNode {
 
-        @Specialization
-        public LLVMDoubleVector executeDouble(LLVMDoubleVector vector, double element, int index) {
-            return vector.insert(element, index);
+        @Specialization(guards = "vector.getLength() == length")
+        public LLVMDoubleVector executeDouble(LLVMDoubleVector vector, double element, int index, @Cached("vector.getLength()") int length) {
+            return vector.insert(element, index, length);
         }
     }
 
@@ -29,9 +29,11 @@
  */
 package com.oracle.truffle.llvm.nodes.vector;
 
+import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
 import com.oracle.truffle.llvm.runtime.nodes.api.LLVMExpressionNode;
 import com.oracle.truffle.llvm.runtime.vector.LLVMDoubleVector;
 import com.oracle.truffle.llvm.runtime.vector.LLVMFloatVector;
@@ -44,134 +46,84 @@ public class LLVMShuffleVectorNode {
     @NodeChildren({@NodeChild(value = "left"), @NodeChild(value = "right"), @NodeChild(value = "mask", type = LLVMExpressionNode.class)})
     public abstract static class LLVMShuffleI8VectorNode extends LLVMExpressionNode {
 
-        @Specialization
-        public LLVMI8Vector executeI8Vector(LLVMI8Vector leftVector, LLVMI8Vector rightVector, LLVMI32Vector maskVector) {
-            byte[] joinedValues = concat(leftVector.getValues(), rightVector.getValues());
-            byte[] newValues = new byte[maskVector.getLength()];
-            for (int i = 0; i < maskVector.getLength(); i++) {
+        @ExplodeLoop
+        @Specialization(guards = {"maskVector.getLength() == length", "leftVector.getLength() == leftLength"})
+        public LLVMI8Vector executeI8Vector(LLVMI8Vector leftVector, LLVMI8Vector rightVector, LLVMI32Vector maskVector, @Cached("maskVector.getLength()") int length,
+                        @Cached("leftVector.getLength()") int leftLength) {
+            byte[] newValues = new byte[length];
+            for (int i = 0; i < length; i++) {
                 int index = maskVector.getValue(i);
-                newValues[i] = joinedValues[index];
+                newValues[i] = index < leftLength ? leftVector.getValue(index) : rightVector.getValue(index - leftLength);
             }
             return LLVMI8Vector.create(newValues);
         }
 
-        private static byte[] concat(byte[] first, byte[] second) {
-            byte[] result = new byte[first.length + second.length];
-            for (int i = 0; i < first.length; i++) {
-                result[i] = first[i];
-            }
-            for (int i = first.length; i < first.length + second.length; i++) {
-                result[i] = second[i - first.length];
-            }
-            return result;
-        }
-
     }
 
     @NodeChildren({@NodeChild(value = "left"), @NodeChild(value = "right"), @NodeChild(value = "mask")})
     public abstract static class LLVMShuffleI32VectorNode extends LLVMExpressionNode {
 
-        @Specialization
-        public LLVMI32Vector executeI32Vector(LLVMI32Vector leftVector, LLVMI32Vector rightVector, LLVMI32Vector maskVector) {
-            int[] joinedValues = concat(leftVector.getValues(), rightVector.getValues());
-            int[] newValues = new int[maskVector.getLength()];
-            for (int i = 0; i < maskVector.getLength(); i++) {
+        @ExplodeLoop
+        @Specialization(guards = {"maskVector.getLength() == length", "leftVector.getLength() == leftLength"})
+        public LLVMI32Vector executeI32Vector(LLVMI32Vector leftVector, LLVMI32Vector rightVector, LLVMI32Vector maskVector, @Cached("maskVector.getLength()") int length,
+                        @Cached("leftVector.getLength()") int leftLength) {
+            int[] newValues = new int[length];
+            for (int i = 0; i < length; i++) {
                 int element = maskVector.getValue(i);
-                newValues[i] = joinedValues[element];
+                newValues[i] = element < leftLength ? leftVector.getValue(element) : rightVector.getValue(element - leftLength);
             }
             return LLVMI32Vector.create(newValues);
         }
 
-        private static int[] concat(int[] first, int[] second) {
-            int[] result = new int[first.length + second.length];
-            for (int i = 0; i < first.length; i++) {
-                result[i] = first[i];
-            }
-            for (int i = first.length; i < first.length + second.length; i++) {
-                result[i] = second[i - first.length];
-            }
-            return result;
-        }
-
     }
 
     @NodeChildren({@NodeChild(value = "left"), @NodeChild(value = "right"), @NodeChild(value = "mask")})
     public abstract static class LLVMShuffleI64VectorNode extends LLVMExpressionNode {
 
-        @Specialization
-        public LLVMI64Vector executeI64Vector(LLVMI64Vector leftVector, LLVMI64Vector rightVector, LLVMI32Vector maskVector) {
-            long[] joinedValues = concat(leftVector.getValues(), rightVector.getValues());
-            long[] newValues = new long[maskVector.getLength()];
-            for (int i = 0; i < maskVector.getLength(); i++) {
+        @ExplodeLoop
+        @Specialization(guards = {"maskVector.getLength() == length", "leftVector.getLength() == leftLength"})
+        public LLVMI64Vector executeI64Vector(LLVMI64Vector leftVector, LLVMI64Vector rightVector, LLVMI32Vector maskVector, @Cached("maskVector.getLength()") int length,
+                        @Cached("leftVector.getLength()") int leftLength) {
+            long[] newValues = new long[length];
+            for (int i = 0; i < length; i++) {
                 int element = maskVector.getValue(i);
-                newValues[i] = joinedValues[element];
+                newValues[i] = element < leftLength ? leftVector.getValue(element) : rightVector.getValue(element - leftLength);
             }
             return LLVMI64Vector.create(newValues);
         }
 
-        private static long[] concat(long[] first, long[] second) {
-            long[] result = new long[first.length + second.length];
-            for (int i = 0; i < first.length; i++) {
-                result[i] = first[i];
-            }
-            for (int i = first.length; i < first.length + second.length; i++) {
-                result[i] = second[i - first.length];
-            }
-            return result;
-        }
-
     }
 
     @NodeChildren({@NodeChild(value = "left"), @NodeChild(value = "right"), @NodeChild(value = "mask")})
     public abstract static class LLVMShuffleFloatVectorNode extends LLVMExpressionNode {
 
-        @Specialization
-        public LLVMFloatVector execute(LLVMFloatVector leftVector, LLVMFloatVector rightVector, LLVMI32Vector maskVector) {
-            float[] joinedValues = concat(leftVector.getValues(), rightVector.getValues());
-            float[] newValues = new float[maskVector.getLength()];
-            for (int i = 0; i < maskVector.getLength(); i++) {
+        @ExplodeLoop
+        @Specialization(guards = {"maskVector.getLength() == length", "leftVector.getLength() == leftLength"})
+        public LLVMFloatVector execute(LLVMFloatVector leftVector, LLVMFloatVector rightVector, LLVMI32Vector maskVector, @Cached("maskVector.getLength()") int length,
+                        @Cached("leftVector.getLength()") int leftLength) {
+            float[] newValues = new float[length];
+            for (int i = 0; i < length; i++) {
                 int element = maskVector.getValue(i);
-                newValues[i] = joinedValues[element];
+                newValues[i] = element < leftLength ? leftVector.getValue(element) : rightVector.getValue(element - leftLength);
             }
             return LLVMFloatVector.create(newValues);
         }
-
-        private static float[] concat(float[] first, float[] second) {
-            float[] result = new float[first.length + second.length];
-            for (int i = 0; i < first.length; i++) {
-                result[i] = first[i];
-            }
-            for (int i = first.length; i < first.length + second.length; i++) {
-                result[i] = second[i - first.length];
-            }
-            return result;
-        }
     }
 
     @NodeChildren({@NodeChild(value = "left"), @NodeChild(value = "right"), @NodeChild(value = "mask")})
     public abstract static class LLVMShuffleDoubleVectorNode extends LLVMExpressionNode {
 
-        @Specialization
-        public LLVMDoubleVector execute(LLVMDoubleVector leftVector, LLVMDoubleVector rightVector, LLVMI32Vector maskVector) {
-            double[] joinedValues = concat(leftVector.getValues(), rightVector.getValues());
-            double[] newValues = new double[maskVector.getLength()];
-            for (int i = 0; i < maskVector.getLength(); i++) {
+        @ExplodeLoop
+        @Specialization(guards = {"maskVector.getLength() == length", "leftVector.getLength() == leftLength"})
+        public LLVMDoubleVector execute(LLVMDoubleVector leftVector, LLVMDoubleVector rightVector, LLVMI32Vector maskVector, @Cached("maskVector.getLength()") int length,
+                        @Cached("leftVector.getLength()") int leftLength) {
+            double[] newValues = new double[length];
+            for (int i = 0; i < length; i++) {
                 int element = maskVector.getValue(i);
-                newValues[i] = joinedValues[element];
+                newValues[i] = element < leftLength ? leftVector.getValue(element) : rightVector.getValue(element - leftLength);
             }
             return LLVMDoubleVector.create(newValues);
         }
-
-        private static double[] concat(double[] first, double[] second) {
-            double[] result = new double[first.length + second.length];
-            for (int i = 0; i < first.length; i++) {
-                result[i] = first[i];
-            }
-            for (int i = first.length; i < first.length + second.length; i++) {
-                result[i] = second[i - first.length];
-            }
-            return result;
-        }
     }
 
 }
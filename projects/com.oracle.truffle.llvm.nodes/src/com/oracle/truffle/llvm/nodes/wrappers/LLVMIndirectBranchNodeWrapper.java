@@ -83,6 +83,11 @@ public class LLVMIndirectBranchNodeWrapper implements InstrumentableFactory<LLVM
             return delegate.getSuccessors();
         }
 
+        @Override
+        public int getSuccessorIndex(int basicBlockIndex) {
+            return delegate.getSuccessorIndex(basicBlockIndex);
+        }
+
         @Override
         public Node getDelegateNode() {
             return delegate;
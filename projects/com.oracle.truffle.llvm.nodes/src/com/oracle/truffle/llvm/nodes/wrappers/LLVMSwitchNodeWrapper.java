@@ -77,6 +77,19 @@ public class LLVMSwitchNodeWrapper implements InstrumentableFactory<LLVMSwitchNo
             }
         }
 
+        @Override
+        public int executeSuccessorIndex(VirtualFrame frame) {
+            try {
+                probeNode.onEnter(frame);
+                int result = delegateNode.executeSuccessorIndex(frame);
+                probeNode.onReturnValue(frame, result);
+                return result;
+            } catch (Throwable t) {
+                probeNode.onReturnExceptional(frame, t);
+                throw t;
+            }
+        }
+
         @Override
         public int[] getSuccessors() {
             return delegateNode.getSuccessors();
@@ -75,6 +75,8 @@ import com.oracle.truffle.llvm.nodes.func.LLVMFunctionStartNode;
 import com.oracle.truffle.llvm.nodes.func.LLVMInlineAssemblyRootNode;
 import com.oracle.truffle.llvm.nodes.func.LLVMInvokeNode;
 import com.oracle.truffle.llvm.nodes.func.LLVMLandingpadNode;
+import com.oracle.truffle.llvm.nodes.func.LLVMPackedArgNode;
+import com.oracle.truffle.llvm.nodes.func.LLVMPrimitiveArguments;
 import com.oracle.truffle.llvm.nodes.func.LLVMResumeNode;
 import com.oracle.truffle.llvm.nodes.func.LLVMTypeIdForExceptionNode;
 import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMCMathsIntrinsicsFactory;
@@ -155,8 +157,9 @@ import com.oracle.truffle.llvm.nodes.memory.LLVMAllocInstruction.LLVMAllocaConst
 import com.oracle.truffle.llvm.nodes.memory.LLVMAllocInstructionFactory.LLVMAllocaConstInstructionNodeGen;
 import com.oracle.truffle.llvm.nodes.memory.LLVMAllocInstructionFactory.LLVMAllocaInstructionNodeGen;
 import com.oracle.truffle.llvm.nodes.memory.LLVMCompareExchangeNodeGen;
-import com.oracle.truffle.llvm.nodes.memory.LLVMFenceNodeGen;
+import com.oracle.truffle.llvm.nodes.memory.LLVMFenceFactory;
 import com.oracle.truffle.llvm.nodes.memory.LLVMInsertValueNodeGen;
+import com.oracle.truffle.llvm.nodes.memory.LLVMNativeGetElementPtrNode;
 import com.oracle.truffle.llvm.nodes.memory.LLVMStructByValueNodeGen;
 import com.oracle.truffle.llvm.nodes.memory.LLVMVarArgCompoundAddressNodeGen;
 import com.oracle.truffle.llvm.nodes.memory.NativeMemSetNodeGen;
@@ -164,6 +167,7 @@ import com.oracle.truffle.llvm.nodes.memory.NativeProfiledMemMoveNodeGen;
 import com.oracle.truffle.llvm.nodes.memory.literal.LLVM80BitFloatArrayLiteralNodeGen;
 import com.oracle.truffle.llvm.nodes.memory.literal.LLVMAddressArrayLiteralNode;
 import com.oracle.truffle.llvm.nodes.memory.literal.LLVMAddressArrayLiteralNodeGen;
+import com.oracle.truffle.llvm.nodes.memory.literal.LLVMConstantImageNodeGen;
 import com.oracle.truffle.llvm.nodes.memory.literal.LLVMDoubleArrayLiteralNodeGen;
 import com.oracle.truffle.llvm.nodes.memory.literal.LLVMFloatArrayLiteralNodeGen;
 import com.oracle.truffle.llvm.nodes.memory.literal.LLVMFunctionArrayLiteralNodeGen;
@@ -194,6 +198,7 @@ import com.oracle.truffle.llvm.nodes.memory.load.LLVMLoadVectorNodeFactory.LLVML
 import com.oracle.truffle.llvm.nodes.memory.load.LLVMLoadVectorNodeFactory.LLVMLoadI32VectorNodeGen;
 import com.oracle.truffle.llvm.nodes.memory.load.LLVMLoadVectorNodeFactory.LLVMLoadI64VectorNodeGen;
 import com.oracle.truffle.llvm.nodes.memory.load.LLVMLoadVectorNodeFactory.LLVMLoadI8VectorNodeGen;
+import com.oracle.truffle.llvm.nodes.memory.load.LLVMNativeLoadNode;
 import com.oracle.truffle.llvm.nodes.memory.rmw.LLVMI16RMWNodeFactory;
 import com.oracle.truffle.llvm.nodes.memory.rmw.LLVMI1RMWNodeFactory;
 import com.oracle.truffle.llvm.nodes.memory.rmw.LLVMI32RMWNodeFactory;
@@ -211,6 +216,7 @@ import com.oracle.truffle.llvm.nodes.memory.store.LLVMI32StoreNodeGen;
 import com.oracle.truffle.llvm.nodes.memory.store.LLVMI64StoreNodeGen;
 import com.oracle.truffle.llvm.nodes.memory.store.LLVMI8StoreNodeGen;
 import com.oracle.truffle.llvm.nodes.memory.store.LLVMIVarBitStoreNodeGen;
+import com.oracle.truffle.llvm.nodes.memory.store.LLVMNativeStoreNode;
 import com.oracle.truffle.llvm.nodes.memory.store.LLVMStoreExpressionNodeGen;
 import com.oracle.truffle.llvm.nodes.memory.store.LLVMStoreNode;
 import com.oracle.truffle.llvm.nodes.memory.store.LLVMStoreVectorNodeGen;
@@ -227,6 +233,7 @@ import com.oracle.truffle.llvm.nodes.others.LLVMValueProfilingNodeFactory.LLVMI3
 import com.oracle.truffle.llvm.nodes.others.LLVMValueProfilingNodeFactory.LLVMI64ProfiledValueNodeGen;
 import com.oracle.truffle.llvm.nodes.others.LLVMValueProfilingNodeFactory.LLVMI8ProfiledValueNodeGen;
 import com.oracle.truffle.llvm.nodes.vars.LLVMSetInteropTypeNode;
+import com.oracle.truffle.llvm.nodes.vars.LLVMReadNode.LLVMPointerReadNode;
 import com.oracle.truffle.llvm.nodes.vars.StructLiteralNodeGen;
 import com.oracle.truffle.llvm.parser.LLVMParserRuntime;
 import com.oracle.truffle.llvm.parser.NodeFactory;
@@ -237,6 +244,7 @@ import com.oracle.truffle.llvm.parser.metadata.debuginfo.DebugInfoGenerator;
 import com.oracle.truffle.llvm.parser.model.attributes.Attribute;
 import com.oracle.truffle.llvm.parser.model.attributes.Attribute.KnownAttribute;
 import com.oracle.truffle.llvm.parser.model.attributes.AttributesGroup;
+import com.oracle.truffle.llvm.parser.model.enums.AtomicOrdering;
 import com.oracle.truffle.llvm.parser.model.enums.CompareOperator;
 import com.oracle.truffle.llvm.parser.model.enums.Flag;
 import com.oracle.truffle.llvm.parser.model.enums.Linkage;
@@ -276,6 +284,7 @@ import com.oracle.truffle.llvm.runtime.types.FunctionType;
 import com.oracle.truffle.llvm.runtime.types.MetaType;
 import com.oracle.truffle.llvm.runtime.types.PointerType;
 import com.oracle.truffle.llvm.runtime.types.PrimitiveType;
+import com.oracle.truffle.llvm.runtime.types.PrimitiveType.PrimitiveKind;
 import com.oracle.truffle.llvm.runtime.types.StructureType;
 import com.oracle.truffle.llvm.runtime.types.Type;
 import com.oracle.truffle.llvm.runtime.types.VariableBitWidthType;
@@ -310,10 +319,38 @@ public class BasicNodeFactory implements NodeFactory {
             int bits = resolvedResultType instanceof VariableBitWidthType
                             ? resolvedResultType.getBitSize()
                             : 0;
-            return createLoad(resolvedResultType, loadTarget, bits);
+            LLVMExpressionNode load = createLoad(resolvedResultType, loadTarget, bits);
+            PrimitiveKind kind = getNativeAccessKind(resolvedResultType);
+            if (kind != null && loadTarget instanceof LLVMPointerReadNode) {
+                return new LLVMNativeLoadNode(kind, (LLVMPointerReadNode) loadTarget.deepCopy(), load);
+            }
+            return load;
         }
     }
 
+    /**
+     * The kind of a value that {@link LLVMNativeLoadNode} and {@link LLVMNativeStoreNode} can access
+     * through a raw native pointer, or {@code null}.
+     */
+    private static PrimitiveKind getNativeAccessKind(Type type) {
+        if (type instanceof PrimitiveType) {
+            PrimitiveKind kind = ((PrimitiveType) type).getPrimitiveKind();
+            switch (kind) {
+                case I1:
+                case I8:
+                case I16:
+                case I32:
+                case I64:
+                case FLOAT:
+                case DOUBLE:
+                    return kind;
+                default:
+                    return null;
+            }
+        }
+        return null;
+    }
+
     private static LLVMExpressionNode createLoadVector(VectorType resultType, LLVMExpressionNode loadTarget, int size) {
         Type elemType = resultType.getElementType();
         if (elemType instanceof PrimitiveType) {
@@ -458,9 +495,65 @@ public class BasicNodeFactory implements NodeFactory {
                             throw new AssertionError(type);
                     }
                 case MAX:
+                    switch (((PrimitiveType) type).getPrimitiveKind()) {
+                        case I1:
+                            return LLVMI1RMWNodeFactory.LLVMI1RMWMaxNodeGen.create(pointerNode, valueNode);
+                        case I8:
+                            return LLVMI8RMWNodeFactory.LLVMI8RMWMaxNodeGen.create(pointerNode, valueNode);
+                        case I16:
+                            return LLVMI16RMWNodeFactory.LLVMI16RMWMaxNodeGen.create(pointerNode, valueNode);
+                        case I32:
+                            return LLVMI32RMWNodeFactory.LLVMI32RMWMaxNodeGen.create(pointerNode, valueNode);
+                        case I64:
+                            return LLVMI64RMWNodeFactory.LLVMI64RMWMaxNodeGen.create(pointerNode, valueNode);
+                        default:
+                            throw new AssertionError(type);
+                    }
                 case MIN:
+                    switch (((PrimitiveType) type).getPrimitiveKind()) {
+                        case I1:
+                            return LLVMI1RMWNodeFactory.LLVMI1RMWMinNodeGen.create(pointerNode, valueNode);
+                        case I8:
+                            return LLVMI8RMWNodeFactory.LLVMI8RMWMinNodeGen.create(pointerNode, valueNode);
+                        case I16:
+                            return LLVMI16RMWNodeFactory.LLVMI16RMWMinNodeGen.create(pointerNode, valueNode);
+                        case I32:
+                            return LLVMI32RMWNodeFactory.LLVMI32RMWMinNodeGen.create(pointerNode, valueNode);
+                        case I64:
+                            return LLVMI64RMWNodeFactory.LLVMI64RMWMinNodeGen.create(pointerNode, valueNode);
+                        default:
+                            throw new AssertionError(type);
+                    }
                 case UMAX:
+                    switch (((PrimitiveType) type).getPrimitiveKind()) {
+                        case I1:
+                            return LLVMI1RMWNodeFactory.LLVMI1RMWUMaxNodeGen.create(pointerNode, valueNode);
+                        case I8:
+                            return LLVMI8RMWNodeFactory.LLVMI8RMWUMaxNodeGen.create(pointerNode, valueNode);
+                        case I16:
+                            return LLVMI16RMWNodeFactory.LLVMI16RMWUMaxNodeGen.create(pointerNode, valueNode);
+                        case I32:
+                            return LLVMI32RMWNodeFactory.LLVMI32RMWUMaxNodeGen.create(pointerNode, valueNode);
+                        case I64:
+                            return LLVMI64RMWNodeFactory.LLVMI64RMWUMaxNodeGen.create(pointerNode, valueNode);
+                        default:
+                            throw new AssertionError(type);
+                    }
                 case UMIN:
+                    switch (((PrimitiveType) type).getPrimitiveKind()) {
+                        case I1:
+                            return LLVMI1RMWNodeFactory.LLVMI1RMWUMinNodeGen.create(pointerNode, valueNode);
+                        case I8:
+                            return LLVMI8RMWNodeFactory.LLVMI8RMWUMinNodeGen.create(pointerNode, valueNode);
+                        case I16:
+                            return LLVMI16RMWNodeFactory.LLVMI16RMWUMinNodeGen.create(pointerNode, valueNode);
+                        case I32:
+                            return LLVMI32RMWNodeFactory.LLVMI32RMWUMinNodeGen.create(pointerNode, valueNode);
+                        case I64:
+                            return LLVMI64RMWNodeFactory.LLVMI64RMWUMinNodeGen.create(pointerNode, valueNode);
+                        default:
+                            throw new AssertionError(type);
+                    }
                 default:
                     throw new AssertionError(operator);
             }
@@ -470,8 +563,17 @@ public class BasicNodeFactory implements NodeFactory {
     }
 
     @Override
-    public LLVMExpressionNode createFence(LLVMParserRuntime runtime) {
-        return LLVMFenceNodeGen.create();
+    public LLVMExpressionNode createFence(LLVMParserRuntime runtime, AtomicOrdering ordering) {
+        switch (ordering) {
+            case ACQUIRE:
+                return LLVMFenceFactory.LLVMAcquireFenceNodeGen.create();
+            case RELEASE:
+                return LLVMFenceFactory.LLVMReleaseFenceNodeGen.create();
+            case ACQUIRE_RELEASE:
+                return LLVMFenceFactory.LLVMAcquireReleaseFenceNodeGen.create();
+            default:
+                return LLVMFenceFactory.LLVMFullFenceNodeGen.create();
+        }
     }
 
     @Override
@@ -624,6 +726,24 @@ public class BasicNodeFactory implements NodeFactory {
             // Do not profile the stackpointer
             return argNode;
         }
+        return createProfiledArgNode(argNode, paramType);
+    }
+
+    @Override
+    public LLVMExpressionNode createPackedFunctionArgNode(int argIndex, Type[] argumentTypes) {
+        if (!LLVMPrimitiveArguments.hasPrimitiveArguments(argumentTypes)) {
+            // callers never pack the arguments of this function
+            return createFunctionArgNode(argIndex, argumentTypes[argIndex]);
+        }
+        LLVMExpressionNode argNode = LLVMPackedArgNode.create(argIndex, argumentTypes);
+        if (argIndex < LLVMCallNode.USER_ARGUMENT_OFFSET) {
+            // Do not profile the stackpointer
+            return argNode;
+        }
+        return createProfiledArgNode(argNode, argumentTypes[argIndex]);
+    }
+
+    private static LLVMExpressionNode createProfiledArgNode(LLVMExpressionNode argNode, Type paramType) {
         if (paramType instanceof PrimitiveType) {
             switch (((PrimitiveType) paramType).getPrimitiveKind()) {
                 case I8:
@@ -737,6 +857,10 @@ public class BasicNodeFactory implements NodeFactory {
     @Override
     public LLVMExpressionNode createTypedElementPointer(LLVMParserRuntime runtime, LLVMExpressionNode aggregateAddress, LLVMExpressionNode index, int indexedTypeLength,
                     Type targetType) {
+        LLVMExpressionNode nativeElementPointer = LLVMNativeGetElementPtrNode.create(aggregateAddress, index, indexedTypeLength, targetType);
+        if (nativeElementPointer != null) {
+            return nativeElementPointer;
+        }
         return LLVMAddressGetElementPtrNodeGen.create(aggregateAddress, index, indexedTypeLength, targetType);
     }
 
@@ -868,6 +992,11 @@ public class BasicNodeFactory implements NodeFactory {
         return LLVMBrUnconditionalNode.create(unconditionalIndex, phiWrites, source);
     }
 
+    @Override
+    public LLVMExpressionNode createConstantImage(LLVMParserRuntime runtime, LLVMExpressionNode address, byte[] image) {
+        return LLVMConstantImageNodeGen.create(image, address);
+    }
+
     @Override
     public LLVMExpressionNode createArrayLiteral(LLVMParserRuntime runtime, List<LLVMExpressionNode> arrayValues, Type arrayType) {
         int nrElements = arrayValues.size();
@@ -1042,10 +1171,11 @@ public class BasicNodeFactory implements NodeFactory {
 
     @Override
     public RootNode createFunctionStartNode(LLVMParserRuntime runtime, LLVMExpressionNode functionBodyNode, LLVMExpressionNode[] copyArgumentsToFrame,
-                    SourceSection sourceSection, FrameDescriptor frame, FunctionDefinition functionHeader, Source bcSource) {
+                    SourceSection sourceSection, FrameDescriptor frame, FunctionDefinition functionHeader, Source bcSource, Type[] packableArgumentTypes) {
         String originalName = DebugInfoGenerator.getSourceFunctionName(functionHeader);
+        Type[] packedArgumentTypes = packableArgumentTypes != null && LLVMPrimitiveArguments.hasPrimitiveArguments(packableArgumentTypes) ? packableArgumentTypes : null;
         return new LLVMFunctionStartNode(sourceSection, runtime.getLanguage(), functionBodyNode, copyArgumentsToFrame, frame, functionHeader.getName(), functionHeader.getParameters().size(),
-                        originalName, bcSource);
+                        originalName, bcSource, packedArgumentTypes);
     }
 
     @Override
@@ -1060,15 +1190,87 @@ public class BasicNodeFactory implements NodeFactory {
             retOffsets = alloca.getOffsets();
         }
 
-        Parser asmParser = new Parser(runtime.getLanguage(), sourceSection, asmExpression, asmFlags, argTypes, retType, retTypes, retOffsets);
-        LLVMInlineAssemblyRootNode assemblyRoot = asmParser.Parse();
-        LLVMFunctionDescriptor asm = LLVMFunctionDescriptor.createDescriptor(runtime.getContext(), "<asm>", new FunctionType(MetaType.UNKNOWN, new Type[0], false), -1);
-        asm.declareInSulong(Truffle.getRuntime().createCallTarget(assemblyRoot), false);
+        final Type[] asmRetTypes = retTypes;
+        final int[] asmRetOffsets = retOffsets;
+        InlineAssemblyKey key = new InlineAssemblyKey(asmExpression, asmFlags, argTypes, retType, retTypes, retOffsets);
+        // the shared root belongs to no call site, the call node below carries the source section
+        LLVMFunctionDescriptor asm = runtime.getContext().getInlineAssembly(key,
+                        () -> createInlineAssembly(runtime, null, asmExpression, asmFlags, argTypes, retType, asmRetTypes, asmRetOffsets));
+        if (((LLVMInlineAssemblyRootNode) asm.getLLVMIRFunction().getRootNode()).hasBreakpoint()) {
+            asm = createInlineAssembly(runtime, sourceSection, asmExpression, asmFlags, argTypes, retType, retTypes, retOffsets);
+        }
         LLVMFunctionLiteralNode asmFunction = LLVMFunctionLiteralNodeGen.create(asm);
 
         return new LLVMCallNode(new FunctionType(MetaType.UNKNOWN, argTypes, false), asmFunction, args, sourceSection);
     }
 
+    private static LLVMFunctionDescriptor createInlineAssembly(LLVMParserRuntime runtime, SourceSection sourceSection, String asmExpression, String asmFlags, Type[] argTypes, Type retType,
+                    Type[] retTypes, int[] retOffsets) {
+        Parser asmParser = new Parser(runtime.getLanguage(), sourceSection, asmExpression, asmFlags, argTypes, retType, retTypes, retOffsets);
+        LLVMInlineAssemblyRootNode assemblyRoot = asmParser.Parse();
+        LLVMFunctionDescriptor descriptor = LLVMFunctionDescriptor.createDescriptor(runtime.getContext(), "<asm>", new FunctionType(MetaType.UNKNOWN, new Type[0], false), -1);
+        descriptor.declareInSulong(Truffle.getRuntime().createCallTarget(assemblyRoot), false);
+        return descriptor;
+    }
+
+    /**
+     * Identifies a parsed inline assembly root. The parser derives memory operand sizes from the
+     * pointee types, so the types are compared with {@link Type#deepEquals}.
+     */
+    private static final class InlineAssemblyKey {
+        private final String asmExpression;
+        private final String asmFlags;
+        private final Type[] argTypes;
+        private final Type retType;
+        private final Type[] retTypes;
+        private final int[] retOffsets;
+
+        InlineAssemblyKey(String asmExpression, String asmFlags, Type[] argTypes, Type retType, Type[] retTypes, int[] retOffsets) {
+            this.asmExpression = asmExpression;
+            this.asmFlags = asmFlags;
+            this.argTypes = argTypes;
+            this.retType = retType;
+            this.retTypes = retTypes;
+            this.retOffsets = retOffsets;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = asmExpression.hashCode();
+            result = 31 * result + asmFlags.hashCode();
+            result = 31 * result + Arrays.hashCode(argTypes);
+            result = 31 * result + Arrays.hashCode(retTypes);
+            result = 31 * result + Arrays.hashCode(retOffsets);
+            return result;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof InlineAssemblyKey)) {
+                return false;
+            }
+            InlineAssemblyKey other = (InlineAssemblyKey) obj;
+            return asmExpression.equals(other.asmExpression) && asmFlags.equals(other.asmFlags) && typesEqual(argTypes, other.argTypes) && Type.deepEquals(retType, other.retType) &&
+                            typesEqual(retTypes, other.retTypes) && Arrays.equals(retOffsets, other.retOffsets);
+        }
+
+        private static boolean typesEqual(Type[] a, Type[] b) {
+            if (a == null || b == null) {
+                return a == b;
+            }
+            if (a.length != b.length) {
+                return false;
+            }
+            for (int i = 0; i < a.length; i++) {
+                if (!Type.deepEquals(a[i], b[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+    }
+
     @Override
     public LLVMExpressionNode createFunctionArgNode(int i) {
         return LLVMArgNodeGen.create(i);
@@ -1676,6 +1878,10 @@ public class BasicNodeFactory implements NodeFactory {
         } else {
             throw new AssertionError(type);
         }
+        PrimitiveKind kind = getNativeAccessKind(type);
+        if (kind != null && pointerNode instanceof LLVMPointerReadNode) {
+            return new LLVMNativeStoreNode(source, kind, (LLVMPointerReadNode) pointerNode, valueNode, store);
+        }
         return LLVMStoreExpressionNodeGen.create(source, store, pointerNode, valueNode);
     }
 
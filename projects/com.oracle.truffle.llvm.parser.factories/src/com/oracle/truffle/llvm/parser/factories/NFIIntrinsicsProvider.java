@@ -84,7 +84,20 @@ import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMCTypeIntrinsicsFactory.LLV
 import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMCTypeIntrinsicsFactory.LLVMToUpperNodeGen;
 import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMCTypeIntrinsicsFactory.LLVMTolowerNodeGen;
 import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMExitNodeGen;
+import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMPThreadIntrinsicsFactory.LLVMPThreadCreateNodeGen;
+import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMPThreadIntrinsicsFactory.LLVMPThreadDetachNodeGen;
+import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMPThreadIntrinsicsFactory.LLVMPThreadExitNodeGen;
+import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMPThreadIntrinsicsFactory.LLVMPThreadJoinNodeGen;
 import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMSignalNodeGen;
+import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMStringIntrinsicsFactory.LLVMManagedMemcpyNodeGen;
+import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMStringIntrinsicsFactory.LLVMMemchrNodeGen;
+import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMStringIntrinsicsFactory.LLVMMemcmpNodeGen;
+import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMStringIntrinsicsFactory.LLVMStrchrNodeGen;
+import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMStringIntrinsicsFactory.LLVMStrcmpNodeGen;
+import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMStringIntrinsicsFactory.LLVMStrcpyNodeGen;
+import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMStringIntrinsicsFactory.LLVMStrlenNodeGen;
+import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMStringIntrinsicsFactory.LLVMStrncmpNodeGen;
+import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMStringIntrinsicsFactory.LLVMStrncpyNodeGen;
 import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMSyscall;
 import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMTruffleReadBytesNodeGen;
 import com.oracle.truffle.llvm.nodes.intrinsics.interop.LLVMLoadLibraryNodeGen;
@@ -111,6 +124,7 @@ import com.oracle.truffle.llvm.nodes.intrinsics.interop.LLVMTruffleReadNBytesNod
 import com.oracle.truffle.llvm.nodes.intrinsics.interop.LLVMTruffleReadNStringNodeGen;
 import com.oracle.truffle.llvm.nodes.intrinsics.interop.LLVMTruffleReadStringNodeGen;
 import com.oracle.truffle.llvm.nodes.intrinsics.interop.LLVMTruffleReleaseHandleNodeGen;
+import com.oracle.truffle.llvm.nodes.intrinsics.interop.LLVMTruffleReleaseHandlesNodeGen;
 import com.oracle.truffle.llvm.nodes.intrinsics.interop.LLVMTruffleStringAsCStringNodeGen;
 import com.oracle.truffle.llvm.nodes.intrinsics.interop.LLVMTruffleUnboxNodeGen;
 import com.oracle.truffle.llvm.nodes.intrinsics.interop.LLVMTruffleWriteFactory.LLVMTruffleWriteToIndexNodeGen;
@@ -298,7 +312,9 @@ public class NFIIntrinsicsProvider implements NativeIntrinsicProvider, ContextEx
         registerRustIntrinsics();
         registerMathFunctionIntrinsics();
         registerMemoryFunctionIntrinsics(nodeFactory);
+        registerStringIntrinsics(nodeFactory);
         registerExceptionIntrinsics();
+        registerThreadIntrinsics();
         registerComplexNumberIntrinsics();
         registerCTypeIntrinsics();
         return this;
@@ -901,6 +917,14 @@ public class NFIIntrinsicsProvider implements NativeIntrinsicProvider, ContextEx
             }
         });
 
+        factories.put("@truffle_release_handles", new LLVMNativeIntrinsicFactory(true, true) {
+
+            @Override
+            protected RootCallTarget generate(FunctionType type) {
+                return wrap("@truffle_release_handles", LLVMTruffleReleaseHandlesNodeGen.create(LLVMArgNodeGen.create(1), LLVMArgNodeGen.create(2)));
+            }
+        });
+
         factories.put("@truffle_managed_from_handle", new LLVMNativeIntrinsicFactory(true, true) {
 
             @Override
@@ -1365,6 +1389,103 @@ public class NFIIntrinsicsProvider implements NativeIntrinsicProvider, ContextEx
         });
     }
 
+    protected void registerStringIntrinsics(NodeFactory factory) {
+        factories.put("@strlen", new LLVMNativeIntrinsicFactory(true, false) {
+
+            @Override
+            protected RootCallTarget generate(FunctionType type) {
+                return wrap("@strlen", LLVMStrlenNodeGen.create(LLVMArgNodeGen.create(1)));
+            }
+        });
+        factories.put("@strcmp", new LLVMNativeIntrinsicFactory(true, false) {
+
+            @Override
+            protected RootCallTarget generate(FunctionType type) {
+                return wrap("@strcmp", LLVMStrcmpNodeGen.create(LLVMArgNodeGen.create(1), LLVMArgNodeGen.create(2)));
+            }
+        });
+        factories.put("@strncmp", new LLVMNativeIntrinsicFactory(true, false) {
+
+            @Override
+            protected RootCallTarget generate(FunctionType type) {
+                return wrap("@strncmp", LLVMStrncmpNodeGen.create(LLVMArgNodeGen.create(1), LLVMArgNodeGen.create(2), LLVMArgNodeGen.create(3)));
+            }
+        });
+        factories.put("@memcmp", new LLVMNativeIntrinsicFactory(true, false) {
+
+            @Override
+            protected RootCallTarget generate(FunctionType type) {
+                return wrap("@memcmp", LLVMMemcmpNodeGen.create(LLVMArgNodeGen.create(1), LLVMArgNodeGen.create(2), LLVMArgNodeGen.create(3)));
+            }
+        });
+        factories.put("@memchr", new LLVMNativeIntrinsicFactory(true, false) {
+
+            @Override
+            protected RootCallTarget generate(FunctionType type) {
+                return wrap("@memchr", LLVMMemchrNodeGen.create(LLVMArgNodeGen.create(1), LLVMArgNodeGen.create(2), LLVMArgNodeGen.create(3)));
+            }
+        });
+        factories.put("@strchr", new LLVMNativeIntrinsicFactory(true, false) {
+
+            @Override
+            protected RootCallTarget generate(FunctionType type) {
+                return wrap("@strchr", LLVMStrchrNodeGen.create(LLVMArgNodeGen.create(1), LLVMArgNodeGen.create(2)));
+            }
+        });
+        factories.put("@strcpy", new LLVMNativeIntrinsicFactory(true, false) {
+
+            @Override
+            protected RootCallTarget generate(FunctionType type) {
+                return wrap("@strcpy", LLVMStrcpyNodeGen.create(factory.createMemMove(), LLVMArgNodeGen.create(1), LLVMArgNodeGen.create(2)));
+            }
+        });
+        factories.put("@strncpy", new LLVMNativeIntrinsicFactory(true, false) {
+
+            @Override
+            protected RootCallTarget generate(FunctionType type) {
+                return wrap("@strncpy", LLVMStrncpyNodeGen.create(factory.createMemMove(), factory.createMemSet(), LLVMArgNodeGen.create(1), LLVMArgNodeGen.create(2), LLVMArgNodeGen.create(3)));
+            }
+        });
+        factories.put("@truffle_managed_memcpy", new LLVMNativeIntrinsicFactory(true, false) {
+
+            @Override
+            protected RootCallTarget generate(FunctionType type) {
+                return wrap("@truffle_managed_memcpy", LLVMManagedMemcpyNodeGen.create(factory.createMemMove(), LLVMArgNodeGen.create(1), LLVMArgNodeGen.create(2), LLVMArgNodeGen.create(3)));
+            }
+        });
+    }
+
+    protected void registerThreadIntrinsics() {
+        factories.put("@pthread_create", new LLVMNativeIntrinsicFactory(true, false) {
+
+            @Override
+            protected RootCallTarget generate(FunctionType type) {
+                return wrap("@pthread_create", LLVMPThreadCreateNodeGen.create(LLVMArgNodeGen.create(1), LLVMArgNodeGen.create(2), LLVMArgNodeGen.create(3), LLVMArgNodeGen.create(4)));
+            }
+        });
+        factories.put("@pthread_join", new LLVMNativeIntrinsicFactory(true, false) {
+
+            @Override
+            protected RootCallTarget generate(FunctionType type) {
+                return wrap("@pthread_join", LLVMPThreadJoinNodeGen.create(LLVMArgNodeGen.create(1), LLVMArgNodeGen.create(2)));
+            }
+        });
+        factories.put("@pthread_detach", new LLVMNativeIntrinsicFactory(true, false) {
+
+            @Override
+            protected RootCallTarget generate(FunctionType type) {
+                return wrap("@pthread_detach", LLVMPThreadDetachNodeGen.create(LLVMArgNodeGen.create(1)));
+            }
+        });
+        factories.put("@pthread_exit", new LLVMNativeIntrinsicFactory(true, false) {
+
+            @Override
+            protected RootCallTarget generate(FunctionType type) {
+                return wrap("@pthread_exit", LLVMPThreadExitNodeGen.create(LLVMArgNodeGen.create(1)));
+            }
+        });
+    }
+
     protected void registerExceptionIntrinsics() {
         factories.put("@__cxa_throw", new LLVMNativeIntrinsicFactory(true, true) {
 
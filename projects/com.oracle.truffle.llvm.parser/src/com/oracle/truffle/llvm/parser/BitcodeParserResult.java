@@ -30,6 +30,7 @@
 package com.oracle.truffle.llvm.parser;
 
 import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.List;
 
 import com.oracle.truffle.api.source.Source;
@@ -81,7 +82,11 @@ public final class BitcodeParserResult {
     }
 
     public static BitcodeParserResult getFromSource(Source source, ByteBuffer bytes) {
-        final ModelModule model = LLVMScanner.parse(bytes);
+        return getFromSource(source, bytes, null, false);
+    }
+
+    public static BitcodeParserResult getFromSource(Source source, ByteBuffer bytes, Path cacheDirectory, boolean parallelFunctions) {
+        final ModelModule model = LLVMScanner.parse(bytes, cacheDirectory, parallelFunctions);
 
         // extract SourceSection and LLVMSourceType objects from metadata
         final SourceModel sourceModel = SourceModel.generate(model, source);
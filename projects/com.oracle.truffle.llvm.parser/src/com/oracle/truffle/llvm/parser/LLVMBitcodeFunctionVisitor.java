@@ -34,7 +34,6 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
-import com.oracle.truffle.api.frame.FrameDescriptor;
 import com.oracle.truffle.llvm.parser.LLVMLivenessAnalysis.LLVMLivenessAnalysisResult;
 import com.oracle.truffle.llvm.parser.LLVMPhiManager.Phi;
 import com.oracle.truffle.llvm.parser.model.blocks.InstructionBlock;
@@ -47,7 +46,7 @@ import com.oracle.truffle.llvm.runtime.nodes.api.LLVMExpressionNode;
 final class LLVMBitcodeFunctionVisitor implements FunctionVisitor {
 
     private final LLVMParserRuntime runtime;
-    private final FrameDescriptor frame;
+    private final LLVMFrameSlotAllocation frameSlots;
     private final List<LLVMExpressionNode> blocks;
     private final Map<String, Integer> labels;
     private final Map<InstructionBlock, List<Phi>> phis;
@@ -57,11 +56,11 @@ final class LLVMBitcodeFunctionVisitor implements FunctionVisitor {
     private final FunctionDefinition function;
     private final LLVMLivenessAnalysisResult liveness;
 
-    LLVMBitcodeFunctionVisitor(LLVMParserRuntime runtime, FrameDescriptor frame, Map<String, Integer> labels,
+    LLVMBitcodeFunctionVisitor(LLVMParserRuntime runtime, LLVMFrameSlotAllocation frameSlots, Map<String, Integer> labels,
                     Map<InstructionBlock, List<Phi>> phis, NodeFactory nodeFactory, int argCount, LLVMSymbolReadResolver symbols, FunctionDefinition functionDefinition,
                     LLVMLivenessAnalysisResult liveness) {
         this.runtime = runtime;
-        this.frame = frame;
+        this.frameSlots = frameSlots;
         this.labels = labels;
         this.phis = phis;
         this.symbols = symbols;
@@ -85,7 +84,7 @@ final class LLVMBitcodeFunctionVisitor implements FunctionVisitor {
     public void visit(InstructionBlock block) {
         List<Phi> blockPhis = phis.get(block);
         ArrayList<LLVMLivenessAnalysis.NullerInformation> blockNullerInfos = liveness.getNullableWithinBlock()[block.getBlockIndex()];
-        LLVMBitcodeInstructionVisitor visitor = new LLVMBitcodeInstructionVisitor(frame, labels, blockPhis, nodeFactory, argCount, symbols, runtime, blockNullerInfos, function.getSourceFunction());
+        LLVMBitcodeInstructionVisitor visitor = new LLVMBitcodeInstructionVisitor(frameSlots, labels, blockPhis, nodeFactory, argCount, symbols, runtime, blockNullerInfos, function.getSourceFunction());
 
         for (int i = 0; i < block.getInstructionCount(); i++) {
             Instruction instruction = block.getInstruction(i);
@@ -33,7 +33,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
-import com.oracle.truffle.api.frame.FrameDescriptor;
 import com.oracle.truffle.api.frame.FrameSlot;
 import com.oracle.truffle.api.frame.FrameSlotKind;
 import com.oracle.truffle.api.source.SourceSection;
@@ -106,7 +105,7 @@ import com.oracle.truffle.llvm.runtime.types.symbols.Symbol;
 
 final class LLVMBitcodeInstructionVisitor implements InstructionVisitor {
 
-    private final FrameDescriptor frame;
+    private final LLVMFrameSlotAllocation frameSlots;
     private final Map<String, Integer> labels;
     private final List<Phi> blockPhis;
     private final NodeFactory nodeFactory;
@@ -114,17 +113,16 @@ final class LLVMBitcodeInstructionVisitor implements InstructionVisitor {
     private final LLVMSymbolReadResolver symbols;
     private final LLVMParserRuntime runtime;
     private final ArrayList<LLVMLivenessAnalysis.NullerInformation> nullerInfos;
-    private final List<? extends FrameSlot> frameSlots;
     private final SourceModel.Function sourceFunction;
 
     private final List<LLVMExpressionNode> blockInstructions;
     private int instructionIndex;
     private LLVMControlFlowNode controlFlowNode;
 
-    LLVMBitcodeInstructionVisitor(FrameDescriptor frame, Map<String, Integer> labels,
+    LLVMBitcodeInstructionVisitor(LLVMFrameSlotAllocation frameSlots, Map<String, Integer> labels,
                     List<Phi> blockPhis, NodeFactory nodeFactory, int argCount, LLVMSymbolReadResolver symbols, LLVMParserRuntime runtime,
                     ArrayList<LLVMLivenessAnalysis.NullerInformation> nullerInfos, SourceModel.Function sourceFunction) {
-        this.frame = frame;
+        this.frameSlots = frameSlots;
         this.labels = labels;
         this.blockPhis = blockPhis;
         this.nodeFactory = nodeFactory;
@@ -132,7 +130,6 @@ final class LLVMBitcodeInstructionVisitor implements InstructionVisitor {
         this.symbols = symbols;
         this.runtime = runtime;
         this.nullerInfos = nullerInfos;
-        this.frameSlots = frame.getSlots();
         this.sourceFunction = sourceFunction;
 
         this.blockInstructions = new ArrayList<>();
@@ -302,10 +299,10 @@ final class LLVMBitcodeInstructionVisitor implements InstructionVisitor {
 
         FrameSlot valueSlot = null;
         if (valueSymbol instanceof ValueInstruction) {
-            valueSlot = frame.findFrameSlot(((ValueInstruction) valueSymbol).getName());
+            valueSlot = frameSlots.getSlot(((ValueInstruction) valueSymbol).getName());
 
         } else if (valueSymbol instanceof FunctionParameter) {
-            valueSlot = frame.findFrameSlot(((FunctionParameter) valueSymbol).getName());
+            valueSlot = frameSlots.getSlot(((FunctionParameter) valueSymbol).getName());
         }
 
         if (valueSlot != null) {
@@ -343,7 +340,7 @@ final class LLVMBitcodeInstructionVisitor implements InstructionVisitor {
     }
 
     private FrameSlot getDebugValueSlot(LLVMSourceSymbol symbol) {
-        return frame.findOrAddFrameSlot(symbol, MetaType.DEBUG, FrameSlotKind.Object);
+        return frameSlots.findOrAddFrameSlot(symbol, MetaType.DEBUG, FrameSlotKind.Object);
     }
 
     private static final int LLVM_DBG_VALUE_OFFSET_INDEX = 1;
@@ -764,7 +761,7 @@ final class LLVMBitcodeInstructionVisitor implements InstructionVisitor {
 
     @Override
     public void visit(FenceInstruction fence) {
-        final LLVMExpressionNode node = nodeFactory.createFence(runtime);
+        final LLVMExpressionNode node = nodeFactory.createFence(runtime, fence.getAtomicOrdering());
 
         addInstruction(node);
     }
@@ -872,7 +869,7 @@ final class LLVMBitcodeInstructionVisitor implements InstructionVisitor {
     }
 
     private FrameSlot getSlot(String name) {
-        return frame.findFrameSlot(name);
+        return frameSlots.getSlot(name);
     }
 
     private FrameSlot getExceptionSlot() {
@@ -899,7 +896,7 @@ final class LLVMBitcodeInstructionVisitor implements InstructionVisitor {
                 // the nuller information is sorted descending by instructionIndex
                 break;
             } else if (nuller.getInstructionIndex() == instructionIndex) {
-                FrameSlot frameSlot = frameSlots.get(nuller.getFrameSlotIndex());
+                FrameSlot frameSlot = frameSlots.getSlot(nuller.getFrameSlotIndex());
                 LLVMExpressionNode nullerNode = nodeFactory.createFrameNuller(frameSlot);
                 blockInstructions.add(nullerNode);
                 nullerInfos.remove(i);
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.oracle.truffle.llvm.parser.model.symbols.constants.NullConstant;
+import com.oracle.truffle.llvm.parser.model.symbols.constants.StringConstant;
+import com.oracle.truffle.llvm.parser.model.symbols.constants.UndefinedConstant;
+import com.oracle.truffle.llvm.parser.model.symbols.constants.aggregate.ArrayConstant;
+import com.oracle.truffle.llvm.parser.model.symbols.constants.aggregate.StructureConstant;
+import com.oracle.truffle.llvm.parser.model.symbols.constants.floatingpoint.DoubleConstant;
+import com.oracle.truffle.llvm.parser.model.symbols.constants.floatingpoint.FloatConstant;
+import com.oracle.truffle.llvm.parser.model.symbols.constants.floatingpoint.X86FP80Constant;
+import com.oracle.truffle.llvm.parser.model.symbols.constants.integer.BigIntegerConstant;
+import com.oracle.truffle.llvm.parser.model.symbols.constants.integer.IntegerConstant;
+import com.oracle.truffle.llvm.runtime.LLVMContext;
+import com.oracle.truffle.llvm.runtime.floating.LLVM80BitFloat;
+import com.oracle.truffle.llvm.runtime.types.ArrayType;
+import com.oracle.truffle.llvm.runtime.types.PrimitiveType;
+import com.oracle.truffle.llvm.runtime.types.Type;
+import com.oracle.truffle.llvm.runtime.types.symbols.Symbol;
+
+/**
+ * The memory contents of a constant global initializer, serialized at parse time so that the
+ * global can be initialized with a single memory copy. Values that are not known before the
+ * global is initialized, e.g., pointers to functions or other globals and constant expressions,
+ * are left zero in the image and recorded as relocations that need to be stored afterwards.
+ */
+final class LLVMConstantImage {
+
+    static final class Relocation {
+        private final int offset;
+        private final Type type;
+        private final Symbol value;
+
+        private Relocation(int offset, Type type, Symbol value) {
+            this.offset = offset;
+            this.type = type;
+            this.value = value;
+        }
+
+        int getOffset() {
+            return offset;
+        }
+
+        Type getType() {
+            return type;
+        }
+
+        Symbol getValue() {
+            return value;
+        }
+    }
+
+    private final LLVMContext context;
+    private final byte[] data;
+    private final List<Relocation> relocations;
+
+    private LLVMConstantImage(LLVMContext context, int size) {
+        this.context = context;
+        this.data = new byte[size];
+        this.relocations = new ArrayList<>();
+    }
+
+    /**
+     * Whether an initializer is an aggregate that can be written as an image.
+     */
+    static boolean isSupported(Symbol constant) {
+        return constant instanceof ArrayConstant || constant instanceof StructureConstant || constant instanceof StringConstant;
+    }
+
+    static LLVMConstantImage create(LLVMContext context, Symbol constant, Type type) {
+        assert isSupported(constant);
+        LLVMConstantImage image = new LLVMConstantImage(context, context.getByteSize(type));
+        image.write(constant, type, 0);
+        return image;
+    }
+
+    byte[] getData() {
+        return data;
+    }
+
+    List<Relocation> getRelocations() {
+        return relocations;
+    }
+
+    private void write(Symbol constant, Type type, int offset) {
+        if (constant instanceof NullConstant || constant instanceof UndefinedConstant) {
+            // the image is zero-initialized
+        } else if (constant instanceof IntegerConstant && isPrimitive(type)) {
+            writeInteger(((IntegerConstant) constant).getValue(), type, offset);
+        } else if (constant instanceof BigIntegerConstant && isPrimitive(type) && type.getBitSize() <= Long.SIZE) {
+            writeInteger(((BigIntegerConstant) constant).getValue().longValue(), type, offset);
+        } else if (constant instanceof FloatConstant) {
+            writeLong(Float.floatToRawIntBits(((FloatConstant) constant).getValue()), Float.BYTES, offset);
+        } else if (constant instanceof DoubleConstant) {
+            writeLong(Double.doubleToRawLongBits(((DoubleConstant) constant).getValue()), Double.BYTES, offset);
+        } else if (constant instanceof X86FP80Constant) {
+            byte[] bytes = LLVM80BitFloat.fromBytesBigEndian(((X86FP80Constant) constant).getValue()).getBytes();
+            System.arraycopy(bytes, 0, data, offset, bytes.length);
+        } else if (constant instanceof StringConstant) {
+            String chars = ((StringConstant) constant).getString();
+            for (int i = 0; i < chars.length(); i++) {
+                data[offset + i] = (byte) chars.charAt(i);
+            }
+        } else if (constant instanceof ArrayConstant) {
+            ArrayConstant array = (ArrayConstant) constant;
+            Type elementType = ((ArrayType) array.getType()).getElementType();
+            int elementSize = context.getByteSize(elementType);
+            for (int i = 0; i < array.getElementCount(); i++) {
+                write(array.getElement(i), elementType, offset + i * elementSize);
+            }
+        } else if (constant instanceof StructureConstant) {
+            StructureConstant struct = (StructureConstant) constant;
+            int currentOffset = 0;
+            for (int i = 0; i < struct.getElementCount(); i++) {
+                Type elementType = struct.getElementType(i);
+                if (!struct.isPacked()) {
+                    currentOffset += context.getBytePadding(currentOffset, elementType);
+                }
+                write(struct.getElement(i), elementType, offset + currentOffset);
+                currentOffset += context.getByteSize(elementType);
+            }
+        } else {
+            relocations.add(new Relocation(offset, type, constant));
+        }
+    }
+
+    private static boolean isPrimitive(Type type) {
+        return type instanceof PrimitiveType;
+    }
+
+    private void writeInteger(long value, Type type, int offset) {
+        if (((PrimitiveType) type).getPrimitiveKind() == PrimitiveType.PrimitiveKind.I1) {
+            data[offset] = (byte) (value & 1);
+        } else {
+            writeLong(value, context.getByteSize(type), offset);
+        }
+    }
+
+    private void writeLong(long value, int byteSize, int offset) {
+        // the target is little endian
+        for (int i = 0; i < byteSize; i++) {
+            data[offset + i] = (byte) (value >>> (i * Byte.SIZE));
+        }
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.parser;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.oracle.truffle.api.frame.FrameDescriptor;
+import com.oracle.truffle.api.frame.FrameSlot;
+import com.oracle.truffle.api.frame.FrameSlotKind;
+import com.oracle.truffle.llvm.parser.model.blocks.InstructionBlock;
+import com.oracle.truffle.llvm.parser.model.functions.FunctionDefinition;
+import com.oracle.truffle.llvm.parser.model.functions.FunctionParameter;
+import com.oracle.truffle.llvm.parser.model.symbols.instructions.Instruction;
+import com.oracle.truffle.llvm.parser.model.symbols.instructions.ValueInstruction;
+import com.oracle.truffle.llvm.runtime.LLVMException;
+import com.oracle.truffle.llvm.runtime.memory.LLVMStack;
+import com.oracle.truffle.llvm.runtime.types.Type;
+
+/**
+ * Maps the frame slots that {@link StackAllocation} creates for every SSA value of a function to
+ * the frame slots of the {@link FrameDescriptor} that is used at runtime. Values that are never
+ * alive at the same time and that have the same slot kind and type can share a frame slot, which
+ * keeps the frames of large functions small.
+ */
+public final class LLVMFrameSlotAllocation {
+
+    private final FrameDescriptor values;
+    private final FrameDescriptor frame;
+    private final FrameSlot[] slots;
+
+    private LLVMFrameSlotAllocation(FrameDescriptor values, FrameDescriptor frame, FrameSlot[] slots) {
+        this.values = values;
+        this.frame = frame;
+        this.slots = slots;
+    }
+
+    /**
+     * Uses one frame slot per value.
+     */
+    public static LLVMFrameSlotAllocation identity(FrameDescriptor frame) {
+        List<? extends FrameSlot> frameSlots = frame.getSlots();
+        return new LLVMFrameSlotAllocation(frame, frame, frameSlots.toArray(new FrameSlot[frameSlots.size()]));
+    }
+
+    /**
+     * Assigns the values to as few frame slots as possible by greedily coloring the interference
+     * graph. The exception slot, the stack pointer slot, the function parameters and the values of
+     * source-level variables always keep a frame slot of their own.
+     */
+    public static LLVMFrameSlotAllocation coalesce(FrameDescriptor frame, Map<InstructionBlock, List<LLVMPhiManager.Phi>> phis, FunctionDefinition functionDefinition,
+                    LLVMLivenessAnalysis.LLVMLivenessAnalysisResult liveness) {
+        List<? extends FrameSlot> frameSlots = frame.getSlots();
+        int[] slotClasses = getSlotClasses(frameSlots, getFixedSlots(frame, functionDefinition));
+        int[][] interference = LLVMLivenessAnalysis.computeInterference(frame, phis, functionDefinition, liveness, slotClasses);
+
+        FrameDescriptor coalescedFrame = new FrameDescriptor();
+        FrameSlot[] slots = new FrameSlot[frameSlots.size()];
+        List<SlotGroup> groups = new ArrayList<>();
+        for (int i = 0; i < frameSlots.size(); i++) {
+            FrameSlot slot = frameSlots.get(i);
+            assert slot.getIndex() == i;
+            if (slotClasses[i] < 0) {
+                slots[i] = coalescedFrame.addFrameSlot(slot.getIdentifier(), slot.getInfo(), slot.getKind());
+                continue;
+            }
+
+            SlotGroup group = null;
+            for (SlotGroup candidate : groups) {
+                if (candidate.accepts(slotClasses[i], interference[i], slots)) {
+                    group = candidate;
+                    break;
+                }
+            }
+            if (group == null) {
+                group = new SlotGroup(coalescedFrame.addFrameSlot(slot.getIdentifier(), slot.getInfo(), slot.getKind()), slotClasses[i]);
+                groups.add(group);
+            }
+            slots[i] = group.slot;
+        }
+        return new LLVMFrameSlotAllocation(frame, coalescedFrame, slots);
+    }
+
+    /**
+     * Numbers the combinations of slot kind and type, only values of the same class can share a
+     * frame slot. Fixed slots get the class -1.
+     */
+    private static int[] getSlotClasses(List<? extends FrameSlot> frameSlots, BitSet fixed) {
+        int[] slotClasses = new int[frameSlots.size()];
+        List<FrameSlot> representatives = new ArrayList<>();
+        for (int i = 0; i < frameSlots.size(); i++) {
+            if (fixed.get(i)) {
+                slotClasses[i] = -1;
+                continue;
+            }
+            FrameSlot slot = frameSlots.get(i);
+            int slotClass = 0;
+            while (slotClass < representatives.size() && !isSameClass(representatives.get(slotClass), slot)) {
+                slotClass++;
+            }
+            if (slotClass == representatives.size()) {
+                representatives.add(slot);
+            }
+            slotClasses[i] = slotClass;
+        }
+        return slotClasses;
+    }
+
+    private static boolean isSameClass(FrameSlot a, FrameSlot b) {
+        return a.getKind() == b.getKind() && infoEquals(a.getInfo(), b.getInfo());
+    }
+
+    private static boolean infoEquals(Object a, Object b) {
+        // an i32* and a double* must not share a slot, so pointee types have to match as well
+        if (a instanceof Type && b instanceof Type) {
+            return Type.deepEquals((Type) a, (Type) b);
+        }
+        return Objects.equals(a, b);
+    }
+
+    private static BitSet getFixedSlots(FrameDescriptor frame, FunctionDefinition functionDefinition) {
+        BitSet fixed = new BitSet(frame.getSize());
+        fixed.set(frame.findFrameSlot(LLVMException.FRAME_SLOT_ID).getIndex());
+        fixed.set(frame.findFrameSlot(LLVMStack.FRAME_ID).getIndex());
+        for (FunctionParameter parameter : functionDefinition.getParameters()) {
+            fixed.set(frame.findFrameSlot(parameter.getName()).getIndex());
+        }
+        for (InstructionBlock block : functionDefinition.getBlocks()) {
+            for (int i = 0; i < block.getInstructionCount(); i++) {
+                Instruction instruction = block.getInstruction(i);
+                if (instruction instanceof ValueInstruction && ((ValueInstruction) instruction).isSourceVariable()) {
+                    // the debugger accesses these values by their name and updates their type
+                    fixed.set(frame.findFrameSlot(((ValueInstruction) instruction).getName()).getIndex());
+                }
+            }
+        }
+        return fixed;
+    }
+
+    /**
+     * The frame descriptor of the function at runtime.
+     */
+    public FrameDescriptor getFrame() {
+        return frame;
+    }
+
+    public FrameSlot getSlot(String identifier) {
+        FrameSlot slot = values.findFrameSlot(identifier);
+        if (slot != null) {
+            return slots[slot.getIndex()];
+        }
+        // slots that were added after the allocation, e.g., for debug values
+        return frame.findFrameSlot(identifier);
+    }
+
+    public FrameSlot getSlot(int valueSlotIndex) {
+        return slots[valueSlotIndex];
+    }
+
+    public FrameSlot findOrAddFrameSlot(Object identifier, Object info, FrameSlotKind kind) {
+        return frame.findOrAddFrameSlot(identifier, info, kind);
+    }
+
+    private static final class SlotGroup {
+        private final FrameSlot slot;
+        private final int slotClass;
+
+        SlotGroup(FrameSlot slot, int slotClass) {
+            this.slot = slot;
+            this.slotClass = slotClass;
+        }
+
+        /**
+         * A value can join the group if no value that interferes with it was assigned to the group
+         * already.
+         */
+        boolean accepts(int candidateClass, int[] candidateInterference, FrameSlot[] assignedSlots) {
+            if (slotClass != candidateClass) {
+                return false;
+            }
+            for (int neighbor : candidateInterference) {
+                if (assignedSlots[neighbor] == slot) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -88,18 +88,31 @@ public final class LLVMLivenessAnalysis {
     }
 
     public static LLVMLivenessAnalysisResult computeLiveness(FrameDescriptor frame, LLVMContext context, Map<InstructionBlock, List<LLVMPhiManager.Phi>> phis, FunctionDefinition functionDefinition) {
+        boolean printStatistics = SulongEngineOption.isTrue(context.getEnv().getOptions().get(SulongEngineOption.PRINT_LIFE_TIME_ANALYSIS_STATS));
+        return computeLiveness(frame, phis, functionDefinition, printStatistics ? context : null);
+    }
+
+    /**
+     * Computes the liveness without printing any statistics, which does not require a context
+     * (e.g., when benchmarking the analysis in isolation).
+     */
+    public static LLVMLivenessAnalysisResult computeLiveness(FrameDescriptor frame, Map<InstructionBlock, List<LLVMPhiManager.Phi>> phis, FunctionDefinition functionDefinition) {
+        return computeLiveness(frame, phis, functionDefinition, null);
+    }
+
+    private static LLVMLivenessAnalysisResult computeLiveness(FrameDescriptor frame, Map<InstructionBlock, List<LLVMPhiManager.Phi>> phis, FunctionDefinition functionDefinition,
+                    LLVMContext statisticsContext) {
         List<InstructionBlock> blocks = functionDefinition.getBlocks();
         BlockInfo[] blockInfos = initializeGenKill(frame, phis, functionDefinition, blocks);
         ArrayList<InstructionBlock>[] predecessors = computePredecessors(blocks);
         int processedBlocks = iterateToFixedPoint(blocks, frame, blockInfos, predecessors);
-        boolean printStatistics = SulongEngineOption.isTrue(context.getEnv().getOptions().get(SulongEngineOption.PRINT_LIFE_TIME_ANALYSIS_STATS));
-        if (printStatistics) {
-            printIntermediateResult(context, frame, functionDefinition, blocks, blockInfos, processedBlocks);
+        if (statisticsContext != null) {
+            printIntermediateResult(statisticsContext, frame, functionDefinition, blocks, blockInfos, processedBlocks);
         }
 
         LLVMLivenessAnalysisResult result = computeLivenessAnalysisResult(functionDefinition, blocks, frame, blockInfos, predecessors);
-        if (printStatistics) {
-            printResult(context, frame, blocks, result);
+        if (statisticsContext != null) {
+            printResult(statisticsContext, frame, blocks, result);
         }
         return result;
     }
@@ -181,6 +194,7 @@ public final class LLVMLivenessAnalysis {
         ArrayList<NullerInformation>[] nullableWithinBlock = new ArrayList[blocks.size()];
         BitSet[] nullableBeforeBlock = new BitSet[blocks.size()];
         BitSet[] nullableAfterBlock = new BitSet[blocks.size()];
+        BitSet[] liveOut = new BitSet[blocks.size()];
 
         int[] lastInstructionIndexTouchingLocal = new int[frame.getSize()];
         LLVMNullerReadVisitor nullerReadVisitor = new LLVMNullerReadVisitor(frame, lastInstructionIndexTouchingLocal);
@@ -255,8 +269,146 @@ public final class LLVMLivenessAnalysis {
             nullableWithinBlock[i] = blockNullers;
             nullableBeforeBlock[i] = blockInfo.kill;
             nullableAfterBlock[i] = blockInfo.phiDefs;
+            liveOut[i] = blockInfo.out;
+        }
+        return new LLVMLivenessAnalysisResult(nullableWithinBlock, nullableBeforeBlock, nullableAfterBlock, liveOut);
+    }
+
+    /**
+     * Computes which frame slots hold values that are alive at the same time and therefore must not
+     * share a frame slot. A value interferes with all values that are alive after its definition and
+     * with the operands of its defining instruction, so that the nuller of a dying operand cannot
+     * clear the new value. The phi values that are written at the end of a block interfere with
+     * each other and with everything that is alive at the end of the block, including the operands
+     * of the terminating instruction.
+     *
+     * Only values that could share a frame slot at all are of interest, so interference is only
+     * recorded between values of the same class in {@code slotClasses}, and not for values with a
+     * negative class. The result contains the sorted interfering frame slot indices per frame slot.
+     */
+    public static int[][] computeInterference(FrameDescriptor frame, Map<InstructionBlock, List<LLVMPhiManager.Phi>> phis, FunctionDefinition functionDefinition,
+                    LLVMLivenessAnalysisResult liveness, int[] slotClasses) {
+        int frameSize = frame.getSize();
+        Interference interference = new Interference(slotClasses);
+
+        BitSet live = new BitSet(frameSize);
+        BitSet uses = new BitSet(frameSize);
+        BitSet phiTargets = new BitSet(frameSize);
+        LLVMInterferenceReadVisitor readVisitor = new LLVMInterferenceReadVisitor(frame, uses);
+        for (InstructionBlock block : functionDefinition.getBlocks()) {
+            live.clear();
+            live.or(liveness.liveOut[block.getBlockIndex()]);
+
+            int terminatingInstructionIndex = block.getInstructionCount() - 1;
+            uses.clear();
+            block.getInstruction(terminatingInstructionIndex).accept(readVisitor);
+            live.or(uses);
+
+            phiTargets.clear();
+            for (LLVMPhiManager.Phi phi : phis.getOrDefault(block, Collections.emptyList())) {
+                int valueIndex = resolve(frame, phi.getValue());
+                if (valueIndex >= 0) {
+                    live.set(valueIndex);
+                }
+                int targetIndex = resolve(frame, phi.getPhiValue());
+                if (targetIndex >= 0) {
+                    phiTargets.set(targetIndex);
+                }
+            }
+            int targetIndex = -1;
+            while ((targetIndex = phiTargets.nextSetBit(targetIndex + 1)) >= 0) {
+                addInterference(interference, targetIndex, live);
+                addInterference(interference, targetIndex, phiTargets);
+            }
+
+            for (int j = terminatingInstructionIndex; j >= 0; j--) {
+                Instruction instruction = block.getInstruction(j);
+                int frameSlotIndex = resolve(frame, instruction);
+                if (instruction instanceof PhiInstruction) {
+                    // the operands of phi functions are read at the end of the predecessors
+                    if (frameSlotIndex >= 0) {
+                        addInterference(interference, frameSlotIndex, live);
+                        live.clear(frameSlotIndex);
+                    }
+                } else {
+                    uses.clear();
+                    instruction.accept(readVisitor);
+                    if (frameSlotIndex >= 0) {
+                        addInterference(interference, frameSlotIndex, live);
+                        addInterference(interference, frameSlotIndex, uses);
+                        live.clear(frameSlotIndex);
+                    }
+                    live.or(uses);
+                }
+            }
+        }
+        return interference.toArrays();
+    }
+
+    private static void addInterference(Interference interference, int frameSlotIndex, BitSet alive) {
+        if (interference.slotClasses[frameSlotIndex] < 0) {
+            return;
+        }
+        int bitIndex = -1;
+        while ((bitIndex = alive.nextSetBit(bitIndex + 1)) >= 0) {
+            if (bitIndex != frameSlotIndex && interference.slotClasses[bitIndex] == interference.slotClasses[frameSlotIndex]) {
+                interference.add(frameSlotIndex, bitIndex);
+                interference.add(bitIndex, frameSlotIndex);
+            }
+        }
+    }
+
+    /**
+     * Adjacency lists of the interference graph. The same pair of values is found at many program
+     * points, so the duplicates are dropped before a list grows.
+     */
+    private static final class Interference {
+
+        private static final int[] NONE = new int[0];
+
+        private final int[] slotClasses;
+        private final int[][] neighbors;
+        private final int[] counts;
+
+        Interference(int[] slotClasses) {
+            this.slotClasses = slotClasses;
+            this.neighbors = new int[slotClasses.length][];
+            this.counts = new int[slotClasses.length];
+        }
+
+        void add(int frameSlotIndex, int neighbor) {
+            int[] list = neighbors[frameSlotIndex];
+            int count = counts[frameSlotIndex];
+            if (list == null) {
+                list = neighbors[frameSlotIndex] = new int[4];
+            } else if (count == list.length) {
+                count = sortUnique(list, count);
+                if (count * 2 > list.length) {
+                    list = neighbors[frameSlotIndex] = Arrays.copyOf(list, list.length * 2);
+                }
+            }
+            list[count] = neighbor;
+            counts[frameSlotIndex] = count + 1;
+        }
+
+        int[][] toArrays() {
+            int[][] result = new int[neighbors.length][];
+            for (int i = 0; i < neighbors.length; i++) {
+                result[i] = neighbors[i] == null ? NONE : Arrays.copyOf(neighbors[i], sortUnique(neighbors[i], counts[i]));
+            }
+            return result;
+        }
+
+        private static int sortUnique(int[] list, int count) {
+            Arrays.sort(list, 0, count);
+            int unique = 0;
+            for (int i = 0; i < count; i++) {
+                if (unique == 0 || list[unique - 1] != list[i]) {
+                    list[unique++] = list[i];
+                }
+            }
+            return unique;
         }
-        return new LLVMLivenessAnalysisResult(nullableWithinBlock, nullableBeforeBlock, nullableAfterBlock);
     }
 
     public static class NullerInformation implements Comparable<NullerInformation> {
@@ -497,6 +649,24 @@ public final class LLVMLivenessAnalysis {
         }
     }
 
+    private static class LLVMInterferenceReadVisitor extends LLVMLocalReadVisitor {
+        private final FrameDescriptor frame;
+        private final BitSet uses;
+
+        LLVMInterferenceReadVisitor(FrameDescriptor frame, BitSet uses) {
+            this.frame = frame;
+            this.uses = uses;
+        }
+
+        @Override
+        public void visitLocalRead(Symbol symbol) {
+            int frameSlotIndex = resolve(frame, symbol);
+            if (frameSlotIndex >= 0) {
+                uses.set(frameSlotIndex);
+            }
+        }
+    }
+
     private static class LLVMNullerReadVisitor extends LLVMLocalReadVisitor {
         private final FrameDescriptor frame;
         private final int[] lastInstructionIndexTouchingLocal;
@@ -740,11 +910,13 @@ public final class LLVMLivenessAnalysis {
         private final ArrayList<NullerInformation>[] nullableWithinBlock;
         private final BitSet[] nullableBeforeBlock;
         private final BitSet[] nullableAfterBlock;
+        private final BitSet[] liveOut;
 
-        public LLVMLivenessAnalysisResult(ArrayList<NullerInformation>[] nullableWithinBlock, BitSet[] nullableBeforeBlock, BitSet[] nullableAfterBlock) {
+        public LLVMLivenessAnalysisResult(ArrayList<NullerInformation>[] nullableWithinBlock, BitSet[] nullableBeforeBlock, BitSet[] nullableAfterBlock, BitSet[] liveOut) {
             this.nullableWithinBlock = nullableWithinBlock;
             this.nullableBeforeBlock = nullableBeforeBlock;
             this.nullableAfterBlock = nullableAfterBlock;
+            this.liveOut = liveOut;
         }
 
         public ArrayList<NullerInformation>[] getNullableWithinBlock() {
@@ -758,5 +930,9 @@ public final class LLVMLivenessAnalysis {
         public BitSet[] getNullableAfterBlock() {
             return nullableAfterBlock;
         }
+
+        public BitSet[] getLiveOut() {
+            return liveOut;
+        }
     }
 }
@@ -166,24 +166,25 @@ public final class LLVMParserRuntime {
     private LLVMExpressionNode[] createGlobalVariableInitializationNodes(LLVMSymbolReadResolver symbolResolver, List<GlobalValueSymbol> globals) {
         final List<LLVMExpressionNode> globalNodes = new ArrayList<>();
         for (GlobalValueSymbol global : globals) {
-            final LLVMExpressionNode store = createGlobalInitialization(symbolResolver, global);
-            if (store != null) {
-                globalNodes.add(store);
-            }
+            createGlobalInitialization(symbolResolver, global, globalNodes);
         }
         return globalNodes.toArray(new LLVMExpressionNode[globalNodes.size()]);
     }
 
-    private LLVMExpressionNode createGlobalInitialization(LLVMSymbolReadResolver symbolResolver, GlobalValueSymbol global) {
+    private void createGlobalInitialization(LLVMSymbolReadResolver symbolResolver, GlobalValueSymbol global, List<LLVMExpressionNode> globalNodes) {
         if (global == null || global.getValue() == null) {
-            return null;
+            return;
+        }
+
+        final Type type = ((PointerType) global.getType()).getPointeeType();
+        final int size = getContext().getByteSize(type);
+        if (size != 0 && (type instanceof ArrayType || type instanceof StructureType) && LLVMConstantImage.isSupported(global.getValue())) {
+            createGlobalImageInitialization(symbolResolver, global, type, globalNodes);
+            return;
         }
 
         LLVMExpressionNode constant = symbolResolver.resolve(global.getValue());
         if (constant != null) {
-            final Type type = ((PointerType) global.getType()).getPointeeType();
-            final int size = getContext().getByteSize(type);
-
             final LLVMExpressionNode globalVarAddress = getGlobalVariable(symbolResolver, global);
 
             if (size != 0) {
@@ -194,11 +195,25 @@ public final class LLVMParserRuntime {
                     final Type t = global.getValue().getType();
                     store = nodeFactory.createStore(this, globalVarAddress, constant, t, null);
                 }
-                return store;
+                globalNodes.add(store);
             }
         }
+    }
 
-        return null;
+    private void createGlobalImageInitialization(LLVMSymbolReadResolver symbolResolver, GlobalValueSymbol global, Type type, List<LLVMExpressionNode> globalNodes) {
+        // copy the constant parts at once, then patch the values that are only known at runtime
+        final LLVMConstantImage image = LLVMConstantImage.create(getContext(), global.getValue(), type);
+        globalNodes.add(nodeFactory.createConstantImage(this, getGlobalVariable(symbolResolver, global), image.getData()));
+
+        for (LLVMConstantImage.Relocation relocation : image.getRelocations()) {
+            final LLVMExpressionNode value = symbolResolver.resolve(relocation.getValue());
+            if (value == null) {
+                continue;
+            }
+            final LLVMExpressionNode offset = nodeFactory.createLiteral(this, (long) relocation.getOffset(), PrimitiveType.I64);
+            final LLVMExpressionNode address = nodeFactory.createTypedElementPointer(this, getGlobalVariable(symbolResolver, global), offset, 1, relocation.getType());
+            globalNodes.add(nodeFactory.createStore(this, address, value, relocation.getType(), null));
+        }
     }
 
     private LLVMExpressionNode getGlobalVariable(LLVMSymbolReadResolver symbolResolver, GlobalValueSymbol global) {
@@ -57,9 +57,11 @@ import com.oracle.truffle.llvm.runtime.LLVMFunctionDescriptor.LazyToTruffleConve
 import com.oracle.truffle.llvm.runtime.debug.scope.LLVMSourceLocation;
 import com.oracle.truffle.llvm.runtime.memory.LLVMStack;
 import com.oracle.truffle.llvm.runtime.nodes.api.LLVMExpressionNode;
+import com.oracle.truffle.llvm.runtime.options.SulongEngineOption;
 import com.oracle.truffle.llvm.runtime.types.PointerType;
 import com.oracle.truffle.llvm.runtime.types.PrimitiveType;
 import com.oracle.truffle.llvm.runtime.types.StructureType;
+import com.oracle.truffle.llvm.runtime.types.Type;
 
 public class LazyToTruffleConverterImpl implements LazyToTruffleConverter {
     private final LLVMParserRuntime runtime;
@@ -89,17 +91,24 @@ public class LazyToTruffleConverterImpl implements LazyToTruffleConverter {
         CompilerAsserts.neverPartOfCompilation();
 
         LLVMLivenessAnalysisResult liveness = LLVMLivenessAnalysis.computeLiveness(frame, context, phis, method);
-        LLVMBitcodeFunctionVisitor visitor = new LLVMBitcodeFunctionVisitor(runtime, frame, labels, phis, nodeFactory, method.getParameters().size(),
-                        new LLVMSymbolReadResolver(runtime, method, frame, labels), method, liveness);
+        LLVMFrameSlotAllocation frameSlots;
+        if (context.getEnv().getOptions().get(SulongEngineOption.COALESCE_FRAME_SLOTS)) {
+            frameSlots = LLVMFrameSlotAllocation.coalesce(frame, phis, method, liveness);
+        } else {
+            frameSlots = LLVMFrameSlotAllocation.identity(frame);
+        }
+        LLVMBitcodeFunctionVisitor visitor = new LLVMBitcodeFunctionVisitor(runtime, frameSlots, labels, phis, nodeFactory, method.getParameters().size(),
+                        new LLVMSymbolReadResolver(runtime, method, frameSlots, labels), method, liveness);
         method.accept(visitor);
-        FrameSlot[][] nullableBeforeBlock = getNullableFrameSlots(liveness.getNullableBeforeBlock());
-        FrameSlot[][] nullableAfterBlock = getNullableFrameSlots(liveness.getNullableAfterBlock());
-        LLVMExpressionNode body = nodeFactory.createFunctionBlockNode(runtime, frame.findFrameSlot(LLVMException.FRAME_SLOT_ID), visitor.getBlocks(), nullableBeforeBlock, nullableAfterBlock);
+        FrameSlot[][] nullableBeforeBlock = getNullableFrameSlots(frameSlots, liveness.getNullableBeforeBlock());
+        FrameSlot[][] nullableAfterBlock = getNullableFrameSlots(frameSlots, liveness.getNullableAfterBlock());
+        LLVMExpressionNode body = nodeFactory.createFunctionBlockNode(runtime, frameSlots.getSlot(LLVMException.FRAME_SLOT_ID), visitor.getBlocks(), nullableBeforeBlock, nullableAfterBlock);
 
-        List<LLVMExpressionNode> copyArgumentsToFrame = copyArgumentsToFrame();
+        Type[] argumentTypes = getPackableArgumentTypes();
+        List<LLVMExpressionNode> copyArgumentsToFrame = copyArgumentsToFrame(frameSlots, argumentTypes);
         LLVMExpressionNode[] copyArgumentsToFrameArray = copyArgumentsToFrame.toArray(new LLVMExpressionNode[copyArgumentsToFrame.size()]);
         SourceSection sourceSection = method.getSourceSection();
-        RootNode rootNode = nodeFactory.createFunctionStartNode(runtime, body, copyArgumentsToFrameArray, sourceSection, frame, method, source);
+        RootNode rootNode = nodeFactory.createFunctionStartNode(runtime, body, copyArgumentsToFrameArray, sourceSection, frameSlots.getFrame(), method, source, argumentTypes);
 
         final LLVMSourceLocation sourceScope = method.getLexicalScope();
         if (sourceScope != null) {
@@ -109,36 +118,48 @@ public class LazyToTruffleConverterImpl implements LazyToTruffleConverter {
         return Truffle.getRuntime().createCallTarget(rootNode);
     }
 
-    private FrameSlot[][] getNullableFrameSlots(BitSet[] nullableBeforeBlock) {
-        List<? extends FrameSlot> frameSlots = frame.getSlots();
+    private static FrameSlot[][] getNullableFrameSlots(LLVMFrameSlotAllocation frameSlots, BitSet[] nullableBeforeBlock) {
         FrameSlot[][] result = new FrameSlot[nullableBeforeBlock.length][];
+        BitSet nulledSlots = new BitSet(frameSlots.getFrame().getSize());
         for (int i = 0; i < nullableBeforeBlock.length; i++) {
             BitSet nullable = nullableBeforeBlock[i];
             int bitIndex = -1;
 
             ArrayList<FrameSlot> nullableBefore = new ArrayList<>();
+            nulledSlots.clear();
             while ((bitIndex = nullable.nextSetBit(bitIndex + 1)) >= 0) {
-                FrameSlot frameSlot = frameSlots.get(bitIndex);
-                nullableBefore.add(frameSlot);
+                FrameSlot frameSlot = frameSlots.getSlot(bitIndex);
+                // values that share a frame slot only need to be nulled once
+                if (!nulledSlots.get(frameSlot.getIndex())) {
+                    nulledSlots.set(frameSlot.getIndex());
+                    nullableBefore.add(frameSlot);
+                }
             }
             result[i] = nullableBefore.toArray(new FrameSlot[0]);
         }
         return result;
     }
 
-    private List<LLVMExpressionNode> copyArgumentsToFrame() {
+    private List<LLVMExpressionNode> copyArgumentsToFrame(LLVMFrameSlotAllocation frameSlots, Type[] argumentTypes) {
         List<FunctionParameter> parameters = method.getParameters();
         List<LLVMExpressionNode> formalParamInits = new ArrayList<>();
-        LLVMExpressionNode stackPointerNode = nodeFactory.createFunctionArgNode(0, PrimitiveType.I64);
-        formalParamInits.add(nodeFactory.createFrameWrite(runtime, PrimitiveType.I64, stackPointerNode, frame.findFrameSlot(LLVMStack.FRAME_ID), null));
-
-        int argIndex = 1;
-        if (method.getType().getReturnType() instanceof StructureType) {
-            argIndex++;
+        LLVMExpressionNode stackPointerNode;
+        if (argumentTypes != null) {
+            stackPointerNode = nodeFactory.createPackedFunctionArgNode(0, argumentTypes);
+        } else {
+            stackPointerNode = nodeFactory.createFunctionArgNode(0, PrimitiveType.I64);
         }
+        formalParamInits.add(nodeFactory.createFrameWrite(runtime, PrimitiveType.I64, stackPointerNode, frameSlots.getSlot(LLVMStack.FRAME_ID), null));
+
+        int argIndex = getFirstParameterIndex();
         for (FunctionParameter parameter : parameters) {
-            LLVMExpressionNode parameterNode = nodeFactory.createFunctionArgNode(argIndex++, parameter.getType());
-            FrameSlot slot = frame.findFrameSlot(parameter.getName());
+            LLVMExpressionNode parameterNode;
+            if (argumentTypes != null) {
+                parameterNode = nodeFactory.createPackedFunctionArgNode(argIndex++, argumentTypes);
+            } else {
+                parameterNode = nodeFactory.createFunctionArgNode(argIndex++, parameter.getType());
+            }
+            FrameSlot slot = frameSlots.getSlot(parameter.getName());
             if (isStructByValue(parameter)) {
                 int size = runtime.getContext().getByteSize(((PointerType) parameter.getType()).getPointeeType());
                 int alignment = runtime.getContext().getByteAlignment(((PointerType) parameter.getType()).getPointeeType());
@@ -150,6 +171,31 @@ public class LazyToTruffleConverterImpl implements LazyToTruffleConverter {
         return formalParamInits;
     }
 
+    /**
+     * The types of all arguments including the stack pointer, if callers may pass primitive
+     * arguments unboxed.
+     */
+    private Type[] getPackableArgumentTypes() {
+        if (method.getType().isVarargs() || !context.getEnv().getOptions().get(SulongEngineOption.PRIMITIVE_ARGUMENTS)) {
+            return null;
+        }
+        int firstParameterIndex = getFirstParameterIndex();
+        List<FunctionParameter> parameters = method.getParameters();
+        Type[] argumentTypes = new Type[firstParameterIndex + parameters.size()];
+        argumentTypes[0] = PrimitiveType.I64;
+        if (firstParameterIndex > 1) {
+            argumentTypes[1] = new PointerType(method.getType().getReturnType());
+        }
+        for (int i = 0; i < parameters.size(); i++) {
+            argumentTypes[firstParameterIndex + i] = parameters.get(i).getType();
+        }
+        return argumentTypes;
+    }
+
+    private int getFirstParameterIndex() {
+        return method.getType().getReturnType() instanceof StructureType ? 2 : 1;
+    }
+
     private static boolean isStructByValue(FunctionParameter parameter) {
         if (parameter.getType() instanceof PointerType && parameter.getParameterAttribute() != null) {
             for (Attribute a : parameter.getParameterAttribute().getAttributes()) {
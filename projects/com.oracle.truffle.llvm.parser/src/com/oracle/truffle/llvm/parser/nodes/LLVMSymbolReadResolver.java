@@ -29,8 +29,8 @@
  */
 package com.oracle.truffle.llvm.parser.nodes;
 
-import com.oracle.truffle.api.frame.FrameDescriptor;
 import com.oracle.truffle.api.frame.FrameSlot;
+import com.oracle.truffle.llvm.parser.LLVMFrameSlotAllocation;
 import com.oracle.truffle.llvm.parser.LLVMLabelList;
 import com.oracle.truffle.llvm.parser.LLVMParserRuntime;
 import com.oracle.truffle.llvm.parser.NodeFactory;
@@ -99,7 +99,7 @@ public final class LLVMSymbolReadResolver {
 
     private final LLVMParserRuntime runtime;
     private final FunctionDefinition method;
-    private final FrameDescriptor frame;
+    private final LLVMFrameSlotAllocation frameSlots;
     private final Map<String, Integer> labels;
     private final LLVMLabelList allLabels;
 
@@ -437,7 +437,7 @@ public final class LLVMSymbolReadResolver {
 
         @Override
         public void visitValueInstruction(ValueInstruction value) {
-            final FrameSlot slot = frame.findFrameSlot(value.getName());
+            final FrameSlot slot = frameSlots.getSlot(value.getName());
             resolvedNode = runtime.getNodeFactory().createFrameRead(runtime, value.getType(), slot);
         }
     }
@@ -446,14 +446,14 @@ public final class LLVMSymbolReadResolver {
         this(runtime, null, null, null, allLabels);
     }
 
-    public LLVMSymbolReadResolver(LLVMParserRuntime runtime, FunctionDefinition method, FrameDescriptor frame, Map<String, Integer> labels) {
-        this(runtime, method, frame, labels, null);
+    public LLVMSymbolReadResolver(LLVMParserRuntime runtime, FunctionDefinition method, LLVMFrameSlotAllocation frameSlots, Map<String, Integer> labels) {
+        this(runtime, method, frameSlots, labels, null);
     }
 
-    private LLVMSymbolReadResolver(LLVMParserRuntime runtime, FunctionDefinition method, FrameDescriptor frame, Map<String, Integer> labels, LLVMLabelList allLabels) {
+    private LLVMSymbolReadResolver(LLVMParserRuntime runtime, FunctionDefinition method, LLVMFrameSlotAllocation frameSlots, Map<String, Integer> labels, LLVMLabelList allLabels) {
         this.runtime = runtime;
         this.method = method;
-        this.frame = frame;
+        this.frameSlots = frameSlots;
         this.labels = labels;
         this.allLabels = allLabels;
     }
@@ -527,7 +527,7 @@ public final class LLVMSymbolReadResolver {
             ((GlobalValueSymbol) symbol).accept(visitor);
 
         } else if (symbol instanceof FunctionParameter) {
-            final FrameSlot slot = frame.findFrameSlot(((FunctionParameter) symbol).getName());
+            final FrameSlot slot = frameSlots.getSlot(((FunctionParameter) symbol).getName());
             resolvedNode = runtime.getNodeFactory().createFrameRead(runtime, symbol.getType(), slot);
 
         } else {
@@ -30,14 +30,22 @@
 package com.oracle.truffle.llvm.parser.scanner;
 
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 
 public final class BitStream {
 
     private static final long BYTE_MASK = 0xffL;
     private final ByteBuffer bitstream;
 
+    // little-endian view of the bitstream to read whole 64-bit words at once, this also works
+    // without copying for memory-mapped files
+    private final ByteBuffer words;
+    private final long capacity;
+
     private BitStream(ByteBuffer bitstream) {
         this.bitstream = bitstream;
+        this.words = bitstream.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        this.capacity = bitstream.capacity();
     }
 
     public static BitStream create(ByteBuffer bytes) {
@@ -83,6 +91,22 @@ public final class BitStream {
         long datum;
         long o = offset;
         long dmask = 1 << (width - 1);
+
+        // fast path: decode as many chunks as possible from a single 64-bit window
+        final long chunkMask = (1L << width) - 1L;
+        long window = read(offset);
+        for (long consumed = width; consumed <= Long.SIZE; consumed += width) {
+            datum = window & chunkMask;
+            value += (datum & (dmask - 1)) << shift;
+            if ((datum & dmask) == 0) {
+                return value;
+            }
+            window >>>= width;
+            shift += width - 1;
+            o += width;
+        }
+
+        // the value did not fit into the window, continue chunk by chunk
         do {
             datum = read(o, width);
             o += width;
@@ -97,6 +121,22 @@ public final class BitStream {
     }
 
     private long read(long offset) {
+        final long div = offset / Byte.SIZE;
+        if (div + Long.BYTES < capacity) {
+            // there is at least one more byte after the current word
+            long value = words.getLong((int) div);
+            final long mod = offset & (Byte.SIZE - 1L);
+            if (mod != 0) {
+                value >>>= mod;
+                value |= (words.get((int) (div + Long.BYTES)) & BYTE_MASK) << (Long.SIZE - mod);
+            }
+            return value;
+        }
+        // near the end of the stream, missing bytes are read as zero
+        return readBytewise(offset);
+    }
+
+    private long readBytewise(long offset) {
         long div = offset / Byte.SIZE;
         long value = 0;
         for (int i = 0; i < Byte.SIZE; i++) {
@@ -111,7 +151,7 @@ public final class BitStream {
     }
 
     private long readAlignedByte(long i) {
-        return i < bitstream.capacity() ? bitstream.get((int) i) & BYTE_MASK : 0;
+        return i < capacity ? bitstream.get((int) i) & BYTE_MASK : 0;
     }
 
     public ByteBuffer getBitstream() {
@@ -61,6 +61,10 @@ public enum Block {
         this.id = id;
     }
 
+    int getId() {
+        return id;
+    }
+
     static Block lookup(long id) {
         for (Block block : values()) {
             if (block.id == id) {
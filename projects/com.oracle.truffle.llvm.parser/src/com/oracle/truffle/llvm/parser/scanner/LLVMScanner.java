@@ -32,6 +32,7 @@ package com.oracle.truffle.llvm.parser.scanner;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.file.Path;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -63,7 +64,7 @@ public final class LLVMScanner {
 
     private final BitStream bitstream;
 
-    private final Map<Block, List<List<AbbreviatedRecord>>> defaultAbbreviations = new HashMap<>();
+    private final Map<Block, List<List<AbbreviatedRecord>>> defaultAbbreviations;
 
     private final Deque<ScannerState> parents = new ArrayDeque<>(MAX_BLOCK_DEPTH);
 
@@ -77,16 +78,58 @@ public final class LLVMScanner {
 
     private long offset;
 
-    private LLVMScanner(BitStream bitstream, ParserListener listener) {
+    // function blocks whose decoding was deferred, or null if they are decoded in place
+    private final List<DeferredFunction> deferredFunctions;
+
+    private LLVMScanner(BitStream bitstream, ParserListener listener, boolean deferFunctions) {
         this.bitstream = bitstream;
         this.parser = listener;
         this.block = Block.ROOT;
         this.idSize = DEFAULT_ID_SIZE;
         this.offset = 0;
+        this.defaultAbbreviations = new HashMap<>();
+        this.deferredFunctions = deferFunctions ? new ArrayList<>() : null;
+    }
+
+    private LLVMScanner(BitStream bitstream, Map<Block, List<List<AbbreviatedRecord>>> defaultAbbreviations, DeferredFunction function) {
+        this.bitstream = bitstream;
+        this.parser = function.listener;
+        this.block = Block.FUNCTION;
+        this.idSize = function.idSize;
+        this.offset = function.offset;
+        this.defaultAbbreviations = defaultAbbreviations;
+        this.deferredFunctions = null;
+        this.abbreviationDefinitions.addAll(defaultAbbreviations.getOrDefault(Block.FUNCTION, Collections.emptyList()));
+        // the function block returns to the module which is not scanned again
+        this.parents.push(new ScannerState(Collections.emptyList(), Block.MODULE, DEFAULT_ID_SIZE, ParserListener.DEFAULT));
+    }
+
+    private static final class DeferredFunction {
+
+        private final long offset;
+        private final int idSize;
+        private final ParserListener listener;
+
+        DeferredFunction(long offset, int idSize, ParserListener listener) {
+            this.offset = offset;
+            this.idSize = idSize;
+            this.listener = listener;
+        }
     }
 
     public static ModelModule parse(ByteBuffer bytes) {
-        final ModelModule model = new ModelModule();
+        return parse(bytes, null, false);
+    }
+
+    /**
+     * Parses the given bitcode file. If {@code cacheDirectory} is not {@code null}, the records of
+     * the bitcode are looked up in and added to the {@link RecordCache} in that directory. If
+     * {@code parallelFunctions} is set, function bodies that are not found in the cache are
+     * decoded in parallel after the module-level blocks have been scanned.
+     */
+    public static ModelModule parse(ByteBuffer bytes, Path cacheDirectory, boolean parallelFunctions) {
+        List<String> libraries = Collections.emptyList();
+        List<String> paths = Collections.emptyList();
 
         ByteBuffer b = bytes.duplicate();
         b.order(ByteOrder.LITTLE_ENDIAN);
@@ -112,10 +155,8 @@ public final class LLVMScanner {
             }
             ElfDynamicSection dynamicSection = elfFile.getDynamicSection();
             if (dynamicSection != null) {
-                List<String> libraries = dynamicSection.getDTNeeded();
-                List<String> paths = dynamicSection.getDTRPath();
-                model.addLibraries(libraries);
-                model.addLibraryPaths(paths);
+                libraries = dynamicSection.getDTNeeded();
+                paths = dynamicSection.getDTRPath();
             }
             long offset = llvmbc.getOffset();
             long size = llvmbc.getSize();
@@ -126,9 +167,37 @@ public final class LLVMScanner {
             throw new RuntimeException("Not a valid input file!");
         }
 
+        final ModelModule model = cacheDirectory == null ? scan(bitcode, parallelFunctions) : scanCached(bitcode, cacheDirectory);
+        model.addLibraries(libraries);
+        model.addLibraryPaths(paths);
+        return model;
+    }
+
+    private static ModelModule scan(ByteBuffer bitcode, boolean parallelFunctions) {
+        final ModelModule model = new ModelModule();
         final BitStream bitstream = BitStream.create(bitcode);
-        final LLVMScanner scanner = new LLVMScanner(bitstream, new Module(model));
+        final LLVMScanner scanner = new LLVMScanner(bitstream, new Module(model), parallelFunctions);
         parseBitcodeBlock(scanner);
+        if (parallelFunctions) {
+            scanner.parseDeferredFunctions();
+        }
+        return model;
+    }
+
+    private static ModelModule scanCached(ByteBuffer bitcode, Path cacheDirectory) {
+        final String key = RecordCache.computeKey(bitcode);
+
+        final ModelModule cachedModel = new ModelModule();
+        if (RecordCache.replay(cacheDirectory, key, new Module(cachedModel))) {
+            return cachedModel;
+        }
+
+        final ModelModule model = new ModelModule();
+        final RecordCache.Recorder recorder = RecordCache.createRecorder(new Module(model));
+        // the recorder needs to see the records in order, so function blocks are not deferred
+        final LLVMScanner scanner = new LLVMScanner(BitStream.create(bitcode), recorder, false);
+        parseBitcodeBlock(scanner);
+        recorder.store(cacheDirectory, key);
         return model;
     }
 
@@ -150,6 +219,22 @@ public final class LLVMScanner {
         }
     }
 
+    /**
+     * Decodes the function blocks that were skipped while scanning the module. Function blocks only
+     * depend on the module-level type, constant, attribute and metadata tables, which are complete
+     * at this point and are only read while decoding the bodies. Every body gets its own scanner
+     * and listener, so the bodies can be decoded independently of each other.
+     */
+    private void parseDeferredFunctions() {
+        deferredFunctions.parallelStream().forEach(function -> {
+            final LLVMScanner functionScanner = new LLVMScanner(bitstream, defaultAbbreviations, function);
+            while (!functionScanner.parents.isEmpty()) {
+                functionScanner.scanNext();
+            }
+        });
+        deferredFunctions.clear();
+    }
+
     private static <V> List<V> subList(List<V> original, int from) {
         final List<V> newList = new ArrayList<>(original.size() - from);
         for (int i = from; i < original.size(); i++) {
@@ -211,7 +296,9 @@ public final class LLVMScanner {
     }
 
     private void abbreviatedRecord(int recordId) {
-        abbreviationDefinitions.get(recordId - BuiltinIDs.CUSTOM_ABBREV_OFFSET).forEach(AbbreviatedRecord::scan);
+        for (AbbreviatedRecord abbreviatedRecord : abbreviationDefinitions.get(recordId - BuiltinIDs.CUSTOM_ABBREV_OFFSET)) {
+            abbreviatedRecord.scan(this);
+        }
         passRecordToParser();
     }
 
@@ -235,7 +322,7 @@ public final class LLVMScanner {
             final boolean isLiteral = read(Primitive.USER_OPERAND_LITERALBIT) == 1;
             if (isLiteral) {
                 final long fixedValue = read(Primitive.USER_OPERAND_LITERAL);
-                operandScanners.add(() -> recordBuffer.addOp(fixedValue));
+                operandScanners.add(scanner -> scanner.recordBuffer.addOp(fixedValue));
 
             } else {
 
@@ -244,18 +331,18 @@ public final class LLVMScanner {
                 switch ((int) recordType) {
                     case AbbrevRecordId.FIXED: {
                         final int width = (int) read(Primitive.USER_OPERAND_DATA);
-                        operandScanners.add(() -> {
-                            final long op = read(width);
-                            recordBuffer.addOp(op);
+                        operandScanners.add(scanner -> {
+                            final long op = scanner.read(width);
+                            scanner.recordBuffer.addOp(op);
                         });
                         break;
                     }
 
                     case AbbrevRecordId.VBR: {
                         final int width = (int) read(Primitive.USER_OPERAND_DATA);
-                        operandScanners.add(() -> {
-                            final long op = readVBR(width);
-                            recordBuffer.addOp(op);
+                        operandScanners.add(scanner -> {
+                            final long op = scanner.readVBR(width);
+                            scanner.recordBuffer.addOp(op);
                         });
                         break;
                     }
@@ -268,25 +355,25 @@ public final class LLVMScanner {
                         break;
 
                     case AbbrevRecordId.CHAR6:
-                        operandScanners.add(() -> {
-                            final long op = readChar();
-                            recordBuffer.addOp(op);
+                        operandScanners.add(scanner -> {
+                            final long op = scanner.readChar();
+                            scanner.recordBuffer.addOp(op);
                         });
                         break;
 
                     case AbbrevRecordId.BLOB:
-                        operandScanners.add(() -> {
-                            long blobLength = read(Primitive.USER_OPERAND_BLOB_LENGTH);
-                            alignInt();
+                        operandScanners.add(scanner -> {
+                            long blobLength = scanner.read(Primitive.USER_OPERAND_BLOB_LENGTH);
+                            scanner.alignInt();
                             final long maxBlobPartLength = Long.SIZE / Primitive.USER_OPERAND_LITERAL.getBits();
-                            recordBuffer.ensureFits(blobLength / maxBlobPartLength);
+                            scanner.recordBuffer.ensureFits(blobLength / maxBlobPartLength);
                             while (blobLength > 0) {
                                 final long l = blobLength <= maxBlobPartLength ? blobLength : maxBlobPartLength;
-                                final long blobValue = read((int) (Primitive.USER_OPERAND_LITERAL.getBits() * l));
-                                recordBuffer.addOp(blobValue);
+                                final long blobValue = scanner.read((int) (Primitive.USER_OPERAND_LITERAL.getBits() * l));
+                                scanner.recordBuffer.addOp(blobValue);
                                 blobLength -= l;
                             }
-                            alignInt();
+                            scanner.alignInt();
                         });
                         break;
 
@@ -301,11 +388,11 @@ public final class LLVMScanner {
 
         if (containsArrayOperand) {
             final AbbreviatedRecord elementScanner = operandScanners.get(operandScanners.size() - 1);
-            final AbbreviatedRecord arrayScanner = () -> {
-                final long arrayLength = read(Primitive.USER_OPERAND_ARRAY_LENGTH);
-                recordBuffer.ensureFits(arrayLength);
+            final AbbreviatedRecord arrayScanner = scanner -> {
+                final long arrayLength = scanner.read(Primitive.USER_OPERAND_ARRAY_LENGTH);
+                scanner.recordBuffer.ensureFits(arrayLength);
                 for (int j = 0; j < arrayLength; j++) {
-                    elementScanner.scan();
+                    elementScanner.scan(scanner);
                 }
             };
             operandScanners.set(operandScanners.size() - 1, arrayScanner);
@@ -324,6 +411,12 @@ public final class LLVMScanner {
         if (subBlock == null) {
             offset += numWords * Integer.SIZE;
 
+        } else if (deferredFunctions != null && subBlock == Block.FUNCTION && block == Block.MODULE) {
+            // create the listener now so that function definitions are assigned in order, but
+            // skip the body until the module has been scanned completely
+            deferredFunctions.add(new DeferredFunction(offset, (int) newIdSize, parser.enter(subBlock)));
+            offset += numWords * Integer.SIZE;
+
         } else {
             final int localAbbreviationDefinitionsOffset = defaultAbbreviations.getOrDefault(block, Collections.emptyList()).size();
             parents.push(new ScannerState(subList(abbreviationDefinitions, localAbbreviationDefinitionsOffset), block, idSize, parser));
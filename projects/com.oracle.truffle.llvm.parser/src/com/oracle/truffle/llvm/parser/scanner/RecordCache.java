@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.parser.scanner;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+import com.oracle.truffle.llvm.parser.listeners.ParserListener;
+
+/**
+ * On-disk cache of the records the {@link LLVMScanner} passes to its {@link ParserListener}s.
+ * Entries are keyed by a hash of the bitcode and store the sequence of block entries, block exits
+ * and records in a compact variable-length encoding. Replaying an entry into a fresh listener
+ * produces the same model as scanning the bitcode, without decoding abbreviations and bit-level
+ * fields again.
+ */
+final class RecordCache {
+
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final String FILE_SUFFIX = ".records";
+
+    private static final int MAGIC = 0x53524331; // 'SRC1'
+    private static final int HEADER_BYTES = 2 * Integer.BYTES;
+
+    private static final int VERSION = 1;
+
+    private static final byte TAG_ENTER = 0;
+    private static final byte TAG_EXIT = 1;
+    private static final byte TAG_RECORD = 2;
+
+    private static final int VARINT_PAYLOAD_BITS = 7;
+    private static final int VARINT_PAYLOAD_MASK = 0x7f;
+    private static final int VARINT_CONTINUE = 0x80;
+    private static final int BYTE_MASK = 0xff;
+    private static final int HEX_RADIX = 16;
+    private static final int HEX_DIGIT_BITS = 4;
+    private static final int HEX_DIGIT_MASK = 0xf;
+
+    private static final int INITIAL_BUFFER_SIZE = 1 << 16;
+
+    private RecordCache() {
+    }
+
+    static String computeKey(ByteBuffer bitcode) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        digest.update(bitcode.duplicate());
+        final byte[] hash = digest.digest();
+        final StringBuilder key = new StringBuilder(hash.length * 2);
+        for (byte b : hash) {
+            key.append(Character.forDigit((b >> HEX_DIGIT_BITS) & HEX_DIGIT_MASK, HEX_RADIX));
+            key.append(Character.forDigit(b & HEX_DIGIT_MASK, HEX_RADIX));
+        }
+        return key.toString();
+    }
+
+    /**
+     * Replays a cached entry into {@code listener}. Returns {@code false} if there is no usable
+     * entry for {@code key}. If the entry turns out to be corrupt while replaying, the listener
+     * may already have received some records and must be discarded by the caller.
+     */
+    static boolean replay(Path directory, String key, ParserListener listener) {
+        final Path file = directory.resolve(key + FILE_SUFFIX);
+        if (!Files.isRegularFile(file)) {
+            return false;
+        }
+
+        final ByteBuffer data;
+        try {
+            data = ByteBuffer.wrap(Files.readAllBytes(file));
+        } catch (IOException e) {
+            return false;
+        }
+
+        if (data.remaining() < HEADER_BYTES || data.getInt() != MAGIC || data.getInt() != VERSION) {
+            return false;
+        }
+
+        try {
+            // the root block is never exited explicitly
+            return !replayBlock(data, listener);
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Replays the records of one block and returns whether the block was properly exited.
+     */
+    private static boolean replayBlock(ByteBuffer data, ParserListener listener) {
+        while (data.hasRemaining()) {
+            final byte tag = data.get();
+            switch (tag) {
+                case TAG_ENTER: {
+                    final ParserListener child = listener.enter(Block.lookup(readVarInt(data)));
+                    if (!replayBlock(data, child)) {
+                        throw new IllegalStateException("Truncated record cache entry!");
+                    }
+                    break;
+                }
+
+                case TAG_EXIT:
+                    listener.exit();
+                    return true;
+
+                case TAG_RECORD: {
+                    final long id = readVarInt(data);
+                    final int count = (int) readVarInt(data);
+                    // listeners may keep the array, just like the ones produced by the scanner
+                    final long[] args = new long[count];
+                    for (int i = 0; i < count; i++) {
+                        args[i] = readVarInt(data);
+                    }
+                    listener.record(id, args);
+                    break;
+                }
+
+                default:
+                    throw new IllegalStateException("Unknown record cache tag: " + tag);
+            }
+        }
+        return false;
+    }
+
+    private static long readVarInt(ByteBuffer data) {
+        long value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = data.get() & BYTE_MASK;
+            value |= ((long) (b & VARINT_PAYLOAD_MASK)) << shift;
+            shift += VARINT_PAYLOAD_BITS;
+        } while ((b & VARINT_CONTINUE) != 0);
+        return value;
+    }
+
+    static Recorder createRecorder(ParserListener delegate) {
+        return new Recorder(delegate, new Output());
+    }
+
+    /**
+     * A {@link ParserListener} that forwards everything to the listener it wraps and remembers
+     * it so that it can be written to the cache once the module is complete.
+     */
+    static final class Recorder implements ParserListener {
+
+        private final ParserListener delegate;
+        private final Output output;
+
+        private Recorder(ParserListener delegate, Output output) {
+            this.delegate = delegate;
+            this.output = output;
+        }
+
+        @Override
+        public ParserListener enter(Block block) {
+            output.writeByte(TAG_ENTER);
+            output.writeVarInt(block.getId());
+            return new Recorder(delegate.enter(block), output);
+        }
+
+        @Override
+        public void exit() {
+            output.writeByte(TAG_EXIT);
+            delegate.exit();
+        }
+
+        @Override
+        public void record(long id, long[] args) {
+            output.writeByte(TAG_RECORD);
+            output.writeVarInt(id);
+            output.writeVarInt(args.length);
+            for (long arg : args) {
+                output.writeVarInt(arg);
+            }
+            delegate.record(id, args);
+        }
+
+        /**
+         * Writes the recorded stream to the cache. The cache is best effort: if the entry cannot
+         * be written the module is simply scanned again next time.
+         */
+        void store(Path directory, String key) {
+            try {
+                Files.createDirectories(directory);
+                final Path tmp = Files.createTempFile(directory, key, null);
+                try {
+                    final ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+                    header.putInt(MAGIC);
+                    header.putInt(VERSION);
+                    final byte[] content = new byte[HEADER_BYTES + output.size];
+                    System.arraycopy(header.array(), 0, content, 0, HEADER_BYTES);
+                    System.arraycopy(output.buffer, 0, content, HEADER_BYTES, output.size);
+                    Files.write(tmp, content);
+                    Files.move(tmp, directory.resolve(key + FILE_SUFFIX), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } finally {
+                    Files.deleteIfExists(tmp);
+                }
+            } catch (IOException | UnsupportedOperationException e) {
+                // ignore, the cache entry is optional
+            }
+        }
+    }
+
+    private static final class Output {
+
+        private byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+        private int size = 0;
+
+        void writeByte(int b) {
+            if (size == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            buffer[size++] = (byte) b;
+        }
+
+        void writeVarInt(long value) {
+            long v = value;
+            while ((v & ~VARINT_PAYLOAD_MASK) != 0) {
+                writeByte((int) ((v & VARINT_PAYLOAD_MASK) | VARINT_CONTINUE));
+                v >>>= VARINT_PAYLOAD_BITS;
+            }
+            writeByte((int) v);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.runtime;
+
+import java.util.Arrays;
+
+import com.oracle.truffle.api.CompilerDirectives;
+
+/**
+ * The stack of C++ exceptions that are currently being handled by a thread (i.e., between
+ * {@code __cxa_begin_catch} and {@code __cxa_end_catch}).
+ */
+public final class LLVMCaughtExceptionStack {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private long[] exceptions = new long[INITIAL_CAPACITY];
+    private int size;
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void push(LLVMAddress exception) {
+        if (size == exceptions.length) {
+            CompilerDirectives.transferToInterpreter();
+            exceptions = Arrays.copyOf(exceptions, size * 2);
+        }
+        exceptions[size++] = exception.getVal();
+    }
+
+    public LLVMAddress peek() {
+        checkNotEmpty();
+        return LLVMAddress.fromLong(exceptions[size - 1]);
+    }
+
+    public LLVMAddress pop() {
+        checkNotEmpty();
+        return LLVMAddress.fromLong(exceptions[--size]);
+    }
+
+    private void checkNotEmpty() {
+        if (size == 0) {
+            CompilerDirectives.transferToInterpreter();
+            throw new IllegalStateException("No exception is being handled.");
+        }
+    }
+}
@@ -36,12 +36,11 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
-import java.util.IdentityHashMap;
-import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import com.oracle.truffle.api.CompilerAsserts;
@@ -52,7 +51,9 @@ import com.oracle.truffle.api.interop.TruffleObject;
 import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.llvm.runtime.datalayout.DataLayoutConverter.DataSpecConverterImpl;
 import com.oracle.truffle.llvm.runtime.debug.LLVMSourceContext;
-import com.oracle.truffle.llvm.runtime.memory.LLVMMemory;
+import com.oracle.truffle.llvm.runtime.memory.LLVMAllocator;
+import com.oracle.truffle.llvm.runtime.memory.LLVMFutexTable;
+import com.oracle.truffle.llvm.runtime.memory.LLVMMemoryMappings;
 import com.oracle.truffle.llvm.runtime.memory.LLVMThreadingStack;
 import com.oracle.truffle.llvm.runtime.options.SulongEngineOption;
 import com.oracle.truffle.llvm.runtime.types.AggregateType;
@@ -73,21 +74,26 @@ public final class LLVMContext {
     private final Deque<LLVMFunctionDescriptor> atExitFunctions = new ArrayDeque<>();
     private final List<LLVMThread> runningThreads = new ArrayList<>();
     private final LLVMThreadingStack threadingStack;
+    private final LLVMAllocator allocator;
     private final Object[] mainArguments;
     private final Map<String, String> environment;
     private Source mainSourceFile;
     private boolean bcLibrariesLoaded;
-    private final LinkedList<LLVMAddress> caughtExceptionStack = new LinkedList<>();
+    private final ThreadLocal<LLVMCaughtExceptionStack> caughtExceptionStack = ThreadLocal.withInitial(LLVMCaughtExceptionStack::new);
+    private final LLVMExceptionTypeRegistry exceptionTypeRegistry = new LLVMExceptionTypeRegistry();
+    private final LLVMFutexTable futexTable = new LLVMFutexTable();
+    private final LLVMPThreadTable pthreadTable = new LLVMPThreadTable();
+    private final LLVMMemoryMappings memoryMappings = new LLVMMemoryMappings();
+    private final LLVMFileDescriptorTable fileDescriptorTable = new LLVMFileDescriptorTable();
     private final LinkedList<DestructorStackElement> destructorStack = new LinkedList<>();
-    private final HashMap<String, Integer> nativeCallStatistics;
-    private final Object handlesLock;
-    private final IdentityHashMap<TruffleObject, LLVMAddress> toNative;
-    private final HashMap<LLVMAddress, TruffleObject> toManaged;
+    private final LLVMNativeCallStatistics nativeCallStatistics;
+    private final LLVMHandleTable handles;
     private final LLVMSourceContext sourceContext;
 
     private final Env env;
     private final LLVMScope globalScope;
     private final LLVMFunctionPointerRegistry functionPointerRegistry;
+    private final Map<Object, LLVMFunctionDescriptor> inlineAssemblyCache = new HashMap<>();
 
     private final List<ContextExtension> contextExtension;
 
@@ -145,14 +151,13 @@ public final class LLVMContext {
         this.env = env;
         this.contextExtension = contextExtension;
 
-        this.nativeCallStatistics = SulongEngineOption.isTrue(env.getOptions().get(SulongEngineOption.NATIVE_CALL_STATS)) ? new HashMap<>() : null;
+        this.nativeCallStatistics = LLVMNativeCallStatistics.isEnabled(env.getOptions().get(SulongEngineOption.NATIVE_CALL_STATS)) ? new LLVMNativeCallStatistics() : null;
         this.threadingStack = new LLVMThreadingStack(env.getOptions().get(SulongEngineOption.STACK_SIZE_KB));
+        this.allocator = LLVMAllocator.create(env.getOptions().get(SulongEngineOption.ALLOCATOR), SulongEngineOption.isTrue(env.getOptions().get(SulongEngineOption.ALLOCATION_STATS)));
         this.sigDfl = LLVMFunctionHandle.createHandle(0);
         this.sigIgn = LLVMFunctionHandle.createHandle(1);
         this.sigErr = LLVMFunctionHandle.createHandle(-1);
-        this.toNative = new IdentityHashMap<>();
-        this.toManaged = new HashMap<>();
-        this.handlesLock = new Object();
+        this.handles = new LLVMHandleTable(env.getOptions().get(SulongEngineOption.WEAK_HANDLES));
         this.functionPointerRegistry = new LLVMFunctionPointerRegistry();
         this.globalScope = LLVMScope.createGlobalScope(this);
         this.sourceContext = new LLVMSourceContext();
@@ -286,6 +291,22 @@ public final class LLVMContext {
         functionPointerRegistry.register(address, descriptor);
     }
 
+    /**
+     * Returns the function for an inline assembly snippet, so that all call sites with the same
+     * assembly, constraints and types share one parsed root and call target.
+     */
+    public LLVMFunctionDescriptor getInlineAssembly(Object key, Supplier<LLVMFunctionDescriptor> parser) {
+        CompilerAsserts.neverPartOfCompilation();
+        synchronized (inlineAssemblyCache) {
+            LLVMFunctionDescriptor descriptor = inlineAssemblyCache.get(key);
+            if (descriptor == null) {
+                descriptor = parser.get();
+                inlineAssemblyCache.put(key, descriptor);
+            }
+            return descriptor;
+        }
+    }
+
     public LLVMFunction getSigDfl() {
         return sigDfl;
     }
@@ -298,74 +319,64 @@ public final class LLVMContext {
         return sigErr;
     }
 
-    @TruffleBoundary
     public TruffleObject getManagedObjectForHandle(LLVMAddress address) {
-        synchronized (handlesLock) {
-            final TruffleObject object = toManaged.get(address);
-
-            if (object == null) {
-                throw new UnsupportedOperationException("Cannot resolve native handle: " + address);
-            }
-
-            return object;
-        }
+        return handles.getObject(address);
     }
 
-    @TruffleBoundary
     public void releaseHandle(LLVMAddress address) {
-        synchronized (handlesLock) {
-            final TruffleObject object = toManaged.get(address);
-
-            if (object == null) {
-                throw new UnsupportedOperationException("Cannot resolve native handle: " + address);
-            }
+        handles.release(address);
+    }
 
-            toManaged.remove(address);
-            toNative.remove(object);
-            LLVMMemory.free(address);
-        }
+    public void releaseHandles(long[] addresses) {
+        handles.releaseAll(addresses);
     }
 
-    @TruffleBoundary
     public LLVMAddress getHandleForManagedObject(TruffleObject object) {
-        synchronized (handlesLock) {
-            return toNative.computeIfAbsent(object, (k) -> {
-                LLVMAddress allocatedMemory = LLVMMemory.allocateMemory(Long.BYTES);
-                LLVMMemory.putI64(allocatedMemory, 0xdeadbeef);
-                toManaged.put(allocatedMemory, object);
-                return allocatedMemory;
-            });
-        }
+        return handles.getHandle(object);
     }
 
-    @TruffleBoundary
-    public void registerNativeCall(LLVMFunctionDescriptor descriptor) {
+    public void registerNativeCall(String symbol, String caller, long callNanos, long conversionNanos) {
         if (nativeCallStatistics != null) {
-            String name = descriptor.getName() + " " + descriptor.getType();
-            if (nativeCallStatistics.containsKey(name)) {
-                int count = nativeCallStatistics.get(name) + 1;
-                nativeCallStatistics.put(name, count);
-            } else {
-                nativeCallStatistics.put(name, 1);
-            }
+            nativeCallStatistics.record(symbol, caller, callNanos, conversionNanos);
         }
     }
 
     public void printNativeCallStatistic() {
         if (nativeCallStatistics != null) {
-            LinkedHashMap<String, Integer> sorted = nativeCallStatistics.entrySet().stream().sorted(Map.Entry.comparingByValue()).collect(Collectors.toMap(
-                            Map.Entry::getKey,
-                            Map.Entry::getValue,
-                            (e1, e2) -> e1,
-                            LinkedHashMap::new));
-            for (String s : sorted.keySet()) {
-                System.err.println(String.format("Function %s \t count: %d", s, sorted.get(s)));
-            }
+            nativeCallStatistics.print(env.getOptions().get(SulongEngineOption.NATIVE_CALL_STATS));
+        }
+    }
+
+    public void printAllocationStatistic() {
+        final String option = env.getOptions().get(SulongEngineOption.ALLOCATION_STATS);
+        if (SulongEngineOption.isTrue(option)) {
+            allocator.printStatistics(SulongEngineOption.getStream(option));
         }
     }
 
-    public LinkedList<LLVMAddress> getCaughtExceptionStack() {
-        return caughtExceptionStack;
+    @TruffleBoundary
+    public LLVMCaughtExceptionStack getCaughtExceptionStack() {
+        return caughtExceptionStack.get();
+    }
+
+    public LLVMExceptionTypeRegistry getExceptionTypeRegistry() {
+        return exceptionTypeRegistry;
+    }
+
+    public LLVMFutexTable getFutexTable() {
+        return futexTable;
+    }
+
+    public LLVMPThreadTable getPThreadTable() {
+        return pthreadTable;
+    }
+
+    public LLVMMemoryMappings getMemoryMappings() {
+        return memoryMappings;
+    }
+
+    public LLVMFileDescriptorTable getFileDescriptorTable() {
+        return fileDescriptorTable;
     }
 
     public LinkedList<DestructorStackElement> getDestructorStack() {
@@ -376,6 +387,10 @@ public final class LLVMContext {
         return threadingStack;
     }
 
+    public LLVMAllocator getAllocator() {
+        return allocator;
+    }
+
     public Object[] getMainArguments() {
         return mainArguments;
     }
@@ -431,13 +446,20 @@ public final class LLVMContext {
     }
 
     @TruffleBoundary
-    public synchronized void awaitThreadTermination() {
+    public void awaitThreadTermination() {
         shutdownThreads();
 
-        while (!runningThreads.isEmpty()) {
-            LLVMThread node = runningThreads.get(0);
+        // threads unregister themselves when they finish, so we must not hold the lock while waiting
+        while (true) {
+            LLVMThread node;
+            synchronized (this) {
+                if (runningThreads.isEmpty()) {
+                    return;
+                }
+                node = runningThreads.get(0);
+            }
             node.awaitFinish();
-            assert !runningThreads.contains(node); // should be unregistered by LLVMThreadNode
+            assert !getRunningThreads().contains(node); // should be unregistered by LLVMThreadNode
         }
     }
 
@@ -462,7 +484,7 @@ public final class LLVMContext {
     }
 
     public synchronized List<LLVMThread> getRunningThreads() {
-        return Collections.unmodifiableList(runningThreads);
+        return Collections.unmodifiableList(new ArrayList<>(runningThreads));
     }
 
     public boolean bcLibrariesLoaded() {
@@ -38,13 +38,26 @@ public final class LLVMException extends ControlFlowException {
     private static final long serialVersionUID = 1L;
 
     private final long ptr;
+    private final long thrownType;
 
     public LLVMException(LLVMAddress ptr) {
+        this(ptr, LLVMAddress.nullPointer());
+    }
+
+    /**
+     * @param thrownType the type info of the thrown object, or a null pointer if it is not known
+     */
+    public LLVMException(LLVMAddress ptr, LLVMAddress thrownType) {
         this.ptr = ptr.getVal();
+        this.thrownType = thrownType.getVal();
     }
 
     public LLVMAddress getPointer() {
         return LLVMAddress.fromLong(ptr);
     }
 
+    public LLVMAddress getThrownType() {
+        return LLVMAddress.fromLong(thrownType);
+    }
+
 }
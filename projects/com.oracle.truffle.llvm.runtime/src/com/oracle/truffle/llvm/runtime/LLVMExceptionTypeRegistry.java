@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.runtime;
+
+import java.util.HashMap;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * Remembers whether a C++ catch clause matches a thrown type. Whether a catch type can catch a
+ * thrown type only depends on the two type infos, so the (expensive) native check has to be done
+ * only once per pair of types.
+ */
+public final class LLVMExceptionTypeRegistry {
+
+    public static final int UNKNOWN = -1;
+    public static final int CANNOT_CATCH = 0;
+    public static final int CAN_CATCH = 1;
+
+    private static final class TypePair {
+        private final long thrownType;
+        private final long catchType;
+
+        TypePair(long thrownType, long catchType) {
+            this.thrownType = thrownType;
+            this.catchType = catchType;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof TypePair)) {
+                return false;
+            }
+            TypePair other = (TypePair) obj;
+            return thrownType == other.thrownType && catchType == other.catchType;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(thrownType) * 31 + Long.hashCode(catchType);
+        }
+    }
+
+    private final HashMap<TypePair, Boolean> canCatch = new HashMap<>();
+
+    /**
+     * Returns {@link #CAN_CATCH} or {@link #CANNOT_CATCH} if the pair of types was registered
+     * before, or {@link #UNKNOWN} otherwise.
+     */
+    @TruffleBoundary
+    public synchronized int lookup(long thrownType, long catchType) {
+        Boolean result = canCatch.get(new TypePair(thrownType, catchType));
+        if (result == null) {
+            return UNKNOWN;
+        }
+        return result ? CAN_CATCH : CANNOT_CATCH;
+    }
+
+    @TruffleBoundary
+    public synchronized void register(long thrownType, long catchType, boolean result) {
+        canCatch.put(new TypePair(thrownType, catchType), result);
+    }
+}
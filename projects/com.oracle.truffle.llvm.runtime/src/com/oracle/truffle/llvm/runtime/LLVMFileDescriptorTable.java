@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.runtime;
+
+import java.io.Closeable;
+import java.io.FileDescriptor;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.llvm.runtime.memory.LLVMMemory;
+
+import sun.misc.SharedSecrets;
+import sun.nio.ch.FileChannelImpl;
+
+/**
+ * Keeps a {@link FileChannel} open for every guest file descriptor that refers to a regular file,
+ * so that I/O system calls can be done directly on guest memory without going through native calls
+ * or creating new streams and channels every time. All I/O is done on direct byte buffers that
+ * point to guest memory.
+ *
+ * Other kinds of file descriptors (pipes, sockets, terminals) and failed operations are reported
+ * as {@link #UNSUPPORTED}, the caller then has to fall back to the native system call, which also
+ * reports the correct error code.
+ */
+public final class LLVMFileDescriptorTable {
+
+    public static final long UNSUPPORTED = Long.MIN_VALUE;
+
+    private static final int IOVEC_SIZE = 16;
+
+    // placeholder for file descriptors that are not backed by a regular file
+    private static final Object NOT_A_FILE = new Object();
+
+    // closing a channel (e.g., after an interrupt) must not close the file descriptor of the guest
+    private static final Closeable KEEP_OPEN = () -> {
+    };
+
+    private final ConcurrentHashMap<Integer, Object> channels = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the channel of a file descriptor, or {@code null} if the descriptor does not refer to a
+     * regular file.
+     */
+    @TruffleBoundary
+    public FileChannel getChannel(int fd) {
+        Object channel = channels.get(fd);
+        if (channel == null) {
+            channel = openChannel(fd);
+            Object existing = channels.putIfAbsent(fd, channel);
+            if (existing != null) {
+                channel = existing;
+            }
+        }
+        if (channel == NOT_A_FILE) {
+            return null;
+        }
+        FileChannel fileChannel = (FileChannel) channel;
+        if (!fileChannel.isOpen()) {
+            channels.remove(fd, channel);
+            return null;
+        }
+        return fileChannel;
+    }
+
+    private static Object openChannel(int fd) {
+        if (fd < 0 || !Files.isRegularFile(Paths.get("/proc/self/fd", Integer.toString(fd)))) {
+            return NOT_A_FILE;
+        }
+        FileDescriptor descriptor = new FileDescriptor();
+        SharedSecrets.getJavaIOFileDescriptorAccess().set(descriptor, fd);
+        // the access mode is checked by the OS
+        return FileChannelImpl.open(descriptor, null, true, true, KEEP_OPEN);
+    }
+
+    /**
+     * Forgets the channel of a file descriptor. Has to be called whenever the number of a file
+     * descriptor is closed or reused.
+     */
+    @TruffleBoundary
+    public void invalidate(int fd) {
+        channels.remove(fd);
+    }
+
+    private static ByteBuffer getBuffer(long address, long length) {
+        return SharedSecrets.getJavaNioAccess().newDirectByteBuffer(address, (int) Math.min(length, Integer.MAX_VALUE), null);
+    }
+
+    private static ByteBuffer[] getBuffers(long iov, int iovcnt) {
+        ByteBuffer[] buffers = new ByteBuffer[iovcnt];
+        for (int i = 0; i < iovcnt; i++) {
+            long base = LLVMMemory.getI64(iov + i * IOVEC_SIZE);
+            long length = LLVMMemory.getI64(iov + i * IOVEC_SIZE + 8);
+            buffers[i] = getBuffer(base, length);
+        }
+        return buffers;
+    }
+
+    private static long result(long count) {
+        // FileChannel reports end of file as -1, the system call as 0
+        return count < 0 ? 0 : count;
+    }
+
+    @TruffleBoundary
+    public long read(int fd, long address, long count) {
+        FileChannel channel = getChannel(fd);
+        if (channel == null) {
+            return UNSUPPORTED;
+        }
+        try {
+            return result(channel.read(getBuffer(address, count)));
+        } catch (IOException e) {
+            return UNSUPPORTED;
+        }
+    }
+
+    @TruffleBoundary
+    public long write(int fd, long address, long count) {
+        FileChannel channel = getChannel(fd);
+        if (channel == null) {
+            return UNSUPPORTED;
+        }
+        try {
+            return channel.write(getBuffer(address, count));
+        } catch (IOException e) {
+            return UNSUPPORTED;
+        }
+    }
+
+    @TruffleBoundary
+    public long pread(int fd, long address, long count, long offset) {
+        FileChannel channel = getChannel(fd);
+        if (channel == null || offset < 0) {
+            return UNSUPPORTED;
+        }
+        try {
+            return result(channel.read(getBuffer(address, count), offset));
+        } catch (IOException e) {
+            return UNSUPPORTED;
+        }
+    }
+
+    @TruffleBoundary
+    public long pwrite(int fd, long address, long count, long offset) {
+        FileChannel channel = getChannel(fd);
+        if (channel == null || offset < 0) {
+            return UNSUPPORTED;
+        }
+        try {
+            return channel.write(getBuffer(address, count), offset);
+        } catch (IOException e) {
+            return UNSUPPORTED;
+        }
+    }
+
+    @TruffleBoundary
+    public long readv(int fd, long iov, int iovcnt) {
+        FileChannel channel = getChannel(fd);
+        if (channel == null || iovcnt < 0) {
+            return UNSUPPORTED;
+        }
+        try {
+            return result(channel.read(getBuffers(iov, iovcnt)));
+        } catch (IOException e) {
+            return UNSUPPORTED;
+        }
+    }
+
+    @TruffleBoundary
+    public long writev(int fd, long iov, int iovcnt) {
+        FileChannel channel = getChannel(fd);
+        if (channel == null || iovcnt < 0) {
+            return UNSUPPORTED;
+        }
+        try {
+            return channel.write(getBuffers(iov, iovcnt));
+        } catch (IOException e) {
+            return UNSUPPORTED;
+        }
+    }
+
+    /**
+     * Copies {@code count} bytes from {@code inFd} to {@code outFd}. If {@code position} is negative,
+     * the transfer starts at, and advances, the current position of {@code inFd}.
+     */
+    @TruffleBoundary
+    public long transfer(int inFd, int outFd, long position, long count) {
+        FileChannel in = getChannel(inFd);
+        FileChannel out = getChannel(outFd);
+        if (in == null || out == null) {
+            return UNSUPPORTED;
+        }
+        try {
+            long start = position < 0 ? in.position() : position;
+            long transferred = in.transferTo(start, count, out);
+            if (position < 0) {
+                in.position(start + transferred);
+            }
+            return transferred;
+        } catch (IOException e) {
+            return UNSUPPORTED;
+        }
+    }
+}
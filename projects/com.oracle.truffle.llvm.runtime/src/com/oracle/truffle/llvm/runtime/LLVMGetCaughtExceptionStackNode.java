@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.runtime;
+
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.Node;
+
+/**
+ * Looks up the {@link LLVMCaughtExceptionStack} of the current thread. The stacks of the last few
+ * threads are cached in the node, so that compiled code does not need the thread-local lookup.
+ */
+public abstract class LLVMGetCaughtExceptionStackNode extends Node {
+
+    public static LLVMGetCaughtExceptionStackNode create() {
+        return LLVMGetCaughtExceptionStackNodeGen.create();
+    }
+
+    public abstract LLVMCaughtExceptionStack executeWithTarget(LLVMContext context, Thread currentThread);
+
+    @SuppressWarnings("unused")
+    @Specialization(limit = "3", guards = "currentThread == cachedThread")
+    public LLVMCaughtExceptionStack cached(LLVMContext context, Thread currentThread, @Cached("currentThread") Thread cachedThread,
+                    @Cached("context.getCaughtExceptionStack()") LLVMCaughtExceptionStack cachedStack) {
+        return cachedStack;
+    }
+
+    @SuppressWarnings("unused")
+    @Specialization(replaces = "cached")
+    public LLVMCaughtExceptionStack generic(LLVMContext context, Thread currentThread) {
+        return context.getCaughtExceptionStack();
+    }
+}
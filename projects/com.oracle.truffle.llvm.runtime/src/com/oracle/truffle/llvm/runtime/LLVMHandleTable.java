@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.runtime;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.interop.TruffleObject;
+
+/**
+ * Maps managed objects to native handles and back. A handle is a dense index encoded into an
+ * address range that is not canonical on any supported platform, so it can never collide with a
+ * native pointer and no native memory has to be reserved for it.
+ *
+ * The table is split into shards that are selected by the identity hash of the object. Creating and
+ * releasing a handle locks only the shard of the object, and resolving a handle does not lock at
+ * all. Objects are always compared by identity. In weak mode the table does not keep the objects
+ * alive; handles of collected objects are reclaimed lazily and can no longer be resolved.
+ */
+final class LLVMHandleTable {
+
+    private static final long HANDLE_BASE = 0x7f00000000000000L;
+    private static final long HANDLE_LIMIT = 0x7f00000800000000L;
+    private static final int HANDLE_SHIFT = 3;
+
+    private static final int SHARD_BITS = 4;
+    private static final int SHARD_COUNT = 1 << SHARD_BITS;
+    private static final int SHARD_MASK = SHARD_COUNT - 1;
+    private static final int INITIAL_SHARD_CAPACITY = 64;
+
+    private final Shard[] shards;
+    private final boolean weak;
+
+    LLVMHandleTable(boolean weak) {
+        this.weak = weak;
+        this.shards = new Shard[SHARD_COUNT];
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            shards[i] = new Shard(i);
+        }
+    }
+
+    /**
+     * A weak table entry that is also its own key in the weak mode lookup map. It keeps the identity
+     * hash of the object and is equal to another reference only if both refer to the same object.
+     */
+    private static final class HandleReference extends WeakReference<TruffleObject> {
+
+        private final int slot;
+        private final int hash;
+
+        HandleReference(TruffleObject object, int slot, ReferenceQueue<TruffleObject> queue) {
+            super(object, queue);
+            this.slot = slot;
+            this.hash = System.identityHashCode(object);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof HandleReference)) {
+                return false;
+            }
+            final TruffleObject object = get();
+            return object != null && object == ((HandleReference) obj).get();
+        }
+    }
+
+    private final class Shard {
+
+        private final int id;
+        // keyed by the object itself, or by its HandleReference in weak mode
+        private final Map<Object, Integer> slots = weak ? new HashMap<>() : new IdentityHashMap<>();
+        private final ReferenceQueue<TruffleObject> collected = weak ? new ReferenceQueue<>() : null;
+        private volatile AtomicReferenceArray<Object> entries = new AtomicReferenceArray<>(INITIAL_SHARD_CAPACITY);
+        private int[] freeSlots = new int[INITIAL_SHARD_CAPACITY];
+        private int freeCount;
+        private int nextSlot;
+
+        Shard(int id) {
+            this.id = id;
+        }
+
+        private Object key(TruffleObject object) {
+            return weak ? new HandleReference(object, -1, null) : object;
+        }
+
+        synchronized long getHandle(TruffleObject object) {
+            final Integer existing = slots.get(key(object));
+            if (existing != null) {
+                return encode(id, existing);
+            }
+            if (weak) {
+                expungeCollected();
+            }
+            final int slot = allocateSlot();
+            if (weak) {
+                final HandleReference reference = new HandleReference(object, slot, collected);
+                entries.set(slot, reference);
+                slots.put(reference, slot);
+            } else {
+                entries.set(slot, object);
+                slots.put(object, slot);
+            }
+            return encode(id, slot);
+        }
+
+        Object getEntry(int slot) {
+            final AtomicReferenceArray<Object> currentEntries = entries;
+            if (slot >= currentEntries.length()) {
+                return null;
+            }
+            return currentEntries.get(slot);
+        }
+
+        synchronized void release(int slot, long handle) {
+            final TruffleObject object = resolve(getEntry(slot), handle);
+            slots.remove(key(object));
+            freeSlot(slot);
+        }
+
+        private int allocateSlot() {
+            if (freeCount > 0) {
+                return freeSlots[--freeCount];
+            }
+            final AtomicReferenceArray<Object> currentEntries = entries;
+            if (nextSlot == currentEntries.length()) {
+                final AtomicReferenceArray<Object> newEntries = new AtomicReferenceArray<>(currentEntries.length() * 2);
+                for (int i = 0; i < currentEntries.length(); i++) {
+                    newEntries.set(i, currentEntries.get(i));
+                }
+                entries = newEntries;
+            }
+            return nextSlot++;
+        }
+
+        private void freeSlot(int slot) {
+            entries.set(slot, null);
+            if (freeCount == freeSlots.length) {
+                freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+            }
+            freeSlots[freeCount++] = slot;
+        }
+
+        private void expungeCollected() {
+            Reference<? extends TruffleObject> reference;
+            while ((reference = collected.poll()) != null) {
+                final int slot = ((HandleReference) reference).slot;
+                // the slot may have been released and reused in the meantime
+                if (entries.get(slot) == reference) {
+                    slots.remove(reference);
+                    freeSlot(slot);
+                }
+            }
+        }
+    }
+
+    private static long encode(int shard, int slot) {
+        final long index = ((long) slot << SHARD_BITS) | shard;
+        return HANDLE_BASE + (index << HANDLE_SHIFT);
+    }
+
+    private Shard getShard(long handle) {
+        return shards[(int) ((handle - HANDLE_BASE) >>> HANDLE_SHIFT) & SHARD_MASK];
+    }
+
+    private static int getSlot(long handle) {
+        return (int) ((handle - HANDLE_BASE) >>> (HANDLE_SHIFT + SHARD_BITS));
+    }
+
+    static boolean isHandle(long address) {
+        return address >= HANDLE_BASE && address < HANDLE_LIMIT && (address & ((1 << HANDLE_SHIFT) - 1)) == 0;
+    }
+
+    @TruffleBoundary
+    LLVMAddress getHandle(TruffleObject object) {
+        final Shard shard = shards[System.identityHashCode(object) & SHARD_MASK];
+        return LLVMAddress.fromLong(shard.getHandle(object));
+    }
+
+    private static TruffleObject resolve(Object entry, long handle) {
+        if (entry == null) {
+            throw new LLVMInvalidHandleException("Native handle was released", LLVMAddress.fromLong(handle));
+        } else if (entry instanceof HandleReference) {
+            final TruffleObject object = ((HandleReference) entry).get();
+            if (object == null) {
+                throw new LLVMInvalidHandleException("Object of native handle was garbage collected", LLVMAddress.fromLong(handle));
+            }
+            return object;
+        }
+        return (TruffleObject) entry;
+    }
+
+    private static void checkHandle(long handle) {
+        if (!isHandle(handle)) {
+            throw new LLVMInvalidHandleException("Not a native handle", LLVMAddress.fromLong(handle));
+        }
+    }
+
+    @TruffleBoundary
+    TruffleObject getObject(LLVMAddress address) {
+        final long handle = address.getVal();
+        checkHandle(handle);
+        return resolve(getShard(handle).getEntry(getSlot(handle)), handle);
+    }
+
+    @TruffleBoundary
+    void release(LLVMAddress address) {
+        final long handle = address.getVal();
+        checkHandle(handle);
+        getShard(handle).release(getSlot(handle), handle);
+    }
+
+    /**
+     * Releases several handles at once, taking the lock of every affected shard only once.
+     */
+    @TruffleBoundary
+    void releaseAll(long[] handles) {
+        for (long handle : handles) {
+            checkHandle(handle);
+        }
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                for (long handle : handles) {
+                    if (getShard(handle) == shard) {
+                        shard.release(getSlot(handle), handle);
+                    }
+                }
+            }
+        }
+    }
+}
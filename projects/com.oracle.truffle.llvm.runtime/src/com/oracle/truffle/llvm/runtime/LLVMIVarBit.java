@@ -42,54 +42,111 @@ import com.oracle.truffle.api.CompilerDirectives.ValueType;
 @ValueType
 public final class LLVMIVarBit {
 
+    private static final long INT_MASK = 0xFFFFFFFFL;
+
     private final int bits;
 
     private final byte[] arr; // represents value as big-endian two's-complement
 
+    /*
+     * Integers with a width of 72 to 128 bits (in whole bytes), such as i128, are stored in two
+     * longs instead of the byte array, so that common operations on them do not need to allocate a
+     * BigInteger. The high word is sign-extended from the most significant bit.
+     */
+    private final long low;
+    private final long high;
+
     private LLVMIVarBit() {
         this.bits = 0;
         this.arr = null;
+        this.low = 0;
+        this.high = 0;
+    }
+
+    private LLVMIVarBit(int bits, long high, long low) {
+        assert isTwoLong(bits);
+        this.bits = bits;
+        this.arr = null;
+        this.low = low;
+        int highShift = 2 * Long.SIZE - bits;
+        this.high = (high << highShift) >> highShift;
     }
 
     private LLVMIVarBit(int bits, byte[] arr, int arrBits, boolean signExtend) {
         this.bits = bits;
 
-        this.arr = new byte[getByteSize()];
+        byte[] bytes = new byte[getByteSize()];
         if (getByteSize() >= arr.length) {
-            System.arraycopy(arr, 0, this.arr, getByteSize() - arr.length, arr.length);
+            System.arraycopy(arr, 0, bytes, getByteSize() - arr.length, arr.length);
         } else {
-            System.arraycopy(arr, arr.length - getByteSize(), this.arr, 0, this.arr.length);
+            System.arraycopy(arr, arr.length - getByteSize(), bytes, 0, bytes.length);
         }
 
         int mostSignificantByte = arr.length - (arrBits / Byte.SIZE) - (arrBits % Byte.SIZE != 0 ? 1 : 0);
         if (mostSignificantByte >= 0) {
             boolean shouldAddLeadingOnes = signExtend && ((arr[mostSignificantByte] & (1 << ((arrBits - 1) %
                             Byte.SIZE))) != 0);
-            int thisArrMostSignificantByte = Math.max(0, this.arr.length - arr.length + mostSignificantByte);
+            int thisArrMostSignificantByte = Math.max(0, bytes.length - arr.length + mostSignificantByte);
             if (shouldAddLeadingOnes) {
                 // set MSB bit's outside of given bitwidth
                 if (getByteSize() >= arr.length) {
                     for (int i = 0; i < thisArrMostSignificantByte; i++) {
-                        this.arr[i] = (byte) 0xFF;
+                        bytes[i] = (byte) 0xFF;
                     }
                 }
                 if (arrBits % Byte.SIZE != 0) {
-                    this.arr[thisArrMostSignificantByte] |= 0xFF << (arrBits % Byte.SIZE);
+                    bytes[thisArrMostSignificantByte] |= 0xFF << (arrBits % Byte.SIZE);
                 }
             } else {
                 // clear MSB bit's outside of given bitwidth
                 if (getByteSize() >= arr.length) {
                     for (int i = 0; i < thisArrMostSignificantByte; i++) {
-                        this.arr[i] = (byte) 0x00;
+                        bytes[i] = (byte) 0x00;
                     }
                 }
                 if (arrBits % Byte.SIZE != 0) {
-                    this.arr[thisArrMostSignificantByte] &= 0xFF >>> (8 - (arrBits % Byte.SIZE));
+                    bytes[thisArrMostSignificantByte] &= 0xFF >>> (8 - (arrBits % Byte.SIZE));
                 }
             }
         }
 
-        assert this.arr.length == getByteSize();
+        assert bytes.length == getByteSize();
+        if (isTwoLong(bits)) {
+            int highBytes = bytes.length - Long.BYTES;
+            long h = bytes[0] < 0 ? -1L : 0L;
+            for (int i = 0; i < highBytes; i++) {
+                h = (h << Byte.SIZE) | (bytes[i] & 0xFF);
+            }
+            long l = 0;
+            for (int i = highBytes; i < bytes.length; i++) {
+                l = (l << Byte.SIZE) | (bytes[i] & 0xFF);
+            }
+            this.arr = null;
+            this.low = l;
+            this.high = h;
+        } else {
+            this.arr = bytes;
+            this.low = 0;
+            this.high = 0;
+        }
+    }
+
+    private static boolean isTwoLong(int bits) {
+        return bits > Long.SIZE && bits <= 2 * Long.SIZE && bits % Byte.SIZE == 0;
+    }
+
+    private boolean isTwoLong() {
+        return isTwoLong(bits);
+    }
+
+    private boolean isTwoLong(LLVMIVarBit other) {
+        return isTwoLong() && other.bits == bits;
+    }
+
+    // the high word zero-extended from the most significant bit
+    private long unsignedHigh() {
+        int highShift = 2 * Long.SIZE - bits;
+        return (high << highShift) >>> highShift;
     }
 
     public static LLVMIVarBit create(int bitWidth, byte[] loadedBytes, int loadedArrBits, boolean signExtend) {
@@ -101,38 +158,76 @@ public final class LLVMIVarBit {
     }
 
     public static LLVMIVarBit createZeroExt(int bits, byte from) {
+        if (isTwoLong(bits)) {
+            return new LLVMIVarBit(bits, 0, Byte.toUnsignedLong(from));
+        }
         return create(bits, ByteBuffer.allocate(Byte.BYTES).put(from).array(), Byte.SIZE, false);
     }
 
     public static LLVMIVarBit createZeroExt(int bits, short from) {
+        if (isTwoLong(bits)) {
+            return new LLVMIVarBit(bits, 0, Short.toUnsignedLong(from));
+        }
         return create(bits, ByteBuffer.allocate(Short.BYTES).putShort(from).array(), Short.SIZE, false);
     }
 
     public static LLVMIVarBit createZeroExt(int bits, int from) {
+        if (isTwoLong(bits)) {
+            return new LLVMIVarBit(bits, 0, Integer.toUnsignedLong(from));
+        }
         return create(bits, ByteBuffer.allocate(Integer.BYTES).putInt(from).array(), Integer.SIZE, false);
     }
 
     public static LLVMIVarBit createZeroExt(int bits, long from) {
+        if (isTwoLong(bits)) {
+            return new LLVMIVarBit(bits, 0, from);
+        }
         return create(bits, ByteBuffer.allocate(Long.BYTES).putLong(from).array(), Long.SIZE, false);
     }
 
+    public static LLVMIVarBit createZeroExt(int bits, LLVMIVarBit from) {
+        if (isTwoLong(bits) && from.isTwoLong()) {
+            return new LLVMIVarBit(bits, from.unsignedHigh(), from.low);
+        }
+        return create(bits, from.getBytes(), from.getBitSize(), false);
+    }
+
+    public static LLVMIVarBit fromIVar(int bits, LLVMIVarBit from) {
+        if (isTwoLong(bits) && from.isTwoLong()) {
+            return new LLVMIVarBit(bits, from.high, from.low);
+        }
+        return create(bits, from.getSignExtendedBytes(), from.getBitSize(), true);
+    }
+
     public static LLVMIVarBit fromBigInteger(int bits, BigInteger from) {
         return asIVar(bits, from);
     }
 
     public static LLVMIVarBit fromByte(int bits, byte from) {
+        if (isTwoLong(bits)) {
+            return new LLVMIVarBit(bits, from < 0 ? -1L : 0L, from);
+        }
         return create(bits, ByteBuffer.allocate(Byte.BYTES).put(from).array(), Byte.SIZE, true);
     }
 
     public static LLVMIVarBit fromShort(int bits, short from) {
+        if (isTwoLong(bits)) {
+            return new LLVMIVarBit(bits, from < 0 ? -1L : 0L, from);
+        }
         return create(bits, ByteBuffer.allocate(Short.BYTES).putShort(from).array(), Short.SIZE, true);
     }
 
     public static LLVMIVarBit fromInt(int bits, int from) {
+        if (isTwoLong(bits)) {
+            return new LLVMIVarBit(bits, from < 0 ? -1L : 0L, from);
+        }
         return create(bits, ByteBuffer.allocate(Integer.BYTES).putInt(from).array(), Integer.SIZE, true);
     }
 
     public static LLVMIVarBit fromLong(int bits, long from) {
+        if (isTwoLong(bits)) {
+            return new LLVMIVarBit(bits, from < 0 ? -1L : 0L, from);
+        }
         return create(bits, ByteBuffer.allocate(Long.BYTES).putLong(from).array(), Long.SIZE, true);
     }
 
@@ -145,6 +240,18 @@ public final class LLVMIVarBit {
         }
     }
 
+    private byte[] bytes() {
+        if (!isTwoLong()) {
+            return arr;
+        }
+        byte[] result = new byte[getByteSize()];
+        for (int i = 0; i < result.length; i++) {
+            int shift = (result.length - 1 - i) * Byte.SIZE;
+            result[i] = (byte) (shift >= Long.SIZE ? high >>> (shift - Long.SIZE) : low >>> shift);
+        }
+        return result;
+    }
+
     @TruffleBoundary
     private static BigInteger asBigInteger(LLVMIVarBit right) {
         if (right.getBytes() == null) {
@@ -155,18 +262,20 @@ public final class LLVMIVarBit {
 
     @TruffleBoundary
     public BigInteger asUnsignedBigInteger() {
-        if (arr == null || arr.length == 0) {
+        byte[] value = bytes();
+        if (value == null || value.length == 0) {
             return BigInteger.ZERO;
         }
-        byte[] newArr = new byte[arr.length + 1];
-        System.arraycopy(arr, 0, newArr, 1, arr.length);
+        byte[] newArr = new byte[value.length + 1];
+        System.arraycopy(value, 0, newArr, 1, value.length);
         return new BigInteger(newArr);
     }
 
     @TruffleBoundary
     public BigInteger asBigInteger() {
-        if (arr != null && arr.length != 0) {
-            return new BigInteger(arr);
+        byte[] value = bytes();
+        if (value != null && value.length != 0) {
+            return new BigInteger(value);
         } else {
             return BigInteger.ZERO;
         }
@@ -174,6 +283,7 @@ public final class LLVMIVarBit {
 
     @TruffleBoundary
     private ByteBuffer getByteBuffer(int minSizeBytes, boolean signExtend) {
+        byte[] value = bytes();
         int allocationSize = Math.max(minSizeBytes, getByteSize());
         ByteBuffer bb = ByteBuffer.allocate(allocationSize).order(ByteOrder.BIG_ENDIAN);
         boolean truncation = bits > minSizeBytes * Byte.SIZE;
@@ -191,12 +301,12 @@ public final class LLVMIVarBit {
             }
         }
         if (bits % Byte.SIZE == 0) {
-            bb.put(arr, 0, getByteSize());
+            bb.put(value, 0, getByteSize());
         } else {
             BitSet bitSet = new BitSet(Byte.SIZE);
             int bitsToSet = bits % Byte.SIZE;
             for (int i = 0; i < bitsToSet; i++) {
-                boolean isBitSet = ((arr[0] >> i) & 1) == 1;
+                boolean isBitSet = ((value[0] >> i) & 1) == 1;
                 if (isBitSet) {
                     bitSet.set(i);
                 }
@@ -215,8 +325,8 @@ public final class LLVMIVarBit {
             }
             // FIXME actually need to truncate or sign extend individual bits
             bb.put(firstByteResult);
-            for (int i = 1; i < arr.length; i++) {
-                bb.put(arr[i]);
+            for (int i = 1; i < value.length; i++) {
+                bb.put(value[i]);
             }
         }
 
@@ -224,55 +334,89 @@ public final class LLVMIVarBit {
         return bb;
     }
 
+    @TruffleBoundary
+    private long getBufferValue(int sizeBytes, boolean signExtend) {
+        ByteBuffer bb = getByteBuffer(sizeBytes, signExtend);
+        switch (sizeBytes) {
+            case Byte.BYTES:
+                return bb.get();
+            case Short.BYTES:
+                return bb.getShort();
+            case Integer.BYTES:
+                return bb.getInt();
+            case Long.BYTES:
+                return bb.getLong();
+            default:
+                throw new AssertionError(sizeBytes);
+        }
+    }
+
     private boolean mostSignificantBit() {
         return getBit(bits - 1);
     }
 
     private boolean getBit(int pos) {
-        int selectedBytePos = arr.length - 1 - (pos / Byte.SIZE);
-        byte selectedByte = arr[selectedBytePos];
+        byte[] value = bytes();
+        int selectedBytePos = value.length - 1 - (pos / Byte.SIZE);
+        byte selectedByte = value[selectedBytePos];
         int selectedBitPos = pos % Byte.SIZE;
         return ((selectedByte >> selectedBitPos) & 1) == 1;
     }
 
-    @TruffleBoundary
     public byte getByteValue() {
-        return getByteBuffer(Byte.BYTES, true).get();
+        if (isTwoLong()) {
+            return (byte) low;
+        }
+        return (byte) getBufferValue(Byte.BYTES, true);
     }
 
-    @TruffleBoundary
     public byte getZeroExtendedByteValue() {
-        return getByteBuffer(Byte.BYTES, false).get();
+        if (isTwoLong()) {
+            return (byte) low;
+        }
+        return (byte) getBufferValue(Byte.BYTES, false);
     }
 
-    @TruffleBoundary
     public short getShortValue() {
-        return getByteBuffer(Short.BYTES, true).getShort();
+        if (isTwoLong()) {
+            return (short) low;
+        }
+        return (short) getBufferValue(Short.BYTES, true);
     }
 
-    @TruffleBoundary
     public short getZeroExtendedShortValue() {
-        return getByteBuffer(Short.BYTES, false).getShort();
+        if (isTwoLong()) {
+            return (short) low;
+        }
+        return (short) getBufferValue(Short.BYTES, false);
     }
 
-    @TruffleBoundary
     public int getIntValue() {
-        return getByteBuffer(Integer.BYTES, true).getInt();
+        if (isTwoLong()) {
+            return (int) low;
+        }
+        return (int) getBufferValue(Integer.BYTES, true);
     }
 
-    @TruffleBoundary
     public int getZeroExtendedIntValue() {
-        return getByteBuffer(Integer.BYTES, false).getInt();
+        if (isTwoLong()) {
+            return (int) low;
+        }
+        return (int) getBufferValue(Integer.BYTES, false);
     }
 
-    @TruffleBoundary
     public long getLongValue() {
-        return getByteBuffer(Long.BYTES, true).getLong();
+        if (isTwoLong()) {
+            return low;
+        }
+        return getBufferValue(Long.BYTES, true);
     }
 
-    @TruffleBoundary
     public long getZeroExtendedLongValue() {
-        return getByteBuffer(Long.BYTES, false).getLong();
+        if (isTwoLong()) {
+            return low;
+        }
+        return getBufferValue(Long.BYTES, false);
     }
 
     public int getBitSize() {
@@ -280,27 +424,56 @@ public final class LLVMIVarBit {
     }
 
     public byte[] getBytes() {
-        assert arr.length == getByteSize() : arr.length + " " + getByteSize();
-        return arr;
+        byte[] value = bytes();
+        assert value.length == getByteSize() : value.length + " " + getByteSize();
+        return value;
     }
 
     @TruffleBoundary
     public byte[] getSignExtendedBytes() {
+        if (isTwoLong()) {
+            return bytes();
+        }
         return getByteBuffer(arr.length, true).array();
     }
 
-    @TruffleBoundary
     public LLVMIVarBit add(LLVMIVarBit right) {
-        return asIVar(asBigInteger().add(asBigInteger(right)));
+        if (isTwoLong(right)) {
+            long resultLow = low + right.low;
+            long carry = Long.compareUnsigned(resultLow, low) < 0 ? 1 : 0;
+            return new LLVMIVarBit(bits, high + right.high + carry, resultLow);
+        }
+        return addBigInteger(right);
     }
 
     @TruffleBoundary
+    private LLVMIVarBit addBigInteger(LLVMIVarBit right) {
+        return asIVar(asBigInteger().add(asBigInteger(right)));
+    }
+
     public LLVMIVarBit mul(LLVMIVarBit right) {
-        return asIVar(asBigInteger().multiply(asBigInteger(right)));
+        if (isTwoLong(right)) {
+            long resultHigh = unsignedMultiplyHigh(low, right.low) + low * right.high + high * right.low;
+            return new LLVMIVarBit(bits, resultHigh, low * right.low);
+        }
+        return mulBigInteger(right);
     }
 
     @TruffleBoundary
+    private LLVMIVarBit mulBigInteger(LLVMIVarBit right) {
+        return asIVar(asBigInteger().multiply(asBigInteger(right)));
+    }
+
     public LLVMIVarBit sub(LLVMIVarBit right) {
+        if (isTwoLong(right)) {
+            long borrow = Long.compareUnsigned(low, right.low) < 0 ? 1 : 0;
+            return new LLVMIVarBit(bits, high - right.high - borrow, low - right.low);
+        }
+        return subBigInteger(right);
+    }
+
+    @TruffleBoundary
+    private LLVMIVarBit subBigInteger(LLVMIVarBit right) {
         return asIVar(asBigInteger().subtract(asBigInteger(right)));
     }
 
@@ -324,9 +497,25 @@ public final class LLVMIVarBit {
         return asIVar(asUnsignedBigInteger().divide(asBigInteger(right)));
     }
 
+    private static long unsignedMultiplyHigh(long x, long y) {
+        long x0 = x & INT_MASK;
+        long x1 = x >>> Integer.SIZE;
+        long y0 = y & INT_MASK;
+        long y1 = y >>> Integer.SIZE;
+        long t = x1 * y0 + ((x0 * y0) >>> Integer.SIZE);
+        long w1 = x0 * y1 + (t & INT_MASK);
+        return x1 * y1 + (t >>> Integer.SIZE) + (w1 >>> Integer.SIZE);
+    }
+
     public int compare(LLVMIVarBit other) {
+        if (isTwoLong(other)) {
+            int result = Long.compare(high, other.high);
+            return result != 0 ? result : Long.compareUnsigned(low, other.low);
+        }
+        byte[] value = bytes();
+        byte[] otherValue = other.bytes();
         for (int i = 0; i < getByteSize(); i++) {
-            int diff = arr[i] - other.getBytes()[i];
+            int diff = value[i] - otherValue[i];
             if (diff != 0) {
                 return diff;
             }
@@ -338,34 +527,58 @@ public final class LLVMIVarBit {
         byte op(byte a, byte b);
     }
 
+    @TruffleBoundary
     private LLVMIVarBit performOp(LLVMIVarBit right, SimpleOp op) {
         assert bits == right.bits;
+        byte[] value = bytes();
         byte[] newArr = new byte[getByteSize()];
-        byte[] other = right.getBytes();
-        assert arr.length == other.length : Arrays.toString(arr) + " " + Arrays.toString(other);
+        byte[] other = right.bytes();
+        assert value.length == other.length : Arrays.toString(value) + " " + Arrays.toString(other);
         for (int i = 0; i < newArr.length; i++) {
-            newArr[i] = op.op(arr[i], other[i]);
+            newArr[i] = op.op(value[i], other[i]);
         }
         return new LLVMIVarBit(bits, newArr, bits, false);
     }
 
-    @TruffleBoundary
     public LLVMIVarBit and(LLVMIVarBit right) {
+        if (isTwoLong(right)) {
+            return new LLVMIVarBit(bits, high & right.high, low & right.low);
+        }
         return performOp(right, (byte a, byte b) -> (byte) (a & b));
     }
 
-    @TruffleBoundary
     public LLVMIVarBit or(LLVMIVarBit right) {
+        if (isTwoLong(right)) {
+            return new LLVMIVarBit(bits, high | right.high, low | right.low);
+        }
         return performOp(right, (byte a, byte b) -> (byte) (a | b));
     }
 
-    @TruffleBoundary
     public LLVMIVarBit xor(LLVMIVarBit right) {
+        if (isTwoLong(right)) {
+            return new LLVMIVarBit(bits, high ^ right.high, low ^ right.low);
+        }
         return performOp(right, (byte a, byte b) -> (byte) (a ^ b));
     }
 
-    @TruffleBoundary
     public LLVMIVarBit leftShift(LLVMIVarBit right) {
+        if (isTwoLong(right)) {
+            int shift = right.getShiftAmount();
+            if (shift == 0) {
+                return this;
+            } else if (shift < Long.SIZE) {
+                return new LLVMIVarBit(bits, (high << shift) | (low >>> (Long.SIZE - shift)), low << shift);
+            } else if (shift < bits) {
+                return new LLVMIVarBit(bits, low << (shift - Long.SIZE), 0);
+            } else {
+                return new LLVMIVarBit(bits, 0, 0);
+            }
+        }
+        return leftShiftBigInteger(right);
+    }
+
+    @TruffleBoundary
+    private LLVMIVarBit leftShiftBigInteger(LLVMIVarBit right) {
         BigInteger result = asBigInteger().shiftLeft(right.getIntValue());
         return asIVar(bits, result);
     }
@@ -398,33 +611,94 @@ public final class LLVMIVarBit {
         return new LLVMIVarBit(bitSize, newArr, resultLengthIncludingSign, result.signum() == -1);
     }
 
-    @TruffleBoundary
     public LLVMIVarBit logicalRightShift(LLVMIVarBit right) {
+        if (isTwoLong(right)) {
+            int shift = right.getShiftAmount();
+            long unsignedHigh = unsignedHigh();
+            if (shift == 0) {
+                return this;
+            } else if (shift < Long.SIZE) {
+                return new LLVMIVarBit(bits, unsignedHigh >>> shift, (low >>> shift) | (unsignedHigh << (Long.SIZE - shift)));
+            } else if (shift < bits) {
+                return new LLVMIVarBit(bits, 0, unsignedHigh >>> (shift - Long.SIZE));
+            } else {
+                return new LLVMIVarBit(bits, 0, 0);
+            }
+        }
+        return logicalRightShiftBigInteger(right);
+    }
+
+    @TruffleBoundary
+    private LLVMIVarBit logicalRightShiftBigInteger(LLVMIVarBit right) {
         int shiftAmount = right.getIntValue();
         BigInteger mask = BigInteger.valueOf(-1).shiftLeft(bits - shiftAmount).not();
-        BigInteger result = new BigInteger(arr).shiftRight(shiftAmount).and(mask);
+        BigInteger result = new BigInteger(bytes()).shiftRight(shiftAmount).and(mask);
         return asIVar(result);
     }
 
-    @TruffleBoundary
     public LLVMIVarBit arithmeticRightShift(LLVMIVarBit right) {
+        if (isTwoLong(right)) {
+            int shift = Math.min(right.getShiftAmount(), 2 * Long.SIZE - 1);
+            if (shift == 0) {
+                return this;
+            } else if (shift < Long.SIZE) {
+                return new LLVMIVarBit(bits, high >> shift, (low >>> shift) | (high << (Long.SIZE - shift)));
+            } else {
+                return new LLVMIVarBit(bits, high >> (Long.SIZE - 1), high >> (shift - Long.SIZE));
+            }
+        }
+        return arithmeticRightShiftBigInteger(right);
+    }
+
+    @TruffleBoundary
+    private LLVMIVarBit arithmeticRightShiftBigInteger(LLVMIVarBit right) {
         BigInteger result = asBigInteger().shiftRight(right.getIntValue());
         return asIVar(result);
     }
 
-    @TruffleBoundary
+    // shift amounts of at least the bit width give an undefined result in LLVM
+    private int getShiftAmount() {
+        return Long.compareUnsigned(low, 2 * Long.SIZE) < 0 && high == 0 ? (int) low : 2 * Long.SIZE;
+    }
+
     public int signedCompare(LLVMIVarBit other) {
-        return asBigInteger().compareTo(other.asBigInteger());
+        if (isTwoLong(other)) {
+            int result = Long.compare(high, other.high);
+            return result != 0 ? result : Long.compareUnsigned(low, other.low);
+        }
+        return signedCompareBigInteger(other);
     }
 
     @TruffleBoundary
+    private int signedCompareBigInteger(LLVMIVarBit other) {
+        return asBigInteger().compareTo(other.asBigInteger());
+    }
+
     public int unsignedCompare(LLVMIVarBit other) {
-        return asUnsignedBigInteger().compareTo(other.asUnsignedBigInteger());
+        if (isTwoLong(other)) {
+            int result = Long.compareUnsigned(unsignedHigh(), other.unsignedHigh());
+            return result != 0 ? result : Long.compareUnsigned(low, other.low);
+        }
+        return unsignedCompareBigInteger(other);
     }
 
     @TruffleBoundary
+    private int unsignedCompareBigInteger(LLVMIVarBit other) {
+        return asUnsignedBigInteger().compareTo(other.asUnsignedBigInteger());
+    }
+
     public boolean isZero() {
-        return arr == null || arr.length == 0 || BigInteger.ZERO.equals(asBigInteger());
+        if (isTwoLong()) {
+            return high == 0 && low == 0;
+        }
+        if (arr != null) {
+            for (int i = 0; i < arr.length; i++) {
+                if (arr[i] != 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
     }
 
     @Override
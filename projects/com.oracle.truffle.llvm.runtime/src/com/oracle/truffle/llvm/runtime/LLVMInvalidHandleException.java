@@ -27,11 +27,17 @@
  * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
  * OF THE POSSIBILITY OF SUCH DAMAGE.
  */
-#include <stddef.h>
+package com.oracle.truffle.llvm.runtime;
 
-void *truffle_managed_memcpy(void *destination, const void *source, size_t count) {
-  for (size_t n = 0; n < count; n++) {
-    ((char *)destination)[n] = ((char *)source)[n];
-  }
-  return destination;
+/**
+ * Thrown when a guest program resolves or releases a native handle that does not refer to a live
+ * managed object.
+ */
+public final class LLVMInvalidHandleException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public LLVMInvalidHandleException(String message, LLVMAddress handle) {
+        super(message + ": " + handle);
+    }
 }
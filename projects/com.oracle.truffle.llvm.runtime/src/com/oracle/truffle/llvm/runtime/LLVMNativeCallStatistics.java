@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.runtime;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.llvm.runtime.options.SulongEngineOption;
+
+/**
+ * Records the native calls of a context per native symbol and calling guest function: the number
+ * of calls, the latency of the native calls and the time spent converting the arguments and the
+ * return value.
+ *
+ * Every thread records into its own table without any synchronization. The tables are merged when
+ * the statistics are printed at the end of the execution.
+ */
+public final class LLVMNativeCallStatistics {
+
+    /**
+     * The statistics are enabled by 'true', 'stdout' or 'stderr', which print a table, or by a file
+     * path. Files ending in '.json' are written as JSON, all other files as CSV.
+     */
+    public static boolean isEnabled(String option) {
+        return !option.isEmpty() && !"false".equalsIgnoreCase(option);
+    }
+
+    private final Queue<Map<String, Map<String, Counters>>> tables = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<Map<String, Map<String, Counters>>> threadTable = ThreadLocal.withInitial(this::createTable);
+
+    private Map<String, Map<String, Counters>> createTable() {
+        Map<String, Map<String, Counters>> table = new HashMap<>();
+        tables.add(table);
+        return table;
+    }
+
+    @TruffleBoundary
+    public void record(String symbol, String caller, long callNanos, long conversionNanos) {
+        Map<String, Counters> callers = threadTable.get().computeIfAbsent(symbol, s -> new HashMap<>());
+        Counters counters = callers.get(caller);
+        if (counters == null) {
+            counters = new Counters(symbol, caller);
+            callers.put(caller, counters);
+        }
+        counters.record(callNanos, conversionNanos);
+    }
+
+    private List<Counters> merge() {
+        Map<String, Map<String, Counters>> merged = new HashMap<>();
+        for (Map<String, Map<String, Counters>> table : tables) {
+            for (Map<String, Counters> callers : table.values()) {
+                for (Counters counters : callers.values()) {
+                    Map<String, Counters> mergedCallers = merged.computeIfAbsent(counters.symbol, s -> new HashMap<>());
+                    mergedCallers.computeIfAbsent(counters.caller, c -> new Counters(counters.symbol, c)).add(counters);
+                }
+            }
+        }
+        List<Counters> result = new ArrayList<>();
+        for (Map<String, Counters> callers : merged.values()) {
+            result.addAll(callers.values());
+        }
+        result.sort((a, b) -> Long.compare(b.totalNanos, a.totalNanos));
+        return result;
+    }
+
+    public void print(String option) {
+        List<Counters> result = merge();
+        if (SulongEngineOption.isTrue(option)) {
+            printTable(SulongEngineOption.getStream(option), result);
+        } else {
+            try (PrintStream stream = new PrintStream(new FileOutputStream(option))) {
+                if (option.endsWith(".json")) {
+                    printJSON(stream, result);
+                } else {
+                    printCSV(stream, result);
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot write native call statistics to " + option, e);
+            }
+        }
+    }
+
+    private static void printTable(PrintStream stream, List<Counters> result) {
+        stream.println(String.format("%-40s %-30s %10s %12s %10s %10s %10s %10s %10s %12s", "Function", "Caller", "calls", "total (us)", "mean (us)", "p50 (us)", "p90 (us)", "p99 (us)", "max (us)",
+                        "conv. (us)"));
+        for (Counters c : result) {
+            stream.println(String.format("%-40s %-30s %10d %12d %10d %10d %10d %10d %10d %12d", c.symbol, c.caller, c.calls, c.totalNanos / 1000, c.totalNanos / c.calls / 1000,
+                            c.percentile(0.5) / 1000, c.percentile(0.9) / 1000, c.percentile(0.99) / 1000, c.maxNanos / 1000, c.conversionNanos / 1000));
+        }
+    }
+
+    private static void printCSV(PrintStream stream, List<Counters> result) {
+        stream.println("function,caller,calls,total_ns,mean_ns,p50_ns,p90_ns,p99_ns,max_ns,conversion_ns");
+        for (Counters c : result) {
+            stream.println(String.format("%s,%s,%d,%d,%d,%d,%d,%d,%d,%d", csvString(c.symbol), csvString(c.caller), c.calls, c.totalNanos, c.totalNanos / c.calls, c.percentile(0.5),
+                            c.percentile(0.9), c.percentile(0.99), c.maxNanos, c.conversionNanos));
+        }
+    }
+
+    private static void printJSON(PrintStream stream, List<Counters> result) {
+        stream.println("[");
+        for (int i = 0; i < result.size(); i++) {
+            Counters c = result.get(i);
+            stream.print(String.format("  {\"function\": %s, \"caller\": %s, \"calls\": %d, \"total_ns\": %d, \"mean_ns\": %d, \"p50_ns\": %d, \"p90_ns\": %d, \"p99_ns\": %d, \"max_ns\": %d, " +
+                            "\"conversion_ns\": %d}", jsonString(c.symbol), jsonString(c.caller), c.calls, c.totalNanos, c.totalNanos / c.calls, c.percentile(0.5), c.percentile(0.9),
+                            c.percentile(0.99), c.maxNanos, c.conversionNanos));
+            stream.println(i < result.size() - 1 ? "," : "");
+        }
+        stream.println("]");
+    }
+
+    private static String csvString(String s) {
+        if (s.indexOf(',') < 0 && s.indexOf('"') < 0 && s.indexOf('\n') < 0) {
+            return s;
+        }
+        return '"' + s.replace("\"", "\"\"") + '"';
+    }
+
+    private static String jsonString(String s) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    private static final class Counters {
+        private final String symbol;
+        private final String caller;
+        private final Histogram histogram = new Histogram();
+
+        private long calls;
+        private long totalNanos;
+        private long maxNanos;
+        private long conversionNanos;
+
+        Counters(String symbol, String caller) {
+            this.symbol = symbol;
+            this.caller = caller;
+        }
+
+        void record(long callNanos, long conversion) {
+            calls++;
+            totalNanos += callNanos;
+            maxNanos = Math.max(maxNanos, callNanos);
+            conversionNanos += conversion;
+            histogram.record(callNanos);
+        }
+
+        long percentile(double percentile) {
+            return Math.min(histogram.percentile(percentile), maxNanos);
+        }
+
+        void add(Counters other) {
+            calls += other.calls;
+            totalNanos += other.totalNanos;
+            maxNanos = Math.max(maxNanos, other.maxNanos);
+            conversionNanos += other.conversionNanos;
+            histogram.add(other.histogram);
+        }
+    }
+
+    /**
+     * A log-linear histogram in the style of HdrHistogram: every power of two is split into
+     * 2^{@link #SUB_BUCKET_BITS} linear buckets, which bounds the relative error of the reported
+     * percentiles to 12.5%.
+     */
+    private static final class Histogram {
+        private static final int SUB_BUCKET_BITS = 3;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+        private final long[] counts = new long[64 * SUB_BUCKETS];
+        private long total;
+
+        private static int index(long value) {
+            if (value < SUB_BUCKETS) {
+                return (int) Math.max(value, 0);
+            }
+            int exponent = 63 - Long.numberOfLeadingZeros(value);
+            int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+            return ((exponent - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS) + subBucket;
+        }
+
+        private static long highestValue(int index) {
+            if (index < SUB_BUCKETS) {
+                return index;
+            }
+            int shift = (index >> SUB_BUCKET_BITS) - 1;
+            long lowest = (long) (SUB_BUCKETS + (index & (SUB_BUCKETS - 1))) << shift;
+            return lowest + (1L << shift) - 1;
+        }
+
+        void record(long value) {
+            counts[index(value)]++;
+            total++;
+        }
+
+        void add(Histogram other) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += other.counts[i];
+            }
+            total += other.total;
+        }
+
+        long percentile(double percentile) {
+            long threshold = (long) Math.ceil(total * percentile);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= threshold && counts[i] != 0) {
+                    return highestValue(i);
+                }
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.runtime;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * The threads of a guest process. Threads that were created with {@code pthread_create} are kept
+ * by their native {@code pthread_t} until they are joined or detached.
+ *
+ * When one thread exits the process (or the process is shut down), the other threads cannot simply
+ * be killed. Instead, every thread that takes part in the guest process is interrupted, and
+ * unwinds with an {@link LLVMExitException} as soon as it blocks (see {@link #checkTerminated()}).
+ */
+public final class LLVMPThreadTable {
+
+    private final ConcurrentHashMap<Long, LLVMThread> joinableThreads = new ConcurrentHashMap<>();
+
+    // threads that still have to be unwound when the process terminates
+    private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean terminating;
+    private volatile LLVMExitException exit;
+
+    @TruffleBoundary
+    public void addJoinable(long id, LLVMThread thread) {
+        joinableThreads.put(id, thread);
+    }
+
+    @TruffleBoundary
+    public LLVMThread getJoinable(long id) {
+        return joinableThreads.get(id);
+    }
+
+    /**
+     * Removes a thread that is joined or detached, returns {@code false} if somebody else did so
+     * already.
+     */
+    @TruffleBoundary
+    public boolean removeJoinable(long id, LLVMThread thread) {
+        return joinableThreads.remove(id, thread);
+    }
+
+    /**
+     * Adds a thread that runs guest code, returns {@code false} if the process already terminates.
+     */
+    @TruffleBoundary
+    public synchronized boolean addThread(Thread thread) {
+        if (terminating) {
+            return false;
+        }
+        threads.add(thread);
+        return true;
+    }
+
+    @TruffleBoundary
+    public void removeThread(Thread thread) {
+        threads.remove(thread);
+    }
+
+    /**
+     * Records that a guest thread exited the process. Only the first exit status is kept.
+     */
+    @TruffleBoundary
+    public synchronized void exit(LLVMExitException e) {
+        if (exit == null) {
+            exit = e;
+        }
+        terminate();
+    }
+
+    /**
+     * Returns the exit status of the thread that exited the process, or {@code null} if no thread
+     * called {@code exit} yet.
+     */
+    public LLVMExitException getExit() {
+        return exit;
+    }
+
+    public boolean isTerminating() {
+        return terminating;
+    }
+
+    /**
+     * Interrupts all threads of the process except the current one, which is the thread that shuts
+     * down the process.
+     */
+    @TruffleBoundary
+    public synchronized void terminate() {
+        terminating = true;
+        Thread current = Thread.currentThread();
+        threads.remove(current);
+        for (Thread thread : threads) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * Unwinds the current thread if the process terminates. This has to be called after a blocking
+     * operation was interrupted. Every thread is unwound only once, so that it can still block
+     * while it runs destructors or cleanup handlers.
+     */
+    @TruffleBoundary
+    public void checkTerminated() {
+        if (terminating && threads.remove(Thread.currentThread())) {
+            LLVMExitException e = exit;
+            throw new LLVMExitException(e == null ? 0 : e.getReturnCode());
+        }
+    }
+}
@@ -32,6 +32,7 @@ package com.oracle.truffle.llvm.runtime;
 import java.lang.reflect.Field;
 
 import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.ValueType;
 import com.oracle.truffle.api.interop.ForeignAccess;
 import com.oracle.truffle.api.interop.TruffleObject;
@@ -145,6 +146,34 @@ public final class LLVMVirtualAllocationAddress {
         return new LLVMVirtualAllocationAddress(this.object, this.offset);
     }
 
+    private void checkBounds(long length) {
+        if (offset < 0 || length < 0 || offset + length > (long) object.length * Integer.BYTES) {
+            CompilerDirectives.transferToInterpreter();
+            throw new IndexOutOfBoundsException("Cannot access " + length + " bytes at offset " + offset + " of a virtual allocation.");
+        }
+    }
+
+    public void copyFromNative(long source, long length) {
+        checkBounds(length);
+        UNSAFE.copyMemory(null, source, object, intArrayBaseOffset + offset, length);
+    }
+
+    public void copyToNative(long target, long length) {
+        checkBounds(length);
+        UNSAFE.copyMemory(object, intArrayBaseOffset + offset, null, target, length);
+    }
+
+    public void copyFrom(LLVMVirtualAllocationAddress source, long length) {
+        checkBounds(length);
+        source.checkBounds(length);
+        UNSAFE.copyMemory(source.object, intArrayBaseOffset + source.offset, object, intArrayBaseOffset + offset, length);
+    }
+
+    public void fill(byte value, long length) {
+        checkBounds(length);
+        UNSAFE.setMemory(object, intArrayBaseOffset + offset, length, value);
+    }
+
     public static final class LLVMVirtualAllocationAddressTruffleObject implements TruffleObject {
         private final LLVMVirtualAllocationAddress object;
 
@@ -31,6 +31,7 @@ package com.oracle.truffle.llvm.runtime;
 
 import java.nio.file.Path;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -57,6 +58,7 @@ public final class NFIContextExtension implements ContextExtension {
     private final Map<Path, TruffleObject> libraryHandles = new HashMap<>();
     private final TruffleLanguage.Env env;
     private final LLVMNativeFunctions nativeFunctions;
+    private final BoundFunctionCache boundFunctions = new BoundFunctionCache();
 
     public NFIContextExtension(Env env) {
         this.env = env;
@@ -297,6 +299,120 @@ public final class NFIContextExtension implements ContextExtension {
         }
     }
 
+    /**
+     * Returns {@code symbol} bound to {@code signature}. The bound functions are shared by all call
+     * sites of the context, so that the generic native call paths do not have to bind the symbol on
+     * every call.
+     */
+    @TruffleBoundary
+    public TruffleObject getBoundNativeFunction(TruffleObject symbol, String signature) {
+        BoundFunctionKey key = new BoundFunctionKey(symbol, signature);
+        TruffleObject bound = boundFunctions.get(key);
+        if (bound == null) {
+            bound = bindNativeFunction(symbol, signature);
+            boundFunctions.put(key, bound);
+        }
+        return bound;
+    }
+
+    /**
+     * Returns the native function at {@code pointer} as a callable object with the given
+     * signature.
+     */
+    @TruffleBoundary
+    public TruffleObject getBoundNativeFunction(LLVMContext context, long pointer, String signature) {
+        BoundFunctionKey key = new BoundFunctionKey(pointer, signature);
+        TruffleObject bound = boundFunctions.get(key);
+        if (bound == null) {
+            TruffleObject identity = getBoundNativeFunction(getNativeFunction(context, "@identity"), String.format("(POINTER):%s", signature));
+            try {
+                bound = (TruffleObject) ForeignAccess.sendExecute(Message.createExecute(1).createNode(), identity, pointer);
+            } catch (InteropException ex) {
+                throw new IllegalStateException(ex);
+            }
+            boundFunctions.put(key, bound);
+        }
+        return bound;
+    }
+
+    private static final class BoundFunctionKey {
+        private final Object function;
+        private final String signature;
+
+        BoundFunctionKey(Object function, String signature) {
+            this.function = function;
+            this.signature = signature;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof BoundFunctionKey)) {
+                return false;
+            }
+            BoundFunctionKey other = (BoundFunctionKey) obj;
+            return function.equals(other.function) && signature.equals(other.signature);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * function.hashCode() + signature.hashCode();
+        }
+    }
+
+    /**
+     * A least-recently-used map of bound native functions. Evicted entries are bound again on their
+     * next use. The map is split into stripes that are selected by the hash of the key, so that
+     * threads that call different native functions do not contend on the same lock.
+     */
+    private static final class BoundFunctionCache {
+        // must be a power of two
+        private static final int STRIPES = 16;
+        private static final int CAPACITY_PER_STRIPE = 64;
+
+        private static final class Stripe extends LinkedHashMap<BoundFunctionKey, TruffleObject> {
+
+            private static final long serialVersionUID = 1L;
+
+            Stripe() {
+                super(16, 0.75f, true);
+            }
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<BoundFunctionKey, TruffleObject> eldest) {
+                return size() > CAPACITY_PER_STRIPE;
+            }
+        }
+
+        private final Stripe[] stripes;
+
+        BoundFunctionCache() {
+            this.stripes = new Stripe[STRIPES];
+            for (int i = 0; i < STRIPES; i++) {
+                stripes[i] = new Stripe();
+            }
+        }
+
+        private Stripe getStripe(BoundFunctionKey key) {
+            int hash = key.hashCode();
+            hash ^= hash >>> 16;
+            return stripes[hash & (STRIPES - 1)];
+        }
+
+        TruffleObject get(BoundFunctionKey key) {
+            Stripe stripe = getStripe(key);
+            synchronized (stripe) {
+                return stripe.get(key);
+            }
+        }
+
+        void put(BoundFunctionKey key, TruffleObject value) {
+            Stripe stripe = getStripe(key);
+            synchronized (stripe) {
+                stripe.put(key, value);
+            }
+        }
+    }
+
     public TruffleObject getNativeFunction(LLVMContext context, String name, String signature) {
         CompilerAsserts.neverPartOfCompilation();
         TruffleObject nativeSymbol = getNativeFunction(context, name);
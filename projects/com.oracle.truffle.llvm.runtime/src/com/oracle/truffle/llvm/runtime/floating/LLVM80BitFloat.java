@@ -251,71 +251,174 @@ public final class LLVM80BitFloat {
         return fraction >>> (FRACTION_BIT_WIDTH - getUnbiasedExponent() - EXPLICIT_LEADING_ONE_BITS);
     }
 
-    private long compareNoSign(LLVM80BitFloat val) {
-        if (getExponent() != val.getExponent()) {
-            return getExponent() - val.getExponent();
+    private static int compareMagnitude(LLVM80BitFloat left, LLVM80BitFloat right) {
+        if (left.biasedExponent != right.biasedExponent) {
+            return Integer.compare(left.biasedExponent, right.biasedExponent);
         } else {
-            return (getFraction() - val.getFraction());
+            return Long.compareUnsigned(left.fraction, right.fraction);
         }
     }
 
-    public LLVM80BitFloat add(LLVM80BitFloat right) {
-        double doubleValue = getDoubleValue();
-        double doubleValue2 = right.getDoubleValue();
-        return fromDouble(doubleValue + doubleValue2);
-    }
-
-    @SuppressWarnings("unused")
-    private LLVM80BitFloat add2(LLVM80BitFloat right) {
-        int leftExponent = getExponent();
-        int rightExponent = right.getExponent();
-        long leftFraction = getFraction();
-        long rightFraction = right.getFraction();
-
-        int shiftAmount = Math.abs(leftExponent - rightExponent);
-        if (leftExponent < rightExponent) {
-            leftFraction >>>= shiftAmount;
-            leftExponent = rightExponent;
+    /*
+     * The arithmetic below operates on the 64 bit significand directly and rounds the result to
+     * nearest even, as the x87 FPU does in its default extended precision mode. Intermediate
+     * results are kept as a 128 bit (hi, lo) pair whose value is hi:lo * 2^(exponent - bias -
+     * 127), so that hi holds the significand and lo the bits below it, with bit 0 of lo acting as
+     * sticky bit for everything that was shifted out further.
+     */
+
+    private static final long INTEGER_BIT = 0x80000000_00000000L;
+    private static final long QUIET_BIT = 0x40000000_00000000L;
+    private static final long INDEFINITE_FRACTION = 0xC0000000_00000000L;
+
+    private boolean isSpecial() {
+        return biasedExponent == ALL_ONE_EXPONENT;
+    }
+
+    /**
+     * The exponent of the significand, denormals share the exponent of the smallest normal value.
+     */
+    private int getEffectiveExponent() {
+        return biasedExponent == 0 ? 1 : biasedExponent;
+    }
+
+    private static LLVM80BitFloat propagateNaN(LLVM80BitFloat left, LLVM80BitFloat right) {
+        LLVM80BitFloat nan = left.isNaN() ? left : right;
+        return new LLVM80BitFloat(nan.sign, ALL_ONE_EXPONENT, nan.fraction | INTEGER_BIT | QUIET_BIT);
+    }
+
+    private static LLVM80BitFloat indefinite() {
+        return new LLVM80BitFloat(true, ALL_ONE_EXPONENT, INDEFINITE_FRACTION);
+    }
+
+    private static LLVM80BitFloat infinity(boolean sign) {
+        return new LLVM80BitFloat(sign, ALL_ONE_EXPONENT, INTEGER_BIT);
+    }
+
+    private static LLVM80BitFloat zero(boolean sign) {
+        return new LLVM80BitFloat(sign, 0, 0);
+    }
+
+    private static long shiftRightHigh(long value, int shift) {
+        return shift >= Long.SIZE ? 0 : value >>> shift;
+    }
+
+    private static long shiftRightLow(long value, int shift) {
+        if (shift == 0) {
+            return 0;
+        } else if (shift < Long.SIZE) {
+            return value << (Long.SIZE - shift);
+        } else if (shift == Long.SIZE) {
+            return value;
+        } else if (shift < 2 * Long.SIZE) {
+            return (value >>> (shift - Long.SIZE)) | ((value << (2 * Long.SIZE - shift)) != 0 ? 1 : 0);
         } else {
-            rightFraction >>>= shiftAmount;
-            rightExponent = leftExponent;
+            return value != 0 ? 1 : 0;
         }
-        boolean newSign;
-        if (getSign() == right.getSign()) {
-            newSign = getSign();
-        } else {
-            newSign = compareNoSign(right) < 0 ? right.getSign() : getSign();
-        }
-        boolean addition = getSign() == right.getSign();
-        long resultLo;
-        long resultHi;
-        long leftFractionLowerPart = leftFraction & BinaryHelper.getBitMask(Integer.SIZE);
-        long rightFractionLowerPart = rightFraction & BinaryHelper.getBitMask(Integer.SIZE);
-        long leftFractionHigherPart = leftFraction >>> Integer.SIZE;
-        long rightFractionHigherPart = rightFraction >>> Integer.SIZE;
-        if (addition) {
-            resultLo = -leftFractionLowerPart + rightFractionLowerPart;
-            long overFlowLowerPart = resultLo >>> Integer.SIZE;
-            resultHi = leftFractionHigherPart + rightFractionHigherPart + overFlowLowerPart;
-        } else if (getSign()) { // left is negative
-            resultLo = -leftFractionLowerPart + rightFractionLowerPart;
-            long overFlowLowerPart = resultLo >>> Integer.SIZE;
-            resultHi = -leftFractionHigherPart - rightFractionHigherPart - overFlowLowerPart;
-        } else {
-            resultLo = leftFractionLowerPart - rightFractionLowerPart;
-            long overFlowLowerPart = resultLo >>> Integer.SIZE;
-            resultHi = leftFractionHigherPart - rightFractionHigherPart - overFlowLowerPart;
+    }
+
+    private static long multiplyHighUnsigned(long x, long y) {
+        long x0 = x & BinaryHelper.INT_MASK;
+        long x1 = x >>> Integer.SIZE;
+        long y0 = y & BinaryHelper.INT_MASK;
+        long y1 = y >>> Integer.SIZE;
+        long t = x1 * y0 + ((x0 * y0) >>> Integer.SIZE);
+        long w1 = x0 * y1 + (t & BinaryHelper.INT_MASK);
+        return x1 * y1 + (t >>> Integer.SIZE) + (w1 >>> Integer.SIZE);
+    }
+
+    /**
+     * Normalizes a non-zero intermediate result so that the integer bit of hi is set.
+     */
+    private static LLVM80BitFloat normalize(boolean sign, int exponent, long hi, long lo) {
+        assert hi != 0 || lo != 0;
+        int resultExponent = exponent;
+        long resultHi = hi;
+        long resultLo = lo;
+        if (resultHi == 0) {
+            resultHi = resultLo;
+            resultLo = 0;
+            resultExponent -= Long.SIZE;
         }
-        int overFlow = (int) (resultHi >>> Integer.SIZE);
-        if (overFlow > 0) {
-            resultHi = resultHi >>> overFlow;
-            long lostBits = resultHi & overFlow;
-            long shiftedLostBits = lostBits << Integer.SIZE - overFlow;
-            resultLo = resultLo >>> overFlow | shiftedLostBits;
+        int shift = Long.numberOfLeadingZeros(resultHi);
+        if (shift != 0) {
+            resultHi = (resultHi << shift) | (resultLo >>> (Long.SIZE - shift));
+            resultLo <<= shift;
+            resultExponent -= shift;
+        }
+        return round(sign, resultExponent, resultHi, resultLo);
+    }
+
+    private static LLVM80BitFloat round(boolean sign, int exponent, long hi, long lo) {
+        int resultExponent = exponent;
+        long resultHi = hi;
+        long resultLo = lo;
+        if (resultExponent <= 0) {
+            // the result is denormal, shift it to the smallest exponent
+            int shift = 1 - resultExponent;
+            resultLo = shiftRightLow(resultHi, shift) | (resultLo != 0 ? 1 : 0);
+            resultHi = shiftRightHigh(resultHi, shift);
+            resultExponent = 0;
+        }
+        if (resultLo < 0 && ((resultLo << 1) != 0 || (resultHi & 1) != 0)) {
+            resultHi++;
+            if (resultHi == 0) {
+                resultHi = INTEGER_BIT;
+                resultExponent++;
+            } else if (resultExponent == 0 && resultHi < 0) {
+                resultExponent = 1;
+            }
+        }
+        if (resultExponent >= ALL_ONE_EXPONENT) {
+            return infinity(sign);
+        }
+        return new LLVM80BitFloat(sign, resultExponent, resultHi);
+    }
+
+    public LLVM80BitFloat add(LLVM80BitFloat right) {
+        if (isSpecial() || right.isSpecial()) {
+            if (isNaN() || right.isNaN()) {
+                return propagateNaN(this, right);
+            } else if (isSpecial() && right.isSpecial() && sign != right.sign) {
+                return indefinite();
+            } else {
+                return isSpecial() ? this : right;
+            }
+        } else if (right.isZero()) {
+            return isZero() ? zero(sign && right.sign) : this;
+        } else if (isZero()) {
+            return right;
+        }
+
+        LLVM80BitFloat larger = this;
+        LLVM80BitFloat smaller = right;
+        if (compareMagnitude(this, right) < 0) {
+            larger = right;
+            smaller = this;
+        }
+        int exponent = larger.getEffectiveExponent();
+        int shift = exponent - smaller.getEffectiveExponent();
+        long alignedHi = shiftRightHigh(smaller.fraction, shift);
+        long alignedLo = shiftRightLow(smaller.fraction, shift);
+
+        if (larger.sign == smaller.sign) {
+            long hi = larger.fraction + alignedHi;
+            long lo = alignedLo;
+            if (Long.compareUnsigned(hi, larger.fraction) < 0) {
+                // carry out of the integer bit
+                lo = (lo >>> 1) | (lo & 1) | (hi << (Long.SIZE - 1));
+                hi = (hi >>> 1) | INTEGER_BIT;
+                exponent++;
+            }
+            return normalize(larger.sign, exponent, hi, lo);
+        } else {
+            long lo = -alignedLo;
+            long hi = larger.fraction - alignedHi - (alignedLo != 0 ? 1 : 0);
+            if (hi == 0 && lo == 0) {
+                return zero(false);
+            }
+            return normalize(larger.sign, exponent, hi, lo);
         }
-        int newExponent = leftExponent + overFlow;
-        long newFraction = resultLo + resultHi << Integer.SIZE;
-        return LLVM80BitFloat.fromRawValues(newSign, newExponent, newFraction);
     }
 
     public LLVM80BitFloat sub(LLVM80BitFloat right) {
@@ -323,11 +426,72 @@ public final class LLVM80BitFloat {
     }
 
     public LLVM80BitFloat mul(LLVM80BitFloat right) {
-        return fromDouble(getDoubleValue() * right.getDoubleValue());
+        boolean resultSign = sign != right.sign;
+        if (isSpecial() || right.isSpecial()) {
+            if (isNaN() || right.isNaN()) {
+                return propagateNaN(this, right);
+            } else if (isZero() || right.isZero()) {
+                return indefinite();
+            } else {
+                return infinity(resultSign);
+            }
+        } else if (isZero() || right.isZero()) {
+            return zero(resultSign);
+        }
+
+        long hi = multiplyHighUnsigned(fraction, right.fraction);
+        long lo = fraction * right.fraction;
+        int exponent = getEffectiveExponent() + right.getEffectiveExponent() - EXPONENT_BIAS + 1;
+        return normalize(resultSign, exponent, hi, lo);
     }
 
     public LLVM80BitFloat div(LLVM80BitFloat right) {
-        return fromDouble(getDoubleValue() / right.getDoubleValue());
+        boolean resultSign = sign != right.sign;
+        if (isSpecial() || right.isSpecial()) {
+            if (isNaN() || right.isNaN()) {
+                return propagateNaN(this, right);
+            } else if (isSpecial()) {
+                return right.isSpecial() ? indefinite() : infinity(resultSign);
+            } else {
+                return zero(resultSign);
+            }
+        } else if (right.isZero()) {
+            return isZero() ? indefinite() : infinity(resultSign);
+        } else if (isZero()) {
+            return zero(resultSign);
+        }
+
+        int dividendShift = Long.numberOfLeadingZeros(fraction);
+        int divisorShift = Long.numberOfLeadingZeros(right.fraction);
+        long divisor = right.fraction << divisorShift;
+        long remainder = fraction << dividendShift;
+        int exponent = (getEffectiveExponent() - dividendShift) - (right.getEffectiveExponent() - divisorShift) + EXPONENT_BIAS;
+
+        // restoring division: 64 quotient bits for hi, two more for rounding after normalization
+        boolean carry = false;
+        long hi = 0;
+        for (int i = 0; i < Long.SIZE; i++) {
+            hi <<= 1;
+            if (carry || Long.compareUnsigned(remainder, divisor) >= 0) {
+                remainder -= divisor;
+                hi |= 1;
+            }
+            carry = remainder < 0;
+            remainder <<= 1;
+        }
+        long lo = 0;
+        for (int i = 1; i <= 2; i++) {
+            if (carry || Long.compareUnsigned(remainder, divisor) >= 0) {
+                remainder -= divisor;
+                lo |= 1L << (Long.SIZE - i);
+            }
+            carry = remainder < 0;
+            remainder <<= 1;
+        }
+        if (carry || remainder != 0) {
+            lo |= 1;
+        }
+        return normalize(resultSign, exponent, hi, lo);
     }
 
     public LLVM80BitFloat rem(LLVM80BitFloat right) {
@@ -391,42 +555,13 @@ public final class LLVM80BitFloat {
     }
 
     int compareOrdered(LLVM80BitFloat val) {
-        if (isNegativeInfinity()) {
-            if (val.isNegativeInfinity()) {
-                return 0;
-            } else {
-                return -1;
-            }
-        }
-        if (val.isNegativeInfinity()) {
-            if (isNegativeInfinity()) {
-                return 0;
-            } else {
-                return 1;
-            }
-        }
-        if (getSign() == val.getSign()) {
-            int expDifference = getExponent() - val.getExponent();
-            if (expDifference == 0) {
-                long fractionDifference = getFraction() - val.getFraction();
-                if (fractionDifference == 0) {
-                    return 0;
-                } else if (fractionDifference < 0) {
-                    return -1;
-                } else {
-                    return 1;
-                }
-            } else {
-                return expDifference;
-            }
+        if (isZero() && val.isZero()) {
+            return 0;
+        } else if (getSign() != val.getSign()) {
+            return getSign() ? -1 : 1;
         } else {
-            if (isZero() && val.isZero()) {
-                return 0;
-            } else if (getSign()) {
-                return -1;
-            } else {
-                return 1;
-            }
+            int magnitude = compareMagnitude(this, val);
+            return getSign() ? -magnitude : magnitude;
         }
     }
 
@@ -553,12 +688,8 @@ public final class LLVM80BitFloat {
         } else if (isNaN()) {
             return FloatHelper.NaN;
         } else {
-            int floatExponent = getUnbiasedExponent() + FLOAT_EXPONENT_BIAS;
-            long longFraction = (getFractionWithoutImplicitZero()) >>> (FRACTION_BIT_WIDTH - FloatHelper.FLOAT_FRACTION_BIT_WIDTH);
-            int floatFraction = (int) longFraction;
             int shiftedSignBit = (getSign() ? 1 : 0) << FloatHelper.FLOAT_SIGN_POS;
-            int shiftedExponent = floatExponent << FloatHelper.FLOAT_FRACTION_BIT_WIDTH;
-            int rawVal = floatFraction | shiftedExponent | shiftedSignBit;
+            int rawVal = (int) roundToBinary(FLOAT_EXPONENT_BIAS, FloatHelper.FLOAT_FRACTION_BIT_WIDTH) | shiftedSignBit;
             return Float.intBitsToFloat(rawVal);
         }
     }
@@ -575,15 +706,47 @@ public final class LLVM80BitFloat {
         } else if (isNaN()) {
             return DoubleHelper.NaN;
         } else {
-            int doubleExponent = getUnbiasedExponent() + DoubleHelper.DOUBLE_EXPONENT_BIAS;
-            long doubleFraction = (getFractionWithoutImplicitZero()) >>> (FRACTION_BIT_WIDTH - DoubleHelper.DOUBLE_FRACTION_BIT_WIDTH);
             long shiftedSignBit = (getSign() ? 1L : 0L) << DoubleHelper.DOUBLE_SIGN_POS;
-            long shiftedExponent = (long) doubleExponent << DoubleHelper.DOUBLE_FRACTION_BIT_WIDTH;
-            long rawVal = doubleFraction | shiftedExponent | shiftedSignBit;
+            long rawVal = roundToBinary(DoubleHelper.DOUBLE_EXPONENT_BIAS, (int) DoubleHelper.DOUBLE_FRACTION_BIT_WIDTH) | shiftedSignBit;
             return Double.longBitsToDouble(rawVal);
         }
     }
 
+    /**
+     * Rounds the magnitude of a finite value to nearest even in a binary format with the given
+     * exponent bias and fraction width, and returns its raw bits without the sign. Values out of
+     * range become infinity, or denormal numbers and zero.
+     */
+    private long roundToBinary(int exponentBias, int fractionBitWidth) {
+        if (fraction == 0) {
+            return 0;
+        }
+        int shift = Long.numberOfLeadingZeros(fraction);
+        long significand = fraction << shift;
+        int exponent = getEffectiveExponent() - shift - EXPONENT_BIAS + exponentBias;
+        int droppedBits = FRACTION_BIT_WIDTH - fractionBitWidth - EXPLICIT_LEADING_ONE_BITS;
+        if (exponent <= 0) {
+            droppedBits += 1 - exponent;
+            exponent = 0;
+        }
+        long kept = shiftRightHigh(significand, droppedBits);
+        long rest = shiftRightLow(significand, droppedBits);
+        if (rest < 0 && ((rest << 1) != 0 || (kept & 1) != 0)) {
+            kept++;
+        }
+        long allOneExponent = (2L * exponentBias) + 1;
+        if (exponent >= allOneExponent) {
+            return allOneExponent << fractionBitWidth;
+        } else if (exponent == 0) {
+            // a denormal that rounds up to the smallest normal value carries into the exponent
+            return kept;
+        } else {
+            // the leading one of kept increments the exponent, as does a carry of the rounding
+            long raw = ((long) (exponent - 1) << fractionBitWidth) + kept;
+            return Math.min(raw, allOneExponent << fractionBitWidth);
+        }
+    }
+
     public LLVM80BitFloat negate() {
         return new LLVM80BitFloat(!getSign(), getExponent(), getFraction());
     }
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.runtime.memory;
+
+import java.io.PrintStream;
+
+import com.oracle.truffle.llvm.runtime.LLVMAddress;
+
+/**
+ * Serves the heap allocations of a guest program ({@code malloc}, {@code calloc},
+ * {@code realloc}, {@code free} and the strings handed out by the interop intrinsics).
+ * Implementations must be able to free and reallocate memory that was allocated with
+ * {@link LLVMMemory#allocateMemory(long)}, since native code and other parts of the runtime
+ * allocate without going through the allocator.
+ */
+public interface LLVMAllocator {
+
+    String SYSTEM = "system";
+    String ARENA = "arena";
+
+    LLVMAddress allocate(long size);
+
+    LLVMAddress reallocate(LLVMAddress address, long size);
+
+    void free(LLVMAddress address);
+
+    /**
+     * Releases all memory that is still owned by this allocator. Called when the context is
+     * disposed, after all destructors have run.
+     */
+    void dispose();
+
+    void printStatistics(PrintStream stream);
+
+    static LLVMAllocator create(String name, boolean countAllocations) {
+        final LLVMAllocator allocator;
+        if (SYSTEM.equals(name)) {
+            allocator = new LLVMSystemAllocator();
+        } else if (ARENA.equals(name)) {
+            allocator = new LLVMArenaAllocator();
+        } else {
+            throw new IllegalArgumentException("Unknown allocator: " + name);
+        }
+        return countAllocations ? new LLVMCountingAllocator(allocator) : allocator;
+    }
+}
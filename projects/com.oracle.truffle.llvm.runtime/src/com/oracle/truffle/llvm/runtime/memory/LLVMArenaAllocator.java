@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.runtime.memory;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.llvm.runtime.LLVMAddress;
+
+/**
+ * Serves small allocations from size classes that are carved out of large chunks. Each thread
+ * bump-allocates from its own chunk and keeps its own free list per size class, so allocating and
+ * freeing small blocks neither crosses into native code nor synchronizes with other threads. All
+ * chunks are released at once when the context is disposed.
+ *
+ * Every small block is preceded by a header that contains its size class. The allocator keeps the
+ * address ranges of its chunks, and pointers outside of them (large allocations and memory
+ * allocated elsewhere) are passed on to the system allocator without reading memory around them.
+ */
+final class LLVMArenaAllocator implements LLVMAllocator {
+
+    private static final long[] SIZE_CLASSES = {16, 32, 48, 64, 80, 96, 112, 128, 192, 256, 384, 512, 768, 1024, 1536, 2048};
+    private static final long MAX_SMALL_SIZE = SIZE_CLASSES[SIZE_CLASSES.length - 1];
+
+    // two words keep the payload aligned to 16 bytes, like the system malloc
+    private static final long HEADER_SIZE = 2 * Long.BYTES;
+    private static final long SIZE_CLASS_OFFSET = Long.BYTES;
+
+    private static final long CHUNK_SIZE = 1L << 20;
+
+    private final ThreadLocal<ThreadCache> caches = ThreadLocal.withInitial(ThreadCache::new);
+    // start address of each chunk, the chunks do not overlap
+    private final ConcurrentSkipListMap<Long, LLVMAddress> chunks = new ConcurrentSkipListMap<>();
+    private final LongAdder largeAllocations = new LongAdder();
+
+    private static final class ThreadCache {
+        private final long[] freeLists = new long[SIZE_CLASSES.length];
+        private long top;
+        private long limit;
+    }
+
+    private static int getSizeClass(long size) {
+        int sizeClass = 0;
+        while (SIZE_CLASSES[sizeClass] < size) {
+            sizeClass++;
+        }
+        return sizeClass;
+    }
+
+    private boolean isArenaBlock(long payload) {
+        final Map.Entry<Long, LLVMAddress> chunk = chunks.floorEntry(payload);
+        return chunk != null && payload - chunk.getKey() < CHUNK_SIZE;
+    }
+
+    @Override
+    @TruffleBoundary
+    public LLVMAddress allocate(long size) {
+        if (size > MAX_SMALL_SIZE) {
+            largeAllocations.increment();
+            return LLVMMemory.allocateMemory(size);
+        }
+
+        final int sizeClass = getSizeClass(size);
+        final ThreadCache cache = caches.get();
+
+        long payload = cache.freeLists[sizeClass];
+        if (payload != 0) {
+            // freed blocks are linked through their first word
+            cache.freeLists[sizeClass] = LLVMMemory.getI64(payload);
+        } else {
+            final long blockSize = HEADER_SIZE + SIZE_CLASSES[sizeClass];
+            if (cache.top + blockSize > cache.limit) {
+                final LLVMAddress chunk = LLVMMemory.allocateMemory(CHUNK_SIZE);
+                chunks.put(chunk.getVal(), chunk);
+                cache.top = chunk.getVal();
+                cache.limit = cache.top + CHUNK_SIZE;
+            }
+            payload = cache.top + HEADER_SIZE;
+            cache.top += blockSize;
+        }
+
+        LLVMMemory.putI64(payload - HEADER_SIZE + SIZE_CLASS_OFFSET, sizeClass);
+        return LLVMAddress.fromLong(payload);
+    }
+
+    @Override
+    @TruffleBoundary
+    @SuppressWarnings("deprecation")
+    public LLVMAddress reallocate(LLVMAddress address, long size) {
+        final long payload = address.getVal();
+        if (payload == 0) {
+            return allocate(size);
+        } else if (!isArenaBlock(payload)) {
+            return LLVMMemory.reallocateMemory(address, size);
+        }
+
+        final long capacity = SIZE_CLASSES[(int) LLVMMemory.getI64(payload - HEADER_SIZE + SIZE_CLASS_OFFSET)];
+        if (size <= capacity) {
+            return address;
+        }
+        final LLVMAddress newAddress = allocate(size);
+        LLVMMemory.copyMemory(payload, newAddress.getVal(), capacity);
+        free(address);
+        return newAddress;
+    }
+
+    @Override
+    @TruffleBoundary
+    public void free(LLVMAddress address) {
+        final long payload = address.getVal();
+        if (payload == 0) {
+            return;
+        } else if (!isArenaBlock(payload)) {
+            LLVMMemory.free(payload);
+            return;
+        }
+
+        final int sizeClass = (int) LLVMMemory.getI64(payload - HEADER_SIZE + SIZE_CLASS_OFFSET);
+
+        // the block goes to the free list of the thread that frees it
+        final ThreadCache cache = caches.get();
+        LLVMMemory.putI64(payload, cache.freeLists[sizeClass]);
+        cache.freeLists[sizeClass] = payload;
+    }
+
+    @Override
+    public void dispose() {
+        Map.Entry<Long, LLVMAddress> chunk;
+        while ((chunk = chunks.pollFirstEntry()) != null) {
+            LLVMMemory.free(chunk.getValue());
+        }
+    }
+
+    @Override
+    public void printStatistics(PrintStream stream) {
+        stream.println(String.format("Arena chunks: %d (%d bytes each), large allocations: %d", chunks.size(), CHUNK_SIZE, largeAllocations.sum()));
+    }
+}
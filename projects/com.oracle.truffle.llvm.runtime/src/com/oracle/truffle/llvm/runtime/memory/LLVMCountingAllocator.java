@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.runtime.memory;
+
+import java.io.PrintStream;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.llvm.runtime.LLVMAddress;
+
+/**
+ * Counts the requests to another allocator. The counters are striped so that threads that
+ * allocate concurrently do not contend on them.
+ */
+final class LLVMCountingAllocator implements LLVMAllocator {
+
+    private final LLVMAllocator delegate;
+
+    private final LongAdder allocations = new LongAdder();
+    private final LongAdder reallocations = new LongAdder();
+    private final LongAdder frees = new LongAdder();
+    private final LongAdder requestedBytes = new LongAdder();
+
+    LLVMCountingAllocator(LLVMAllocator delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public LLVMAddress allocate(long size) {
+        count(allocations, size);
+        return delegate.allocate(size);
+    }
+
+    @Override
+    public LLVMAddress reallocate(LLVMAddress address, long size) {
+        count(reallocations, size);
+        return delegate.reallocate(address, size);
+    }
+
+    @Override
+    public void free(LLVMAddress address) {
+        count(frees, 0);
+        delegate.free(address);
+    }
+
+    @TruffleBoundary
+    private void count(LongAdder counter, long size) {
+        counter.increment();
+        requestedBytes.add(size);
+    }
+
+    @Override
+    public void dispose() {
+        delegate.dispose();
+    }
+
+    @Override
+    public void printStatistics(PrintStream stream) {
+        stream.println(String.format("Allocations: %d, reallocations: %d, frees: %d, requested bytes: %d", allocations.sum(), reallocations.sum(), frees.sum(), requestedBytes.sum()));
+        delegate.printStatistics(stream);
+    }
+}
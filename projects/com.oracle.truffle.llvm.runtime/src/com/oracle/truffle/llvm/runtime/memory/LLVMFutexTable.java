@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.runtime.memory;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * Wait queues for the futex system call. Waiting threads are parked and kept in one of a fixed
+ * number of queues that is selected by the futex address, so that threads that wait on unrelated
+ * futexes do not contend on the same lock. Comparing the futex word and enqueuing the waiter happen
+ * under the queue lock, which makes a wait atomic with respect to a concurrent wake on the same
+ * address.
+ */
+public final class LLVMFutexTable {
+
+    public static final int WOKEN = 0;
+    public static final int VALUE_MISMATCH = 1;
+    public static final int TIMED_OUT = 2;
+    public static final int INTERRUPTED = 3;
+
+    public static final int MATCH_ANY = -1;
+    public static final long NO_TIMEOUT = -1;
+
+    // must be a power of two
+    private static final int STRIPES = 64;
+
+    private static final class Waiter {
+        private final Thread thread;
+        private final int bitset;
+
+        // only modified while holding the lock of the queue(s) involved
+        private volatile long address;
+        private volatile boolean woken;
+
+        Waiter(Thread thread, long address, int bitset) {
+            this.thread = thread;
+            this.address = address;
+            this.bitset = bitset;
+        }
+    }
+
+    private static final class WaitQueue {
+        private final int index;
+        private final List<Waiter> waiters = new ArrayList<>();
+
+        WaitQueue(int index) {
+            this.index = index;
+        }
+    }
+
+    private final WaitQueue[] queues;
+
+    public LLVMFutexTable() {
+        this.queues = new WaitQueue[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            queues[i] = new WaitQueue(i);
+        }
+    }
+
+    private WaitQueue getQueue(long address) {
+        // futex words are 4-byte aligned, so the lowest two bits do not carry any information
+        long hash = address >>> 2;
+        hash ^= hash >>> 17;
+        hash ^= hash >>> 31;
+        return queues[(int) hash & (STRIPES - 1)];
+    }
+
+    /**
+     * Blocks the current thread until it is woken up on {@code address}, provided that the 32-bit
+     * value at {@code address} still equals {@code expected}.
+     *
+     * @param timeoutNanos relative timeout in nanoseconds, or {@link #NO_TIMEOUT}
+     * @return one of {@link #WOKEN}, {@link #VALUE_MISMATCH}, {@link #TIMED_OUT} or
+     *         {@link #INTERRUPTED}
+     */
+    @TruffleBoundary
+    public int await(long address, int expected, long timeoutNanos, int bitset) {
+        Waiter waiter = new Waiter(Thread.currentThread(), address, bitset);
+        WaitQueue queue = getQueue(address);
+        synchronized (queue) {
+            if (LLVMMemory.getI32(address) != expected) {
+                return VALUE_MISMATCH;
+            }
+            queue.waiters.add(waiter);
+        }
+
+        long deadline = timeoutNanos == NO_TIMEOUT ? 0 : System.nanoTime() + timeoutNanos;
+        while (!waiter.woken) {
+            if (Thread.interrupted()) {
+                return cancel(waiter, INTERRUPTED);
+            }
+            if (timeoutNanos == NO_TIMEOUT) {
+                LockSupport.park(this);
+            } else {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return cancel(waiter, TIMED_OUT);
+                }
+                LockSupport.parkNanos(this, remaining);
+            }
+        }
+        return WOKEN;
+    }
+
+    private int cancel(Waiter waiter, int status) {
+        while (true) {
+            // the waiter may be requeued concurrently, so we have to find the queue it is in now
+            long address = waiter.address;
+            WaitQueue queue = getQueue(address);
+            synchronized (queue) {
+                if (waiter.woken) {
+                    return WOKEN;
+                }
+                if (waiter.address == address) {
+                    queue.waiters.remove(waiter);
+                    return status;
+                }
+            }
+        }
+    }
+
+    /**
+     * Wakes up at most {@code count} threads that wait on {@code address} and whose bitset
+     * intersects {@code bitset}.
+     *
+     * @return the number of threads that were woken up
+     */
+    @TruffleBoundary
+    public int wake(long address, int count, int bitset) {
+        WaitQueue queue = getQueue(address);
+        synchronized (queue) {
+            return wakeLocked(queue, address, count, bitset);
+        }
+    }
+
+    private static int wakeLocked(WaitQueue queue, long address, int count, int bitset) {
+        int woken = 0;
+        Iterator<Waiter> iterator = queue.waiters.iterator();
+        while (woken < count && iterator.hasNext()) {
+            Waiter waiter = iterator.next();
+            if (waiter.address == address && (waiter.bitset & bitset) != 0) {
+                iterator.remove();
+                waiter.woken = true;
+                LockSupport.unpark(waiter.thread);
+                woken++;
+            }
+        }
+        return woken;
+    }
+
+    /**
+     * Wakes up at most {@code wakeCount} threads that wait on {@code address} and moves at most
+     * {@code requeueCount} of the remaining waiters to {@code target}. If {@code compare} is set,
+     * nothing happens unless the 32-bit value at {@code address} equals {@code expected}.
+     *
+     * @return the number of threads that were woken up or requeued, or -1 if the value at
+     *         {@code address} did not match
+     */
+    @TruffleBoundary
+    public int requeue(long address, int wakeCount, long target, int requeueCount, boolean compare, int expected) {
+        WaitQueue from = getQueue(address);
+        WaitQueue to = getQueue(target);
+        // always lock the queue with the lower index first to avoid deadlocks
+        WaitQueue first = from.index <= to.index ? from : to;
+        WaitQueue second = from.index <= to.index ? to : from;
+        synchronized (first) {
+            synchronized (second) {
+                if (compare && LLVMMemory.getI32(address) != expected) {
+                    return -1;
+                }
+                int woken = wakeLocked(from, address, wakeCount, MATCH_ANY);
+                int requeued = 0;
+                Iterator<Waiter> iterator = from.waiters.iterator();
+                List<Waiter> moved = new ArrayList<>();
+                while (requeued < requeueCount && iterator.hasNext()) {
+                    Waiter waiter = iterator.next();
+                    if (waiter.address == address) {
+                        waiter.address = target;
+                        if (from != to) {
+                            iterator.remove();
+                            moved.add(waiter);
+                        }
+                        requeued++;
+                    }
+                }
+                to.waiters.addAll(moved);
+                return woken + requeued;
+            }
+        }
+    }
+}
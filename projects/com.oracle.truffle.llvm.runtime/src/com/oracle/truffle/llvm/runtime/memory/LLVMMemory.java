@@ -30,7 +30,6 @@
 package com.oracle.truffle.llvm.runtime.memory;
 
 import java.lang.reflect.Field;
-import java.util.function.BinaryOperator;
 import java.util.function.IntBinaryOperator;
 import java.util.function.LongBinaryOperator;
 
@@ -342,6 +341,68 @@ public abstract class LLVMMemory {
         UNSAFE.putAddress(ptr, ptrValue);
     }
 
+    // bulk copies between native memory and primitive arrays, used for vector loads and stores
+
+    public static void getArray(long ptr, byte[] target) {
+        assert ptr != 0;
+        UNSAFE.copyMemory(null, ptr, target, Unsafe.ARRAY_BYTE_BASE_OFFSET, (long) target.length * Unsafe.ARRAY_BYTE_INDEX_SCALE);
+    }
+
+    public static void putArray(long ptr, byte[] values) {
+        assert ptr != 0;
+        UNSAFE.copyMemory(values, Unsafe.ARRAY_BYTE_BASE_OFFSET, null, ptr, (long) values.length * Unsafe.ARRAY_BYTE_INDEX_SCALE);
+    }
+
+    public static void getArray(long ptr, short[] target) {
+        assert ptr != 0;
+        UNSAFE.copyMemory(null, ptr, target, Unsafe.ARRAY_SHORT_BASE_OFFSET, (long) target.length * Unsafe.ARRAY_SHORT_INDEX_SCALE);
+    }
+
+    public static void putArray(long ptr, short[] values) {
+        assert ptr != 0;
+        UNSAFE.copyMemory(values, Unsafe.ARRAY_SHORT_BASE_OFFSET, null, ptr, (long) values.length * Unsafe.ARRAY_SHORT_INDEX_SCALE);
+    }
+
+    public static void getArray(long ptr, int[] target) {
+        assert ptr != 0;
+        UNSAFE.copyMemory(null, ptr, target, Unsafe.ARRAY_INT_BASE_OFFSET, (long) target.length * Unsafe.ARRAY_INT_INDEX_SCALE);
+    }
+
+    public static void putArray(long ptr, int[] values) {
+        assert ptr != 0;
+        UNSAFE.copyMemory(values, Unsafe.ARRAY_INT_BASE_OFFSET, null, ptr, (long) values.length * Unsafe.ARRAY_INT_INDEX_SCALE);
+    }
+
+    public static void getArray(long ptr, long[] target) {
+        assert ptr != 0;
+        UNSAFE.copyMemory(null, ptr, target, Unsafe.ARRAY_LONG_BASE_OFFSET, (long) target.length * Unsafe.ARRAY_LONG_INDEX_SCALE);
+    }
+
+    public static void putArray(long ptr, long[] values) {
+        assert ptr != 0;
+        UNSAFE.copyMemory(values, Unsafe.ARRAY_LONG_BASE_OFFSET, null, ptr, (long) values.length * Unsafe.ARRAY_LONG_INDEX_SCALE);
+    }
+
+    public static void getArray(long ptr, float[] target) {
+        assert ptr != 0;
+        UNSAFE.copyMemory(null, ptr, target, Unsafe.ARRAY_FLOAT_BASE_OFFSET, (long) target.length * Unsafe.ARRAY_FLOAT_INDEX_SCALE);
+    }
+
+    public static void putArray(long ptr, float[] values) {
+        assert ptr != 0;
+        UNSAFE.copyMemory(values, Unsafe.ARRAY_FLOAT_BASE_OFFSET, null, ptr, (long) values.length * Unsafe.ARRAY_FLOAT_INDEX_SCALE);
+    }
+
+    public static void getArray(long ptr, double[] target) {
+        assert ptr != 0;
+        UNSAFE.copyMemory(null, ptr, target, Unsafe.ARRAY_DOUBLE_BASE_OFFSET, (long) target.length * Unsafe.ARRAY_DOUBLE_INDEX_SCALE);
+    }
+
+    public static void putArray(long ptr, double[] values) {
+        assert ptr != 0;
+        UNSAFE.copyMemory(values, Unsafe.ARRAY_DOUBLE_BASE_OFFSET, null, ptr, (long) values.length * Unsafe.ARRAY_DOUBLE_INDEX_SCALE);
+    }
+
     public static LLVMI32Vector getI32Vector(LLVMAddress addr, int size) {
         return LLVMI32Vector.readVectorFromMemory(addr, size);
     }
@@ -376,32 +437,32 @@ public abstract class LLVMMemory {
 
     // watch out for casts such as I32* to I32Vector* when changing the way how vectors are
     // implemented
-    public static void putVector(LLVMAddress addr, LLVMDoubleVector vector) {
-        LLVMDoubleVector.writeVectorToMemory(addr, vector);
+    public static void putVector(LLVMAddress addr, LLVMDoubleVector vector, int size) {
+        LLVMDoubleVector.writeVectorToMemory(addr, vector, size);
     }
 
-    public static void putVector(LLVMAddress addr, LLVMFloatVector vector) {
-        LLVMFloatVector.writeVectorToMemory(addr, vector);
+    public static void putVector(LLVMAddress addr, LLVMFloatVector vector, int size) {
+        LLVMFloatVector.writeVectorToMemory(addr, vector, size);
     }
 
-    public static void putVector(LLVMAddress addr, LLVMI16Vector vector) {
-        LLVMI16Vector.writeVectorToMemory(addr, vector);
+    public static void putVector(LLVMAddress addr, LLVMI16Vector vector, int size) {
+        LLVMI16Vector.writeVectorToMemory(addr, vector, size);
     }
 
-    public static void putVector(LLVMAddress addr, LLVMI1Vector vector) {
-        LLVMI1Vector.writeVectorToMemory(addr, vector);
+    public static void putVector(LLVMAddress addr, LLVMI1Vector vector, int size) {
+        LLVMI1Vector.writeVectorToMemory(addr, vector, size);
     }
 
-    public static void putVector(LLVMAddress addr, LLVMI32Vector vector) {
-        LLVMI32Vector.writeVectorToMemory(addr, vector);
+    public static void putVector(LLVMAddress addr, LLVMI32Vector vector, int size) {
+        LLVMI32Vector.writeVectorToMemory(addr, vector, size);
     }
 
-    public static void putVector(LLVMAddress addr, LLVMI64Vector vector) {
-        LLVMI64Vector.writeVectorToMemory(addr, vector);
+    public static void putVector(LLVMAddress addr, LLVMI64Vector vector, int size) {
+        LLVMI64Vector.writeVectorToMemory(addr, vector, size);
     }
 
-    public static void putVector(LLVMAddress addr, LLVMI8Vector vector) {
-        LLVMI8Vector.writeVectorToMemory(addr, vector);
+    public static void putVector(LLVMAddress addr, LLVMI8Vector vector, int size) {
+        LLVMI8Vector.writeVectorToMemory(addr, vector, size);
     }
 
     public static void putVector(LLVMAddress addr, LLVMAddressVector vector) {
@@ -633,38 +694,69 @@ public abstract class LLVMMemory {
         return old;
     }
 
-    public static short getAndOpI16(LLVMAddress address, short value, BinaryOperator<Short> f) {
-        short old;
-        short nevv;
+    @FunctionalInterface
+    public interface BooleanBinaryOperator {
+        boolean apply(boolean left, boolean right);
+    }
+
+    /*
+     * The sub-word operations below perform a masked compare-and-swap on the aligned i32 that
+     * contains the operand. The operator receives the sign-extended old value and operand, and only
+     * the low 16 (resp. 8) bits of its result are written back.
+     */
+
+    public static short getAndOpI16(LLVMAddress address, short value, IntBinaryOperator f) {
+        int idx = getI16Index(address.getVal());
+        long addr = alignToI32(address.getVal());
+        int old;
+        short oldValue;
+        int nevv;
         do {
-            old = getI16(address);
-            nevv = f.apply(old, value);
-        } while (!compareAndSwapI16(address, old, nevv).swap);
-        return old;
+            old = UNSAFE.getIntVolatile(null, addr);
+            oldValue = getI16At(old, idx);
+            nevv = replaceI16(idx, old, (short) f.applyAsInt(oldValue, value));
+        } while (!UNSAFE.compareAndSwapInt(null, addr, old, nevv));
+        return oldValue;
     }
 
-    public static byte getAndOpI8(LLVMAddress address, byte value, BinaryOperator<Byte> f) {
-        byte old;
-        byte nevv;
+    public static byte getAndOpI8(LLVMAddress address, byte value, IntBinaryOperator f) {
+        int idx = getI8Index(address.getVal());
+        long addr = alignToI32(address.getVal());
+        int old;
+        byte oldValue;
+        int nevv;
         do {
-            old = getI8(address);
-            nevv = f.apply(old, value);
-        } while (!compareAndSwapI8(address, old, nevv).swap);
-        return old;
+            old = UNSAFE.getIntVolatile(null, addr);
+            oldValue = getI8At(old, idx);
+            nevv = replaceI8(idx, old, (byte) f.applyAsInt(oldValue, value));
+        } while (!UNSAFE.compareAndSwapInt(null, addr, old, nevv));
+        return oldValue;
     }
 
-    public static boolean getAndOpI1(LLVMAddress address, boolean value, BinaryOperator<Boolean> f) {
-        byte old;
-        boolean nevv;
+    public static boolean getAndOpI1(LLVMAddress address, boolean value, BooleanBinaryOperator f) {
+        int idx = getI8Index(address.getVal());
+        long addr = alignToI32(address.getVal());
+        int old;
+        boolean oldValue;
+        int nevv;
         do {
-            old = getI8(address);
-            nevv = f.apply(old != 0, value);
-        } while (!compareAndSwapI8(address, old, (byte) (nevv ? 1 : 0)).swap);
-        return old != 0;
+            old = UNSAFE.getIntVolatile(null, addr);
+            oldValue = getI8At(old, idx) != 0;
+            nevv = replaceI8(idx, old, (byte) (f.apply(oldValue, value) ? 1 : 0));
+        } while (!UNSAFE.compareAndSwapInt(null, addr, old, nevv));
+        return oldValue;
     }
 
     public static void fullFence() {
         UNSAFE.fullFence();
     }
 
+    public static void loadFence() {
+        UNSAFE.loadFence();
+    }
+
+    public static void storeFence() {
+        UNSAFE.storeFence();
+    }
+
 }
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.runtime.memory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * Keeps track of the address ranges that the guest mapped with {@code mmap}. Only memory that was
+ * mapped by the guest may be unmapped, synced or advised, so a stray {@code munmap} cannot release
+ * memory that belongs to the allocator or to the VM.
+ */
+public final class LLVMMemoryMappings {
+
+    public static final long PAGE_SIZE = 4096;
+
+    // start address -> end address (exclusive) of all mapped ranges, ranges do not overlap
+    private final TreeMap<Long, Long> regions = new TreeMap<>();
+
+    public static long pageAlign(long length) {
+        return (length + PAGE_SIZE - 1) & -PAGE_SIZE;
+    }
+
+    public static boolean isPageAligned(long address) {
+        return (address & (PAGE_SIZE - 1)) == 0;
+    }
+
+    @TruffleBoundary
+    public synchronized void add(long start, long length) {
+        // a new mapping replaces all existing mappings it overlaps with
+        remove(start, length);
+        regions.put(start, start + pageAlign(length));
+    }
+
+    @TruffleBoundary
+    public synchronized void remove(long start, long length) {
+        long end = start + pageAlign(length);
+
+        Map.Entry<Long, Long> before = regions.lowerEntry(start);
+        if (before != null && before.getValue() > start) {
+            regions.put(before.getKey(), start);
+            if (before.getValue() > end) {
+                regions.put(end, before.getValue());
+            }
+        }
+
+        List<Map.Entry<Long, Long>> inside = new ArrayList<>(regions.subMap(start, true, end, false).entrySet());
+        for (Map.Entry<Long, Long> region : inside) {
+            regions.remove(region.getKey());
+            if (region.getValue() > end) {
+                regions.put(end, region.getValue());
+            }
+        }
+    }
+
+    /**
+     * Returns the parts of the given range that belong to a mapping, as consecutive pairs of start
+     * and end (exclusive) address.
+     */
+    @TruffleBoundary
+    public synchronized long[] getMappedRanges(long start, long length) {
+        long end = start + pageAlign(length);
+        List<Long> ranges = new ArrayList<>();
+        Map.Entry<Long, Long> region = regions.floorEntry(start);
+        if (region == null || region.getValue() <= start) {
+            region = regions.higherEntry(start);
+        }
+        while (region != null && region.getKey() < end) {
+            ranges.add(Math.max(region.getKey(), start));
+            ranges.add(Math.min(region.getValue(), end));
+            region = regions.higherEntry(region.getKey());
+        }
+        long[] result = new long[ranges.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = ranges.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether every byte in the given range belongs to a mapping.
+     */
+    @TruffleBoundary
+    public synchronized boolean isMapped(long start, long length) {
+        long end = start + length;
+        long position = start;
+        while (position < end) {
+            Map.Entry<Long, Long> region = regions.floorEntry(position);
+            if (region == null || region.getValue() <= position) {
+                return false;
+            }
+            position = region.getValue();
+        }
+        return true;
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.runtime.memory;
+
+import java.nio.ByteOrder;
+
+/**
+ * Implements the string and memory routines of the C library on native memory. Instead of
+ * processing one byte at a time, these routines load eight bytes at once and find zero bytes (or
+ * bytes with a certain value) within the word using bit operations.
+ *
+ * Reading a whole word may access bytes after the end of a string. This is harmless as long as the
+ * word does not cross a page boundary, so scans over unbounded strings only use aligned word loads
+ * or explicitly check that the word is within one page.
+ */
+public final class LLVMNativeStrings {
+
+    private static final int WORD = Long.BYTES;
+    private static final long WORD_MASK = WORD - 1;
+
+    // the smallest page size on all supported platforms
+    private static final long PAGE_SIZE = 4096;
+    private static final long PAGE_MASK = PAGE_SIZE - 1;
+
+    private static final long LOW_BITS = 0x0101010101010101L;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    private static final int BYTE_MASK = 0xFF;
+
+    private static final boolean LITTLE_ENDIAN = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
+
+    private LLVMNativeStrings() {
+    }
+
+    /**
+     * Returns a word that has the high bit set in the first byte of {@code word} that is zero, or 0
+     * if there is no zero byte. Bytes after the first zero byte may also be marked.
+     */
+    private static long zeroBytes(long word) {
+        return (word - LOW_BITS) & ~word & HIGH_BITS;
+    }
+
+    private static long repeat(byte value) {
+        return (value & BYTE_MASK) * LOW_BITS;
+    }
+
+    /**
+     * Returns the index (in memory order) of the first byte of a word that has a set bit in
+     * {@code mask}.
+     */
+    private static int firstMarkedByte(long mask) {
+        if (LITTLE_ENDIAN) {
+            return Long.numberOfTrailingZeros(mask) / Byte.SIZE;
+        } else {
+            return Long.numberOfLeadingZeros(mask) / Byte.SIZE;
+        }
+    }
+
+    private static boolean isWithinPage(long address) {
+        return (address & PAGE_MASK) <= PAGE_SIZE - WORD;
+    }
+
+    private static int compareBytes(long address1, long address2) {
+        return (LLVMMemory.getI8(address1) & BYTE_MASK) - (LLVMMemory.getI8(address2) & BYTE_MASK);
+    }
+
+    public static long strlen(long address) {
+        long ptr = address;
+        while ((ptr & WORD_MASK) != 0) {
+            if (LLVMMemory.getI8(ptr) == 0) {
+                return ptr - address;
+            }
+            ptr++;
+        }
+        while (true) {
+            long zeros = zeroBytes(LLVMMemory.getI64(ptr));
+            if (zeros != 0) {
+                return ptr - address + firstMarkedByte(zeros);
+            }
+            ptr += WORD;
+        }
+    }
+
+    /**
+     * Returns the length of the string, but at most {@code maxLength}, which is an unsigned
+     * {@code size_t}.
+     */
+    public static long strnlen(long address, long maxLength) {
+        long index = memchr(address, (byte) 0, maxLength);
+        return index < 0 ? maxLength : index;
+    }
+
+    /**
+     * Returns the index of the first occurrence of {@code value} within the first {@code length}
+     * bytes, or -1 if there is none. Like all lengths in this class, {@code length} is an unsigned
+     * {@code size_t}; the scan counts down the remaining bytes, so that no end address is computed
+     * that could overflow.
+     */
+    public static long memchr(long address, byte value, long length) {
+        long ptr = address;
+        long remaining = length;
+        while ((ptr & WORD_MASK) != 0 && remaining != 0) {
+            if (LLVMMemory.getI8(ptr) == value) {
+                return ptr - address;
+            }
+            ptr++;
+            remaining--;
+        }
+        long pattern = repeat(value);
+        while (Long.compareUnsigned(remaining, WORD) >= 0) {
+            long matches = zeroBytes(LLVMMemory.getI64(ptr) ^ pattern);
+            if (matches != 0) {
+                return ptr - address + firstMarkedByte(matches);
+            }
+            ptr += WORD;
+            remaining -= WORD;
+        }
+        while (remaining != 0) {
+            if (LLVMMemory.getI8(ptr) == value) {
+                return ptr - address;
+            }
+            ptr++;
+            remaining--;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the first occurrence of {@code value} in the string (which is the index
+     * of the terminating zero byte if {@code value} is 0), or -1 if there is none.
+     */
+    public static long strchr(long address, byte value) {
+        long ptr = address;
+        while ((ptr & WORD_MASK) != 0) {
+            byte current = LLVMMemory.getI8(ptr);
+            if (current == value) {
+                return ptr - address;
+            } else if (current == 0) {
+                return -1;
+            }
+            ptr++;
+        }
+        long pattern = repeat(value);
+        while (true) {
+            long word = LLVMMemory.getI64(ptr);
+            long marked = zeroBytes(word) | zeroBytes(word ^ pattern);
+            if (marked != 0) {
+                long found = ptr + firstMarkedByte(marked);
+                return LLVMMemory.getI8(found) == value ? found - address : -1;
+            }
+            ptr += WORD;
+        }
+    }
+
+    public static int memcmp(long address1, long address2, long length) {
+        long offset = 0;
+        while (Long.compareUnsigned(length - offset, WORD) >= 0) {
+            long difference = LLVMMemory.getI64(address1 + offset) ^ LLVMMemory.getI64(address2 + offset);
+            if (difference != 0) {
+                int index = firstMarkedByte(difference);
+                return compareBytes(address1 + offset + index, address2 + offset + index);
+            }
+            offset += WORD;
+        }
+        while (Long.compareUnsigned(offset, length) < 0) {
+            int result = compareBytes(address1 + offset, address2 + offset);
+            if (result != 0) {
+                return result;
+            }
+            offset++;
+        }
+        return 0;
+    }
+
+    public static int strcmp(long address1, long address2) {
+        return strncmp(address1, address2, -1L);
+    }
+
+    public static int strncmp(long address1, long address2, long length) {
+        long offset = 0;
+        while (Long.compareUnsigned(offset, length) < 0) {
+            long ptr1 = address1 + offset;
+            long ptr2 = address2 + offset;
+            if (Long.compareUnsigned(length - offset, WORD) >= 0 && isWithinPage(ptr1) && isWithinPage(ptr2)) {
+                long word = LLVMMemory.getI64(ptr1);
+                if (word == LLVMMemory.getI64(ptr2)) {
+                    if (zeroBytes(word) != 0) {
+                        return 0;
+                    }
+                    offset += WORD;
+                    continue;
+                }
+            }
+            // compare byte by byte until the next word boundary of the first string
+            long wordEnd = offset + WORD - (ptr1 & WORD_MASK);
+            long chunkEnd = Long.compareUnsigned(length, wordEnd) < 0 ? length : wordEnd;
+            while (Long.compareUnsigned(offset, chunkEnd) < 0) {
+                byte value1 = LLVMMemory.getI8(address1 + offset);
+                byte value2 = LLVMMemory.getI8(address2 + offset);
+                if (value1 != value2) {
+                    return (value1 & BYTE_MASK) - (value2 & BYTE_MASK);
+                } else if (value1 == 0) {
+                    return 0;
+                }
+                offset++;
+            }
+        }
+        return 0;
+    }
+}
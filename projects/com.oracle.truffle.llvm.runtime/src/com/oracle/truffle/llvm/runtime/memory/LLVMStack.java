@@ -101,6 +101,14 @@ public final class LLVMStack {
         return isFreed;
     }
 
+    /**
+     * Prepares a stack of a finished thread for reuse by another thread.
+     */
+    void reset() {
+        assert !isFreed;
+        stackPointer = upperBounds;
+    }
+
     public final class StackPointer implements AutoCloseable {
 
         private final long pointer;
@@ -31,7 +31,10 @@ package com.oracle.truffle.llvm.runtime.memory;
 
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
-import java.util.HashMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.oracle.truffle.api.Assumption;
 import com.oracle.truffle.api.CompilerAsserts;
@@ -41,11 +44,20 @@ import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 
 public final class LLVMThreadingStack {
 
+    // stacks of finished threads that are kept for reuse, the rest is freed
+    private static final int MAX_POOLED_STACKS = 16;
+
     private final Assumption singleThreading = Truffle.getRuntime().createAssumption();
     private final Thread defaultThread;
     private final LLVMStack defaultStack;
 
-    private final HashMap<Long, LLVMStack> threadToStack = new HashMap<>();
+    private final ThreadLocal<LLVMStack> threadStack = new ThreadLocal<>();
+
+    // keeps the references alive until the thread has been collected and its stack released
+    private final Set<ReferenceWithCleanup> threadReferences = ConcurrentHashMap.newKeySet();
+
+    private final ConcurrentLinkedDeque<LLVMStack> pooledStacks = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger pooledStackCount = new AtomicInteger();
 
     private final ReferenceQueue<Thread> threadsQueue = new ReferenceQueue<>();
 
@@ -57,18 +69,21 @@ public final class LLVMThreadingStack {
         this.defaultStack = new LLVMStack(stackSize);
     }
 
-    private class ReferenceWithCleanup extends WeakReference<Thread> {
-        private final long threadID;
+    private final class ReferenceWithCleanup extends WeakReference<Thread> {
+        private final LLVMStack stack;
 
-        ReferenceWithCleanup(Thread thread) {
+        ReferenceWithCleanup(Thread thread, LLVMStack stack) {
             super(thread, threadsQueue);
-            this.threadID = thread.getId();
+            this.stack = stack;
         }
 
         public void cleanUp() {
-            LLVMStack stack = threadToStack.get(threadID);
-            stack.free();
-            threadToStack.remove(threadID);
+            // same lock as freeStacks, otherwise the stack could be pooled after it cleared the pool
+            synchronized (LLVMThreadingStack.this) {
+                if (threadReferences.remove(this)) {
+                    releaseStack(stack);
+                }
+            }
         }
     }
 
@@ -118,50 +133,61 @@ public final class LLVMThreadingStack {
             assert Thread.currentThread() == defaultThread;
             return defaultStack;
         } else {
+            return getThreadStack();
+        }
+    }
+
+    @TruffleBoundary
+    private LLVMStack getThreadStack() {
+        LLVMStack stack = threadStack.get();
+        if (stack == null) {
             Thread currentThread = Thread.currentThread();
             if (currentThread == defaultThread) {
-                return defaultStack;
+                stack = defaultStack;
             } else {
-                synchronized (this) {
-                    if (isKnownThread(currentThread)) {
-                        return getKnownThread(currentThread);
-                    } else {
-                        return addNewThread(currentThread);
-                    }
-                }
+                stack = acquireStack();
+                threadReferences.add(new ReferenceWithCleanup(currentThread, stack));
             }
+            threadStack.set(stack);
         }
+        return stack;
     }
 
-    @SuppressWarnings("unused")
-    @TruffleBoundary
-    private LLVMStack addNewThread(Thread currentThread) {
-        LLVMStack newStack = new LLVMStack(stackSize);
-        threadToStack.put(currentThread.getId(), newStack);
-        new ReferenceWithCleanup(currentThread);
-        return newStack;
-    }
-
-    @TruffleBoundary
-    private LLVMStack getKnownThread(Thread currentThread) {
-        return threadToStack.get(currentThread.getId());
+    private LLVMStack acquireStack() {
+        LLVMStack stack = pooledStacks.pollFirst();
+        if (stack != null) {
+            pooledStackCount.decrementAndGet();
+            stack.reset();
+            return stack;
+        }
+        return new LLVMStack(stackSize);
     }
 
-    @TruffleBoundary
-    private boolean isKnownThread(Thread currentThread) {
-        return threadToStack.containsKey(currentThread.getId());
+    private void releaseStack(LLVMStack stack) {
+        synchronized (this) {
+            if (pooledStackCount.incrementAndGet() <= MAX_POOLED_STACKS) {
+                pooledStacks.addFirst(stack);
+            } else {
+                pooledStackCount.decrementAndGet();
+                stack.free();
+            }
+        }
     }
 
     public void freeStacks() {
         CompilerAsserts.neverPartOfCompilation();
         synchronized (this) {
             defaultStack.free();
-            for (LLVMStack s : threadToStack.values()) {
-                if (!s.isFreed()) {
-                    s.free();
-                }
+            // stacks of threads that are collected after this point are not released anymore
+            for (ReferenceWithCleanup ref : threadReferences) {
+                ref.stack.free();
             }
+            threadReferences.clear();
+            LLVMStack stack;
+            while ((stack = pooledStacks.pollFirst()) != null) {
+                stack.free();
+            }
+            pooledStackCount.set(0);
         }
     }
-
 }
@@ -36,6 +36,7 @@ import java.io.PrintStream;
 import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.llvm.runtime.LLVMContext;
 import com.oracle.truffle.llvm.runtime.LLVMLanguage;
+import com.oracle.truffle.llvm.runtime.LLVMNativeCallStatistics;
 import com.oracle.truffle.llvm.runtime.global.LLVMGlobalVariableAccess;
 import com.oracle.truffle.llvm.runtime.options.SulongEngineOption;
 
@@ -88,7 +89,7 @@ public abstract class LLVMNode extends Node {
     }
 
     protected static boolean nativeCallStatisticsEnabled(LLVMContext context) {
-        return SulongEngineOption.isTrue(context.getEnv().getOptions().get(SulongEngineOption.NATIVE_CALL_STATS));
+        return LLVMNativeCallStatistics.isEnabled(context.getEnv().getOptions().get(SulongEngineOption.NATIVE_CALL_STATS));
     }
 
     @Override
@@ -41,6 +41,7 @@ import org.graalvm.options.OptionKey;
 
 import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.TruffleLanguage;
+import com.oracle.truffle.llvm.runtime.memory.LLVMAllocator;
 
 public final class SulongEngineOption {
 
@@ -70,7 +71,7 @@ public final class SulongEngineOption {
 
     public static final OptionKey<String> NATIVE_CALL_STATS = new OptionKey<>(String.valueOf(false));
     public static final String NATIVE_CALL_STATS_NAME = "llvm.printNativeCallStats";
-    public static final String NATIVE_CALL_STATS_INFO = "Outputs stats about native call site frequencies. Can be \'true\', \'false\', \'stdout\', \'stderr\' or a filepath.";
+    public static final String NATIVE_CALL_STATS_INFO = "Outputs the number, latency percentiles and argument conversion time of native calls per function and caller. Can be \'true\', \'false\', \'stdout\', \'stderr\' or a filepath (*.json for JSON, CSV otherwise).";
 
     public static final OptionKey<String> PRINT_LIFE_TIME_ANALYSIS_STATS = new OptionKey<>(String.valueOf(false));
     public static final String PRINT_LIFE_TIME_ANALYSIS_STATS_NAME = "llvm.printLifetimeAnalysisStats";
@@ -84,6 +85,34 @@ public final class SulongEngineOption {
     public static final String ENABLE_LVI_NAME = "llvm.enableLVI";
     public static final String ENABLE_LVI_INFO = "Enable source-level inspection of local variables.";
 
+    public static final OptionKey<String> PARSE_CACHE_DIR = new OptionKey<>("");
+    public static final String PARSE_CACHE_DIR_NAME = "llvm.parseCacheDir";
+    public static final String PARSE_CACHE_DIR_INFO = "Directory in which scanned bitcode records are cached across contexts, keyed by a hash of the bitcode. Caching is disabled if empty.";
+
+    public static final OptionKey<Boolean> PARALLEL_FUNCTION_PARSING = new OptionKey<>(false);
+    public static final String PARALLEL_FUNCTION_PARSING_NAME = "llvm.parallelFunctionParsing";
+    public static final String PARALLEL_FUNCTION_PARSING_INFO = "Decodes the function bodies of a bitcode file in parallel after the module-level blocks have been scanned.";
+
+    public static final OptionKey<String> ALLOCATOR = new OptionKey<>(LLVMAllocator.SYSTEM);
+    public static final String ALLOCATOR_NAME = "llvm.allocator";
+    public static final String ALLOCATOR_INFO = "Allocator that serves malloc, calloc, realloc and free. Can be \'system\' or \'arena\' (thread-local size-class arenas that are released when the context is disposed).";
+
+    public static final OptionKey<String> ALLOCATION_STATS = new OptionKey<>(String.valueOf(false));
+    public static final String ALLOCATION_STATS_NAME = "llvm.printAllocationStats";
+    public static final String ALLOCATION_STATS_INFO = "Counts calls to the allocator and prints them when the context is disposed. Can be \'true\', \'false\', \'stdout\' or \'stderr\'.";
+
+    public static final OptionKey<Boolean> WEAK_HANDLES = new OptionKey<>(false);
+    public static final String WEAK_HANDLES_NAME = "llvm.weakHandles";
+    public static final String WEAK_HANDLES_INFO = "Native handles for managed objects do not keep the objects alive. Handles of collected objects can no longer be resolved.";
+
+    public static final OptionKey<Boolean> COALESCE_FRAME_SLOTS = new OptionKey<>(true);
+    public static final String COALESCE_FRAME_SLOTS_NAME = "llvm.coalesceFrameSlots";
+    public static final String COALESCE_FRAME_SLOTS_INFO = "Lets SSA values whose live ranges do not overlap share a frame slot if they have the same type.";
+
+    public static final OptionKey<Boolean> PRIMITIVE_ARGUMENTS = new OptionKey<>(false);
+    public static final String PRIMITIVE_ARGUMENTS_NAME = "llvm.primitiveArguments";
+    public static final String PRIMITIVE_ARGUMENTS_INFO = "Passes primitive arguments of direct calls between LLVM IR functions in a long array instead of boxing them.";
+
     public static List<OptionDescriptor> describeOptions() {
         ArrayList<OptionDescriptor> options = new ArrayList<>();
         options.add(OptionDescriptor.newBuilder(SulongEngineOption.CONFIGURATION, SulongEngineOption.CONFIGURATION_NAME).help(SulongEngineOption.CONFIGURATION_INFO).category(
@@ -104,6 +133,19 @@ public final class SulongEngineOption {
         options.add(OptionDescriptor.newBuilder(SulongEngineOption.PARSE_ONLY, SulongEngineOption.PARSE_ONLY_NAME).help(
                         SulongEngineOption.PARSE_ONLY_INFO).category(
                                         OptionCategory.EXPERT).build());
+        options.add(OptionDescriptor.newBuilder(SulongEngineOption.PARSE_CACHE_DIR, SulongEngineOption.PARSE_CACHE_DIR_NAME).help(SulongEngineOption.PARSE_CACHE_DIR_INFO).category(
+                        OptionCategory.EXPERT).build());
+        options.add(OptionDescriptor.newBuilder(SulongEngineOption.PARALLEL_FUNCTION_PARSING, SulongEngineOption.PARALLEL_FUNCTION_PARSING_NAME).help(
+                        SulongEngineOption.PARALLEL_FUNCTION_PARSING_INFO).category(OptionCategory.EXPERT).build());
+        options.add(OptionDescriptor.newBuilder(SulongEngineOption.ALLOCATOR, SulongEngineOption.ALLOCATOR_NAME).help(SulongEngineOption.ALLOCATOR_INFO).category(OptionCategory.EXPERT).build());
+        options.add(OptionDescriptor.newBuilder(SulongEngineOption.ALLOCATION_STATS, SulongEngineOption.ALLOCATION_STATS_NAME).help(SulongEngineOption.ALLOCATION_STATS_INFO).category(
+                        OptionCategory.EXPERT).build());
+        options.add(OptionDescriptor.newBuilder(SulongEngineOption.WEAK_HANDLES, SulongEngineOption.WEAK_HANDLES_NAME).help(SulongEngineOption.WEAK_HANDLES_INFO).category(
+                        OptionCategory.EXPERT).build());
+        options.add(OptionDescriptor.newBuilder(SulongEngineOption.COALESCE_FRAME_SLOTS, SulongEngineOption.COALESCE_FRAME_SLOTS_NAME).help(SulongEngineOption.COALESCE_FRAME_SLOTS_INFO).category(
+                        OptionCategory.EXPERT).build());
+        options.add(OptionDescriptor.newBuilder(SulongEngineOption.PRIMITIVE_ARGUMENTS, SulongEngineOption.PRIMITIVE_ARGUMENTS_NAME).help(SulongEngineOption.PRIMITIVE_ARGUMENTS_INFO).category(
+                        OptionCategory.EXPERT).build());
         options.add(OptionDescriptor.newBuilder(SulongEngineOption.ENABLE_LVI, SulongEngineOption.ENABLE_LVI_NAME).help(SulongEngineOption.ENABLE_LVI_INFO).category(OptionCategory.DEBUG).build());
         return options;
     }
@@ -95,6 +95,25 @@ public abstract class Type {
         }
     }
 
+    /**
+     * Compares two types including the pointee types of pointers. {@link PointerType#equals} ignores
+     * the pointee, which is not enough when the pointee decides how a value is accessed.
+     */
+    public static boolean deepEquals(Type a, Type b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        if (a instanceof PointerType && b instanceof PointerType) {
+            return deepEquals(((PointerType) a).getPointeeType(), ((PointerType) b).getPointeeType());
+        }
+        if (a instanceof VectorType && b instanceof VectorType) {
+            VectorType vectorA = (VectorType) a;
+            VectorType vectorB = (VectorType) b;
+            return vectorA.getNumberOfElements() == vectorB.getNumberOfElements() && deepEquals(vectorA.getElementType(), vectorB.getElementType());
+        }
+        return a.equals(b);
+    }
+
     public static boolean isFunctionOrFunctionPointer(Type type) {
         return type instanceof FunctionType || (type instanceof PointerType && ((PointerType) type).getPointeeType() instanceof FunctionType);
     }
@@ -162,6 +181,10 @@ public abstract class Type {
                 default:
                     return FrameSlotKind.Object;
             }
+        } else if (type instanceof PointerType && !isFunctionOrFunctionPointer(type)) {
+            // native pointers are kept as raw addresses, the slot is generalized to Object once a
+            // managed pointer is written to it
+            return FrameSlotKind.Long;
         }
         return FrameSlotKind.Object;
     }
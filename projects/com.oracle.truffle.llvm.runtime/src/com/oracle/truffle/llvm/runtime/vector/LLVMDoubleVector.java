@@ -29,17 +29,17 @@
  */
 package com.oracle.truffle.llvm.runtime.vector;
 
-import java.util.Arrays;
-
+import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.ValueType;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
 import com.oracle.truffle.llvm.runtime.LLVMAddress;
 import com.oracle.truffle.llvm.runtime.memory.LLVMMemory;
 
 @ValueType
 public final class LLVMDoubleVector {
 
-    private final double[] vector;
     private static final int DOUBLE_SIZE = 8;
+    private final double[] vector;
 
     public static LLVMDoubleVector create(double[] vector) {
         return new LLVMDoubleVector(vector);
@@ -49,21 +49,36 @@ public final class LLVMDoubleVector {
         this.vector = vector;
     }
 
+    /**
+     * The interpreter copies all lanes at once. Compiled code accesses each lane separately with a
+     * constant {@code size}, so the lane array can be scalar-replaced.
+     */
+    @ExplodeLoop
     public static LLVMDoubleVector readVectorFromMemory(LLVMAddress address, int size) {
         double[] vector = new double[size];
-        long currentPtr = address.getVal();
-        for (int i = 0; i < size; i++) {
-            vector[i] = LLVMMemory.getDouble(currentPtr);
-            currentPtr += DOUBLE_SIZE;
+        if (CompilerDirectives.inInterpreter()) {
+            LLVMMemory.getArray(address.getVal(), vector);
+        } else {
+            long currentPtr = address.getVal();
+            for (int i = 0; i < size; i++) {
+                vector[i] = LLVMMemory.getDouble(currentPtr);
+                currentPtr += DOUBLE_SIZE;
+            }
         }
         return create(vector);
     }
 
-    public static void writeVectorToMemory(LLVMAddress address, LLVMDoubleVector vector) {
-        long currentPtr = address.getVal();
-        for (int i = 0; i < vector.getLength(); i++) {
-            LLVMMemory.putDouble(currentPtr, vector.getValue(i));
-            currentPtr += DOUBLE_SIZE;
+    @ExplodeLoop
+    public static void writeVectorToMemory(LLVMAddress address, LLVMDoubleVector vector, int size) {
+        assert vector.vector.length == size;
+        if (CompilerDirectives.inInterpreter()) {
+            LLVMMemory.putArray(address.getVal(), vector.vector);
+        } else {
+            long currentPtr = address.getVal();
+            for (int i = 0; i < size; i++) {
+                LLVMMemory.putDouble(currentPtr, vector.vector[i]);
+                currentPtr += DOUBLE_SIZE;
+            }
         }
     }
 
@@ -72,65 +87,81 @@ public final class LLVMDoubleVector {
         double eval(double a, double b);
     }
 
-    private static LLVMDoubleVector doOperation(LLVMDoubleVector lhs, LLVMDoubleVector rhs, Operation op) {
+    /**
+     * Applies {@code op} lane by lane. {@code length} must be a compilation constant (callers cache
+     * it in their node) so that the loop is unrolled and no lane array escapes in compiled code.
+     */
+    @ExplodeLoop
+    private static LLVMDoubleVector doOperation(LLVMDoubleVector lhs, LLVMDoubleVector rhs, Operation op, int length) {
         double[] left = lhs.vector;
         double[] right = rhs.vector;
 
         // not sure if this assert is true for llvm ir in general
         // this implementation however assumes it
         assert left.length == right.length;
+        assert left.length == length;
 
-        double[] result = new double[left.length];
+        double[] result = new double[length];
 
-        for (int i = 0; i < left.length; i++) {
+        for (int i = 0; i < length; i++) {
             result[i] = op.eval(left[i], right[i]);
         }
         return create(result);
     }
 
-    public LLVMDoubleVector add(LLVMDoubleVector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public double eval(double a, double b) {
-                return a + b;
-            }
-        });
+    private static final Operation ADD = new Operation() {
+        @Override
+        public double eval(double a, double b) {
+            return a + b;
+        }
+    };
+
+    public LLVMDoubleVector add(LLVMDoubleVector rightValue, int length) {
+        return doOperation(this, rightValue, ADD, length);
     }
 
-    public LLVMDoubleVector mul(LLVMDoubleVector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public double eval(double a, double b) {
-                return a * b;
-            }
-        });
+    private static final Operation MUL = new Operation() {
+        @Override
+        public double eval(double a, double b) {
+            return a * b;
+        }
+    };
+
+    public LLVMDoubleVector mul(LLVMDoubleVector rightValue, int length) {
+        return doOperation(this, rightValue, MUL, length);
     }
 
-    public LLVMDoubleVector sub(LLVMDoubleVector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public double eval(double a, double b) {
-                return a - b;
-            }
-        });
+    private static final Operation SUB = new Operation() {
+        @Override
+        public double eval(double a, double b) {
+            return a - b;
+        }
+    };
+
+    public LLVMDoubleVector sub(LLVMDoubleVector rightValue, int length) {
+        return doOperation(this, rightValue, SUB, length);
     }
 
-    public LLVMDoubleVector div(LLVMDoubleVector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public double eval(double a, double b) {
-                return a / b;
-            }
-        });
+    private static final Operation DIV = new Operation() {
+        @Override
+        public double eval(double a, double b) {
+            return a / b;
+        }
+    };
+
+    public LLVMDoubleVector div(LLVMDoubleVector rightValue, int length) {
+        return doOperation(this, rightValue, DIV, length);
     }
 
-    public LLVMDoubleVector rem(LLVMDoubleVector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public double eval(double a, double b) {
-                return a % b;
-            }
-        });
+    private static final Operation REM = new Operation() {
+        @Override
+        public double eval(double a, double b) {
+            return a % b;
+        }
+    };
+
+    public LLVMDoubleVector rem(LLVMDoubleVector rightValue, int length) {
+        return doOperation(this, rightValue, REM, length);
     }
 
     public double[] getValues() {
@@ -141,9 +172,13 @@ public final class LLVMDoubleVector {
         return vector[index];
     }
 
-    public LLVMDoubleVector insert(double element, int index) {
-        double[] copyOf = Arrays.copyOf(vector, vector.length);
-        copyOf[index] = element;
+    @ExplodeLoop
+    public LLVMDoubleVector insert(double element, int index, int length) {
+        assert vector.length == length;
+        double[] copyOf = new double[length];
+        for (int i = 0; i < length; i++) {
+            copyOf[i] = i == index ? element : vector[i];
+        }
         return create(copyOf);
     }
 
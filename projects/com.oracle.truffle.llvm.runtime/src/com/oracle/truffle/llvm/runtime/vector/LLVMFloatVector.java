@@ -29,17 +29,17 @@
  */
 package com.oracle.truffle.llvm.runtime.vector;
 
+import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.ValueType;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
 import com.oracle.truffle.llvm.runtime.LLVMAddress;
 import com.oracle.truffle.llvm.runtime.memory.LLVMMemory;
 
-import java.util.Arrays;
-
 @ValueType
 public final class LLVMFloatVector {
 
-    private final float[] vector;
     private static final int FLOAT_SIZE = 4;
+    private final float[] vector;
 
     public static LLVMFloatVector create(float[] vector) {
         return new LLVMFloatVector(vector);
@@ -49,21 +49,36 @@ public final class LLVMFloatVector {
         this.vector = vector;
     }
 
+    /**
+     * The interpreter copies all lanes at once. Compiled code accesses each lane separately with a
+     * constant {@code size}, so the lane array can be scalar-replaced.
+     */
+    @ExplodeLoop
     public static LLVMFloatVector readVectorFromMemory(LLVMAddress address, int size) {
         float[] vector = new float[size];
-        long currentPtr = address.getVal();
-        for (int i = 0; i < size; i++) {
-            vector[i] = LLVMMemory.getFloat(currentPtr);
-            currentPtr += FLOAT_SIZE;
+        if (CompilerDirectives.inInterpreter()) {
+            LLVMMemory.getArray(address.getVal(), vector);
+        } else {
+            long currentPtr = address.getVal();
+            for (int i = 0; i < size; i++) {
+                vector[i] = LLVMMemory.getFloat(currentPtr);
+                currentPtr += FLOAT_SIZE;
+            }
         }
         return create(vector);
     }
 
-    public static void writeVectorToMemory(LLVMAddress address, LLVMFloatVector vector) {
-        long currentPtr = address.getVal();
-        for (int i = 0; i < vector.getLength(); i++) {
-            LLVMMemory.putFloat(currentPtr, vector.getValue(i));
-            currentPtr += FLOAT_SIZE;
+    @ExplodeLoop
+    public static void writeVectorToMemory(LLVMAddress address, LLVMFloatVector vector, int size) {
+        assert vector.vector.length == size;
+        if (CompilerDirectives.inInterpreter()) {
+            LLVMMemory.putArray(address.getVal(), vector.vector);
+        } else {
+            long currentPtr = address.getVal();
+            for (int i = 0; i < size; i++) {
+                LLVMMemory.putFloat(currentPtr, vector.vector[i]);
+                currentPtr += FLOAT_SIZE;
+            }
         }
     }
 
@@ -72,65 +87,81 @@ public final class LLVMFloatVector {
         float eval(float a, float b);
     }
 
-    private static LLVMFloatVector doOperation(LLVMFloatVector lhs, LLVMFloatVector rhs, Operation op) {
+    /**
+     * Applies {@code op} lane by lane. {@code length} must be a compilation constant (callers cache
+     * it in their node) so that the loop is unrolled and no lane array escapes in compiled code.
+     */
+    @ExplodeLoop
+    private static LLVMFloatVector doOperation(LLVMFloatVector lhs, LLVMFloatVector rhs, Operation op, int length) {
         float[] left = lhs.vector;
         float[] right = rhs.vector;
 
         // not sure if this assert is true for llvm ir in general
         // this implementation however assumes it
         assert left.length == right.length;
+        assert left.length == length;
 
-        float[] result = new float[left.length];
+        float[] result = new float[length];
 
-        for (int i = 0; i < left.length; i++) {
+        for (int i = 0; i < length; i++) {
             result[i] = op.eval(left[i], right[i]);
         }
         return create(result);
     }
 
-    public LLVMFloatVector add(LLVMFloatVector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public float eval(float a, float b) {
-                return a + b;
-            }
-        });
+    private static final Operation ADD = new Operation() {
+        @Override
+        public float eval(float a, float b) {
+            return a + b;
+        }
+    };
+
+    public LLVMFloatVector add(LLVMFloatVector rightValue, int length) {
+        return doOperation(this, rightValue, ADD, length);
     }
 
-    public LLVMFloatVector mul(LLVMFloatVector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public float eval(float a, float b) {
-                return a * b;
-            }
-        });
+    private static final Operation MUL = new Operation() {
+        @Override
+        public float eval(float a, float b) {
+            return a * b;
+        }
+    };
+
+    public LLVMFloatVector mul(LLVMFloatVector rightValue, int length) {
+        return doOperation(this, rightValue, MUL, length);
     }
 
-    public LLVMFloatVector sub(LLVMFloatVector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public float eval(float a, float b) {
-                return a - b;
-            }
-        });
+    private static final Operation SUB = new Operation() {
+        @Override
+        public float eval(float a, float b) {
+            return a - b;
+        }
+    };
+
+    public LLVMFloatVector sub(LLVMFloatVector rightValue, int length) {
+        return doOperation(this, rightValue, SUB, length);
     }
 
-    public LLVMFloatVector div(LLVMFloatVector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public float eval(float a, float b) {
-                return a / b;
-            }
-        });
+    private static final Operation DIV = new Operation() {
+        @Override
+        public float eval(float a, float b) {
+            return a / b;
+        }
+    };
+
+    public LLVMFloatVector div(LLVMFloatVector rightValue, int length) {
+        return doOperation(this, rightValue, DIV, length);
     }
 
-    public LLVMFloatVector rem(LLVMFloatVector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public float eval(float a, float b) {
-                return a % b;
-            }
-        });
+    private static final Operation REM = new Operation() {
+        @Override
+        public float eval(float a, float b) {
+            return a % b;
+        }
+    };
+
+    public LLVMFloatVector rem(LLVMFloatVector rightValue, int length) {
+        return doOperation(this, rightValue, REM, length);
     }
 
     public float[] getValues() {
@@ -141,9 +172,13 @@ public final class LLVMFloatVector {
         return vector[index];
     }
 
-    public LLVMFloatVector insert(float element, int index) {
-        float[] copyOf = Arrays.copyOf(vector, vector.length);
-        copyOf[index] = element;
+    @ExplodeLoop
+    public LLVMFloatVector insert(float element, int index, int length) {
+        assert vector.length == length;
+        float[] copyOf = new float[length];
+        for (int i = 0; i < length; i++) {
+            copyOf[i] = i == index ? element : vector[i];
+        }
         return create(copyOf);
     }
 
@@ -29,18 +29,17 @@
  */
 package com.oracle.truffle.llvm.runtime.vector;
 
+import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.ValueType;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
 import com.oracle.truffle.llvm.runtime.LLVMAddress;
 import com.oracle.truffle.llvm.runtime.memory.LLVMMemory;
 
-import java.util.Arrays;
-
 @ValueType
 public final class LLVMI16Vector {
 
     private static final int MASK = 0xffff;
     private static final int I16_SIZE = 2;
-
     private final short[] vector;
 
     public static LLVMI16Vector create(short[] vector) {
@@ -51,21 +50,36 @@ public final class LLVMI16Vector {
         this.vector = vector;
     }
 
+    /**
+     * The interpreter copies all lanes at once. Compiled code accesses each lane separately with a
+     * constant {@code size}, so the lane array can be scalar-replaced.
+     */
+    @ExplodeLoop
     public static LLVMI16Vector readVectorFromMemory(LLVMAddress address, int size) {
         short[] vector = new short[size];
-        long currentPtr = address.getVal();
-        for (int i = 0; i < size; i++) {
-            vector[i] = LLVMMemory.getI16(currentPtr);
-            currentPtr += I16_SIZE;
+        if (CompilerDirectives.inInterpreter()) {
+            LLVMMemory.getArray(address.getVal(), vector);
+        } else {
+            long currentPtr = address.getVal();
+            for (int i = 0; i < size; i++) {
+                vector[i] = LLVMMemory.getI16(currentPtr);
+                currentPtr += I16_SIZE;
+            }
         }
         return create(vector);
     }
 
-    public static void writeVectorToMemory(LLVMAddress address, LLVMI16Vector vector) {
-        long currentPtr = address.getVal();
-        for (int i = 0; i < vector.getLength(); i++) {
-            LLVMMemory.putI16(currentPtr, vector.getValue(i));
-            currentPtr += I16_SIZE;
+    @ExplodeLoop
+    public static void writeVectorToMemory(LLVMAddress address, LLVMI16Vector vector, int size) {
+        assert vector.vector.length == size;
+        if (CompilerDirectives.inInterpreter()) {
+            LLVMMemory.putArray(address.getVal(), vector.vector);
+        } else {
+            long currentPtr = address.getVal();
+            for (int i = 0; i < size; i++) {
+                LLVMMemory.putI16(currentPtr, vector.vector[i]);
+                currentPtr += I16_SIZE;
+            }
         }
     }
 
@@ -74,137 +88,169 @@ public final class LLVMI16Vector {
         short eval(short a, short b);
     }
 
-    private static LLVMI16Vector doOperation(LLVMI16Vector lhs, LLVMI16Vector rhs, Operation op) {
+    /**
+     * Applies {@code op} lane by lane. {@code length} must be a compilation constant (callers cache
+     * it in their node) so that the loop is unrolled and no lane array escapes in compiled code.
+     */
+    @ExplodeLoop
+    private static LLVMI16Vector doOperation(LLVMI16Vector lhs, LLVMI16Vector rhs, Operation op, int length) {
         short[] left = lhs.vector;
         short[] right = rhs.vector;
 
         // not sure if this assert is true for llvm ir in general
         // this implementation however assumes it
         assert left.length == right.length;
+        assert left.length == length;
 
-        short[] result = new short[left.length];
+        short[] result = new short[length];
 
-        for (int i = 0; i < left.length; i++) {
+        for (int i = 0; i < length; i++) {
             result[i] = op.eval(left[i], right[i]);
         }
         return create(result);
     }
 
-    public LLVMI16Vector add(LLVMI16Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public short eval(short a, short b) {
-                return (short) (a + b);
-            }
-        });
+    private static final Operation ADD = new Operation() {
+        @Override
+        public short eval(short a, short b) {
+            return (short) (a + b);
+        }
+    };
+
+    public LLVMI16Vector add(LLVMI16Vector rightValue, int length) {
+        return doOperation(this, rightValue, ADD, length);
     }
 
-    public LLVMI16Vector mul(LLVMI16Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public short eval(short a, short b) {
-                return (short) (a * b);
-            }
-        });
+    private static final Operation MUL = new Operation() {
+        @Override
+        public short eval(short a, short b) {
+            return (short) (a * b);
+        }
+    };
+
+    public LLVMI16Vector mul(LLVMI16Vector rightValue, int length) {
+        return doOperation(this, rightValue, MUL, length);
     }
 
-    public LLVMI16Vector sub(LLVMI16Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public short eval(short a, short b) {
-                return (short) (a - b);
-            }
-        });
+    private static final Operation SUB = new Operation() {
+        @Override
+        public short eval(short a, short b) {
+            return (short) (a - b);
+        }
+    };
+
+    public LLVMI16Vector sub(LLVMI16Vector rightValue, int length) {
+        return doOperation(this, rightValue, SUB, length);
     }
 
-    public LLVMI16Vector div(LLVMI16Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public short eval(short a, short b) {
-                return (short) (a / b);
-            }
-        });
+    private static final Operation DIV = new Operation() {
+        @Override
+        public short eval(short a, short b) {
+            return (short) (a / b);
+        }
+    };
+
+    public LLVMI16Vector div(LLVMI16Vector rightValue, int length) {
+        return doOperation(this, rightValue, DIV, length);
     }
 
-    public LLVMI16Vector divUnsigned(LLVMI16Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public short eval(short a, short b) {
-                return (short) ((a & MASK) / (b & MASK));
-            }
-        });
+    private static final Operation DIV_UNSIGNED = new Operation() {
+        @Override
+        public short eval(short a, short b) {
+            return (short) ((a & MASK) / (b & MASK));
+        }
+    };
+
+    public LLVMI16Vector divUnsigned(LLVMI16Vector rightValue, int length) {
+        return doOperation(this, rightValue, DIV_UNSIGNED, length);
     }
 
-    public LLVMI16Vector rem(LLVMI16Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public short eval(short a, short b) {
-                return (short) (a % b);
-            }
-        });
+    private static final Operation REM = new Operation() {
+        @Override
+        public short eval(short a, short b) {
+            return (short) (a % b);
+        }
+    };
+
+    public LLVMI16Vector rem(LLVMI16Vector rightValue, int length) {
+        return doOperation(this, rightValue, REM, length);
     }
 
-    public LLVMI16Vector remUnsigned(LLVMI16Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public short eval(short a, short b) {
-                return (short) ((a & MASK) % (b & MASK));
-            }
-        });
+    private static final Operation REM_UNSIGNED = new Operation() {
+        @Override
+        public short eval(short a, short b) {
+            return (short) ((a & MASK) % (b & MASK));
+        }
+    };
+
+    public LLVMI16Vector remUnsigned(LLVMI16Vector rightValue, int length) {
+        return doOperation(this, rightValue, REM_UNSIGNED, length);
     }
 
-    public LLVMI16Vector and(LLVMI16Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public short eval(short a, short b) {
-                return (short) (a & b);
-            }
-        });
+    private static final Operation AND = new Operation() {
+        @Override
+        public short eval(short a, short b) {
+            return (short) (a & b);
+        }
+    };
+
+    public LLVMI16Vector and(LLVMI16Vector rightValue, int length) {
+        return doOperation(this, rightValue, AND, length);
     }
 
-    public LLVMI16Vector or(LLVMI16Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public short eval(short a, short b) {
-                return (short) (a | b);
-            }
-        });
+    private static final Operation OR = new Operation() {
+        @Override
+        public short eval(short a, short b) {
+            return (short) (a | b);
+        }
+    };
+
+    public LLVMI16Vector or(LLVMI16Vector rightValue, int length) {
+        return doOperation(this, rightValue, OR, length);
     }
 
-    public LLVMI16Vector leftShift(LLVMI16Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public short eval(short a, short b) {
-                return (short) (a << b);
-            }
-        });
+    private static final Operation LEFT_SHIFT = new Operation() {
+        @Override
+        public short eval(short a, short b) {
+            return (short) (a << b);
+        }
+    };
+
+    public LLVMI16Vector leftShift(LLVMI16Vector rightValue, int length) {
+        return doOperation(this, rightValue, LEFT_SHIFT, length);
     }
 
-    public LLVMI16Vector logicalRightShift(LLVMI16Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public short eval(short a, short b) {
-                return (short) (a >>> b);
-            }
-        });
+    private static final Operation LOGICAL_RIGHT_SHIFT = new Operation() {
+        @Override
+        public short eval(short a, short b) {
+            return (short) (a >>> b);
+        }
+    };
+
+    public LLVMI16Vector logicalRightShift(LLVMI16Vector rightValue, int length) {
+        return doOperation(this, rightValue, LOGICAL_RIGHT_SHIFT, length);
     }
 
-    public LLVMI16Vector arithmeticRightShift(LLVMI16Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public short eval(short a, short b) {
-                return (short) (a >> b);
-            }
-        });
+    private static final Operation ARITHMETIC_RIGHT_SHIFT = new Operation() {
+        @Override
+        public short eval(short a, short b) {
+            return (short) (a >> b);
+        }
+    };
+
+    public LLVMI16Vector arithmeticRightShift(LLVMI16Vector rightValue, int length) {
+        return doOperation(this, rightValue, ARITHMETIC_RIGHT_SHIFT, length);
     }
 
-    public LLVMI16Vector xor(LLVMI16Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public short eval(short a, short b) {
-                return (short) (a ^ b);
-            }
-        });
+    private static final Operation XOR = new Operation() {
+        @Override
+        public short eval(short a, short b) {
+            return (short) (a ^ b);
+        }
+    };
+
+    public LLVMI16Vector xor(LLVMI16Vector rightValue, int length) {
+        return doOperation(this, rightValue, XOR, length);
     }
 
     public short[] getValues() {
@@ -215,9 +261,13 @@ public final class LLVMI16Vector {
         return vector[index];
     }
 
-    public LLVMI16Vector insert(short element, int index) {
-        short[] copyOf = Arrays.copyOf(vector, vector.length);
-        copyOf[index] = element;
+    @ExplodeLoop
+    public LLVMI16Vector insert(short element, int index, int length) {
+        assert vector.length == length;
+        short[] copyOf = new short[length];
+        for (int i = 0; i < length; i++) {
+            copyOf[i] = i == index ? element : vector[i];
+        }
         return create(copyOf);
     }
 
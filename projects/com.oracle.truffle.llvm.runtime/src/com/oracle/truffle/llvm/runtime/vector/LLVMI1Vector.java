@@ -31,11 +31,10 @@ package com.oracle.truffle.llvm.runtime.vector;
 
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.ValueType;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
 import com.oracle.truffle.llvm.runtime.LLVMAddress;
 import com.oracle.truffle.llvm.runtime.memory.LLVMMemory;
 
-import java.util.Arrays;
-
 @ValueType
 public final class LLVMI1Vector {
 
@@ -50,6 +49,7 @@ public final class LLVMI1Vector {
         this.vector = vector;
     }
 
+    @ExplodeLoop
     public static LLVMI1Vector readVectorFromMemory(LLVMAddress address, int size) {
         boolean[] vector = new boolean[size];
         long currentPtr = address.getVal();
@@ -60,9 +60,11 @@ public final class LLVMI1Vector {
         return create(vector);
     }
 
-    public static void writeVectorToMemory(LLVMAddress address, LLVMI1Vector vector) {
+    @ExplodeLoop
+    public static void writeVectorToMemory(LLVMAddress address, LLVMI1Vector vector, int size) {
+        assert vector.getLength() == size;
         long currentPtr = address.getVal();
-        for (int i = 0; i < vector.getLength(); i++) {
+        for (int i = 0; i < size; i++) {
             LLVMMemory.putI1(currentPtr, vector.getValue(i));
             currentPtr += I1_SIZE;
         }
@@ -73,153 +75,185 @@ public final class LLVMI1Vector {
         boolean eval(boolean a, boolean b);
     }
 
-    private static LLVMI1Vector doOperation(LLVMI1Vector lhs, LLVMI1Vector rhs, Operation op) {
+    /**
+     * Applies {@code op} lane by lane. {@code length} must be a compilation constant (callers cache
+     * it in their node) so that the loop is unrolled and no lane array escapes in compiled code.
+     */
+    @ExplodeLoop
+    private static LLVMI1Vector doOperation(LLVMI1Vector lhs, LLVMI1Vector rhs, Operation op, int length) {
         boolean[] left = lhs.vector;
         boolean[] right = rhs.vector;
 
         // not sure if this assert is true for llvm ir in general
         // this implementation however assumes it
         assert left.length == right.length;
+        assert left.length == length;
 
-        boolean[] result = new boolean[left.length];
+        boolean[] result = new boolean[length];
 
-        for (int i = 0; i < left.length; i++) {
+        for (int i = 0; i < length; i++) {
             result[i] = op.eval(left[i], right[i]);
         }
         return create(result);
     }
 
-    public LLVMI1Vector add(LLVMI1Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public boolean eval(boolean a, boolean b) {
-                return a ^ b;
-            }
-        });
+    private static final Operation ADD = new Operation() {
+        @Override
+        public boolean eval(boolean a, boolean b) {
+            return a ^ b;
+        }
+    };
+
+    public LLVMI1Vector add(LLVMI1Vector rightValue, int length) {
+        return doOperation(this, rightValue, ADD, length);
     }
 
-    public LLVMI1Vector mul(LLVMI1Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public boolean eval(boolean a, boolean b) {
-                return a & b;
-            }
-        });
+    private static final Operation MUL = new Operation() {
+        @Override
+        public boolean eval(boolean a, boolean b) {
+            return a & b;
+        }
+    };
+
+    public LLVMI1Vector mul(LLVMI1Vector rightValue, int length) {
+        return doOperation(this, rightValue, MUL, length);
     }
 
-    public LLVMI1Vector sub(LLVMI1Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public boolean eval(boolean a, boolean b) {
-                return a ^ b;
-            }
-        });
-    }
-
-    public LLVMI1Vector div(LLVMI1Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public boolean eval(boolean a, boolean b) {
-                if (!b) {
-                    CompilerDirectives.transferToInterpreter();
-                    throw new ArithmeticException("Division by zero!");
-                }
-                return a;
-            }
-        });
-    }
-
-    public LLVMI1Vector divUnsigned(LLVMI1Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public boolean eval(boolean a, boolean b) {
-                if (!b) {
-                    CompilerDirectives.transferToInterpreter();
-                    throw new ArithmeticException("Division by zero!");
-                }
-                return a;
-            }
-        });
-    }
-
-    public LLVMI1Vector rem(LLVMI1Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public boolean eval(boolean a, boolean b) {
-                if (!b) {
-                    CompilerDirectives.transferToInterpreter();
-                    throw new ArithmeticException("Division by zero!");
-                }
-                return false;
-            }
-        });
-    }
-
-    public LLVMI1Vector remUnsigned(LLVMI1Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public boolean eval(boolean a, boolean b) {
-                if (!b) {
-                    CompilerDirectives.transferToInterpreter();
-                    throw new ArithmeticException("Division by zero!");
-                }
-                return false;
-            }
-        });
+    private static final Operation SUB = new Operation() {
+        @Override
+        public boolean eval(boolean a, boolean b) {
+            return a ^ b;
+        }
+    };
+
+    public LLVMI1Vector sub(LLVMI1Vector rightValue, int length) {
+        return doOperation(this, rightValue, SUB, length);
     }
 
-    public LLVMI1Vector and(LLVMI1Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public boolean eval(boolean a, boolean b) {
-                return a & b;
+    private static final Operation DIV = new Operation() {
+        @Override
+        public boolean eval(boolean a, boolean b) {
+            if (!b) {
+                CompilerDirectives.transferToInterpreter();
+                throw new ArithmeticException("Division by zero!");
             }
-        });
+            return a;
+        }
+    };
+
+    public LLVMI1Vector div(LLVMI1Vector rightValue, int length) {
+        return doOperation(this, rightValue, DIV, length);
     }
 
-    public LLVMI1Vector or(LLVMI1Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public boolean eval(boolean a, boolean b) {
-                return a | b;
+    private static final Operation DIV_UNSIGNED = new Operation() {
+        @Override
+        public boolean eval(boolean a, boolean b) {
+            if (!b) {
+                CompilerDirectives.transferToInterpreter();
+                throw new ArithmeticException("Division by zero!");
             }
-        });
+            return a;
+        }
+    };
+
+    public LLVMI1Vector divUnsigned(LLVMI1Vector rightValue, int length) {
+        return doOperation(this, rightValue, DIV_UNSIGNED, length);
     }
 
-    public LLVMI1Vector leftShift(LLVMI1Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public boolean eval(boolean a, boolean b) {
-                return a & !b;
+    private static final Operation REM = new Operation() {
+        @Override
+        public boolean eval(boolean a, boolean b) {
+            if (!b) {
+                CompilerDirectives.transferToInterpreter();
+                throw new ArithmeticException("Division by zero!");
             }
-        });
+            return false;
+        }
+    };
+
+    public LLVMI1Vector rem(LLVMI1Vector rightValue, int length) {
+        return doOperation(this, rightValue, REM, length);
     }
 
-    public LLVMI1Vector logicalRightShift(LLVMI1Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public boolean eval(boolean a, boolean b) {
-                return a & !b;
+    private static final Operation REM_UNSIGNED = new Operation() {
+        @Override
+        public boolean eval(boolean a, boolean b) {
+            if (!b) {
+                CompilerDirectives.transferToInterpreter();
+                throw new ArithmeticException("Division by zero!");
             }
-        });
+            return false;
+        }
+    };
+
+    public LLVMI1Vector remUnsigned(LLVMI1Vector rightValue, int length) {
+        return doOperation(this, rightValue, REM_UNSIGNED, length);
     }
 
-    public LLVMI1Vector arithmeticRightShift(LLVMI1Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public boolean eval(boolean a, boolean b) {
-                return a;
-            }
-        });
+    private static final Operation AND = new Operation() {
+        @Override
+        public boolean eval(boolean a, boolean b) {
+            return a & b;
+        }
+    };
+
+    public LLVMI1Vector and(LLVMI1Vector rightValue, int length) {
+        return doOperation(this, rightValue, AND, length);
     }
 
-    public LLVMI1Vector xor(LLVMI1Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public boolean eval(boolean a, boolean b) {
-                return a ^ b;
-            }
-        });
+    private static final Operation OR = new Operation() {
+        @Override
+        public boolean eval(boolean a, boolean b) {
+            return a | b;
+        }
+    };
+
+    public LLVMI1Vector or(LLVMI1Vector rightValue, int length) {
+        return doOperation(this, rightValue, OR, length);
+    }
+
+    private static final Operation LEFT_SHIFT = new Operation() {
+        @Override
+        public boolean eval(boolean a, boolean b) {
+            return a & !b;
+        }
+    };
+
+    public LLVMI1Vector leftShift(LLVMI1Vector rightValue, int length) {
+        return doOperation(this, rightValue, LEFT_SHIFT, length);
+    }
+
+    private static final Operation LOGICAL_RIGHT_SHIFT = new Operation() {
+        @Override
+        public boolean eval(boolean a, boolean b) {
+            return a & !b;
+        }
+    };
+
+    public LLVMI1Vector logicalRightShift(LLVMI1Vector rightValue, int length) {
+        return doOperation(this, rightValue, LOGICAL_RIGHT_SHIFT, length);
+    }
+
+    private static final Operation ARITHMETIC_RIGHT_SHIFT = new Operation() {
+        @Override
+        public boolean eval(boolean a, boolean b) {
+            return a;
+        }
+    };
+
+    public LLVMI1Vector arithmeticRightShift(LLVMI1Vector rightValue, int length) {
+        return doOperation(this, rightValue, ARITHMETIC_RIGHT_SHIFT, length);
+    }
+
+    private static final Operation XOR = new Operation() {
+        @Override
+        public boolean eval(boolean a, boolean b) {
+            return a ^ b;
+        }
+    };
+
+    public LLVMI1Vector xor(LLVMI1Vector rightValue, int length) {
+        return doOperation(this, rightValue, XOR, length);
     }
 
     public boolean[] getValues() {
@@ -230,9 +264,13 @@ public final class LLVMI1Vector {
         return vector[index];
     }
 
-    public LLVMI1Vector insert(boolean element, int index) {
-        boolean[] copyOf = Arrays.copyOf(vector, vector.length);
-        copyOf[index] = element;
+    @ExplodeLoop
+    public LLVMI1Vector insert(boolean element, int index, int length) {
+        assert vector.length == length;
+        boolean[] copyOf = new boolean[length];
+        for (int i = 0; i < length; i++) {
+            copyOf[i] = i == index ? element : vector[i];
+        }
         return create(copyOf);
     }
 
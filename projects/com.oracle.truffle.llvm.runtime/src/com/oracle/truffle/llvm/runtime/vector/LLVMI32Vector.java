@@ -29,12 +29,12 @@
  */
 package com.oracle.truffle.llvm.runtime.vector;
 
+import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.ValueType;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
 import com.oracle.truffle.llvm.runtime.LLVMAddress;
 import com.oracle.truffle.llvm.runtime.memory.LLVMMemory;
 
-import java.util.Arrays;
-
 @ValueType
 public final class LLVMI32Vector {
 
@@ -45,21 +45,36 @@ public final class LLVMI32Vector {
         return new LLVMI32Vector(vector);
     }
 
+    /**
+     * The interpreter copies all lanes at once. Compiled code accesses each lane separately with a
+     * constant {@code size}, so the lane array can be scalar-replaced.
+     */
+    @ExplodeLoop
     public static LLVMI32Vector readVectorFromMemory(LLVMAddress address, int size) {
         int[] vector = new int[size];
-        long currentPtr = address.getVal();
-        for (int i = 0; i < size; i++) {
-            vector[i] = LLVMMemory.getI32(currentPtr);
-            currentPtr += I32_SIZE;
+        if (CompilerDirectives.inInterpreter()) {
+            LLVMMemory.getArray(address.getVal(), vector);
+        } else {
+            long currentPtr = address.getVal();
+            for (int i = 0; i < size; i++) {
+                vector[i] = LLVMMemory.getI32(currentPtr);
+                currentPtr += I32_SIZE;
+            }
         }
         return create(vector);
     }
 
-    public static void writeVectorToMemory(LLVMAddress address, LLVMI32Vector vector) {
-        long currentPtr = address.getVal();
-        for (int i = 0; i < vector.getLength(); i++) {
-            LLVMMemory.putI32(currentPtr, vector.getValue(i));
-            currentPtr += I32_SIZE;
+    @ExplodeLoop
+    public static void writeVectorToMemory(LLVMAddress address, LLVMI32Vector vector, int size) {
+        assert vector.vector.length == size;
+        if (CompilerDirectives.inInterpreter()) {
+            LLVMMemory.putArray(address.getVal(), vector.vector);
+        } else {
+            long currentPtr = address.getVal();
+            for (int i = 0; i < size; i++) {
+                LLVMMemory.putI32(currentPtr, vector.vector[i]);
+                currentPtr += I32_SIZE;
+            }
         }
     }
 
@@ -72,137 +87,169 @@ public final class LLVMI32Vector {
         int eval(int a, int b);
     }
 
-    private static LLVMI32Vector doOperation(LLVMI32Vector lhs, LLVMI32Vector rhs, Operation op) {
+    /**
+     * Applies {@code op} lane by lane. {@code length} must be a compilation constant (callers cache
+     * it in their node) so that the loop is unrolled and no lane array escapes in compiled code.
+     */
+    @ExplodeLoop
+    private static LLVMI32Vector doOperation(LLVMI32Vector lhs, LLVMI32Vector rhs, Operation op, int length) {
         int[] left = lhs.vector;
         int[] right = rhs.vector;
 
         // not sure if this assert is true for llvm ir in general
         // this implementation however assumes it
         assert left.length == right.length;
+        assert left.length == length;
 
-        int[] result = new int[left.length];
+        int[] result = new int[length];
 
-        for (int i = 0; i < left.length; i++) {
+        for (int i = 0; i < length; i++) {
             result[i] = op.eval(left[i], right[i]);
         }
         return create(result);
     }
 
-    public LLVMI32Vector add(LLVMI32Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public int eval(int a, int b) {
-                return a + b;
-            }
-        });
+    private static final Operation ADD = new Operation() {
+        @Override
+        public int eval(int a, int b) {
+            return a + b;
+        }
+    };
+
+    public LLVMI32Vector add(LLVMI32Vector rightValue, int length) {
+        return doOperation(this, rightValue, ADD, length);
     }
 
-    public LLVMI32Vector mul(LLVMI32Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public int eval(int a, int b) {
-                return a * b;
-            }
-        });
+    private static final Operation MUL = new Operation() {
+        @Override
+        public int eval(int a, int b) {
+            return a * b;
+        }
+    };
+
+    public LLVMI32Vector mul(LLVMI32Vector rightValue, int length) {
+        return doOperation(this, rightValue, MUL, length);
     }
 
-    public LLVMI32Vector sub(LLVMI32Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public int eval(int a, int b) {
-                return a - b;
-            }
-        });
+    private static final Operation SUB = new Operation() {
+        @Override
+        public int eval(int a, int b) {
+            return a - b;
+        }
+    };
+
+    public LLVMI32Vector sub(LLVMI32Vector rightValue, int length) {
+        return doOperation(this, rightValue, SUB, length);
     }
 
-    public LLVMI32Vector div(LLVMI32Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public int eval(int a, int b) {
-                return a / b;
-            }
-        });
+    private static final Operation DIV = new Operation() {
+        @Override
+        public int eval(int a, int b) {
+            return a / b;
+        }
+    };
+
+    public LLVMI32Vector div(LLVMI32Vector rightValue, int length) {
+        return doOperation(this, rightValue, DIV, length);
     }
 
-    public LLVMI32Vector divUnsigned(LLVMI32Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public int eval(int a, int b) {
-                return Integer.divideUnsigned(a, b);
-            }
-        });
+    private static final Operation DIV_UNSIGNED = new Operation() {
+        @Override
+        public int eval(int a, int b) {
+            return Integer.divideUnsigned(a, b);
+        }
+    };
+
+    public LLVMI32Vector divUnsigned(LLVMI32Vector rightValue, int length) {
+        return doOperation(this, rightValue, DIV_UNSIGNED, length);
     }
 
-    public LLVMI32Vector rem(LLVMI32Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public int eval(int a, int b) {
-                return a % b;
-            }
-        });
+    private static final Operation REM = new Operation() {
+        @Override
+        public int eval(int a, int b) {
+            return a % b;
+        }
+    };
+
+    public LLVMI32Vector rem(LLVMI32Vector rightValue, int length) {
+        return doOperation(this, rightValue, REM, length);
     }
 
-    public LLVMI32Vector remUnsigned(LLVMI32Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public int eval(int a, int b) {
-                return Integer.remainderUnsigned(a, b);
-            }
-        });
+    private static final Operation REM_UNSIGNED = new Operation() {
+        @Override
+        public int eval(int a, int b) {
+            return Integer.remainderUnsigned(a, b);
+        }
+    };
+
+    public LLVMI32Vector remUnsigned(LLVMI32Vector rightValue, int length) {
+        return doOperation(this, rightValue, REM_UNSIGNED, length);
     }
 
-    public LLVMI32Vector and(LLVMI32Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public int eval(int a, int b) {
-                return a & b;
-            }
-        });
+    private static final Operation AND = new Operation() {
+        @Override
+        public int eval(int a, int b) {
+            return a & b;
+        }
+    };
+
+    public LLVMI32Vector and(LLVMI32Vector rightValue, int length) {
+        return doOperation(this, rightValue, AND, length);
     }
 
-    public LLVMI32Vector or(LLVMI32Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public int eval(int a, int b) {
-                return a | b;
-            }
-        });
+    private static final Operation OR = new Operation() {
+        @Override
+        public int eval(int a, int b) {
+            return a | b;
+        }
+    };
+
+    public LLVMI32Vector or(LLVMI32Vector rightValue, int length) {
+        return doOperation(this, rightValue, OR, length);
     }
 
-    public LLVMI32Vector leftShift(LLVMI32Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public int eval(int a, int b) {
-                return a << b;
-            }
-        });
+    private static final Operation LEFT_SHIFT = new Operation() {
+        @Override
+        public int eval(int a, int b) {
+            return a << b;
+        }
+    };
+
+    public LLVMI32Vector leftShift(LLVMI32Vector rightValue, int length) {
+        return doOperation(this, rightValue, LEFT_SHIFT, length);
     }
 
-    public LLVMI32Vector logicalRightShift(LLVMI32Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public int eval(int a, int b) {
-                return a >>> b;
-            }
-        });
+    private static final Operation LOGICAL_RIGHT_SHIFT = new Operation() {
+        @Override
+        public int eval(int a, int b) {
+            return a >>> b;
+        }
+    };
+
+    public LLVMI32Vector logicalRightShift(LLVMI32Vector rightValue, int length) {
+        return doOperation(this, rightValue, LOGICAL_RIGHT_SHIFT, length);
     }
 
-    public LLVMI32Vector arithmeticRightShift(LLVMI32Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public int eval(int a, int b) {
-                return a >> b;
-            }
-        });
+    private static final Operation ARITHMETIC_RIGHT_SHIFT = new Operation() {
+        @Override
+        public int eval(int a, int b) {
+            return a >> b;
+        }
+    };
+
+    public LLVMI32Vector arithmeticRightShift(LLVMI32Vector rightValue, int length) {
+        return doOperation(this, rightValue, ARITHMETIC_RIGHT_SHIFT, length);
     }
 
-    public LLVMI32Vector xor(LLVMI32Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public int eval(int a, int b) {
-                return a ^ b;
-            }
-        });
+    private static final Operation XOR = new Operation() {
+        @Override
+        public int eval(int a, int b) {
+            return a ^ b;
+        }
+    };
+
+    public LLVMI32Vector xor(LLVMI32Vector rightValue, int length) {
+        return doOperation(this, rightValue, XOR, length);
     }
 
     public int[] getValues() {
@@ -213,9 +260,13 @@ public final class LLVMI32Vector {
         return vector[index];
     }
 
-    public LLVMI32Vector insert(int element, int index) {
-        int[] copyOf = Arrays.copyOf(vector, vector.length);
-        copyOf[index] = element;
+    @ExplodeLoop
+    public LLVMI32Vector insert(int element, int index, int length) {
+        assert vector.length == length;
+        int[] copyOf = new int[length];
+        for (int i = 0; i < length; i++) {
+            copyOf[i] = i == index ? element : vector[i];
+        }
         return create(copyOf);
     }
 
@@ -29,12 +29,12 @@
  */
 package com.oracle.truffle.llvm.runtime.vector;
 
+import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.ValueType;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
 import com.oracle.truffle.llvm.runtime.LLVMAddress;
 import com.oracle.truffle.llvm.runtime.memory.LLVMMemory;
 
-import java.util.Arrays;
-
 @ValueType
 public final class LLVMI64Vector {
 
@@ -45,21 +45,36 @@ public final class LLVMI64Vector {
         return new LLVMI64Vector(vector);
     }
 
+    /**
+     * The interpreter copies all lanes at once. Compiled code accesses each lane separately with a
+     * constant {@code size}, so the lane array can be scalar-replaced.
+     */
+    @ExplodeLoop
     public static LLVMI64Vector readVectorFromMemory(LLVMAddress address, int size) {
         long[] vector = new long[size];
-        long currentPtr = address.getVal();
-        for (int i = 0; i < size; i++) {
-            vector[i] = LLVMMemory.getI64(currentPtr);
-            currentPtr += I64_SIZE;
+        if (CompilerDirectives.inInterpreter()) {
+            LLVMMemory.getArray(address.getVal(), vector);
+        } else {
+            long currentPtr = address.getVal();
+            for (int i = 0; i < size; i++) {
+                vector[i] = LLVMMemory.getI64(currentPtr);
+                currentPtr += I64_SIZE;
+            }
         }
         return create(vector);
     }
 
-    public static void writeVectorToMemory(LLVMAddress address, LLVMI64Vector vector) {
-        long currentPtr = address.getVal();
-        for (int i = 0; i < vector.getLength(); i++) {
-            LLVMMemory.putI64(currentPtr, vector.getValue(i));
-            currentPtr += I64_SIZE;
+    @ExplodeLoop
+    public static void writeVectorToMemory(LLVMAddress address, LLVMI64Vector vector, int size) {
+        assert vector.vector.length == size;
+        if (CompilerDirectives.inInterpreter()) {
+            LLVMMemory.putArray(address.getVal(), vector.vector);
+        } else {
+            long currentPtr = address.getVal();
+            for (int i = 0; i < size; i++) {
+                LLVMMemory.putI64(currentPtr, vector.vector[i]);
+                currentPtr += I64_SIZE;
+            }
         }
     }
 
@@ -72,137 +87,169 @@ public final class LLVMI64Vector {
         long eval(long a, long b);
     }
 
-    private static LLVMI64Vector doOperation(LLVMI64Vector lhs, LLVMI64Vector rhs, Operation op) {
+    /**
+     * Applies {@code op} lane by lane. {@code length} must be a compilation constant (callers cache
+     * it in their node) so that the loop is unrolled and no lane array escapes in compiled code.
+     */
+    @ExplodeLoop
+    private static LLVMI64Vector doOperation(LLVMI64Vector lhs, LLVMI64Vector rhs, Operation op, int length) {
         long[] left = lhs.vector;
         long[] right = rhs.vector;
 
         // not sure if this assert is true for llvm ir in general
         // this implementation however assumes it
         assert left.length == right.length;
+        assert left.length == length;
 
-        long[] result = new long[left.length];
+        long[] result = new long[length];
 
-        for (int i = 0; i < left.length; i++) {
+        for (int i = 0; i < length; i++) {
             result[i] = op.eval(left[i], right[i]);
         }
         return create(result);
     }
 
-    public LLVMI64Vector add(LLVMI64Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public long eval(long a, long b) {
-                return a + b;
-            }
-        });
+    private static final Operation ADD = new Operation() {
+        @Override
+        public long eval(long a, long b) {
+            return a + b;
+        }
+    };
+
+    public LLVMI64Vector add(LLVMI64Vector rightValue, int length) {
+        return doOperation(this, rightValue, ADD, length);
     }
 
-    public LLVMI64Vector mul(LLVMI64Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public long eval(long a, long b) {
-                return a * b;
-            }
-        });
+    private static final Operation MUL = new Operation() {
+        @Override
+        public long eval(long a, long b) {
+            return a * b;
+        }
+    };
+
+    public LLVMI64Vector mul(LLVMI64Vector rightValue, int length) {
+        return doOperation(this, rightValue, MUL, length);
     }
 
-    public LLVMI64Vector sub(LLVMI64Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public long eval(long a, long b) {
-                return a - b;
-            }
-        });
+    private static final Operation SUB = new Operation() {
+        @Override
+        public long eval(long a, long b) {
+            return a - b;
+        }
+    };
+
+    public LLVMI64Vector sub(LLVMI64Vector rightValue, int length) {
+        return doOperation(this, rightValue, SUB, length);
     }
 
-    public LLVMI64Vector div(LLVMI64Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public long eval(long a, long b) {
-                return a / b;
-            }
-        });
+    private static final Operation DIV = new Operation() {
+        @Override
+        public long eval(long a, long b) {
+            return a / b;
+        }
+    };
+
+    public LLVMI64Vector div(LLVMI64Vector rightValue, int length) {
+        return doOperation(this, rightValue, DIV, length);
     }
 
-    public LLVMI64Vector divUnsigned(LLVMI64Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public long eval(long a, long b) {
-                return Long.divideUnsigned(a, b);
-            }
-        });
+    private static final Operation DIV_UNSIGNED = new Operation() {
+        @Override
+        public long eval(long a, long b) {
+            return Long.divideUnsigned(a, b);
+        }
+    };
+
+    public LLVMI64Vector divUnsigned(LLVMI64Vector rightValue, int length) {
+        return doOperation(this, rightValue, DIV_UNSIGNED, length);
     }
 
-    public LLVMI64Vector rem(LLVMI64Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public long eval(long a, long b) {
-                return a % b;
-            }
-        });
+    private static final Operation REM = new Operation() {
+        @Override
+        public long eval(long a, long b) {
+            return a % b;
+        }
+    };
+
+    public LLVMI64Vector rem(LLVMI64Vector rightValue, int length) {
+        return doOperation(this, rightValue, REM, length);
     }
 
-    public LLVMI64Vector remUnsigned(LLVMI64Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public long eval(long a, long b) {
-                return Long.remainderUnsigned(a, b);
-            }
-        });
+    private static final Operation REM_UNSIGNED = new Operation() {
+        @Override
+        public long eval(long a, long b) {
+            return Long.remainderUnsigned(a, b);
+        }
+    };
+
+    public LLVMI64Vector remUnsigned(LLVMI64Vector rightValue, int length) {
+        return doOperation(this, rightValue, REM_UNSIGNED, length);
     }
 
-    public LLVMI64Vector and(LLVMI64Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public long eval(long a, long b) {
-                return a & b;
-            }
-        });
+    private static final Operation AND = new Operation() {
+        @Override
+        public long eval(long a, long b) {
+            return a & b;
+        }
+    };
+
+    public LLVMI64Vector and(LLVMI64Vector rightValue, int length) {
+        return doOperation(this, rightValue, AND, length);
     }
 
-    public LLVMI64Vector or(LLVMI64Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public long eval(long a, long b) {
-                return a | b;
-            }
-        });
+    private static final Operation OR = new Operation() {
+        @Override
+        public long eval(long a, long b) {
+            return a | b;
+        }
+    };
+
+    public LLVMI64Vector or(LLVMI64Vector rightValue, int length) {
+        return doOperation(this, rightValue, OR, length);
     }
 
-    public LLVMI64Vector leftShift(LLVMI64Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public long eval(long a, long b) {
-                return a << b;
-            }
-        });
+    private static final Operation LEFT_SHIFT = new Operation() {
+        @Override
+        public long eval(long a, long b) {
+            return a << b;
+        }
+    };
+
+    public LLVMI64Vector leftShift(LLVMI64Vector rightValue, int length) {
+        return doOperation(this, rightValue, LEFT_SHIFT, length);
     }
 
-    public LLVMI64Vector logicalRightShift(LLVMI64Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public long eval(long a, long b) {
-                return a >>> b;
-            }
-        });
+    private static final Operation LOGICAL_RIGHT_SHIFT = new Operation() {
+        @Override
+        public long eval(long a, long b) {
+            return a >>> b;
+        }
+    };
+
+    public LLVMI64Vector logicalRightShift(LLVMI64Vector rightValue, int length) {
+        return doOperation(this, rightValue, LOGICAL_RIGHT_SHIFT, length);
     }
 
-    public LLVMI64Vector arithmeticRightShift(LLVMI64Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public long eval(long a, long b) {
-                return a >> b;
-            }
-        });
+    private static final Operation ARITHMETIC_RIGHT_SHIFT = new Operation() {
+        @Override
+        public long eval(long a, long b) {
+            return a >> b;
+        }
+    };
+
+    public LLVMI64Vector arithmeticRightShift(LLVMI64Vector rightValue, int length) {
+        return doOperation(this, rightValue, ARITHMETIC_RIGHT_SHIFT, length);
     }
 
-    public LLVMI64Vector xor(LLVMI64Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public long eval(long a, long b) {
-                return a ^ b;
-            }
-        });
+    private static final Operation XOR = new Operation() {
+        @Override
+        public long eval(long a, long b) {
+            return a ^ b;
+        }
+    };
+
+    public LLVMI64Vector xor(LLVMI64Vector rightValue, int length) {
+        return doOperation(this, rightValue, XOR, length);
     }
 
     public long[] getValues() {
@@ -213,9 +260,13 @@ public final class LLVMI64Vector {
         return vector[index];
     }
 
-    public LLVMI64Vector insert(long element, int index) {
-        long[] copyOf = Arrays.copyOf(vector, vector.length);
-        copyOf[index] = element;
+    @ExplodeLoop
+    public LLVMI64Vector insert(long element, int index, int length) {
+        assert vector.length == length;
+        long[] copyOf = new long[length];
+        for (int i = 0; i < length; i++) {
+            copyOf[i] = i == index ? element : vector[i];
+        }
         return create(copyOf);
     }
 
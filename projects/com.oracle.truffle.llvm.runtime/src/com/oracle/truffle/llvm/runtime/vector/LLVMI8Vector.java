@@ -29,12 +29,12 @@
  */
 package com.oracle.truffle.llvm.runtime.vector;
 
+import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.ValueType;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
 import com.oracle.truffle.llvm.runtime.LLVMAddress;
 import com.oracle.truffle.llvm.runtime.memory.LLVMMemory;
 
-import java.util.Arrays;
-
 @ValueType
 public final class LLVMI8Vector {
 
@@ -49,21 +49,36 @@ public final class LLVMI8Vector {
         this.vector = vector;
     }
 
+    /**
+     * The interpreter copies all lanes at once. Compiled code accesses each lane separately with a
+     * constant {@code size}, so the lane array can be scalar-replaced.
+     */
+    @ExplodeLoop
     public static LLVMI8Vector readVectorFromMemory(LLVMAddress address, int size) {
         byte[] vector = new byte[size];
-        long currentPtr = address.getVal();
-        for (int i = 0; i < size; i++) {
-            vector[i] = LLVMMemory.getI8(currentPtr);
-            currentPtr += I8_SIZE;
+        if (CompilerDirectives.inInterpreter()) {
+            LLVMMemory.getArray(address.getVal(), vector);
+        } else {
+            long currentPtr = address.getVal();
+            for (int i = 0; i < size; i++) {
+                vector[i] = LLVMMemory.getI8(currentPtr);
+                currentPtr += I8_SIZE;
+            }
         }
         return create(vector);
     }
 
-    public static void writeVectorToMemory(LLVMAddress address, LLVMI8Vector vector) {
-        long currentPtr = address.getVal();
-        for (int i = 0; i < vector.getLength(); i++) {
-            LLVMMemory.putI8(currentPtr, vector.getValue(i));
-            currentPtr += I8_SIZE;
+    @ExplodeLoop
+    public static void writeVectorToMemory(LLVMAddress address, LLVMI8Vector vector, int size) {
+        assert vector.vector.length == size;
+        if (CompilerDirectives.inInterpreter()) {
+            LLVMMemory.putArray(address.getVal(), vector.vector);
+        } else {
+            long currentPtr = address.getVal();
+            for (int i = 0; i < size; i++) {
+                LLVMMemory.putI8(currentPtr, vector.vector[i]);
+                currentPtr += I8_SIZE;
+            }
         }
     }
 
@@ -72,137 +87,169 @@ public final class LLVMI8Vector {
         byte eval(byte a, byte b);
     }
 
-    private static LLVMI8Vector doOperation(LLVMI8Vector lhs, LLVMI8Vector rhs, Operation op) {
+    /**
+     * Applies {@code op} lane by lane. {@code length} must be a compilation constant (callers cache
+     * it in their node) so that the loop is unrolled and no lane array escapes in compiled code.
+     */
+    @ExplodeLoop
+    private static LLVMI8Vector doOperation(LLVMI8Vector lhs, LLVMI8Vector rhs, Operation op, int length) {
         byte[] left = lhs.vector;
         byte[] right = rhs.vector;
 
         // not sure if this assert is true for llvm ir in general
         // this implementation however assumes it
         assert left.length == right.length;
+        assert left.length == length;
 
-        byte[] result = new byte[left.length];
+        byte[] result = new byte[length];
 
-        for (int i = 0; i < left.length; i++) {
+        for (int i = 0; i < length; i++) {
             result[i] = op.eval(left[i], right[i]);
         }
         return create(result);
     }
 
-    public LLVMI8Vector add(LLVMI8Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public byte eval(byte a, byte b) {
-                return (byte) (a + b);
-            }
-        });
+    private static final Operation ADD = new Operation() {
+        @Override
+        public byte eval(byte a, byte b) {
+            return (byte) (a + b);
+        }
+    };
+
+    public LLVMI8Vector add(LLVMI8Vector rightValue, int length) {
+        return doOperation(this, rightValue, ADD, length);
     }
 
-    public LLVMI8Vector mul(LLVMI8Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public byte eval(byte a, byte b) {
-                return (byte) (a * b);
-            }
-        });
+    private static final Operation MUL = new Operation() {
+        @Override
+        public byte eval(byte a, byte b) {
+            return (byte) (a * b);
+        }
+    };
+
+    public LLVMI8Vector mul(LLVMI8Vector rightValue, int length) {
+        return doOperation(this, rightValue, MUL, length);
     }
 
-    public LLVMI8Vector sub(LLVMI8Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public byte eval(byte a, byte b) {
-                return (byte) (a - b);
-            }
-        });
+    private static final Operation SUB = new Operation() {
+        @Override
+        public byte eval(byte a, byte b) {
+            return (byte) (a - b);
+        }
+    };
+
+    public LLVMI8Vector sub(LLVMI8Vector rightValue, int length) {
+        return doOperation(this, rightValue, SUB, length);
     }
 
-    public LLVMI8Vector div(LLVMI8Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public byte eval(byte a, byte b) {
-                return (byte) (a / b);
-            }
-        });
+    private static final Operation DIV = new Operation() {
+        @Override
+        public byte eval(byte a, byte b) {
+            return (byte) (a / b);
+        }
+    };
+
+    public LLVMI8Vector div(LLVMI8Vector rightValue, int length) {
+        return doOperation(this, rightValue, DIV, length);
     }
 
-    public LLVMI8Vector divUnsigned(LLVMI8Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public byte eval(byte a, byte b) {
-                return (byte) (Byte.toUnsignedInt(a) / Byte.toUnsignedInt(b));
-            }
-        });
+    private static final Operation DIV_UNSIGNED = new Operation() {
+        @Override
+        public byte eval(byte a, byte b) {
+            return (byte) (Byte.toUnsignedInt(a) / Byte.toUnsignedInt(b));
+        }
+    };
+
+    public LLVMI8Vector divUnsigned(LLVMI8Vector rightValue, int length) {
+        return doOperation(this, rightValue, DIV_UNSIGNED, length);
     }
 
-    public LLVMI8Vector rem(LLVMI8Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public byte eval(byte a, byte b) {
-                return (byte) (a % b);
-            }
-        });
+    private static final Operation REM = new Operation() {
+        @Override
+        public byte eval(byte a, byte b) {
+            return (byte) (a % b);
+        }
+    };
+
+    public LLVMI8Vector rem(LLVMI8Vector rightValue, int length) {
+        return doOperation(this, rightValue, REM, length);
     }
 
-    public LLVMI8Vector remUnsigned(LLVMI8Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public byte eval(byte a, byte b) {
-                return (byte) (Byte.toUnsignedInt(a) % Byte.toUnsignedInt(b));
-            }
-        });
+    private static final Operation REM_UNSIGNED = new Operation() {
+        @Override
+        public byte eval(byte a, byte b) {
+            return (byte) (Byte.toUnsignedInt(a) % Byte.toUnsignedInt(b));
+        }
+    };
+
+    public LLVMI8Vector remUnsigned(LLVMI8Vector rightValue, int length) {
+        return doOperation(this, rightValue, REM_UNSIGNED, length);
     }
 
-    public LLVMI8Vector and(LLVMI8Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public byte eval(byte a, byte b) {
-                return (byte) (a & b);
-            }
-        });
+    private static final Operation AND = new Operation() {
+        @Override
+        public byte eval(byte a, byte b) {
+            return (byte) (a & b);
+        }
+    };
+
+    public LLVMI8Vector and(LLVMI8Vector rightValue, int length) {
+        return doOperation(this, rightValue, AND, length);
     }
 
-    public LLVMI8Vector or(LLVMI8Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public byte eval(byte a, byte b) {
-                return (byte) (a | b);
-            }
-        });
+    private static final Operation OR = new Operation() {
+        @Override
+        public byte eval(byte a, byte b) {
+            return (byte) (a | b);
+        }
+    };
+
+    public LLVMI8Vector or(LLVMI8Vector rightValue, int length) {
+        return doOperation(this, rightValue, OR, length);
     }
 
-    public LLVMI8Vector leftShift(LLVMI8Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public byte eval(byte a, byte b) {
-                return (byte) (a << b);
-            }
-        });
+    private static final Operation LEFT_SHIFT = new Operation() {
+        @Override
+        public byte eval(byte a, byte b) {
+            return (byte) (a << b);
+        }
+    };
+
+    public LLVMI8Vector leftShift(LLVMI8Vector rightValue, int length) {
+        return doOperation(this, rightValue, LEFT_SHIFT, length);
     }
 
-    public LLVMI8Vector logicalRightShift(LLVMI8Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public byte eval(byte a, byte b) {
-                return (byte) (a >>> b);
-            }
-        });
+    private static final Operation LOGICAL_RIGHT_SHIFT = new Operation() {
+        @Override
+        public byte eval(byte a, byte b) {
+            return (byte) (a >>> b);
+        }
+    };
+
+    public LLVMI8Vector logicalRightShift(LLVMI8Vector rightValue, int length) {
+        return doOperation(this, rightValue, LOGICAL_RIGHT_SHIFT, length);
     }
 
-    public LLVMI8Vector arithmeticRightShift(LLVMI8Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public byte eval(byte a, byte b) {
-                return (byte) (a >> b);
-            }
-        });
+    private static final Operation ARITHMETIC_RIGHT_SHIFT = new Operation() {
+        @Override
+        public byte eval(byte a, byte b) {
+            return (byte) (a >> b);
+        }
+    };
+
+    public LLVMI8Vector arithmeticRightShift(LLVMI8Vector rightValue, int length) {
+        return doOperation(this, rightValue, ARITHMETIC_RIGHT_SHIFT, length);
     }
 
-    public LLVMI8Vector xor(LLVMI8Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public byte eval(byte a, byte b) {
-                return (byte) (a ^ b);
-            }
-        });
+    private static final Operation XOR = new Operation() {
+        @Override
+        public byte eval(byte a, byte b) {
+            return (byte) (a ^ b);
+        }
+    };
+
+    public LLVMI8Vector xor(LLVMI8Vector rightValue, int length) {
+        return doOperation(this, rightValue, XOR, length);
     }
 
     public byte[] getValues() {
@@ -213,9 +260,13 @@ public final class LLVMI8Vector {
         return vector[index];
     }
 
-    public LLVMI8Vector insert(byte element, int index) {
-        byte[] copyOf = Arrays.copyOf(vector, vector.length);
-        copyOf[index] = element;
+    @ExplodeLoop
+    public LLVMI8Vector insert(byte element, int index, int length) {
+        assert vector.length == length;
+        byte[] copyOf = new byte[length];
+        for (int i = 0; i < length; i++) {
+            copyOf[i] = i == index ? element : vector[i];
+        }
         return create(copyOf);
     }
 
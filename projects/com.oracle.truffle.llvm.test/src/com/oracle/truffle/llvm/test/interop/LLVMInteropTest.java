@@ -30,6 +30,8 @@
 package com.oracle.truffle.llvm.test.interop;
 
 import com.oracle.truffle.api.TruffleOptions;
+import com.oracle.truffle.api.interop.ForeignAccess;
+import com.oracle.truffle.api.interop.TruffleObject;
 import java.io.File;
 import java.nio.file.Path;
 import java.util.HashMap;
@@ -879,6 +881,14 @@ public final class LLVMInteropTest {
         Assert.assertEquals(42, runner.run());
     }
 
+    @Test
+    public void test073PrimitiveArguments() {
+        Map<String, String> options = new HashMap<>();
+        options.put("llvm.primitiveArguments", "true");
+        Runner runner = new Runner("interop073", options);
+        Assert.assertEquals(42, runner.run());
+    }
+
     @Test
     public void test074() {
         Runner runner = new Runner("interop074");
@@ -899,6 +909,73 @@ public final class LLVMInteropTest {
         Assert.assertEquals(testString.length(), runner.run());
     }
 
+    @Test
+    public void test078() {
+        Runner runner = new Runner("interop078");
+        runner.export(new Object(), "object1");
+        runner.export(new Object(), "object2");
+        Assert.assertEquals(0, runner.run());
+    }
+
+    @Test
+    public void test078WeakHandles() {
+        Map<String, String> options = new HashMap<>();
+        options.put("llvm.weakHandles", "true");
+        Runner runner = new Runner("interop078", options);
+        // equal but distinct objects must get distinct handles
+        runner.export(new EqualObject(), "object1");
+        runner.export(new EqualObject(), "object2");
+        Assert.assertEquals(0, runner.run());
+    }
+
+    @Test(expected = PolyglotException.class)
+    public void test079() {
+        Runner runner = new Runner("interop079");
+        runner.export(new Object(), "object");
+        runner.run();
+    }
+
+    @Test(expected = PolyglotException.class)
+    public void test079WeakHandles() {
+        Map<String, String> options = new HashMap<>();
+        options.put("llvm.weakHandles", "true");
+        Runner runner = new Runner("interop079", options);
+        runner.export(new EqualObject(), "object");
+        runner.run();
+    }
+
+    @Test
+    public void test080() {
+        Runner runner = new Runner("interop080");
+        Assert.assertEquals(42, runner.run());
+    }
+
+    @Test
+    public void test080PrimitiveArguments() {
+        Map<String, String> options = new HashMap<>();
+        options.put("llvm.primitiveArguments", "true");
+        Runner runner = new Runner("interop080", options);
+        Assert.assertEquals(42, runner.run());
+    }
+
+    private static final class EqualObject implements TruffleObject {
+
+        @Override
+        public ForeignAccess getForeignAccess() {
+            return new MyBoxedInt().getForeignAccess();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof EqualObject;
+        }
+
+        @Override
+        public int hashCode() {
+            return 0;
+        }
+    }
+
     @Test
     public void testStrlen() throws Exception {
         Runner runner = new Runner("strlen");
@@ -1194,6 +1271,11 @@ public final class LLVMInteropTest {
             this.context = Context.create();
         }
 
+        Runner(String testName, Map<String, String> options) {
+            this.testName = testName;
+            this.context = Context.newBuilder().options(options).build();
+        }
+
         public Value findGlobalSymbol(String string) {
             return context.lookup("llvm", string);
         }
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.types.floating.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.oracle.truffle.llvm.runtime.floating.LLVM80BitFloat;
+
+public class LLVM80BitArithmeticTest extends LLVM80BitTest {
+
+    private static final int EXPONENT_BIAS = 16383;
+
+    private static LLVM80BitFloat raw(int exponent, long fraction) {
+        return LLVM80BitFloat.fromRawValues(false, exponent, fraction);
+    }
+
+    @Test
+    public void testAddKeepsFullPrecision() {
+        LLVM80BitFloat ulp = raw(EXPONENT_BIAS - 63, LLVM80BitFloat.bit(63L));
+        assertEquals(raw(EXPONENT_BIAS, LLVM80BitFloat.bit(63L) | 1), one().add(ulp));
+        assertEquals(ulp, one().add(ulp).sub(one()));
+    }
+
+    @Test
+    public void testAddRoundsToEven() {
+        LLVM80BitFloat result = LLVM80BitFloat.fromUnsignedLong(-1L).add(val(0.5));
+        assertEquals(raw(EXPONENT_BIAS + 64, LLVM80BitFloat.bit(63L)), result);
+    }
+
+    @Test
+    public void testAddSigns() {
+        assertEquals(val(1), val(-4).add(val(5)));
+        assertEquals(val(-1), val(-6).add(val(5)));
+        assertEquals(zero(), val(5).add(val(-5)));
+        assertEquals(minusZero(), minusZero().add(minusZero()));
+    }
+
+    @Test
+    public void testMulKeepsFullPrecision() {
+        LLVM80BitFloat value = LLVM80BitFloat.fromUnsignedInt(0xFFFFFFFF);
+        assertEquals(LLVM80BitFloat.fromUnsignedLong(0xFFFFFFFE_00000001L), value.mul(value));
+        assertEquals(val(-6), val(2).mul(val(-3)));
+    }
+
+    @Test
+    public void testDiv() {
+        assertEquals(raw(EXPONENT_BIAS - 2, 0xAAAAAAAA_AAAAAAABL), one().div(val(3)));
+        assertEquals(val(-2.5), val(5).div(val(-2)));
+    }
+
+    @Test
+    public void testSpecialValues() {
+        assertTrue(positiveInfinity().sub(positiveInfinity()).isNaN());
+        assertTrue(zero().mul(positiveInfinity()).isNaN());
+        assertTrue(zero().div(zero()).isNaN());
+        assertTrue(nan().add(one()).isNaN());
+        assertEquals(positiveInfinity(), one().div(zero()));
+        assertEquals(negativeInfinity(), minusOne().div(zero()));
+        assertEquals(positiveInfinity(), raw(LLVM80BitFloat.ALL_ONE_EXPONENT - 1, -1L).mul(val(2)));
+    }
+
+    @Test
+    public void testDenormals() {
+        LLVM80BitFloat smallest = raw(0, 1);
+        assertEquals(raw(0, 2), smallest.add(smallest));
+        assertTrue(smallest.div(val(2)).isZero());
+        assertEquals(raw(1, LLVM80BitFloat.bit(63L)), raw(0, LLVM80BitFloat.bit(61L)).mul(val(4)));
+    }
+
+    @Test
+    public void testCompareNegative() {
+        assertTrue(LLVM80BitFloat.compare(val(-4), val(-2)) < 0);
+        assertTrue(LLVM80BitFloat.compare(val(-2), val(-4)) > 0);
+        assertTrue(LLVM80BitFloat.compare(zero(), minusZero()) == 0);
+    }
+
+    @Test
+    public void testGetDoubleRounds() {
+        assertBitEquals(2.0, raw(EXPONENT_BIAS, -1L).getDoubleValue());
+        assertBitEquals(1.0, one().add(raw(EXPONENT_BIAS - 63, LLVM80BitFloat.bit(63L))).getDoubleValue());
+        assertBitEquals(2.0f, raw(EXPONENT_BIAS, -1L).getFloatValue());
+    }
+
+}
@@ -29,6 +29,124 @@
  */
 package com.oracle.truffle.llvm.types.floating.test;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+
+import org.junit.Test;
+
+import com.oracle.truffle.llvm.runtime.LLVMIVarBit;
+
 public class LLVMIVarBitTest {
 
+    private static final int I128 = 128;
+    private static final int I72 = 72;
+
+    private static final BigInteger I128_MAX = BigInteger.ONE.shiftLeft(I128 - 1).subtract(BigInteger.ONE);
+    private static final BigInteger I128_MIN = BigInteger.ONE.shiftLeft(I128 - 1).negate();
+
+    private static LLVMIVarBit i128(BigInteger value) {
+        return LLVMIVarBit.fromBigInteger(I128, value);
+    }
+
+    private static LLVMIVarBit i128(long value) {
+        return LLVMIVarBit.fromLong(I128, value);
+    }
+
+    // the result of an i128 operation, computed with BigInteger
+    private static BigInteger wrap(BigInteger value) {
+        BigInteger truncated = value.and(BigInteger.ONE.shiftLeft(I128).subtract(BigInteger.ONE));
+        return truncated.testBit(I128 - 1) ? truncated.subtract(BigInteger.ONE.shiftLeft(I128)) : truncated;
+    }
+
+    @Test
+    public void testAddCarry() {
+        BigInteger lowMax = BigInteger.ONE.shiftLeft(Long.SIZE).subtract(BigInteger.ONE);
+        assertEquals(BigInteger.ONE.shiftLeft(Long.SIZE), i128(lowMax).add(i128(1L)).asBigInteger());
+        assertEquals(I128_MIN, i128(I128_MAX).add(i128(1L)).asBigInteger());
+    }
+
+    @Test
+    public void testSubBorrow() {
+        assertEquals(BigInteger.ONE.shiftLeft(Long.SIZE).subtract(BigInteger.ONE), i128(BigInteger.ONE.shiftLeft(Long.SIZE)).sub(i128(1L)).asBigInteger());
+        assertEquals(I128_MAX, i128(I128_MIN).sub(i128(1L)).asBigInteger());
+        assertEquals(BigInteger.valueOf(-2), i128(-1L).sub(i128(1L)).asBigInteger());
+    }
+
+    @Test
+    public void testMul() {
+        BigInteger a = new BigInteger("123456789abcdef0fedcba987654321", 16);
+        BigInteger b = new BigInteger("-fedcba9876543210123456789", 16);
+        assertEquals(wrap(a.multiply(b)), i128(a).mul(i128(b)).asBigInteger());
+        assertEquals(BigInteger.valueOf(Long.MAX_VALUE).multiply(BigInteger.valueOf(Long.MAX_VALUE)), i128(Long.MAX_VALUE).mul(i128(Long.MAX_VALUE)).asBigInteger());
+        assertEquals(BigInteger.valueOf(Long.MIN_VALUE).multiply(BigInteger.valueOf(-1)), i128(Long.MIN_VALUE).mul(i128(-1L)).asBigInteger());
+    }
+
+    @Test
+    public void testShifts() {
+        BigInteger a = new BigInteger("-123456789abcdef0fedcba987654321", 16);
+        for (int shift = 0; shift < I128; shift++) {
+            LLVMIVarBit amount = i128(shift);
+            assertEquals(wrap(a.shiftLeft(shift)), i128(a).leftShift(amount).asBigInteger());
+            assertEquals(a.shiftRight(shift), i128(a).arithmeticRightShift(amount).asBigInteger());
+            assertEquals(wrap(a.add(BigInteger.ONE.shiftLeft(I128)).shiftRight(shift)), i128(a).logicalRightShift(amount).asBigInteger());
+        }
+    }
+
+    @Test
+    public void testCompare() {
+        assertTrue(i128(-1L).signedCompare(i128(0L)) < 0);
+        assertTrue(i128(-1L).unsignedCompare(i128(0L)) > 0);
+        assertTrue(i128(I128_MIN).signedCompare(i128(I128_MAX)) < 0);
+        assertTrue(i128(I128_MIN).unsignedCompare(i128(I128_MAX)) > 0);
+        assertTrue(i128(BigInteger.ONE.shiftLeft(Long.SIZE)).unsignedCompare(i128(-1L)) < 0);
+        assertTrue(i128(Long.MIN_VALUE).signedCompare(i128(Long.MIN_VALUE)) == 0);
+    }
+
+    @Test
+    public void testBitwise() {
+        BigInteger a = new BigInteger("-123456789abcdef0fedcba987654321", 16);
+        BigInteger b = new BigInteger("fedcba9876543210123456789", 16);
+        assertEquals(a.and(b), i128(a).and(i128(b)).asBigInteger());
+        assertEquals(a.or(b), i128(a).or(i128(b)).asBigInteger());
+        assertEquals(a.xor(b), i128(a).xor(i128(b)).asBigInteger());
+        assertEquals(BigInteger.valueOf(0x0F), LLVMIVarBit.fromInt(I72, 0xFF).and(LLVMIVarBit.fromInt(I72, 0x0F)).asBigInteger());
+    }
+
+    @Test
+    public void testEquality() {
+        BigInteger a = new BigInteger("-123456789abcdef0fedcba987654321", 16);
+        assertEquals(0, i128(a).compare(i128(a)));
+        assertTrue(i128(a).compare(i128(a.add(BigInteger.ONE.shiftLeft(Long.SIZE)))) != 0);
+        assertTrue(i128(1L).compare(i128(2L)) != 0);
+        assertEquals(0, LLVMIVarBit.fromLong(I72, -5L).compare(LLVMIVarBit.fromLong(I72, -5L)));
+        assertTrue(LLVMIVarBit.fromLong(I72, -5L).compare(LLVMIVarBit.fromLong(I72, 5L)) != 0);
+    }
+
+    @Test
+    public void testIsZero() {
+        assertTrue(i128(0L).isZero());
+        assertFalse(i128(BigInteger.ONE.shiftLeft(Long.SIZE)).isZero());
+        assertTrue(LLVMIVarBit.fromLong(I72, 0L).isZero());
+        assertFalse(LLVMIVarBit.fromLong(I72, -1L).isZero());
+        assertTrue(LLVMIVarBit.createNull().isZero());
+    }
+
+    @Test
+    public void testConversions() {
+        assertEquals(-1L, i128(-1L).getLongValue());
+        assertEquals(Long.MIN_VALUE, i128(Long.MIN_VALUE).getLongValue());
+        assertEquals(BigInteger.valueOf(Long.MIN_VALUE).add(BigInteger.ONE.shiftLeft(Long.SIZE)), LLVMIVarBit.createZeroExt(I128, Long.MIN_VALUE).asBigInteger());
+        assertEquals(BigInteger.valueOf(-1), LLVMIVarBit.fromIVar(I72, i128(-1L)).asBigInteger());
+        assertEquals(BigInteger.ONE.shiftLeft(I72).subtract(BigInteger.ONE), LLVMIVarBit.createZeroExt(I128, LLVMIVarBit.fromLong(I72, -1L)).asBigInteger());
+        assertEquals(I128 / Byte.SIZE, i128(0L).getBytes().length);
+        LLVMIVarBit i72 = LLVMIVarBit.fromLong(I72, -2L);
+        assertEquals(-2L, i72.getLongValue());
+        assertEquals(-2, i72.getIntValue());
+        assertEquals((short) -2, i72.getShortValue());
+        assertEquals((byte) -2, i72.getByteValue());
+        assertEquals((byte) -2, i72.getZeroExtendedByteValue());
+    }
 }
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.types.memory.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.oracle.truffle.llvm.runtime.LLVMAddress;
+import com.oracle.truffle.llvm.runtime.memory.LLVMAllocator;
+import com.oracle.truffle.llvm.runtime.memory.LLVMMemory;
+
+public class LLVMArenaAllocatorTest {
+
+    private final LLVMAllocator allocator = LLVMAllocator.create(LLVMAllocator.ARENA, false);
+
+    @After
+    public void dispose() {
+        allocator.dispose();
+    }
+
+    private static void fill(LLVMAddress address, long size, byte value) {
+        for (long i = 0; i < size; i++) {
+            LLVMMemory.putI8(address.getVal() + i, value);
+        }
+    }
+
+    private static void check(LLVMAddress address, long size, byte value) {
+        for (long i = 0; i < size; i++) {
+            assertEquals(value, LLVMMemory.getI8(address.getVal() + i));
+        }
+    }
+
+    @Test
+    public void testReuseFreedBlock() {
+        LLVMAddress first = allocator.allocate(24);
+        allocator.free(first);
+        assertEquals(first, allocator.allocate(20));
+    }
+
+    @Test
+    public void testAlignment() {
+        for (long size = 1; size <= 4096; size += 7) {
+            assertEquals(0, allocator.allocate(size).getVal() % 16);
+        }
+    }
+
+    @Test
+    public void testBlocksDoNotOverlap() {
+        List<LLVMAddress> blocks = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            LLVMAddress block = allocator.allocate(i % 200 + 1);
+            fill(block, i % 200 + 1, (byte) i);
+            blocks.add(block);
+        }
+        for (int i = 0; i < blocks.size(); i++) {
+            check(blocks.get(i), i % 200 + 1, (byte) i);
+        }
+        for (LLVMAddress block : blocks) {
+            allocator.free(block);
+        }
+    }
+
+    @Test
+    public void testReallocateKeepsContents() {
+        LLVMAddress address = allocator.allocate(10);
+        fill(address, 10, (byte) 42);
+        // grow within the arena, then beyond the largest size class
+        address = allocator.reallocate(address, 700);
+        check(address, 10, (byte) 42);
+        fill(address, 700, (byte) 17);
+        address = allocator.reallocate(address, 100000);
+        check(address, 700, (byte) 17);
+        address = allocator.reallocate(address, 100);
+        check(address, 100, (byte) 17);
+        allocator.free(address);
+    }
+
+    @Test
+    public void testForeignMemory() {
+        // memory that was not allocated by the arena is freed by the system allocator
+        LLVMAddress foreign = LLVMMemory.allocateMemory(32);
+        fill(foreign, 32, (byte) 3);
+        LLVMAddress reallocated = allocator.reallocate(foreign, 64);
+        check(reallocated, 32, (byte) 3);
+        allocator.free(reallocated);
+
+        // and never ends up on a free list of the arena
+        LLVMAddress other = LLVMMemory.allocateMemory(32);
+        allocator.free(other);
+        for (int i = 0; i < 100; i++) {
+            assertNotEquals(other, allocator.allocate(32));
+        }
+    }
+
+    @Test
+    public void testFreeOnOtherThread() throws InterruptedException {
+        LLVMAddress[] blocks = new LLVMAddress[100];
+        Thread thread = new Thread(() -> {
+            for (int i = 0; i < blocks.length; i++) {
+                blocks[i] = allocator.allocate(48);
+            }
+        });
+        thread.start();
+        thread.join();
+        for (LLVMAddress block : blocks) {
+            allocator.free(block);
+        }
+        assertEquals(blocks[blocks.length - 1], allocator.allocate(48));
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.types.memory.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.function.IntBinaryOperator;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.oracle.truffle.llvm.runtime.LLVMAddress;
+import com.oracle.truffle.llvm.runtime.memory.LLVMMemory;
+
+public class LLVMMemoryAtomicsTest {
+
+    private static final int SIZE = 16;
+    private static final byte FILL = 0x5a;
+    private static final int ITERATIONS = 10000;
+
+    private static final IntBinaryOperator ADD = (a, b) -> a + b;
+    private static final IntBinaryOperator MAX = Math::max;
+    private static final IntBinaryOperator UMAX_I8 = (a, b) -> (a & 0xff) >= (b & 0xff) ? a : b;
+    private static final IntBinaryOperator UMAX_I16 = (a, b) -> (a & 0xffff) >= (b & 0xffff) ? a : b;
+
+    private final long memory = LLVMMemory.allocateMemory(SIZE).getVal();
+
+    @Before
+    public void fill() {
+        for (int i = 0; i < SIZE; i++) {
+            LLVMMemory.putI8(memory + i, FILL);
+        }
+    }
+
+    @After
+    public void free() {
+        LLVMMemory.free(memory);
+    }
+
+    private void assertUnchangedExcept(long address, int length) {
+        for (long p = memory; p < memory + SIZE; p++) {
+            if (p < address || p >= address + length) {
+                assertEquals(FILL, LLVMMemory.getI8(p));
+            }
+        }
+    }
+
+    @Test
+    public void testI8AtEveryIndex() {
+        for (int i = 0; i < 8; i++) {
+            long address = memory + i;
+            LLVMMemory.putI8(address, (byte) i);
+            assertEquals(i, LLVMMemory.getAndOpI8(LLVMAddress.fromLong(address), (byte) 3, ADD));
+            assertEquals(i + 3, LLVMMemory.getI8(address));
+            assertUnchangedExcept(address, 1);
+            LLVMMemory.putI8(address, FILL);
+        }
+    }
+
+    @Test
+    public void testI16AtEveryIndex() {
+        for (int i = 0; i < 8; i += 2) {
+            long address = memory + i;
+            LLVMMemory.putI16(address, (short) 0x1234);
+            assertEquals(0x1234, LLVMMemory.getAndOpI16(LLVMAddress.fromLong(address), (short) 0x1111, ADD));
+            assertEquals(0x2345, LLVMMemory.getI16(address));
+            assertUnchangedExcept(address, 2);
+            LLVMMemory.putI16(address, (short) (FILL << 8 | FILL));
+        }
+    }
+
+    @Test
+    public void testI1AtEveryIndex() {
+        for (int i = 0; i < 8; i++) {
+            long address = memory + i;
+            LLVMMemory.putI1(address, false);
+            assertFalse(LLVMMemory.getAndOpI1(LLVMAddress.fromLong(address), true, (a, b) -> a | b));
+            assertTrue(LLVMMemory.getI1(address));
+            assertTrue(LLVMMemory.getAndOpI1(LLVMAddress.fromLong(address), true, (a, b) -> a ^ b));
+            assertFalse(LLVMMemory.getI1(address));
+            assertUnchangedExcept(address, 1);
+            LLVMMemory.putI8(address, FILL);
+        }
+    }
+
+    @Test
+    public void testSignedAndUnsignedMax() {
+        long address = memory + 1;
+        LLVMMemory.putI8(address, (byte) 0x80);
+        assertEquals((byte) 0x80, LLVMMemory.getAndOpI8(LLVMAddress.fromLong(address), (byte) 1, MAX));
+        assertEquals(1, LLVMMemory.getI8(address));
+
+        LLVMMemory.putI8(address, (byte) 0x80);
+        assertEquals((byte) 0x80, LLVMMemory.getAndOpI8(LLVMAddress.fromLong(address), (byte) 1, UMAX_I8));
+        assertEquals((byte) 0x80, LLVMMemory.getI8(address));
+        LLVMMemory.putI8(address, FILL);
+
+        address = memory + 2;
+        LLVMMemory.putI16(address, (short) 0x8000);
+        assertEquals((short) 0x8000, LLVMMemory.getAndOpI16(LLVMAddress.fromLong(address), (short) 1, MAX));
+        assertEquals(1, LLVMMemory.getI16(address));
+
+        LLVMMemory.putI16(address, (short) 0x8000);
+        assertEquals((short) 0x8000, LLVMMemory.getAndOpI16(LLVMAddress.fromLong(address), (short) 1, UMAX_I16));
+        assertEquals((short) 0x8000, LLVMMemory.getI16(address));
+        LLVMMemory.putI16(address, (short) (FILL << 8 | FILL));
+
+        assertUnchangedExcept(memory, 0);
+    }
+
+    // threads that update neighboring bytes of the same word must not lose each other's updates
+    @Test
+    public void testConcurrentNeighbors() throws InterruptedException {
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            LLVMAddress address = LLVMAddress.fromLong(memory + (i == 3 ? 2 : i));
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < ITERATIONS; j++) {
+                    LLVMMemory.getAndOpI8(address, (byte) 1, ADD);
+                }
+            });
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals((byte) (FILL + ITERATIONS), LLVMMemory.getI8(memory));
+        assertEquals((byte) (FILL + ITERATIONS), LLVMMemory.getI8(memory + 1));
+        assertEquals((byte) (FILL + 2 * ITERATIONS), LLVMMemory.getI8(memory + 2));
+        assertUnchangedExcept(memory, 3);
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.types.memory.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.oracle.truffle.llvm.runtime.memory.LLVMMemory;
+import com.oracle.truffle.llvm.runtime.memory.LLVMNativeStrings;
+
+public class LLVMNativeStringsTest {
+
+    private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyz";
+    private static final long PAGE_SIZE = 4096;
+    private static final long SIZE_MAX = -1L;
+
+    private final long memory = LLVMMemory.allocateMemory(3 * PAGE_SIZE).getVal();
+
+    @After
+    public void free() {
+        LLVMMemory.free(memory);
+    }
+
+    private static long putString(long address, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            LLVMMemory.putI8(address + i, (byte) value.charAt(i));
+        }
+        LLVMMemory.putI8(address + value.length(), (byte) 0);
+        return address;
+    }
+
+    // a string at every alignment, and one that ends at every position around a page boundary
+    private long[] strings() {
+        long pageEnd = (memory + 2 * PAGE_SIZE) & ~(PAGE_SIZE - 1);
+        long[] result = new long[2 * Long.BYTES];
+        for (int i = 0; i < Long.BYTES; i++) {
+            result[i] = memory + i;
+            result[Long.BYTES + i] = pageEnd - ALPHABET.length() - 1 - i;
+        }
+        return result;
+    }
+
+    @Test
+    public void testMemchr() {
+        for (long string : strings()) {
+            putString(string, ALPHABET);
+            assertEquals(23, LLVMNativeStrings.memchr(string, (byte) 'x', SIZE_MAX));
+            assertEquals(23, LLVMNativeStrings.memchr(string, (byte) 'x', Long.MIN_VALUE));
+            assertEquals(23, LLVMNativeStrings.memchr(string, (byte) 'x', 24));
+            assertEquals(-1, LLVMNativeStrings.memchr(string, (byte) 'x', 23));
+            assertEquals(-1, LLVMNativeStrings.memchr(string, (byte) 'a', 0));
+        }
+    }
+
+    @Test
+    public void testStrnlen() {
+        for (long string : strings()) {
+            putString(string, ALPHABET);
+            assertEquals(26, LLVMNativeStrings.strnlen(string, SIZE_MAX));
+            assertEquals(26, LLVMNativeStrings.strnlen(string, Long.MIN_VALUE));
+            assertEquals(3, LLVMNativeStrings.strnlen(string, 3));
+            assertEquals(26, LLVMNativeStrings.strlen(string));
+        }
+    }
+
+    @Test
+    public void testStrncmp() {
+        long other = memory + 2 * PAGE_SIZE + 3;
+        for (long string : strings()) {
+            putString(string, ALPHABET);
+            putString(other, ALPHABET);
+            assertEquals(0, LLVMNativeStrings.strncmp(string, other, SIZE_MAX));
+            assertEquals(0, LLVMNativeStrings.strcmp(string, other));
+            LLVMMemory.putI8(other + 20, (byte) 'A');
+            assertTrue(LLVMNativeStrings.strncmp(string, other, SIZE_MAX) > 0);
+            assertTrue(LLVMNativeStrings.strncmp(other, string, Long.MIN_VALUE) < 0);
+            assertEquals(0, LLVMNativeStrings.strncmp(string, other, 20));
+        }
+    }
+
+    @Test
+    public void testMemcmp() {
+        long other = memory + 2 * PAGE_SIZE + 5;
+        for (long string : strings()) {
+            putString(string, ALPHABET);
+            putString(other, ALPHABET);
+            LLVMMemory.putI8(other + 20, (byte) 'A');
+            assertTrue(LLVMNativeStrings.memcmp(string, other, SIZE_MAX) > 0);
+            assertEquals(0, LLVMNativeStrings.memcmp(string, other, 20));
+            assertTrue(LLVMNativeStrings.memcmp(string, other, 21) > 0);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.types.statistics.test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.oracle.truffle.llvm.runtime.LLVMNativeCallStatistics;
+
+public class LLVMNativeCallStatisticsTest {
+
+    private static final String CSV_HEADER = "function,caller,calls,total_ns,mean_ns,p50_ns,p90_ns,p99_ns,max_ns,conversion_ns";
+
+    private static List<String> print(LLVMNativeCallStatistics statistics, String suffix) throws IOException {
+        Path file = Files.createTempFile("native-call-stats", suffix);
+        try {
+            statistics.print(file.toString());
+            return Files.readAllLines(file);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testSmallValuesAreExact() throws IOException {
+        LLVMNativeCallStatistics statistics = new LLVMNativeCallStatistics();
+        for (int i = 0; i < 8; i++) {
+            statistics.record("abs", "main", i, 0);
+        }
+        assertEquals(Arrays.asList(CSV_HEADER, "abs,main,8,28,3,3,7,7,7,0"), print(statistics, ".csv"));
+    }
+
+    @Test
+    public void testPercentiles() throws IOException {
+        LLVMNativeCallStatistics statistics = new LLVMNativeCallStatistics();
+        for (int i = 1; i <= 100; i++) {
+            statistics.record("malloc", "main", i, 2);
+        }
+        // p50 is in [48, 51], p90 in [88, 95] and p99 in [96, 103], which is capped by the maximum
+        assertEquals(Arrays.asList(CSV_HEADER, "malloc,main,100,5050,50,51,95,100,100,200"), print(statistics, ".csv"));
+    }
+
+    @Test
+    public void testPercentileIsHighestValueOfBucket() throws IOException {
+        LLVMNativeCallStatistics statistics = new LLVMNativeCallStatistics();
+        statistics.record("free", "main", 1000000, 0);
+        statistics.record("free", "main", 2000000, 1);
+        // 1000000 is in [983040, 1048575], 2000000 in [1966080, 2097151]
+        assertEquals(Arrays.asList(CSV_HEADER, "free,main,2,3000000,1500000,1048575,2000000,2000000,2000000,1"), print(statistics, ".csv"));
+    }
+
+    @Test
+    public void testMergeThreads() throws IOException, InterruptedException {
+        LLVMNativeCallStatistics statistics = new LLVMNativeCallStatistics();
+        for (int i = 1; i <= 100; i++) {
+            statistics.record("malloc", "main", i, 2);
+        }
+        Thread thread = new Thread(() -> {
+            for (int i = 0; i < 100; i++) {
+                statistics.record("malloc", "main", 1000, 0);
+            }
+        });
+        thread.start();
+        thread.join();
+        assertEquals(Arrays.asList(CSV_HEADER, "malloc,main,200,105050,525,103,1000,1000,1000,200"), print(statistics, ".csv"));
+    }
+
+    @Test
+    public void testOrderByTotalTime() throws IOException {
+        LLVMNativeCallStatistics statistics = new LLVMNativeCallStatistics();
+        statistics.record("read", "main", 5, 0);
+        statistics.record("write", "main", 10, 0);
+        statistics.record("read", "init", 20, 0);
+        assertEquals(Arrays.asList(CSV_HEADER, "read,init,1,20,20,20,20,20,20,0", "write,main,1,10,10,10,10,10,10,0", "read,main,1,5,5,5,5,5,5,0"), print(statistics, ".csv"));
+    }
+
+    @Test
+    public void testCSVEscaping() throws IOException {
+        LLVMNativeCallStatistics statistics = new LLVMNativeCallStatistics();
+        statistics.record("say \"hi\"", "a,b", 7, 3);
+        statistics.record("f", "g\nh", 1, 0);
+        assertEquals(Arrays.asList(CSV_HEADER, "\"say \"\"hi\"\"\",\"a,b\",1,7,7,7,7,7,7,3", "f,\"g", "h\",1,1,1,1,1,1,1,0"), print(statistics, ".csv"));
+    }
+
+    @Test
+    public void testJSON() throws IOException {
+        LLVMNativeCallStatistics statistics = new LLVMNativeCallStatistics();
+        statistics.record("say \"hi\"", "f\\g\n", 7, 3);
+        statistics.record("free", "main", 1000000, 0);
+        statistics.record("free", "main", 2000000, 1);
+        assertEquals(Arrays.asList("[",
+                        "  {\"function\": \"free\", \"caller\": \"main\", \"calls\": 2, \"total_ns\": 3000000, \"mean_ns\": 1500000, \"p50_ns\": 1048575, \"p90_ns\": 2000000, " +
+                                        "\"p99_ns\": 2000000, \"max_ns\": 2000000, \"conversion_ns\": 1},",
+                        "  {\"function\": \"say \\\"hi\\\"\", \"caller\": \"f\\\\g\\u000a\", \"calls\": 1, \"total_ns\": 7, \"mean_ns\": 7, \"p50_ns\": 7, \"p90_ns\": 7, \"p99_ns\": 7, " +
+                                        "\"max_ns\": 7, \"conversion_ns\": 3}",
+                        "]"), print(statistics, ".json"));
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.types.type.test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.oracle.truffle.llvm.runtime.types.PointerType;
+import com.oracle.truffle.llvm.runtime.types.PrimitiveType;
+import com.oracle.truffle.llvm.runtime.types.Type;
+import com.oracle.truffle.llvm.runtime.types.VectorType;
+
+public class TypeDeepEqualsTest {
+
+    private static PointerType pointer(Type pointee) {
+        return new PointerType(pointee);
+    }
+
+    @Test
+    public void testPrimitives() {
+        assertTrue(Type.deepEquals(PrimitiveType.I32, PrimitiveType.I32));
+        assertFalse(Type.deepEquals(PrimitiveType.I32, PrimitiveType.DOUBLE));
+        assertTrue(Type.deepEquals(null, null));
+        assertFalse(Type.deepEquals(PrimitiveType.I32, null));
+    }
+
+    @Test
+    public void testPointees() {
+        // the shallow equals treats all pointers as equal
+        assertTrue(pointer(PrimitiveType.I32).equals(pointer(PrimitiveType.DOUBLE)));
+
+        assertTrue(Type.deepEquals(pointer(PrimitiveType.I32), pointer(PrimitiveType.I32)));
+        assertFalse(Type.deepEquals(pointer(PrimitiveType.I32), pointer(PrimitiveType.DOUBLE)));
+        assertFalse(Type.deepEquals(pointer(pointer(PrimitiveType.I8)), pointer(pointer(PrimitiveType.I16))));
+        assertFalse(Type.deepEquals(pointer(PrimitiveType.I8), pointer(pointer(PrimitiveType.I8))));
+    }
+
+    @Test
+    public void testVectorsOfPointers() {
+        assertTrue(Type.deepEquals(new VectorType(pointer(PrimitiveType.FLOAT), 4), new VectorType(pointer(PrimitiveType.FLOAT), 4)));
+        assertFalse(Type.deepEquals(new VectorType(pointer(PrimitiveType.FLOAT), 4), new VectorType(pointer(PrimitiveType.I32), 4)));
+        assertFalse(Type.deepEquals(new VectorType(pointer(PrimitiveType.FLOAT), 4), new VectorType(pointer(PrimitiveType.FLOAT), 2)));
+    }
+}
@@ -33,10 +33,12 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
 import java.nio.charset.Charset;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.Base64;
 import java.util.List;
 import java.util.function.Consumer;
@@ -122,7 +124,8 @@ public final class Runner {
 
             assert bytes != null;
 
-            BitcodeParserResult bitcodeParserResult = BitcodeParserResult.getFromSource(code, bytes);
+            BitcodeParserResult bitcodeParserResult = BitcodeParserResult.getFromSource(code, bytes, getParseCacheDirectory(context),
+                            context.getEnv().getOptions().get(SulongEngineOption.PARALLEL_FUNCTION_PARSING));
             context.addLibraryPaths(bitcodeParserResult.getLibraryPaths());
             context.addExternalLibraries(bitcodeParserResult.getLibraries());
             parseDynamicBitcodeLibraries(language, context);
@@ -140,9 +143,16 @@ public final class Runner {
         }
     }
 
+    private static Path getParseCacheDirectory(LLVMContext context) {
+        String cacheDir = context.getEnv().getOptions().get(SulongEngineOption.PARSE_CACHE_DIR);
+        return cacheDir.isEmpty() ? null : Paths.get(cacheDir);
+    }
+
     private static ByteBuffer read(String filename) {
-        try {
-            return ByteBuffer.wrap(Files.readAllBytes(Paths.get(filename)));
+        // map the file instead of copying it to the heap, the mapping stays valid after the
+        // channel is closed
+        try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+            return channel.map(MapMode.READ_ONLY, 0, channel.size());
         } catch (IOException ignore) {
             return ByteBuffer.allocate(0);
         }
@@ -216,6 +226,7 @@ public final class Runner {
             }
         }
         context.getThreadingStack().freeStacks();
+        context.getAllocator().dispose();
     }
 
     private LLVMParserResult parseBitcodeFile(Source source, BitcodeParserResult bitcodeParserResult, LLVMLanguage language, LLVMContext context) {
@@ -82,6 +82,7 @@ public final class Sulong extends LLVMLanguage {
     @Override
     protected void disposeContext(LLVMContext context) {
         context.printNativeCallStatistic();
+        context.printAllocationStatistic();
         Runner.disposeContext(context);
     }
 
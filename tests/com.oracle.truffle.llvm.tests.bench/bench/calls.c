@@ -0,0 +1,35 @@
+#include <stdlib.h>
+
+__attribute__((noinline)) int callee(int value) {
+  return value + 1;
+}
+
+int (*volatile calleePointer)(int) = callee;
+
+int directCalls(int count) {
+  int sum = 0;
+  for (int i = 0; i < count; i++) {
+    sum = callee(sum);
+  }
+  return sum;
+}
+
+int indirectCalls(int count) {
+  int sum = 0;
+  for (int i = 0; i < count; i++) {
+    sum = calleePointer(sum);
+  }
+  return sum;
+}
+
+int nativeCalls(int count) {
+  int sum = 0;
+  for (int i = 0; i < count; i++) {
+    sum += rand() & 1;
+  }
+  return sum;
+}
+
+int main() {
+  return 0;
+}
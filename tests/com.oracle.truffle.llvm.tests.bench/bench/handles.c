@@ -0,0 +1,39 @@
+#include <truffle.h>
+
+#define MAX_HANDLES 1024
+
+int createAndRelease(void *managed, int count) {
+  for (int i = 0; i < count; i++) {
+    void *handle = truffle_handle_for_managed(managed);
+    truffle_release_handle(handle);
+  }
+  return count;
+}
+
+int resolve(void *managed, int count) {
+  void *handle = truffle_handle_for_managed(managed);
+  int found = 0;
+  for (int i = 0; i < count; i++) {
+    if (truffle_managed_from_handle(handle) == managed) {
+      found++;
+    }
+  }
+  truffle_release_handle(handle);
+  return found;
+}
+
+int createAndReleaseAll(void *managedArray, int count) {
+  void *handles[MAX_HANDLES];
+  if (count > MAX_HANDLES) {
+    count = MAX_HANDLES;
+  }
+  for (int i = 0; i < count; i++) {
+    handles[i] = truffle_handle_for_managed(truffle_read_idx(managedArray, i));
+  }
+  truffle_release_handles(handles, count);
+  return count;
+}
+
+int main() {
+  return 0;
+}
@@ -0,0 +1,56 @@
+#include <string.h>
+
+#define BUFFER_SIZE 8192
+
+static char source[BUFFER_SIZE];
+static char target[BUFFER_SIZE];
+
+struct small {
+  long values[2];
+};
+
+struct large {
+  long values[8];
+};
+
+static struct small smallStructs[64];
+static struct large largeStructs[64];
+
+int copySmallStructs(int count) {
+  for (int i = 0; i < count; i++) {
+    memcpy(&smallStructs[i & 63], &smallStructs[(i + 1) & 63], sizeof(struct small));
+  }
+  return (int)smallStructs[0].values[0];
+}
+
+int copyLargeStructs(int count) {
+  for (int i = 0; i < count; i++) {
+    memcpy(&largeStructs[i & 63], &largeStructs[(i + 1) & 63], sizeof(struct large));
+  }
+  return (int)largeStructs[0].values[0];
+}
+
+int copyBytes(int count, int size) {
+  for (int i = 0; i < count; i++) {
+    memcpy(target, source + (i & 7), size);
+  }
+  return target[0];
+}
+
+int moveBytes(int count, int size) {
+  for (int i = 0; i < count; i++) {
+    memmove(source + (i & 1), source + 1 - (i & 1), size);
+  }
+  return source[0];
+}
+
+int setBytes(int count, int size) {
+  for (int i = 0; i < count; i++) {
+    memset(target + (i & 7), i, size);
+  }
+  return target[0];
+}
+
+int main() {
+  return 0;
+}
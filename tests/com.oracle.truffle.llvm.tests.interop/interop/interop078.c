@@ -0,0 +1,24 @@
+#include <truffle.h>
+
+int main() {
+  void *p1 = truffle_import("object1");
+  void *p2 = truffle_import("object2");
+
+  void *handles[2];
+  handles[0] = truffle_handle_for_managed(p1);
+  handles[1] = truffle_handle_for_managed(p2);
+
+  if (handles[0] == handles[1]) {
+    return 1;
+  }
+
+  truffle_release_handles(handles, 2);
+
+  void *p3 = truffle_handle_for_managed(p1);
+  if (truffle_managed_from_handle(p3) != p1) {
+    return 2;
+  }
+  truffle_release_handle(p3);
+
+  return 0;
+}
@@ -0,0 +1,11 @@
+#include <truffle.h>
+
+int main() {
+  void *p = truffle_import("object");
+  void *handle = truffle_handle_for_managed(p);
+  truffle_release_handle(handle);
+
+  // the handle was released, resolving it is an error
+  truffle_managed_from_handle(handle);
+  return 0;
+}
@@ -0,0 +1,19 @@
+#include <truffle.h>
+
+int global;
+
+int argTest(double x, int a, void *p, char c, int b, long d) {
+  int indices[] = { 1, 4, 5, 1 };
+  long sum = 0;
+  for (int i = 0; i < 4; i++) {
+    sum += (long) truffle_get_arg(indices[i]);
+  }
+  if (truffle_get_arg(2) != p || truffle_get_arg(2) != &global) {
+    return -1;
+  }
+  return sum;
+}
+
+int main() {
+  return argTest(0.5, 1, &global, 'c', 2, 38);
+}
@@ -0,0 +1,45 @@
+#include <stdio.h>
+
+struct point {
+  long x;
+  long y;
+};
+
+struct big {
+  long a;
+  long b;
+  long c;
+};
+
+static int global = 5;
+
+// primitive arguments of different sizes interleaved with pointers and structs
+double mixed(char c, short s, int i, long l, float f, double d, int *p, struct point pt, _Bool b) {
+  return c + s + i + l + f + d + *p + pt.x * pt.y + b;
+}
+
+// returns a struct, so the arguments start one slot later
+struct big makeBig(int a, double b, long c) {
+  struct big result = { a, (long) b, c };
+  return result;
+}
+
+// the arguments of an outer activation must survive the inner calls
+long recurse(int n, double scale, char tag, long acc) {
+  if (n == 0) {
+    return acc + tag;
+  }
+  long inner = recurse(n - 1, scale * 2, tag + 1, acc + (long) scale);
+  return inner + n + (long) scale + tag;
+}
+
+int main(void) {
+  int local = 3;
+  struct point pt = { 6, 7 };
+  double m1 = mixed(1, 2, 3, 4, 0.5f, 0.25, &local, pt, 1);
+  double m2 = mixed(-1, -2, -3, -4, -0.5f, -0.25, &global, pt, 0);
+  struct big big = makeBig(11, 22.5, 33);
+  long r = recurse(5, 1.0, 'a', 0);
+  printf("%g %g %ld %ld %ld %ld\n", m1, m2, big.a, big.b, big.c, r);
+  return 0;
+}
@@ -0,0 +1,86 @@
+#include <stdio.h>
+#include <string.h>
+
+typedef int v4si __attribute__((vector_size(16)));
+
+struct mixed {
+  char c;
+  short s;
+  int i;
+  long l;
+  float f;
+  double d;
+  _Bool b;
+};
+
+struct __attribute__((packed)) packed {
+  char c;
+  int i;
+  short s;
+  long l;
+};
+
+struct withPointers {
+  int value;
+  int *pointer;
+  int (*function)(int);
+  const char *string;
+};
+
+struct wide {
+  long double ld;
+  __int128 big;
+  v4si vector;
+};
+
+static int twice(int x) { return 2 * x; }
+
+int target[4] = { 10, 20, 30, 40 };
+
+struct mixed mixedArray[3] = { { 'a', -2, -3, -4L, 1.5f, -2.25, 1 }, { -128, 32767, 2147483647, -9223372036854775807L - 1, -0.0f, 1e300, 0 }, { 0 } };
+
+struct packed packedArray[2] = { { 1, 0x01020304, 0x0506, 0x0708090a0b0c0d0eL }, { -1, -1, -1, -1 } };
+
+int nested[2][3] = { { 1, 2, 3 }, { -4, -5 } };
+
+char strings[3][8] = { "abc", "defghij", "" };
+
+struct withPointers pointers[3] = { { 1, &target[0], twice, "one" }, { 2, &target[3], 0, "two" }, { 3, 0, twice, 0 } };
+
+struct wide wides[2] = { { 1.25L, (__int128) 1 << 100, { 1, 2, 3, 4 } }, { -3.5L, -1, { -1, 0, 1, 2 } } };
+
+static unsigned long checksum(const void *p, size_t size) {
+  const unsigned char *bytes = p;
+  unsigned long sum = 0;
+  for (size_t i = 0; i < size; i++) {
+    sum = sum * 31 + bytes[i];
+  }
+  return sum;
+}
+
+int main() {
+  for (int i = 0; i < 3; i++) {
+    struct mixed *m = &mixedArray[i];
+    printf("%d %d %d %ld %g %g %d\n", m->c, m->s, m->i, m->l, m->f, m->d, m->b);
+  }
+  for (int i = 0; i < 2; i++) {
+    struct packed *p = &packedArray[i];
+    printf("%d %x %x %lx\n", p->c, p->i, p->s, p->l);
+  }
+  printf("%lx\n", checksum(packedArray, sizeof(packedArray)));
+  for (int i = 0; i < 2; i++) {
+    printf("%d %d %d\n", nested[i][0], nested[i][1], nested[i][2]);
+  }
+  for (int i = 0; i < 3; i++) {
+    printf("'%s' %zu\n", strings[i], strlen(strings[i]));
+  }
+  for (int i = 0; i < 3; i++) {
+    struct withPointers *p = &pointers[i];
+    printf("%d %d %d %s\n", p->value, p->pointer ? *p->pointer : -1, p->function ? p->function(p->value) : -1, p->string ? p->string : "(null)");
+  }
+  for (int i = 0; i < 2; i++) {
+    struct wide *w = &wides[i];
+    printf("%Lg %lx %lx %d %d %d %d\n", w->ld, (unsigned long) (w->big >> 64), (unsigned long) w->big, w->vector[0], w->vector[1], w->vector[2], w->vector[3]);
+  }
+  return 0;
+}
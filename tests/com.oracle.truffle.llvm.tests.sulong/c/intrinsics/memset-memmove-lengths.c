@@ -0,0 +1,85 @@
+#include <stdio.h>
+#include <stdlib.h>
+#include <string.h>
+
+#define SIZE 4200
+
+struct s24 {
+  char data[24];
+};
+
+struct s64 {
+  char data[64];
+};
+
+static unsigned long checksum(unsigned char *buf, int length) {
+  unsigned long sum = 0;
+  for (int i = 0; i < length; i++) {
+    sum = sum * 31 + buf[i];
+  }
+  return sum;
+}
+
+static void fill(unsigned char *buf, int length) {
+  for (int i = 0; i < length; i++) {
+    buf[i] = (unsigned char) (i * 7 + 3);
+  }
+}
+
+static void moveVariable(unsigned char *buf, int offset, int delta, int length) {
+  memmove(buf + offset + delta, buf + offset, length);
+}
+
+static void setVariable(unsigned char *buf, int offset, int value, int length) {
+  memset(buf + offset, value, length);
+}
+
+int main() {
+  unsigned char *buf = malloc(SIZE);
+
+  // constant lengths, unaligned starts and fill values with the high bit set
+  fill(buf, SIZE);
+  memset(buf + 1, 0x80, 1);
+  memset(buf + 3, 0xff, 7);
+  memset(buf + 13, 0xab, 16);
+  memset(buf + 37, 0x7f, 33);
+  memset(buf + 101, 0xc3, 64);
+  printf("memset constant %lx\n", checksum(buf, 256));
+
+  // variable lengths on both sides of the Java loop threshold
+  int lengths[] = { 0, 1, 8, 63, 64, 65, 255, 256, 257, 1000, 4096 };
+  for (int i = 0; i < sizeof(lengths) / sizeof(lengths[0]); i++) {
+    fill(buf, SIZE);
+    setVariable(buf, i % 8, 0x80 + i, lengths[i]);
+    printf("memset %d %lx\n", lengths[i], checksum(buf, SIZE));
+  }
+
+  // overlapping moves forwards and backwards
+  for (int i = 0; i < sizeof(lengths) / sizeof(lengths[0]); i++) {
+    fill(buf, SIZE);
+    moveVariable(buf, 50, 3, lengths[i]);
+    unsigned long forward = checksum(buf, SIZE);
+    fill(buf, SIZE);
+    moveVariable(buf, 50, -11, lengths[i]);
+    printf("memmove %d %lx %lx\n", lengths[i], forward, checksum(buf, SIZE));
+  }
+
+  // constant length moves
+  fill(buf, SIZE);
+  memmove(buf + 5, buf, 24);
+  memmove(buf + 100, buf + 130, 64);
+  memmove(buf + 200, buf + 199, 3);
+  printf("memmove constant %lx\n", checksum(buf, 300));
+
+  // struct copies use constant lengths
+  struct s24 a;
+  struct s64 b;
+  memset(&a, 0x91, sizeof(a));
+  fill((unsigned char *) &b, sizeof(b));
+  struct s24 c = a;
+  struct s64 d = b;
+  printf("struct %lx %lx\n", checksum((unsigned char *) &c, sizeof(c)), checksum((unsigned char *) &d, sizeof(d)));
+
+  free(buf);
+  return 0;
+}
@@ -0,0 +1,28 @@
+#include <stdio.h>
+#include <stdlib.h>
+
+static long globals[4] = { 1, 2, 3, 4 };
+
+long sum(long *native, int n) {
+  long total = 0;
+  for (int i = 0; i < n; i++) {
+    // the same value alternates between a native pointer and a global variable
+    long *p = i % 3 == 0 ? &globals[i % 4] : &native[i];
+    total += *p;
+    *p += 1;
+  }
+  return total;
+}
+
+int main(void) {
+  int n = 100;
+  long *native = malloc(n * sizeof(long));
+  for (int i = 0; i < n; i++) {
+    native[i] = i;
+  }
+  long first = sum(native, n);
+  long second = sum(native, n);
+  printf("%ld %ld\n", first, second);
+  free(native);
+  return first == 3480 && second == 3836 ? 0 : 1;
+}
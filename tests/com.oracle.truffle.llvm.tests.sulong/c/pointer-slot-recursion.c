@@ -0,0 +1,22 @@
+#include <stdio.h>
+
+static int global = 7;
+
+// q is a native (stack) pointer in even and a global variable in odd activations, the outer
+// activation reads its q after the inner activation has written a different kind of pointer
+int depth(int n, int *p) {
+  int local = n;
+  int *q = n % 2 == 0 ? &local : &global;
+  int result = *q;
+  if (n > 0) {
+    result += depth(n - 1, q);
+  }
+  return result + *q + *p;
+}
+
+int main(void) {
+  int start = 1;
+  int result = depth(6, &start);
+  printf("%d\n", result);
+  return result == 100 ? 0 : 1;
+}
@@ -0,0 +1,42 @@
+#include <pthread.h>
+#include <stdio.h>
+
+static pthread_mutex_t lock = PTHREAD_MUTEX_INITIALIZER;
+static pthread_cond_t done = PTHREAD_COND_INITIALIZER;
+static int finished;
+
+static void *signalDone(void *arg) {
+  pthread_mutex_lock(&lock);
+  finished++;
+  pthread_cond_signal(&done);
+  pthread_mutex_unlock(&lock);
+  return NULL;
+}
+
+int main(void) {
+  pthread_attr_t attr;
+  pthread_t workers[3];
+  int state;
+  if (pthread_attr_init(&attr) != 0 || pthread_attr_setdetachstate(&attr, PTHREAD_CREATE_DETACHED) != 0) {
+    return 1;
+  }
+  if (pthread_attr_getdetachstate(&attr, &state) != 0 || state != PTHREAD_CREATE_DETACHED) {
+    return 2;
+  }
+
+  // threads that are created detached go away on their own, nobody joins or detaches them
+  for (int i = 0; i < 3; i++) {
+    if (pthread_create(&workers[i], &attr, signalDone, NULL) != 0) {
+      return 3;
+    }
+  }
+  pthread_attr_destroy(&attr);
+
+  pthread_mutex_lock(&lock);
+  while (finished < 3) {
+    pthread_cond_wait(&done, &lock);
+  }
+  pthread_mutex_unlock(&lock);
+  printf("finished: %d\n", finished);
+  return 0;
+}
@@ -0,0 +1,43 @@
+#include <pthread.h>
+#include <stdio.h>
+
+static pthread_mutex_t lock = PTHREAD_MUTEX_INITIALIZER;
+static pthread_cond_t done = PTHREAD_COND_INITIALIZER;
+static pthread_cond_t never = PTHREAD_COND_INITIALIZER;
+static int finished;
+
+static void *signalDone(void *arg) {
+  pthread_mutex_lock(&lock);
+  finished = 1;
+  pthread_cond_signal(&done);
+  pthread_mutex_unlock(&lock);
+  return NULL;
+}
+
+static void *blockForever(void *arg) {
+  pthread_mutex_lock(&lock);
+  for (;;) {
+    pthread_cond_wait(&never, &lock);
+  }
+  return NULL;
+}
+
+int main(void) {
+  pthread_t worker;
+  pthread_t blocked;
+  if (pthread_create(&worker, NULL, signalDone, NULL) != 0 || pthread_detach(worker) != 0) {
+    return 1;
+  }
+  pthread_mutex_lock(&lock);
+  while (!finished) {
+    pthread_cond_wait(&done, &lock);
+  }
+  pthread_mutex_unlock(&lock);
+
+  // a detached thread that never finishes must not keep the process alive
+  if (pthread_create(&blocked, NULL, blockForever, NULL) != 0 || pthread_detach(blocked) != 0) {
+    return 2;
+  }
+  printf("done\n");
+  return 0;
+}
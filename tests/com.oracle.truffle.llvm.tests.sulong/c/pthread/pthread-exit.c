@@ -0,0 +1,40 @@
+#include <errno.h>
+#include <pthread.h>
+#include <stdio.h>
+
+static pthread_mutex_t lock = PTHREAD_MUTEX_INITIALIZER;
+static pthread_t created;
+
+static void exitThread(void) {
+  pthread_exit((void *) 42);
+}
+
+static void *work(void *arg) {
+  pthread_t self;
+  // wait until the creator has stored our id
+  pthread_mutex_lock(&lock);
+  self = created;
+  pthread_mutex_unlock(&lock);
+  if (!pthread_equal(self, pthread_self())) {
+    return (void *) 1;
+  }
+  exitThread();
+  return (void *) 2;
+}
+
+int main(void) {
+  void *result;
+  pthread_mutex_lock(&lock);
+  if (pthread_create(&created, NULL, work, NULL) != 0) {
+    return 1;
+  }
+  pthread_mutex_unlock(&lock);
+  if (pthread_join(pthread_self(), &result) != EDEADLK) {
+    return 2;
+  }
+  if (pthread_join(created, &result) != 0) {
+    return 3;
+  }
+  printf("%ld\n", (long) result);
+  return result == (void *) 42 ? 0 : 4;
+}
@@ -0,0 +1,37 @@
+#include <pthread.h>
+#include <stdio.h>
+
+#define THREADS 4
+#define ITERATIONS 10000
+
+static pthread_mutex_t lock = PTHREAD_MUTEX_INITIALIZER;
+static long counter;
+static pthread_t ids[THREADS];
+
+static void *work(void *arg) {
+  long index = (long) arg;
+  for (int i = 0; i < ITERATIONS; i++) {
+    pthread_mutex_lock(&lock);
+    counter++;
+    pthread_mutex_unlock(&lock);
+  }
+  return (void *) (index + 1);
+}
+
+int main(void) {
+  for (long i = 0; i < THREADS; i++) {
+    if (pthread_create(&ids[i], NULL, work, (void *) i) != 0) {
+      return 1;
+    }
+  }
+  long sum = 0;
+  for (int i = 0; i < THREADS; i++) {
+    void *result;
+    if (pthread_join(ids[i], &result) != 0) {
+      return 2;
+    }
+    sum += (long) result;
+  }
+  printf("%ld %ld\n", counter, sum);
+  return counter == THREADS * ITERATIONS && sum == 10 ? 0 : 3;
+}
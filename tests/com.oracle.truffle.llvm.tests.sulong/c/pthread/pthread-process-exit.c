@@ -0,0 +1,26 @@
+#include <pthread.h>
+#include <stdlib.h>
+
+static pthread_mutex_t lock = PTHREAD_MUTEX_INITIALIZER;
+
+static void *blockForever(void *arg) {
+  // the main thread holds the lock until the process exits
+  pthread_mutex_lock(&lock);
+  return NULL;
+}
+
+static void *exitProcess(void *arg) {
+  exit(23);
+}
+
+int main(void) {
+  pthread_t blocked;
+  pthread_t exiting;
+  pthread_mutex_lock(&lock);
+  if (pthread_create(&blocked, NULL, blockForever, NULL) != 0 || pthread_create(&exiting, NULL, exitProcess, NULL) != 0) {
+    return 1;
+  }
+  // exit() on the other thread terminates the process while we wait
+  pthread_join(blocked, NULL);
+  return 2;
+}
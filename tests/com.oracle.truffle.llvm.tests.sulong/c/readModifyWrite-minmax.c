@@ -0,0 +1,37 @@
+#include <stdio.h>
+
+// the clang builtins are only defined for 32 bit operands
+#ifdef __clang__
+#define FETCH_MAX __sync_fetch_and_max
+#define FETCH_MIN __sync_fetch_and_min
+#define FETCH_UMAX __sync_fetch_and_umax
+#define FETCH_UMIN __sync_fetch_and_umin
+#else
+// reference semantics for compilers without the clang builtins
+#define FETCH(ptr, val, op)                                                                                                                        \
+  ({                                                                                                                                               \
+    __typeof__(*(ptr)) __old = *(ptr);                                                                                                             \
+    __typeof__(*(ptr)) __val = (val);                                                                                                              \
+    *(ptr) = op(__old, __val);                                                                                                                     \
+    __old;                                                                                                                                         \
+  })
+#define MAX(a, b) ((a) > (b) ? (a) : (b))
+#define MIN(a, b) ((a) < (b) ? (a) : (b))
+#define FETCH_MAX(ptr, val) FETCH(ptr, val, MAX)
+#define FETCH_MIN(ptr, val) FETCH(ptr, val, MIN)
+#define FETCH_UMAX(ptr, val) FETCH(ptr, val, MAX)
+#define FETCH_UMIN(ptr, val) FETCH(ptr, val, MIN)
+#endif
+
+int main() {
+  int i = -5;
+  unsigned int u = 5;
+
+  printf("%d ", FETCH_MAX(&i, 3));
+  printf("%d ", FETCH_MIN(&i, -7));
+  printf("%d\n", i);
+  printf("%u ", FETCH_UMAX(&u, 0xfffffff0U));
+  printf("%u ", FETCH_UMIN(&u, 9U));
+  printf("%u\n", u);
+  return 0;
+}
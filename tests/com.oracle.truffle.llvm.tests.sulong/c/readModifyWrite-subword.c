@@ -0,0 +1,34 @@
+#include <stdio.h>
+
+struct word {
+  char c[2];
+  short s;
+};
+
+int main() {
+  struct word w = { { 0x7f, -1 }, 0x7fff };
+  _Bool b = 0;
+
+  // each operation must leave the neighboring bytes of the word unchanged
+  printf("%d ", __sync_fetch_and_add(&w.c[0], 1));
+  printf("%d ", __sync_fetch_and_sub(&w.c[1], 1));
+  printf("%d ", __sync_fetch_and_add(&w.s, 1));
+  printf("%d %d %d\n", w.c[0], w.c[1], w.s);
+
+  printf("%d ", __sync_fetch_and_and(&w.c[0], 0x0f));
+  printf("%d ", __sync_fetch_and_or(&w.c[1], 0x70));
+  printf("%d ", __sync_fetch_and_xor(&w.s, 0x00ff));
+  printf("%d %d %d\n", w.c[0], w.c[1], w.s);
+
+  printf("%d ", __sync_lock_test_and_set(&w.c[1], 42));
+  printf("%d ", __atomic_exchange_n(&w.s, -2, __ATOMIC_SEQ_CST));
+  printf("%d ", __atomic_exchange_n(&b, 1, __ATOMIC_SEQ_CST));
+  printf("%d %d %d %d\n", w.c[0], w.c[1], w.s, b);
+
+  // fences with each ordering
+  __atomic_thread_fence(__ATOMIC_ACQUIRE);
+  __atomic_thread_fence(__ATOMIC_RELEASE);
+  __atomic_thread_fence(__ATOMIC_ACQ_REL);
+  __atomic_thread_fence(__ATOMIC_SEQ_CST);
+  return 0;
+}
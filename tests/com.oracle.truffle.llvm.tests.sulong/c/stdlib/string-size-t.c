@@ -0,0 +1,45 @@
+#include <stdint.h>
+#include <stdio.h>
+#include <string.h>
+#include <sys/mman.h>
+#include <unistd.h>
+
+static void check(const char *str) {
+  const char *found = memchr(str, 'x', SIZE_MAX);
+  printf("memchr: %ld\n", found == NULL ? -1L : (long)(found - str));
+  printf("strnlen: %lu\n", (unsigned long)strnlen(str, SIZE_MAX));
+  printf("strnlen 3: %lu\n", (unsigned long)strnlen(str, 3));
+  printf("strncmp: %d\n", strncmp(str, "abcdefghijklmnopqrsx", SIZE_MAX) < 0);
+  printf("strncmp equal: %d\n", strncmp(str, str, (size_t)-1));
+  printf("strncmp prefix: %d\n", strncmp(str, "abcdeZ", 5));
+  printf("memcmp: %d\n", memcmp(str, "abcdefghiJ", 10) > 0);
+  printf("memcmp prefix: %d\n", memcmp(str, "abcdefghiJ", 9));
+}
+
+int main() {
+  char buffer[64];
+  for (int offset = 0; offset < 8; offset++) {
+    char *str = buffer + offset;
+    strcpy(str, "abcdefghijklmnopqrstuvwxyz");
+    check(str);
+  }
+
+  // place the strings so that they end right before an unmapped page
+  long pageSize = sysconf(_SC_PAGESIZE);
+  char *pages = mmap(NULL, 2 * pageSize, PROT_READ | PROT_WRITE, MAP_PRIVATE | MAP_ANONYMOUS, -1, 0);
+  if (pages == MAP_FAILED) {
+    return 1;
+  }
+  if (munmap(pages + pageSize, pageSize) != 0) {
+    return 2;
+  }
+  for (int length = 1; length <= 27; length++) {
+    char *str = pages + pageSize - length;
+    memcpy(str, "abcdefghijklmnopqrstuvwxyz", length - 1);
+    str[length - 1] = '\0';
+    printf("length %d: %lu %lu %d %d\n", length, (unsigned long)strnlen(str, SIZE_MAX), (unsigned long)strlen(str), strncmp(str, str, SIZE_MAX),
+           memchr(str, '\0', SIZE_MAX) == str + length - 1);
+  }
+  munmap(pages, pageSize);
+  return 0;
+}
@@ -0,0 +1,50 @@
+#include <stdio.h>
+
+// the same assembly template with memory operands of different sizes
+#define MOV(dst, src) __asm__("mov %1, %0" : "=m"(dst) : "r"(src))
+
+struct guarded {
+  union {
+    unsigned char c;
+    unsigned short s;
+    unsigned int i;
+    unsigned long l;
+  } value;
+  unsigned long guard;
+};
+
+static void reset(struct guarded *g) {
+  g->value.l = 0x1111111111111111UL;
+  g->guard = 0x2222222222222222UL;
+}
+
+static unsigned int movInt(unsigned int x) {
+  unsigned int result;
+  MOV(result, x);
+  return result;
+}
+
+int main() {
+  struct guarded g;
+  reset(&g);
+  MOV(g.value.c, (unsigned char) 0xab);
+  printf("%lx %lx\n", g.value.l, g.guard);
+  reset(&g);
+  MOV(g.value.s, (unsigned short) 0xabcd);
+  printf("%lx %lx\n", g.value.l, g.guard);
+  reset(&g);
+  MOV(g.value.i, 0xabcdef01U);
+  printf("%lx %lx\n", g.value.l, g.guard);
+  reset(&g);
+  MOV(g.value.l, 0xabcdef0123456789UL);
+  printf("%lx %lx\n", g.value.l, g.guard);
+
+  unsigned int sum = 0;
+  for (unsigned int k = 0; k < 3; k++) {
+    sum += movInt(k);
+  }
+  // a second call site of the same assembly
+  sum += movInt(sum + 36);
+  printf("%u\n", sum);
+  return 0;
+}
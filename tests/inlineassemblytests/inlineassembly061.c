@@ -0,0 +1,32 @@
+#include <stdio.h>
+
+// flags that are written more than once before they are read
+int main() {
+  unsigned char carry, zero, parity, sign;
+  unsigned int a = 0xffffffff;
+  __asm__("addl $1, %4\n"
+          "addl $2, %4\n"
+          "setc %0\n"
+          "setz %1\n"
+          "setp %2\n"
+          "sets %3\n"
+          : "=r"(carry), "=r"(zero), "=r"(parity), "=r"(sign), "+r"(a));
+  printf("%d %d %d %d %x\n", carry, zero, parity, sign, a);
+
+  unsigned char overflow;
+  int b = 0x7fffffff;
+  __asm__("addl $1, %1\n"
+          "cmpl $0, %1\n"
+          "seto %0\n"
+          : "=r"(overflow), "+r"(b));
+  printf("%d %x\n", overflow, b);
+
+  unsigned char below;
+  unsigned int x = 0;
+  __asm__("subl $1, %1\n"
+          "incl %1\n"
+          "setc %0\n"
+          : "=r"(below), "+r"(x));
+  printf("%d %x\n", below, x);
+  return 0;
+}
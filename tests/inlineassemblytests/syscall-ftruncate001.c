@@ -0,0 +1,46 @@
+#include "nanolibc.h"
+
+#define ftruncate __syscall_ftruncate
+
+#define FILENAME "syscall-ftruncate001.tmp"
+
+static inline int ftruncate(int fd, off_t length) { return syscall(SYS_ftruncate, fd, length); }
+
+int main(void) {
+  char buf[32];
+  int fd;
+  int result;
+  ssize_t size;
+
+  fd = open(FILENAME, O_CREAT | O_RDWR | O_TRUNC, 0600);
+  if (fd < 0) {
+    perror("Cannot open file");
+    return 1;
+  }
+
+  write(fd, "Hello World!\n", 13);
+  result = ftruncate(fd, 5);
+  printf("ftruncate: %d end: %ld\n", result, lseek(fd, 0, SEEK_END));
+
+  lseek(fd, 0, SEEK_SET);
+  size = read(fd, buf, sizeof(buf));
+  printf("read: %ld\n", size);
+  printf("%.*s\n", (int) size, buf);
+
+  // growing a file fills it with zeros
+  result = ftruncate(fd, 8);
+  printf("ftruncate: %d end: %ld\n", result, lseek(fd, 0, SEEK_END));
+  lseek(fd, 0, SEEK_SET);
+  size = read(fd, buf, sizeof(buf));
+  printf("read: %ld %d %d %d\n", size, buf[5], buf[6], buf[7]);
+
+  close(fd);
+
+  // a read-only descriptor cannot be truncated
+  fd = open(FILENAME, O_RDONLY, 0);
+  printf("ftruncate: %d\n", ftruncate(fd, 0));
+  close(fd);
+
+  unlink(FILENAME);
+  return 0;
+}
@@ -0,0 +1,80 @@
+#include "nanolibc.h"
+#include <limits.h>
+#include <linux/futex.h>
+#include <time.h>
+
+#define futex __syscall_futex
+#define clock_gettime __syscall_clock_gettime
+
+static inline long futex(int *uaddr, int op, int val, const struct timespec *timeout, int *uaddr2, int val3) {
+  return syscall(SYS_futex, uaddr, op, val, timeout, uaddr2, val3);
+}
+
+static inline int clock_gettime(clockid_t clock, struct timespec *tp) { return syscall(SYS_clock_gettime, clock, tp); }
+
+static void deadline(clockid_t clock, struct timespec *ts) {
+  clock_gettime(clock, ts);
+  ts->tv_nsec += 1000000;
+  if (ts->tv_nsec >= 1000000000) {
+    ts->tv_sec++;
+    ts->tv_nsec -= 1000000000;
+  }
+}
+
+static void print(const char *name, long result) {
+  if (result < 0) {
+    printf("%s: %ld %d\n", name, result, errno);
+  } else {
+    printf("%s: %ld\n", name, result);
+  }
+}
+
+int main(void) {
+  int word = 1;
+  int other = 0;
+  struct timespec ts;
+  long result;
+
+  // the value does not match
+  result = futex(&word, FUTEX_WAIT, 0, NULL, NULL, 0);
+  print("wait mismatch", result);
+  result = futex(&word, FUTEX_WAIT_PRIVATE, 0, NULL, NULL, 0);
+  print("wait private mismatch", result);
+  result = futex(&word, FUTEX_WAIT_BITSET, 0, NULL, NULL, FUTEX_BITSET_MATCH_ANY);
+  print("wait bitset mismatch", result);
+
+  // nobody wakes us up
+  ts.tv_sec = 0;
+  ts.tv_nsec = 1000000;
+  result = futex(&word, FUTEX_WAIT, 1, &ts, NULL, 0);
+  print("wait timeout", result);
+  deadline(CLOCK_MONOTONIC, &ts);
+  result = futex(&word, FUTEX_WAIT_BITSET, 1, &ts, NULL, FUTEX_BITSET_MATCH_ANY);
+  print("wait bitset timeout", result);
+  deadline(CLOCK_REALTIME, &ts);
+  result = futex(&word, FUTEX_WAIT_BITSET | FUTEX_CLOCK_REALTIME, 1, &ts, NULL, FUTEX_BITSET_MATCH_ANY);
+  print("wait bitset realtime timeout", result);
+
+  // invalid arguments
+  ts.tv_sec = 0;
+  ts.tv_nsec = 1000000000;
+  result = futex(&word, FUTEX_WAIT, 1, &ts, NULL, 0);
+  print("wait invalid timeout", result);
+  result = futex(&word, FUTEX_WAIT_BITSET, 1, NULL, NULL, 0);
+  print("wait empty bitset", result);
+  result = futex(&word, FUTEX_WAKE_BITSET, 1, NULL, NULL, 0);
+  print("wake empty bitset", result);
+
+  // there are no waiters
+  result = futex(&word, FUTEX_WAKE, INT_MAX, NULL, NULL, 0);
+  print("wake", result);
+  result = futex(&word, FUTEX_WAKE_BITSET, INT_MAX, NULL, NULL, 1);
+  print("wake bitset", result);
+  result = futex(&word, FUTEX_REQUEUE, 1, (struct timespec *)INT_MAX, &other, 0);
+  print("requeue", result);
+  result = futex(&word, FUTEX_CMP_REQUEUE, 1, (struct timespec *)INT_MAX, &other, 1);
+  print("cmp requeue", result);
+  result = futex(&word, FUTEX_CMP_REQUEUE, 1, (struct timespec *)INT_MAX, &other, 0);
+  print("cmp requeue mismatch", result);
+  return 0;
+}
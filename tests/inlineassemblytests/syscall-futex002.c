@@ -0,0 +1,68 @@
+#include "nanolibc.h"
+#include <limits.h>
+#include <linux/futex.h>
+#include <pthread.h>
+#include <sched.h>
+
+#define futex __syscall_futex
+
+static inline long futex(int *uaddr, int op, int val, const struct timespec *timeout, int *uaddr2, int val3) {
+  return syscall(SYS_futex, uaddr, op, val, timeout, uaddr2, val3);
+}
+
+static int word;
+static int first;
+static int second;
+
+static long results[3];
+
+static void *waitWord(void *arg) {
+  results[0] = futex(&word, FUTEX_WAIT, 0, NULL, NULL, 0);
+  return NULL;
+}
+
+static void *waitFirst(void *arg) {
+  results[1] = futex(&first, FUTEX_WAIT_BITSET, 0, NULL, NULL, 1);
+  return NULL;
+}
+
+static void *waitSecond(void *arg) {
+  results[2] = futex(&first, FUTEX_WAIT_BITSET, 0, NULL, NULL, 2);
+  return NULL;
+}
+
+int main(void) {
+  pthread_t threads[3];
+  long woken;
+  long requeued;
+
+  // a wake only succeeds once the other thread waits
+  pthread_create(&threads[0], NULL, waitWord, NULL);
+  while ((woken = futex(&word, FUTEX_WAKE, 1, NULL, NULL, 0)) == 0) {
+    sched_yield();
+  }
+  pthread_join(threads[0], NULL);
+  printf("wake: %ld wait: %ld\n", woken, results[0]);
+
+  // requeueing moves the waiters without waking them up, so we can count them
+  pthread_create(&threads[1], NULL, waitFirst, NULL);
+  pthread_create(&threads[2], NULL, waitSecond, NULL);
+  requeued = 0;
+  while (requeued < 2) {
+    requeued += futex(&first, FUTEX_CMP_REQUEUE, 0, (struct timespec *)INT_MAX, &second, 0);
+    sched_yield();
+  }
+  printf("cmp requeue: %ld\n", requeued);
+  printf("wake first: %ld\n", futex(&first, FUTEX_WAKE, INT_MAX, NULL, NULL, 0));
+  printf("requeue: %ld\n", futex(&second, FUTEX_REQUEUE, 0, (struct timespec *)INT_MAX, &first, 0));
+
+  // requeued waiters keep their bitset
+  printf("wake bitset 4: %ld\n", futex(&first, FUTEX_WAKE_BITSET, INT_MAX, NULL, NULL, 4));
+  printf("wake bitset 2: %ld\n", futex(&first, FUTEX_WAKE_BITSET, INT_MAX, NULL, NULL, 2));
+  pthread_join(threads[2], NULL);
+  printf("wait bitset 2: %ld\n", results[2]);
+  printf("wake: %ld\n", futex(&first, FUTEX_WAKE, INT_MAX, NULL, NULL, 0));
+  pthread_join(threads[1], NULL);
+  printf("wait bitset 1: %ld\n", results[1]);
+  return 0;
+}
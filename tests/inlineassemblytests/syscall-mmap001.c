@@ -0,0 +1,55 @@
+#include "nanolibc.h"
+#include <sys/mman.h>
+
+#define mmap __syscall_mmap
+#define munmap __syscall_munmap
+
+#define PAGE 4096
+
+static inline void *mmap(void *addr, size_t length, int prot, int flags, int fd, off_t offset) {
+  return (void *)syscall(SYS_mmap, addr, length, prot, flags, fd, offset);
+}
+
+static inline int munmap(void *addr, size_t length) { return syscall(SYS_munmap, addr, length); }
+
+int main(void) {
+  char *mem;
+  char *fixed;
+  int result;
+
+  mem = mmap(NULL, 3 * PAGE, PROT_READ | PROT_WRITE, MAP_PRIVATE | MAP_ANONYMOUS, -1, 0);
+  if (mem == MAP_FAILED) {
+    perror("mmap");
+    return 1;
+  }
+  printf("zeroed: %d %d\n", mem[0], mem[3 * PAGE - 1]);
+  mem[0] = 1;
+  mem[PAGE] = 2;
+  mem[2 * PAGE] = 3;
+
+  // a fixed mapping may replace a part of a mapping of the program
+  fixed = mmap(mem + PAGE, PAGE, PROT_READ | PROT_WRITE, MAP_PRIVATE | MAP_ANONYMOUS | MAP_FIXED, -1, 0);
+  printf("fixed: %d %d %d %d\n", fixed == mem + PAGE, mem[0], mem[PAGE], mem[2 * PAGE]);
+
+  // fixed mappings at unaligned or foreign addresses are rejected
+  fixed = mmap(mem + 1, PAGE, PROT_READ | PROT_WRITE, MAP_PRIVATE | MAP_ANONYMOUS | MAP_FIXED, -1, 0);
+  printf("fixed unaligned: %d %d\n", fixed == MAP_FAILED, errno);
+  fixed = mmap((void *)0xffff800000000000UL, PAGE, PROT_READ | PROT_WRITE, MAP_PRIVATE | MAP_ANONYMOUS | MAP_FIXED, -1, 0);
+  printf("fixed foreign: %d\n", fixed == MAP_FAILED);
+
+  // unmapping the middle page splits the mapping
+  result = munmap(mem + PAGE, PAGE);
+  printf("munmap middle: %d %d %d\n", result, mem[0], mem[2 * PAGE]);
+
+  // unmapping pages that are no longer mapped is not an error
+  result = munmap(mem + PAGE, PAGE);
+  printf("munmap again: %d\n", result);
+  result = munmap(mem, 3 * PAGE);
+  printf("munmap all: %d\n", result);
+
+  result = munmap(mem + 1, PAGE);
+  printf("munmap unaligned: %d %d\n", result, errno);
+  result = munmap(mem, 0);
+  printf("munmap empty: %d %d\n", result, errno);
+  return 0;
+}
@@ -0,0 +1,95 @@
+#include "nanolibc.h"
+#include <sys/mman.h>
+
+#define mmap __syscall_mmap
+#define munmap __syscall_munmap
+#define msync __syscall_msync
+#define madvise __syscall_madvise
+#define pread64 __syscall_pread64
+
+#define PAGE 4096
+#define FILENAME "syscall-mmap002.tmp"
+
+static inline void *mmap(void *addr, size_t length, int prot, int flags, int fd, off_t offset) {
+  return (void *)syscall(SYS_mmap, addr, length, prot, flags, fd, offset);
+}
+
+static inline int munmap(void *addr, size_t length) { return syscall(SYS_munmap, addr, length); }
+
+static inline int msync(void *addr, size_t length, int flags) { return syscall(SYS_msync, addr, length, flags); }
+
+static inline int madvise(void *addr, size_t length, int advice) { return syscall(SYS_madvise, addr, length, advice); }
+
+static inline ssize_t pread64(int fd, void *buf, size_t count, off_t offset) { return syscall(SYS_pread64, fd, buf, count, offset); }
+
+int main(void) {
+  char page[PAGE];
+  char buf[8];
+  char *shared;
+  char *private;
+  int fd;
+  int result;
+
+  fd = open(FILENAME, O_CREAT | O_RDWR | O_TRUNC, 0600);
+  if (fd < 0) {
+    perror("Cannot open file");
+    return 1;
+  }
+  for (int i = 0; i < PAGE; i++) {
+    page[i] = 'a' + i % 26;
+  }
+  write(fd, page, PAGE);
+  write(fd, page, PAGE);
+
+  shared = mmap(NULL, 2 * PAGE, PROT_READ | PROT_WRITE, MAP_SHARED, fd, 0);
+  private = mmap(NULL, PAGE, PROT_READ | PROT_WRITE, MAP_PRIVATE, fd, PAGE);
+  if (shared == MAP_FAILED || private == MAP_FAILED) {
+    perror("mmap");
+    return 1;
+  }
+  printf("mapped: %.4s %.4s\n", shared + PAGE, private);
+
+  // changes to a shared mapping reach the file
+  shared[PAGE] = 'X';
+  result = msync(shared, 2 * PAGE, MS_SYNC);
+  pread64(fd, buf, 4, PAGE);
+  printf("msync: %d %.4s\n", result, buf);
+
+  // a private mapping sees the file until it is written to, changes do not reach the file
+  printf("private: %.4s\n", private);
+  private[1] = 'Y';
+  pread64(fd, buf, 4, PAGE);
+  printf("private: %.4s %.4s\n", private, buf);
+
+  // dropping the pages of a private mapping discards the changes
+  result = madvise(private, PAGE, MADV_DONTNEED);
+  printf("madvise: %d %.4s\n", result, private);
+  result = madvise(shared, 2 * PAGE, MADV_WILLNEED);
+  printf("madvise: %d\n", result);
+
+  result = msync(shared + 1, PAGE, MS_SYNC);
+  printf("msync unaligned: %d %d\n", result, errno);
+  result = madvise(shared + 1, PAGE, MADV_NORMAL);
+  printf("madvise unaligned: %d %d\n", result, errno);
+
+  // the mapping stays valid after the file is closed
+  close(fd);
+  shared[0] = 'Z';
+  printf("closed: %.4s\n", shared);
+
+  munmap(private, PAGE);
+  munmap(shared, 2 * PAGE);
+  result = msync(shared, PAGE, MS_SYNC);
+  printf("msync unmapped: %d %d\n", result, errno);
+  result = madvise(shared, PAGE, MADV_NORMAL);
+  printf("madvise unmapped: %d %d\n", result, errno);
+
+  fd = open(FILENAME, O_RDONLY, 0);
+  pread64(fd, buf, 4, 0);
+  printf("file: %.4s", buf);
+  pread64(fd, buf, 4, PAGE);
+  printf(" %.4s\n", buf);
+  close(fd);
+  unlink(FILENAME);
+  return 0;
+}
@@ -0,0 +1,59 @@
+#include "nanolibc.h"
+
+#define pread64 __syscall_pread64
+#define pwrite64 __syscall_pwrite64
+
+#define FILENAME "syscall-pread001.tmp"
+
+static inline ssize_t pread64(int fd, void *buf, size_t count, off_t offset) { return syscall(SYS_pread64, fd, buf, count, offset); }
+
+static inline ssize_t pwrite64(int fd, const void *buf, size_t count, off_t offset) { return syscall(SYS_pwrite64, fd, buf, count, offset); }
+
+int main(void) {
+  char buf[16];
+  int fd;
+  int copy;
+  ssize_t size;
+
+  fd = open(FILENAME, O_CREAT | O_RDWR | O_TRUNC, 0600);
+  if (fd < 0) {
+    perror("Cannot open file");
+    return 1;
+  }
+
+  size = write(fd, "0123456789", 10);
+  printf("write: %ld\n", size);
+
+  // pwrite and pread do not move the file offset
+  size = pwrite64(fd, "abc", 3, 2);
+  printf("pwrite: %ld offset: %ld\n", size, lseek(fd, 0, SEEK_CUR));
+  size = pread64(fd, buf, 6, 1);
+  printf("pread: %ld offset: %ld %.6s\n", size, lseek(fd, 0, SEEK_CUR), buf);
+
+  // a pwrite past the end extends the file
+  size = pwrite64(fd, "xyz", 3, 12);
+  printf("pwrite: %ld end: %ld\n", size, lseek(fd, 0, SEEK_END));
+
+  // a duplicate shares the file offset
+  copy = syscall(SYS_dup, fd);
+  lseek(copy, 4, SEEK_SET);
+  size = read(fd, buf, 4);
+  printf("read: %ld offset: %ld %.4s\n", size, lseek(copy, 0, SEEK_CUR), buf);
+  close(copy);
+
+  // the original descriptor still works after the duplicate was closed
+  size = pread64(fd, buf, sizeof(buf), 0);
+  printf("pread: %ld\n", size);
+  for (int i = 0; i < size; i++) {
+    printf("%02x", buf[i]);
+  }
+  printf("\n");
+
+  // reading at the end of the file
+  size = pread64(fd, buf, sizeof(buf), 100);
+  printf("pread: %ld\n", size);
+
+  close(fd);
+  unlink(FILENAME);
+  return 0;
+}
@@ -0,0 +1,46 @@
+#include "nanolibc.h"
+
+#define sendfile __syscall_sendfile
+
+#define FILENAME "syscall-sendfile001.tmp"
+
+static inline ssize_t sendfile(int out, int in, off_t *offset, size_t count) { return syscall(SYS_sendfile, out, in, offset, count); }
+
+int main(void) {
+  int in;
+  int out;
+  off_t offset;
+  ssize_t size;
+  char buf[64];
+
+  in = open("LICENSE", O_RDONLY, 0);
+  if (in < 0) {
+    perror("Cannot open file");
+    return 1;
+  }
+  out = open(FILENAME, O_CREAT | O_RDWR | O_TRUNC, 0600);
+  if (out < 0) {
+    perror("Cannot open file");
+    return 1;
+  }
+
+  // with an offset, the offset of the input descriptor is not changed
+  offset = 10;
+  size = sendfile(out, in, &offset, 20);
+  printf("sendfile: %ld offset: %ld in: %ld out: %ld\n", size, offset, lseek(in, 0, SEEK_CUR), lseek(out, 0, SEEK_CUR));
+
+  // without an offset, the input descriptor's offset is used and updated
+  lseek(in, 5, SEEK_SET);
+  size = sendfile(out, in, NULL, 10);
+  printf("sendfile: %ld in: %ld out: %ld\n", size, lseek(in, 0, SEEK_CUR), lseek(out, 0, SEEK_CUR));
+
+  lseek(out, 0, SEEK_SET);
+  size = read(out, buf, sizeof(buf));
+  printf("read: %ld\n", size);
+  printf("%.*s\n", (int) size, buf);
+
+  close(in);
+  close(out);
+  unlink(FILENAME);
+  return 0;
+}